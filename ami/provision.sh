@@ -0,0 +1,16 @@
+#!/bin/bash
+# Installs everything the JenkinsEc2Stack user data would otherwise install at boot.
+# Runs once on the build instance; AmiBaker appends a shutdown so the image can be captured.
+set -euxo pipefail
+
+dnf -y update
+dnf -y install java-21-amazon-corretto-headless amazon-efs-utils nfs-utils amazon-cloudwatch-agent git
+
+curl -fsSL -o /etc/yum.repos.d/jenkins.repo https://pkg.jenkins.io/redhat-stable/jenkins.repo
+rpm --import https://pkg.jenkins.io/redhat-stable/jenkins.io-2023.key
+dnf -y install jenkins
+systemctl enable jenkins
+
+# Let instances launched from the image run their own user data on first boot
+dnf clean all
+cloud-init clean --logs
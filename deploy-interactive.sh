@@ -22,41 +22,37 @@ if [ ! -f "pom.xml" ]; then
     exit 1
 fi
 
-# Check if CDK is installed
-if ! command -v cdk &> /dev/null; then
-    echo -e "${RED}❌ Error: AWS CDK CLI not found. Please install it first:${NC}"
-    echo "   npm install -g aws-cdk"
-    exit 1
-fi
+# Compile once if needed; the deployer's own preflight checks CLIs, credentials, the CDK
+# bootstrap stack and class freshness concurrently, caching results in target/preflight-cache.json
+compile() {
+    echo -e "${YELLOW}🔧 Compiling project...${NC}"
+    if ! mvn compile -q; then
+        echo -e "${RED}❌ Compilation failed${NC}"
+        exit 1
+    fi
+    echo -e "${GREEN}✅ Compilation successful${NC}"
+    echo ""
+}
 
-# Check if AWS credentials are configured
-if ! aws sts get-caller-identity &> /dev/null; then
-    echo -e "${RED}❌ Error: AWS credentials not configured. Please run:${NC}"
-    echo "   aws configure"
-    exit 1
+if [ ! -d "target/classes" ]; then
+    compile
 fi
 
-echo -e "${GREEN}✅ Prerequisites check passed${NC}"
-echo ""
-
-# Compile the project
-echo -e "${YELLOW}🔧 Compiling project...${NC}"
-mvn compile -q
-
-if [ $? -ne 0 ]; then
-    echo -e "${RED}❌ Compilation failed${NC}"
-    exit 1
-fi
-
-echo -e "${GREEN}✅ Compilation successful${NC}"
-echo ""
-
 # Run the interactive deployer
 echo -e "${YELLOW}🚀 Starting interactive deployment...${NC}"
 echo ""
 
-# Run with proper input handling
-java -cp "target/classes:target/dependency/*" com.cloudforgeci.samples.app.InteractiveDeployer
+# Run with proper input handling; exit code 3 means the preflight found stale classes
+status=0
+java -cp "target/classes:target/dependency/*" com.cloudforgeci.samples.app.InteractiveDeployer "$@" || status=$?
+if [ "$status" -eq 3 ]; then
+    compile
+    status=0
+    java -cp "target/classes:target/dependency/*" com.cloudforgeci.samples.app.InteractiveDeployer "$@" || status=$?
+fi
+if [ "$status" -ne 0 ]; then
+    exit "$status"
+fi
 
 echo ""
 echo -e "${GREEN}✅ Interactive deployment completed!${NC}"
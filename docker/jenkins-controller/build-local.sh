@@ -0,0 +1,7 @@
+#!/bin/bash
+# Builds the controller image locally with the default JCasC file.
+# Synth stages its own copy with the generated configuration under target/.
+set -e
+cd "$(dirname "$0")"
+DOCKER_BUILDKIT=1 docker build -t cloudforge/jenkins-controller:local .
+echo "Run with: docker run -p 8080:8080 -e JENKINS_ADMIN_PASSWORD=changeme cloudforge/jenkins-controller:local"
@@ -0,0 +1,344 @@
+package com.cloudforgeci.samples.app;
+
+import com.cloudforgeci.api.interfaces.RuntimeType;
+import com.cloudforgeci.api.interfaces.TopologyType;
+import com.cloudforgeci.samples.launchers.InstanceCatalog;
+import com.cloudforgeci.samples.launchers.JenkinsJvmTuning;
+import com.cloudforgeci.samples.launchers.ScalingSchedule;
+import com.cloudforgeci.samples.launchers.TenantRouting;
+
+import java.time.DateTimeException;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Cross-field checks over a {@link DeploymentConfig}, run before any construct is built.
+ *
+ * The prompts validate each value on its own; these rules catch combinations AWS rejects at
+ * deploy time (Fargate cpu/memory pairs, capacity ordering, health-check arithmetic, SSO fields).
+ * Every rule runs, so all violations are reported in one pass.
+ */
+final class ConfigValidator {
+
+    record Violation(String field, String message) {
+
+        @Override
+        public String toString() {
+            return field + ": " + message;
+        }
+    }
+
+    @FunctionalInterface
+    interface Rule {
+        void check(DeploymentConfig config, List<Violation> violations);
+    }
+
+    /** Valid Fargate memory (MiB) per cpu value: {min, max, step}; 256 cpu only allows 512, 1024 or 2048. */
+    static final Map<Integer, int[]> FARGATE_MEMORY = Map.of(
+        256, new int[]{512, 2048, 512},
+        512, new int[]{1024, 4096, 1024},
+        1024, new int[]{2048, 8192, 1024},
+        2048, new int[]{4096, 16384, 1024},
+        4096, new int[]{8192, 30720, 1024},
+        8192, new int[]{16384, 61440, 4096},
+        16384, new int[]{32768, 122880, 8192});
+
+    private static final Pattern SSO_INSTANCE_ARN = Pattern.compile("^arn:aws:sso:::instance/ssoins-[a-f0-9]{16}$");
+    private static final Pattern ACCOUNT_ID = Pattern.compile("^\\d{12}$");
+    private static final Pattern DNS_LABEL = Pattern.compile("^[a-z0-9]([a-z0-9-]{0,61}[a-z0-9])?$");
+
+    static final List<Rule> RULES = List.of(
+        ConfigValidator::fargateSize,
+        ConfigValidator::capacity,
+        ConfigValidator::scheduledScaling,
+        ConfigValidator::healthCheck,
+        ConfigValidator::domainAndSsl,
+        ConfigValidator::network,
+        ConfigValidator::sso,
+        ConfigValidator::ec2Options,
+        ConfigValidator::jvmOptions,
+        ConfigValidator::workspace,
+        ConfigValidator::logShipping,
+        ConfigValidator::artifactStore,
+        ConfigValidator::tracing,
+        ConfigValidator::fleet);
+
+    private ConfigValidator() {
+    }
+
+    static List<Violation> validate(DeploymentConfig config) {
+        List<Violation> violations = new ArrayList<>();
+        for (Rule rule : RULES) {
+            rule.check(config, violations);
+        }
+        return violations;
+    }
+
+    private static void fargateSize(DeploymentConfig config, List<Violation> violations) {
+        if (config.runtime != RuntimeType.FARGATE || config.topology == null || config.topology.name().startsWith("S3")) {
+            return;
+        }
+        int[] range = FARGATE_MEMORY.get(config.cpu);
+        if (range == null) {
+            violations.add(new Violation("cpu", config.cpu + " is not a Fargate cpu value; use one of "
+                + FARGATE_MEMORY.keySet().stream().sorted().toList()));
+        } else if (config.memory < range[0] || config.memory > range[1] || (config.memory - range[0]) % range[2] != 0
+                || (config.cpu == 256 && config.memory == 1536)) {
+            String allowed = config.cpu == 256 ? "512, 1024 or 2048 MiB"
+                : range[0] + "-" + range[1] + " MiB in steps of " + range[2];
+            violations.add(new Violation("memory", config.memory + " MiB is not valid with " + config.cpu
+                + " cpu; Fargate allows " + allowed));
+        }
+    }
+
+    private static void capacity(DeploymentConfig config, List<Violation> violations) {
+        if (config.minInstanceCapacity > config.maxInstanceCapacity) {
+            violations.add(new Violation("minInstanceCapacity", config.minInstanceCapacity
+                + " is greater than maxInstanceCapacity " + config.maxInstanceCapacity));
+        }
+        if (config.enableAutoScaling && (config.cpuTargetUtilization < 10 || config.cpuTargetUtilization > 90)) {
+            violations.add(new Violation("cpuTargetUtilization", "must be between 10 and 90"));
+        }
+    }
+
+    private static void healthCheck(DeploymentConfig config, List<Violation> violations) {
+        if (config.healthCheckTimeout >= config.healthCheckInterval) {
+            violations.add(new Violation("healthCheckTimeout", config.healthCheckTimeout
+                + "s must be less than healthCheckInterval " + config.healthCheckInterval + "s"));
+        }
+        // ALB target group limits
+        if (config.healthCheckInterval < 5 || config.healthCheckInterval > 300) {
+            violations.add(new Violation("healthCheckInterval", "must be between 5 and 300 seconds"));
+        }
+        if (config.healthCheckTimeout < 2 || config.healthCheckTimeout > 120) {
+            violations.add(new Violation("healthCheckTimeout", "must be between 2 and 120 seconds"));
+        }
+        if (config.healthyThreshold < 2 || config.healthyThreshold > 10) {
+            violations.add(new Violation("healthyThreshold", "must be between 2 and 10"));
+        }
+        if (config.unhealthyThreshold < 2 || config.unhealthyThreshold > 10) {
+            violations.add(new Violation("unhealthyThreshold", "must be between 2 and 10"));
+        }
+        if (config.healthCheckGracePeriod < 0) {
+            violations.add(new Violation("healthCheckGracePeriod", "must not be negative"));
+        }
+    }
+
+    private static void domainAndSsl(DeploymentConfig config, List<Violation> violations) {
+        boolean hasDomain = config.domain != null && !config.domain.isEmpty();
+        if (config.enableSsl && !hasDomain) {
+            violations.add(new Violation("enableSsl", "requires a domain for the ACM certificate"));
+        }
+        if (config.subdomain != null && !config.subdomain.isEmpty() && !hasDomain) {
+            violations.add(new Violation("subdomain", "is set without a domain"));
+        }
+    }
+
+    private static void network(DeploymentConfig config, List<Violation> violations) {
+        // Types without a network (S3 websites) leave networkMode unset
+        if (!Set.of("", "public-no-nat", "private-with-nat").contains(nullToEmpty(config.networkMode))) {
+            violations.add(new Violation("networkMode", "must be public-no-nat or private-with-nat"));
+        } else if (config.enableVpcEndpoints && !"private-with-nat".equals(config.networkMode)) {
+            violations.add(new Violation("enableVpcEndpoints", "only applies to networkMode private-with-nat"));
+        }
+    }
+
+    private static void sso(DeploymentConfig config, List<Violation> violations) {
+        if (config.authMode == null || "none".equals(config.authMode)) {
+            return;
+        }
+        if (!SSO_INSTANCE_ARN.matcher(nullToEmpty(config.ssoInstanceArn)).matches()) {
+            violations.add(new Violation("ssoInstanceArn", "must look like arn:aws:sso:::instance/ssoins-<16 hex> for authMode "
+                + config.authMode));
+        }
+        if (nullToEmpty(config.ssoGroupId).isBlank()) {
+            violations.add(new Violation("ssoGroupId", "is required for authMode " + config.authMode));
+        }
+        if (!ACCOUNT_ID.matcher(nullToEmpty(config.ssoTargetAccountId)).matches()) {
+            violations.add(new Violation("ssoTargetAccountId", "must be a 12-digit AWS account id"));
+        }
+        if ("alb-oidc".equals(config.authMode) && !config.enableSsl) {
+            violations.add(new Violation("authMode", "alb-oidc needs an HTTPS listener; enable SSL"));
+        }
+        if ("jenkins-oidc".equals(config.authMode)) {
+            // The OIDC realm only exists in the pre-baked image's JCasC, fed from the client secret
+            if (config.runtime != RuntimeType.FARGATE || !config.prebakedControllerImage) {
+                violations.add(new Violation("authMode", "jenkins-oidc is configured through the pre-baked Fargate controller image"));
+            }
+            if (nullToEmpty(config.oidcClientSecret).isBlank()) {
+                violations.add(new Violation("oidcClientSecret", "is required for authMode jenkins-oidc"));
+            }
+        }
+    }
+
+    private static void scheduledScaling(DeploymentConfig config, List<Violation> violations) {
+        // Empty keeps the default (older saved contexts)
+        String predictive = nullToEmpty(config.predictiveScaling);
+        if (!Set.of("", "off", "forecast-only", "forecast-and-scale").contains(predictive)) {
+            violations.add(new Violation("predictiveScaling", "must be off, forecast-only or forecast-and-scale"));
+        } else if (!predictive.isEmpty() && !"off".equals(predictive)
+                && (config.runtime != RuntimeType.EC2 || config.topology != TopologyType.JENKINS_SERVICE)) {
+            violations.add(new Violation("predictiveScaling", "needs the EC2 Auto Scaling Group of the JENKINS_SERVICE topology"));
+        }
+        if (!config.enableScheduledScaling) {
+            return;
+        }
+        if (config.runtime == RuntimeType.EC2 && config.topology != TopologyType.JENKINS_SERVICE) {
+            violations.add(new Violation("enableScheduledScaling", "on EC2 needs the JENKINS_SERVICE topology's Auto Scaling Group"));
+        }
+        if (config.prewarmMinutes < 0 || config.prewarmMinutes > 60) {
+            violations.add(new Violation("prewarmMinutes", "must be between 0 and 60"));
+        }
+        if (config.peakMaxCapacity > config.maxInstanceCapacity || config.offPeakMaxCapacity > config.maxInstanceCapacity) {
+            violations.add(new Violation("peakMaxCapacity", "scheduled capacities must not exceed maxInstanceCapacity "
+                + config.maxInstanceCapacity));
+        }
+        try {
+            ZoneId.of(nullToEmpty(config.scheduleTimeZone));
+        } catch (DateTimeException e) {
+            violations.add(new Violation("scheduleTimeZone", "'" + config.scheduleTimeZone + "' is not an IANA time zone"));
+        }
+        try {
+            List<ScalingSchedule.Action> actions = new ScalingSchedule(config.scheduleTimeZone, config.peakStartCron,
+                config.peakEndCron, config.peakMinCapacity, config.peakMaxCapacity, config.offPeakMinCapacity,
+                config.offPeakMaxCapacity, config.prewarmMinutes).actions();
+            if (config.runtime == RuntimeType.FARGATE) {
+                // The service's scalable target takes the Application Auto Scaling dialect
+                actions.forEach(action -> ScalingSchedule.applicationAutoScalingCron(action.cron()));
+            }
+        } catch (IllegalArgumentException e) {
+            violations.add(new Violation("scheduledScaling", e.getMessage()));
+        }
+    }
+
+    private static void ec2Options(DeploymentConfig config, List<Violation> violations) {
+        if (config.runtime != RuntimeType.EC2) {
+            return;
+        }
+        if (config.warmPoolSize < 0 || config.warmPoolSize > config.maxInstanceCapacity) {
+            violations.add(new Violation("warmPoolSize", "must be between 0 and maxInstanceCapacity " + config.maxInstanceCapacity));
+        }
+        if (!Set.of("stopped", "hibernated").contains(config.warmPoolState)) {
+            violations.add(new Violation("warmPoolState", "must be stopped or hibernated"));
+        } else if ("hibernated".equals(config.warmPoolState) && config.warmPoolSize > 0 && nullToEmpty(config.amiId).isEmpty()) {
+            violations.add(new Violation("warmPoolState", "hibernated needs a pre-baked (encrypted) amiId"));
+        }
+        // Empty keeps the account default (older saved contexts)
+        if (!Set.of("", "standard", "unlimited").contains(nullToEmpty(config.cpuCreditMode))) {
+            violations.add(new Violation("cpuCreditMode", "must be standard or unlimited"));
+        }
+    }
+
+    private static void jvmOptions(DeploymentConfig config, List<Violation> violations) {
+        String unsafe = JenkinsJvmTuning.unsafeCharacter(nullToEmpty(config.jvmOptions));
+        if (unsafe != null) {
+            violations.add(new Violation("jvmOptions", "must not contain " + unsafe + "; pass JVM flags without quoting"));
+        }
+    }
+
+    private static void workspace(DeploymentConfig config, List<Violation> violations) {
+        if (!Set.of("jenkins-home", "ephemeral", "instance-store").contains(nullToEmpty(config.workspaceStorage))) {
+            violations.add(new Violation("workspaceStorage", "must be jenkins-home, ephemeral or instance-store"));
+        }
+        if (config.runtime == RuntimeType.FARGATE && (config.ephemeralStorageGiB < 20 || config.ephemeralStorageGiB > 200)) {
+            violations.add(new Violation("ephemeralStorageGiB", "must be between 20 and 200 on Fargate"));
+        }
+        if ("instance-store".equals(config.workspaceStorage)) {
+            if (config.runtime != RuntimeType.EC2) {
+                violations.add(new Violation("workspaceStorage", "instance-store is only available on EC2"));
+            } else if (!InstanceCatalog.hasInstanceStore(nullToEmpty(config.instanceType))) {
+                violations.add(new Violation("workspaceStorage", config.instanceType
+                    + " has no NVMe instance store; pick a \"d\" or storage-optimized type such as c7gd.xlarge or i4i.xlarge"));
+            }
+        }
+    }
+
+    private static void logShipping(DeploymentConfig config, List<Violation> violations) {
+        if (!Set.of("awslogs", "firelens").contains(nullToEmpty(config.logShipping))) {
+            violations.add(new Violation("logShipping", "must be awslogs or firelens"));
+            return;
+        }
+        if (!"firelens".equals(config.logShipping)) {
+            return;
+        }
+        if (config.logSamplePercent < 1 || config.logSamplePercent > 100) {
+            violations.add(new Violation("logSamplePercent", "must be between 1 and 100"));
+        }
+        if (config.buildLogRetentionDays < 1) {
+            violations.add(new Violation("buildLogRetentionDays", "must be at least 1 day"));
+        }
+        // Fluent Bit uses Onigmo; Java's syntax is close enough to catch typos
+        for (String pattern : nullToEmpty(config.logDropPatterns).split(",")) {
+            try {
+                Pattern.compile(pattern.trim());
+            } catch (PatternSyntaxException e) {
+                violations.add(new Violation("logDropPatterns", "'" + pattern.trim() + "' is not a valid regex"));
+            }
+        }
+    }
+
+    private static void artifactStore(DeploymentConfig config, List<Violation> violations) {
+        if (!Set.of("efs", "s3").contains(nullToEmpty(config.artifactStore))) {
+            violations.add(new Violation("artifactStore", "must be efs or s3"));
+        } else if ("s3".equals(config.artifactStore)) {
+            if (config.runtime != RuntimeType.FARGATE || !config.prebakedControllerImage) {
+                violations.add(new Violation("artifactStore", "s3 is configured through the pre-baked Fargate controller image"));
+            }
+            if (config.artifactRetentionDays < 1) {
+                violations.add(new Violation("artifactRetentionDays", "must be at least 1 day"));
+            }
+        }
+    }
+
+    private static void tracing(DeploymentConfig config, List<Violation> violations) {
+        // Empty keeps the default (older saved contexts)
+        String export = nullToEmpty(config.tracingExport);
+        if (!Set.of("", "off", "xray", "cloudwatch").contains(export)) {
+            violations.add(new Violation("tracingExport", "must be off, xray or cloudwatch"));
+        } else if (!export.isEmpty() && !"off".equals(export)) {
+            if (config.runtime != RuntimeType.FARGATE || !config.prebakedControllerImage) {
+                violations.add(new Violation("tracingExport", "the OpenTelemetry plugin is configured through the pre-baked Fargate controller image"));
+            }
+            if (config.traceSamplePercent < 1 || config.traceSamplePercent > 100) {
+                violations.add(new Violation("traceSamplePercent", "must be between 1 and 100"));
+            }
+        }
+    }
+
+    private static void fleet(DeploymentConfig config, List<Violation> violations) {
+        if (!"jenkins-fleet".equals(config.deploymentType)) {
+            return;
+        }
+        Set<String> seen = new HashSet<>();
+        String[] tenants = nullToEmpty(config.fleetTenants).split(",");
+        for (String raw : tenants) {
+            String tenant = raw.trim();
+            if (tenant.isEmpty()) {
+                continue;
+            }
+            if (!DNS_LABEL.matcher(tenant).matches()) {
+                violations.add(new Violation("fleetTenants", "'" + tenant + "' is not a valid DNS label (a-z, 0-9, -)"));
+            }
+            if (!seen.add(tenant)) {
+                violations.add(new Violation("fleetTenants", "'" + tenant + "' is listed twice"));
+            }
+        }
+        if (seen.isEmpty()) {
+            violations.add(new Violation("fleetTenants", "at least one tenant is required"));
+        }
+        String collision = TenantRouting.collision(List.copyOf(seen));
+        if (collision != null) {
+            violations.add(new Violation("fleetTenants", collision + " map to the same listener rule priority; rename one"));
+        }
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
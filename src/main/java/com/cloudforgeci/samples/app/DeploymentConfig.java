@@ -0,0 +1,96 @@
+package com.cloudforgeci.samples.app;
+
+import com.cloudforgeci.api.interfaces.RuntimeType;
+import com.cloudforgeci.api.interfaces.SecurityProfile;
+import com.cloudforgeci.api.interfaces.TopologyType;
+
+/**
+ * Deployment settings collected by the interactive prompts or loaded from deployment-context.json.
+ * The deployer turns them into the "cfc" CDK context. Public so {@link DeploymentStrategy}
+ * implementations in other packages or jars can fill them in.
+ */
+public class DeploymentConfig {
+    // Basic configuration
+    public String stackName;
+    public String environment;
+    public String deploymentType;
+    public String fleetTenants = "";  // comma-separated team names for the jenkins-fleet layout
+    
+    // Domain configuration
+    public String domain;
+    public String subdomain;
+    public boolean enableSsl;
+    
+    // Runtime configuration
+    public RuntimeType runtime;
+    public TopologyType topology;
+    public SecurityProfile securityProfile;
+    
+    // Network configuration
+    public String networkMode;
+    public boolean enableVpcEndpoints = false;  // private-with-nat: S3 gateway + ECR/Logs/STS/Secrets Manager interface endpoints
+    public boolean wafEnabled;
+    public boolean cloudfrontEnabled;
+    
+    // Jenkins configuration
+    public int minInstanceCapacity = 1;
+    public int maxInstanceCapacity = 1;
+    public int cpuTargetUtilization = 60;
+    public boolean enableScheduledScaling = false;  // working-hours min/max changes on top of CPU target tracking
+    public String scheduleTimeZone = "UTC";  // IANA zone the crons are evaluated in, e.g. Europe/Berlin
+    public String peakStartCron = "0 8 * * MON-FRI";  // five-field cron; fires prewarmMinutes early
+    public String peakEndCron = "0 19 * * MON-FRI";
+    public int peakMinCapacity = 1;
+    public int peakMaxCapacity = 1;
+    public int offPeakMinCapacity = 0;  // 0/0 off-peak stops the controller overnight
+    public int offPeakMaxCapacity = 1;
+    public int prewarmMinutes = 30;  // lead time before peakStartCron; also the predictive scheduling buffer
+    public String predictiveScaling = "off";  // EC2: off / forecast-only / forecast-and-scale
+    public int cpu = 1024;
+    public int memory = 2048;
+    public String workspaceStorage = "jenkins-home";  // jenkins-home / ephemeral / instance-store (EC2)
+    public int ephemeralStorageGiB = 20;  // Fargate task ephemeral storage, 20-200 GiB
+    public String jvmOptions = "";  // JAVA_OPTS override; empty uses JenkinsJvmTuning's computed profile
+    public String instanceType = "t3.micro";  // EC2 instance type
+    public String cpuCreditMode = "standard";  // EC2 T-series: standard / unlimited
+    public String cpuArchitecture = "X86_64";  // X86_64 / ARM64 (Graviton); derived from instanceType on EC2
+    public String amiId = "";  // EC2: pre-baked AMI from AmiBaker; empty uses the stock AMI
+    public int warmPoolSize = 0;  // EC2: initialized instances kept next to the ASG (0 disables)
+    public String warmPoolState = "stopped";  // stopped / hibernated
+    public String authMode = "none";
+    public String oidcClientSecret = "";  // jenkins-oidc: Secrets Manager secret with clientId, clientSecret, wellKnownUrl
+    public boolean prebakedControllerImage = false;  // Fargate: build controller image with plugins + JCasC
+    public int controllerExecutors = 0;
+    public String artifactStore = "efs";  // efs / s3 (pre-baked image: Artifact Manager on S3 for artifacts and stashes)
+    public int artifactRetentionDays = 90;
+    public String tracingExport = "off";  // off / xray / cloudwatch (pre-baked image: OpenTelemetry collector sidecar)
+    public int traceSamplePercent = 100;  // share of build traces exported; a build is kept or dropped whole
+    public String ssoInstanceArn = "";
+    public String ssoGroupId = "";
+    public String ssoTargetAccountId = "";
+    
+    // Advanced configuration
+    public boolean enableMonitoring = true;
+    public boolean enableEncryption = true;
+    public String logRetentionDays = "7";
+    public String logShipping = "awslogs";  // awslogs / firelens (Fluent Bit: build logs to S3, controller logs to CloudWatch)
+    public int logSamplePercent = 100;  // share of controller INFO lines kept; warnings always kept
+    public String logDropPatterns = "(Started|Finished) (Periodic background build discarder|Download metadata|Workspace clean-up)";
+    public int buildLogRetentionDays = 90;
+    public boolean enablePerformanceDashboard = false;
+    public int alarmLatencyP99Ms = 2000;
+    public int alarm5xxPercent = 5;
+    public int alarmCpuPercent = 85;
+    public int alarmMemoryPercent = 90;
+    public int alarmEfsBurstCreditGiB = 100;
+    public int alarmQueueLength = 10;
+    public String alarmEmail = "";
+    public String region = "us-east-1";
+    public String availabilityZone = "us-east-1a";
+    public boolean enableAutoScaling = false;
+    public int healthCheckGracePeriod = 300;
+    public int healthCheckInterval = 30;
+    public int healthCheckTimeout = 5;
+    public int healthyThreshold = 2;
+    public int unhealthyThreshold = 3;
+}
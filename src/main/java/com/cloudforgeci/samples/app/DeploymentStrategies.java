@@ -0,0 +1,57 @@
+package com.cloudforgeci.samples.app;
+
+import com.cloudforgeci.samples.logging.Log;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/**
+ * Registry of deployment types discovered through {@link DeploymentStrategyProvider} services.
+ *
+ * Providers are looked up on first use and strategies are instantiated only when requested, so
+ * a run that deploys Jenkins never loads the classes behind the other types.
+ */
+final class DeploymentStrategies {
+    private static final Log LOG = Log.get(DeploymentStrategies.class);
+
+    private DeploymentStrategies() {
+    }
+
+    private static final class Holder {
+        static final Map<String, DeploymentStrategyProvider> PROVIDERS = discover();
+    }
+
+    private static Map<String, DeploymentStrategyProvider> discover() {
+        Map<String, DeploymentStrategyProvider> providers = new LinkedHashMap<>();
+        for (DeploymentStrategyProvider provider : ServiceLoader.load(DeploymentStrategyProvider.class)) {
+            DeploymentStrategyProvider existing = providers.putIfAbsent(provider.name(), provider);
+            if (existing != null) {
+                LOG.warn("Ignoring duplicate deployment type '" + provider.name() + "' from "
+                    + provider.getClass().getName() + "; keeping " + existing.getClass().getName());
+            }
+        }
+        LOG.debug(() -> "Deployment types: " + providers.keySet());
+        return Collections.unmodifiableMap(providers);
+    }
+
+    static List<String> names() {
+        return List.copyOf(Holder.PROVIDERS.keySet());
+    }
+
+    static String description(String name) {
+        DeploymentStrategyProvider provider = Holder.PROVIDERS.get(name);
+        return provider == null ? "" : provider.description();
+    }
+
+    /** Instantiates the strategy for {@code name}; unknown types are rejected. */
+    static DeploymentStrategy create(String name) {
+        DeploymentStrategyProvider provider = Holder.PROVIDERS.get(name);
+        if (provider == null) {
+            throw new IllegalArgumentException("Unknown deployment type: " + name + " (available: " + names() + ")");
+        }
+        return provider.create();
+    }
+}
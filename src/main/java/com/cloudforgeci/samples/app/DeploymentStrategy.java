@@ -0,0 +1,19 @@
+package com.cloudforgeci.samples.app;
+
+import com.cloudforgeci.api.core.SystemContext;
+import software.amazon.awscdk.Stack;
+
+/**
+ * A deployment type offered by the interactive deployer (Jenkins, fleet, websites...).
+ *
+ * Implementations are created through a {@link DeploymentStrategyProvider} only when their type is
+ * selected, so they may freely depend on heavy construct libraries. Use {@link Prompts} to ask
+ * for settings and store them on the {@link DeploymentConfig}.
+ */
+public interface DeploymentStrategy {
+
+    /** Prompts for the type-specific settings and writes them to {@code config}. */
+    void collectConfiguration(DeploymentConfig config);
+
+    void deploy(SystemContext ctx, Stack stack, DeploymentConfig config);
+}
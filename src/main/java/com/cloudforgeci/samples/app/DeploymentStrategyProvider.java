@@ -0,0 +1,20 @@
+package com.cloudforgeci.samples.app;
+
+/**
+ * Service-provider entry point for a {@link DeploymentStrategy}, discovered with
+ * {@link java.util.ServiceLoader}.
+ *
+ * List implementations in {@code META-INF/services/com.cloudforgeci.samples.app.DeploymentStrategyProvider}
+ * of any jar on the classpath. Keep providers lightweight: the deployer loads every provider to
+ * build its menu, but only calls {@link #create()} for the selected type.
+ */
+public interface DeploymentStrategyProvider {
+
+    /** Deployment type key, e.g. {@code jenkins}; saved as {@code deploymentType} in the context. */
+    String name();
+
+    /** One-line description shown in the deployment type menu. */
+    String description();
+
+    DeploymentStrategy create();
+}
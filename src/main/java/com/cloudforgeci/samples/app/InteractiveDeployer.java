@@ -7,27 +7,54 @@ import com.cloudforgeci.api.interfaces.TopologyType;
 import com.cloudforgeci.api.interfaces.IAMProfile;
 import com.cloudforgeci.api.core.SystemContext;
 import com.cloudforgeci.api.core.iam.IAMProfileMapper;
+import com.cloudforgeci.samples.deploy.AmiBaker;
+import com.cloudforgeci.samples.deploy.CdkDeployExecutor;
+import com.cloudforgeci.samples.deploy.CommandRunner;
+import com.cloudforgeci.samples.deploy.DeployExecutor;
+import com.cloudforgeci.samples.deploy.DeployLedger;
+import com.cloudforgeci.samples.deploy.DeployTimeline;
+import com.cloudforgeci.samples.deploy.HotswapDetector;
+import com.cloudforgeci.samples.deploy.ParallelDeployScheduler;
+import com.cloudforgeci.samples.deploy.Preflight;
+import com.cloudforgeci.samples.deploy.StackGraph;
+import com.cloudforgeci.samples.deploy.TemplateDiff;
+import com.cloudforgeci.samples.deploy.TemplateSnapshots;
+import com.cloudforgeci.samples.deploy.TimelineReport;
+import com.cloudforgeci.samples.launchers.InstanceCatalog;
 import com.cloudforgeci.samples.launchers.JenkinsEc2Stack;
 import com.cloudforgeci.samples.launchers.JenkinsFargateStack;
+import com.cloudforgeci.samples.launchers.JenkinsJvmTuning;
+import com.cloudforgeci.samples.launchers.JenkinsSharedInfraStack;
+import com.cloudforgeci.samples.launchers.JenkinsTenantStack;
+import com.cloudforgeci.samples.logging.Log;
 
 import software.amazon.awscdk.App;
 import software.amazon.awscdk.Stack;
 import software.amazon.awscdk.StackProps;
 import software.amazon.awscdk.Environment;
+import software.amazon.awscdk.cxapi.CloudAssembly;
+import software.amazon.awscdk.cxapi.CloudFormationStackArtifact;
 
-import java.io.Console;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
 import java.util.function.Function;
 
+import static com.cloudforgeci.samples.app.Prompts.promptChoice;
+import static com.cloudforgeci.samples.app.Prompts.promptOptional;
+import static com.cloudforgeci.samples.app.Prompts.promptRequired;
+import static com.cloudforgeci.samples.app.Prompts.promptYesNo;
+
 /**
  * Interactive CDK Deployer that prompts users for configuration and deploys infrastructure.
  * 
@@ -38,22 +65,22 @@ import java.util.function.Function;
  */
 public class InteractiveDeployer {
     
-    private static final Scanner scanner = new Scanner(System.in);
-    private static final Console console = System.console();
+    private static final Log LOG = Log.get(InteractiveDeployer.class);
     
-    // Check if we have a proper console for interactive input
-    private static boolean hasConsole() {
-        // Always return true to allow input reading
-        // The error handling in the input methods will catch any issues
-        return true;
-    }
+    private static final Scanner scanner = Prompts.scanner();
+    
+    // Set by --force: deploy even when the ledger says nothing changed
+    private static boolean forceDeploy = false;
+    
+    // Set by --hotswap: apply Fargate task-definition-only changes directly to the ECS service
+    private static boolean hotswapMode = false;
+    
+    // Multi-stack deploys: --concurrency=N and --on-failure=isolate|fail-fast
+    private static int deployConcurrency = 4;
+    private static ParallelDeployScheduler.FailurePolicy failurePolicy = ParallelDeployScheduler.FailurePolicy.ISOLATE;
     
-    // Deployment strategy registry - easily expandable
-    private static final Map<String, DeploymentStrategy> DEPLOYMENT_STRATEGIES = Map.of(
-        "jenkins", new JenkinsDeploymentStrategy(),
-        "s3-website", new S3WebsiteDeploymentStrategy(),
-        "s3-website-mailer", new S3WebsiteMailerDeploymentStrategy()
-    );
+    // Set by --skip-preflight: do not check CLIs, credentials, bootstrap or compiled classes
+    private static boolean skipPreflight = false;
     
     public static void main(String[] args) {
         System.out.println("🚀 CloudForge Community Interactive Deployer");
@@ -72,6 +99,27 @@ public class InteractiveDeployer {
         String customStackName = null;
         String deploymentOption = null;
         
+        // Flags may appear anywhere; the remaining arguments stay positional
+        List<String> positional = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.equals("--force")) {
+                forceDeploy = true;
+                System.out.println("📝 Forcing deploy even if nothing changed");
+            } else if (arg.equals("--hotswap")) {
+                hotswapMode = true;
+                System.out.println("📝 Hot-swap fast path enabled for Fargate task definition changes");
+            } else if (arg.equals("--skip-preflight")) {
+                skipPreflight = true;
+            } else if (arg.startsWith("--concurrency=")) {
+                deployConcurrency = parseConcurrency(arg.substring("--concurrency=".length()));
+            } else if (arg.startsWith("--on-failure=")) {
+                failurePolicy = parseFailurePolicy(arg.substring("--on-failure=".length()));
+            } else {
+                positional.add(arg);
+            }
+        }
+        args = positional.toArray(new String[0]);
+        
         if (args.length > 0) {
             customStackName = args[0];
             System.out.println("📝 Using custom stack name: " + customStackName);
@@ -81,6 +129,11 @@ public class InteractiveDeployer {
             System.out.println("📝 Using deployment option: " + deploymentOption);
         }
         
+        // cdk deploy re-runs this class as its app; the parent deployer already ran the preflight
+        if (!skipPreflight && !Preflight.runningAsCdkApp(System.getenv())) {
+            runPreflight();
+        }
+        
         try {
             // Check if we have a saved context file
             String contextFile = "deployment-context.json";
@@ -99,6 +152,31 @@ public class InteractiveDeployer {
         }
     }
     
+    /**
+     * Runs the preflight checks concurrently and exits on a failure. Stale classes exit with
+     * {@link Preflight#STALE_CLASSES_EXIT} so deploy-interactive.sh can recompile and retry.
+     */
+    private static void runPreflight() {
+        System.out.println("🔍 Preflight checks...");
+        try {
+            long started = System.nanoTime();
+            Preflight.Report report = Preflight.forEnvironment().run();
+            report.checks().forEach(check -> System.out.println("   " + check.render()));
+            System.out.println("   Completed in " + (System.nanoTime() - started) / 1_000_000 + " ms");
+            if (!report.passed()) {
+                boolean staleOnly = report.checks().stream()
+                    .filter(check -> check.status() == Preflight.Status.FAIL)
+                    .allMatch(check -> check.name().equals("classes"));
+                System.err.println("❌ Preflight failed; fix the problems above or pass --skip-preflight");
+                System.exit(staleOnly ? Preflight.STALE_CLASSES_EXIT : 1);
+            }
+            System.out.println("");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.exit(1);
+        }
+    }
+    
     private static DeploymentConfig collectConfiguration(String customStackName) {
         DeploymentConfig config = new DeploymentConfig();
         
@@ -111,9 +189,10 @@ public class InteractiveDeployer {
         }
         config.environment = promptChoice("Environment", new String[]{"dev", "staging", "prod"}, "dev");
         
-        // Deployment Type - dynamically populated from strategies
-        String[] availableTypes = DEPLOYMENT_STRATEGIES.keySet().toArray(new String[0]);
-        config.deploymentType = promptChoice("Deployment Type", availableTypes, "jenkins");
+        // Deployment Type - discovered from DeploymentStrategyProvider services
+        String[] availableTypes = DeploymentStrategies.names().toArray(new String[0]);
+        String[] descriptions = DeploymentStrategies.names().stream().map(DeploymentStrategies::description).toArray(String[]::new);
+        config.deploymentType = promptChoice("Deployment Type", availableTypes, descriptions, "jenkins");
         
         // Domain Configuration
         config.domain = promptOptional("Domain (e.g., example.com)", "");
@@ -126,12 +205,8 @@ public class InteractiveDeployer {
         }
         
         // Deployment-specific configuration using strategy pattern
-        DeploymentStrategy strategy = DEPLOYMENT_STRATEGIES.get(config.deploymentType);
-        if (strategy != null) {
-            strategy.collectConfiguration(config);
-        } else {
-            throw new IllegalArgumentException("Unknown deployment type: " + config.deploymentType);
-        }
+        DeploymentStrategy strategy = DeploymentStrategies.create(config.deploymentType);
+        strategy.collectConfiguration(config);
         
         return config;
     }
@@ -139,14 +214,20 @@ public class InteractiveDeployer {
     
     
     private static void deployInfrastructure(DeploymentConfig config, String deploymentOption) {
+        // Cross-field checks first: a bad combination should not cost a synth and a failed deploy
+        List<ConfigValidator.Violation> violations = ConfigValidator.validate(config);
+        if (!violations.isEmpty()) {
+            System.err.println("\n❌ Configuration has " + violations.size() + " problem(s):");
+            violations.forEach(violation -> System.err.println("   - " + violation));
+            throw new IllegalArgumentException("Invalid deployment configuration; fix the values above and retry");
+        }
+        
         System.out.println("\n🔧 Building CDK Context...");
         
         Map<String, Object> cfcContext = buildCfcContext(config);
         
-        System.out.println("\n🔍 DEBUG: CDK Context being set:");
-        System.out.println("  - runtime: " + cfcContext.get("runtime"));
-        System.out.println("  - topology: " + cfcContext.get("topology"));
-        System.out.println("  - stackName: " + cfcContext.get("stackName"));
+        LOG.debug(() -> "CDK Context being set: runtime=" + cfcContext.get("runtime")
+            + ", topology=" + cfcContext.get("topology") + ", stackName=" + cfcContext.get("stackName"));
         
         System.out.println("\n📋 Deployment Configuration:");
         System.out.println("============================");
@@ -190,6 +271,7 @@ public class InteractiveDeployer {
             case "3":
                 System.out.println("\n🗑️  Deleting existing stack...");
                 deleteExistingStack(config.stackName);
+                forgetDeploy(config.stackName, config.environment);
                 System.out.println("🚀 Starting fresh deployment...");
                 break;
             case "4":
@@ -200,6 +282,9 @@ public class InteractiveDeployer {
                 System.out.println("\n🚀 Starting CDK Synthesis...");
         }
         
+        // Phase timings and CloudFormation resource spans, appended to deployment-timeline.jsonl
+        DeployTimeline timeline = new DeployTimeline(config.environment);
+        Instant synthStart = Instant.now();
         App app = new App();
         
         // Set CDK context on the app level
@@ -209,10 +294,8 @@ public class InteractiveDeployer {
         saveContextToFile(cfcContext, config.stackName);
         
         DeploymentContext cfc = DeploymentContext.from(app);
-        System.out.println("🔍 DEBUG: DeploymentContext.from(app) returned:");
-        System.out.println("  - runtime: " + cfc.runtime());
-        System.out.println("  - topology: " + cfc.topology());
-        System.out.println("  - stackName: " + config.stackName);
+        LOG.debug(() -> "DeploymentContext.from(app) returned: runtime=" + cfc.runtime()
+            + ", topology=" + cfc.topology() + ", stackName=" + config.stackName);
         IAMProfile iamProfile = IAMProfileMapper.mapFromSecurity(config.securityProfile);
         
         StackProps props = StackProps.builder()
@@ -223,12 +306,14 @@ public class InteractiveDeployer {
             .build();
         
         // Create stacks based on runtime type (like CloudForgeCommunitySample)
-        System.out.println("🔍 DEBUG: Creating stack for runtime: " + config.runtime + " with name: " + config.stackName);
-        if (config.runtime == RuntimeType.EC2) {
-            System.out.println("🔍 DEBUG: Creating JenkinsEc2Stack");
+        LOG.debug(() -> "Creating stack for runtime: " + config.runtime + " with name: " + config.stackName);
+        if ("jenkins-fleet".equals(config.deploymentType)) {
+            createFleetStacks(app, config, props);
+        } else if (config.runtime == RuntimeType.EC2) {
+            LOG.debug(() -> "Creating JenkinsEc2Stack");
             new JenkinsEc2Stack(app, config.stackName, props, config.securityProfile, iamProfile);
         } else if (config.runtime == RuntimeType.FARGATE) {
-            System.out.println("🔍 DEBUG: Creating JenkinsFargateStack");
+            LOG.debug(() -> "Creating JenkinsFargateStack");
             new JenkinsFargateStack(app, config.stackName, props, config.securityProfile, iamProfile);
         } else {
             throw new IllegalArgumentException("Unsupported runtime type: " + config.runtime);
@@ -238,18 +323,62 @@ public class InteractiveDeployer {
         if (choice.equals("2") || choice.equals("3")) {
             System.out.println("\n✅ CDK Stack synthesized successfully!");
             System.out.println("🚀 Starting CDK deployment to AWS...");
-            app.synth();
+            CloudAssembly assembly = app.synth();
+            timeline.phase("synth", synthStart);
+            Instant diffStart = Instant.now();
+            printLocalDiff(assembly);
+            timeline.phase("diff", diffStart);
+            
+            if (choice.equals("2") && !forceDeploy && isDeployUpToDate(assembly, config.environment)) {
+                System.out.println("✅ Stack '" + config.stackName + "' is unchanged since its last successful deploy - skipping cdk deploy");
+                System.out.println("Use --force to deploy anyway");
+                return;
+            }
+            
+            boolean hotswap = choice.equals("2") && hotswapMode && config.runtime == RuntimeType.FARGATE
+                && canHotswap(assembly);
+            
+            // Multi-stack apps (e.g. the fleet layout) go through the dependency-aware scheduler
+            if (assembly.getStacks().size() > 1 && !hotswap) {
+                deployStacksInParallel(assembly, config.environment, choice.equals("2") && !forceDeploy, timeline);
+                return;
+            }
             
             // Execute cdk deploy
             try {
-                System.out.println("⏳ Deploying stack '" + config.stackName + "' to AWS...");
-                ProcessBuilder deployProcess = new ProcessBuilder("cdk", "deploy", "--require-approval", "never");
+                List<String> deployCommand = new ArrayList<>(List.of("cdk", "deploy", "--require-approval", "never"));
+                if (assembly.getStacks().size() > 1) {
+                    deployCommand.add("--all");
+                }
+                if (hotswap) {
+                    // Registers a new task definition revision and updates the ECS service without a changeset
+                    deployCommand.add("--hotswap");
+                    System.out.println("⚡ Hot-swapping task definition for stack '" + config.stackName + "'...");
+                } else {
+                    System.out.println("⏳ Deploying stack '" + config.stackName + "' to AWS...");
+                }
+                ProcessBuilder deployProcess = new ProcessBuilder(deployCommand);
+                Instant deployStart = Instant.now();
                 Process deployProc = deployProcess.start();
                 int deployExitCode = deployProc.waitFor();
+                timeline.phase(hotswap ? "hotswap" : "deploy", deployStart);
+                recordTimeline(timeline, assembly.getStacks(), deployExitCode == 0);
                 
                 if (deployExitCode == 0) {
                     System.out.println("✅ Stack '" + config.stackName + "' deployed successfully to AWS!");
+                    // A hot-swap leaves the CloudFormation template untouched, so the snapshot stays
+                    // at the last full deploy and the next full deploy still diffs correctly. The ledger
+                    // entry is dropped so that full deploy is never skipped as unchanged.
+                    if (hotswap) {
+                        forgetDeploy(assembly.getStacks(), config.environment);
+                    } else {
+                        saveSnapshots(assembly.getStacks());
+                        recordDeploy(assembly, assembly.getStacks(), config.environment);
+                    }
                 } else {
+                    // The stack may be left between the recorded and the synthesized state
+                    // (e.g. UPDATE_ROLLBACK_FAILED), so the next run must not skip it as unchanged
+                    forgetDeploy(assembly.getStacks(), config.environment);
                     System.out.println("❌ CDK deployment failed with exit code: " + deployExitCode);
                     System.out.println("Check the output above for details.");
                 }
@@ -260,8 +389,275 @@ public class InteractiveDeployer {
         } else {
             System.out.println("\n✅ CDK Stack synthesized successfully!");
             System.out.println("Run 'cdk deploy' to deploy to AWS or 'cdk diff' to see changes");
-            app.synth();
+            printLocalDiff(app.synth());
+        }
+    }
+    
+    /**
+     * Deploys every stack of the assembly with up to {@code deployConcurrency} parallel
+     * {@code cdk deploy} processes, each dependent starting as soon as its prerequisites finish.
+     * When {@code skipUnchanged} is set, stacks matching the deploy ledger count as done immediately.
+     */
+    private static void deployStacksInParallel(CloudAssembly assembly, String environment, boolean skipUnchanged,
+                                               DeployTimeline timeline) {
+        try {
+            StackGraph graph = StackGraph.fromAssembly(Paths.get(assembly.getDirectory()));
+            Map<String, CloudFormationStackArtifact> byId = new HashMap<>();
+            for (CloudFormationStackArtifact stack : assembly.getStacks()) {
+                byId.put(stack.getId(), stack);
+            }
+            
+            DeployLedger ledger = DeployLedger.load();
+            List<String> unchanged = new ArrayList<>();
+            if (skipUnchanged) {
+                for (CloudFormationStackArtifact stack : assembly.getStacks()) {
+                    if (ledger.isUpToDate(stack.getStackName(), environment, fingerprint(assembly, stack))) {
+                        unchanged.add(stack.getId());
+                    }
+                }
+            }
+            
+            System.out.println("⏳ Deploying " + graph.stacks().size() + " stacks (up to " + deployConcurrency
+                + " in parallel, on failure: " + failurePolicy.name().toLowerCase() + ")");
+            System.out.println("   Order: " + String.join(" → ", graph.topologicalOrder()));
+            if (!unchanged.isEmpty()) {
+                System.out.println("   Unchanged since last deploy, skipping: " + String.join(", ", unchanged));
+            }
+            
+            CdkDeployExecutor cdk = new CdkDeployExecutor(assembly.getDirectory(), List.of());
+            DeployExecutor executor = stackId -> unchanged.contains(stackId) || cdk.deploy(stackId);
+            Instant deployStart = Instant.now();
+            ParallelDeployScheduler.Result result =
+                new ParallelDeployScheduler(executor, deployConcurrency, failurePolicy, 0).run(graph);
+            timeline.phase("deploy", deployStart);
+            recordTimeline(timeline, assembly.getStacks().stream()
+                .filter(stack -> !unchanged.contains(stack.getId()))
+                .toList(), result.succeeded());
+            
+            List<CloudFormationStackArtifact> deployed = new ArrayList<>();
+            List<CloudFormationStackArtifact> failed = new ArrayList<>();
+            for (ParallelDeployScheduler.Outcome outcome : result.outcomes().values()) {
+                String icon = switch (outcome.status()) {
+                    case SUCCEEDED -> "✅";
+                    case FAILED -> "❌";
+                    case SKIPPED -> "⏭️ ";
+                };
+                System.out.println(icon + " " + outcome.stack() + ": " + outcome.status()
+                    + (outcome.detail() != null ? " (" + outcome.detail() + ")" : "")
+                    + (outcome.status() == ParallelDeployScheduler.Status.SUCCEEDED ? " in " + outcome.elapsed().toSeconds() + "s" : ""));
+                if (outcome.status() == ParallelDeployScheduler.Status.SUCCEEDED && !unchanged.contains(outcome.stack())) {
+                    deployed.add(byId.get(outcome.stack()));
+                } else if (outcome.status() == ParallelDeployScheduler.Status.FAILED) {
+                    failed.add(byId.get(outcome.stack()));
+                }
+            }
+            saveSnapshots(deployed);
+            recordDeploy(assembly, deployed, environment);
+            forgetDeploy(failed, environment);
+            
+            if (!result.succeeded()) {
+                System.out.println("❌ Some stacks failed. Check the output above for details.");
+            }
+        } catch (Exception e) {
+            System.out.println("❌ Error during parallel CDK deployment: " + e.getMessage());
+            System.out.println("You can manually run: cdk deploy --all");
+        }
+    }
+    
+    private static int parseConcurrency(String value) {
+        try {
+            int concurrency = Integer.parseInt(value);
+            if (concurrency >= 1) {
+                return concurrency;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        usageError("--concurrency expects a positive integer, got '" + value + "'");
+        return 1;
+    }
+    
+    private static ParallelDeployScheduler.FailurePolicy parseFailurePolicy(String value) {
+        for (ParallelDeployScheduler.FailurePolicy policy : ParallelDeployScheduler.FailurePolicy.values()) {
+            if (policy.name().equalsIgnoreCase(value.replace('-', '_'))) {
+                return policy;
+            }
+        }
+        usageError("--on-failure expects fail-fast or isolate, got '" + value + "'");
+        return ParallelDeployScheduler.FailurePolicy.FAIL_FAST;
+    }
+    
+    private static void usageError(String message) {
+        System.err.println("❌ " + message);
+        System.err.println("Usage: InteractiveDeployer [stackName] [option] [--force] [--hotswap] [--skip-preflight]"
+            + " [--concurrency=N] [--on-failure=fail-fast|isolate]");
+        System.exit(2);
+    }
+    
+    /**
+     * Fleet layout: one shared VPC/ALB/EFS stack plus a thin stack per tenant. Listener rule
+     * priorities come from the tenant names, so the list can be reordered or shortened freely.
+     */
+    private static void createFleetStacks(App app, DeploymentConfig config, StackProps props) {
+        List<String> tenants = parseTenants(config.fleetTenants);
+        if (tenants.isEmpty()) {
+            throw new IllegalArgumentException("Fleet deployment requires at least one tenant in fleetTenants");
+        }
+        JenkinsSharedInfraStack shared = new JenkinsSharedInfraStack(app, config.stackName + "-shared", props, tenants);
+        for (String tenant : tenants) {
+            new JenkinsTenantStack(app, config.stackName + "-" + tenant, props, shared, tenant);
+        }
+        System.out.println("🏢 Fleet layout: shared stack '" + shared.getStackName() + "' + " + tenants.size() + " tenant stack(s)");
+    }
+    
+    private static List<String> parseTenants(String value) {
+        List<String> tenants = new ArrayList<>();
+        for (String tenant : value.split(",")) {
+            String trimmed = tenant.trim().toLowerCase();
+            if (!trimmed.isEmpty() && !tenants.contains(trimmed)) {
+                tenants.add(trimmed);
+            }
+        }
+        return tenants;
+    }
+    
+    /**
+     * Prints an offline structural diff of every synthesized stack against its last
+     * deployed snapshot. Pure file comparison, no AWS calls.
+     */
+    private static void printLocalDiff(CloudAssembly assembly) {
+        TemplateSnapshots snapshots = new TemplateSnapshots();
+        for (CloudFormationStackArtifact stack : assembly.getStacks()) {
+            String stackName = stack.getStackName();
+            try {
+                long started = System.nanoTime();
+                TemplateDiff.Result diff = snapshots.diff(stackName, Paths.get(stack.getTemplateFullPath()));
+                long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+                
+                System.out.println("\n🔎 Local diff for '" + stackName + "' "
+                    + (snapshots.exists(stackName) ? "against last deployed snapshot" : "(no snapshot yet, first deploy)")
+                    + " [" + elapsedMs + " ms]:");
+                for (String line : diff.render()) {
+                    System.out.println("  " + line);
+                }
+                if (diff.maxImpact() == TemplateDiff.Impact.STATEFUL_RISK) {
+                    System.out.println("⚠️  Stateful resources will be replaced or removed - review before deploying");
+                }
+            } catch (IOException e) {
+                System.err.println("⚠️  Warning: Could not diff stack '" + stackName + "': " + e.getMessage());
+            }
+        }
+    }
+    
+    /** True when every synthesized stack differs from its snapshot only in hot-swappable task definition properties. */
+    private static boolean canHotswap(CloudAssembly assembly) {
+        TemplateSnapshots snapshots = new TemplateSnapshots();
+        for (CloudFormationStackArtifact stack : assembly.getStacks()) {
+            try {
+                HotswapDetector.Decision decision = HotswapDetector.detect(
+                    snapshots.snapshotFor(stack.getStackName()), Paths.get(stack.getTemplateFullPath()));
+                if (!decision.hotswappable()) {
+                    System.out.println("ℹ️  Hot-swap not possible for '" + stack.getStackName() + "' ("
+                        + decision.reason() + "), falling back to full deploy");
+                    return false;
+                }
+                System.out.println("⚡ Hot-swappable task definitions: " + String.join(", ", decision.taskDefinitions()));
+            } catch (IOException e) {
+                System.err.println("⚠️  Warning: Could not check hot-swap eligibility: " + e.getMessage());
+                return false;
+            }
+        }
+        return !assembly.getStacks().isEmpty();
+    }
+    
+    /** True when every synthesized stack matches the fingerprint of its last successful deploy. */
+    private static boolean isDeployUpToDate(CloudAssembly assembly, String environment) {
+        try {
+            DeployLedger ledger = DeployLedger.load();
+            for (CloudFormationStackArtifact stack : assembly.getStacks()) {
+                if (!ledger.isUpToDate(stack.getStackName(), environment, fingerprint(assembly, stack))) {
+                    return false;
+                }
+            }
+            return !assembly.getStacks().isEmpty();
+        } catch (IOException e) {
+            System.err.println("⚠️  Warning: Could not read deployment ledger, deploying anyway: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Adds the CloudFormation events of {@code stacks} to the timeline, appends the run to the
+     * history and prints where the time went. Never fails the deploy.
+     */
+    private static void recordTimeline(DeployTimeline timeline, List<CloudFormationStackArtifact> stacks, boolean succeeded) {
+        if (stacks.isEmpty()) {
+            return;
+        }
+        CommandRunner aws = CommandRunner.process();
+        for (CloudFormationStackArtifact stack : stacks) {
+            timeline.fetchEvents(aws, stack.getStackName());
+        }
+        try {
+            DeployTimeline.append(timeline.finish(succeeded));
+            System.out.println("\n⏱️  Deploy timeline (" + DeployTimeline.DEFAULT_FILE + "):");
+            String stackName = stacks.size() == 1 ? stacks.get(0).getStackName() : null;
+            TimelineReport.render(DeployTimeline.load(), stackName).forEach(line -> System.out.println("  " + line));
+        } catch (IOException e) {
+            System.err.println("⚠️  Warning: Could not record deploy timeline: " + e.getMessage());
+        }
+    }
+    
+    private static void recordDeploy(CloudAssembly assembly, List<CloudFormationStackArtifact> stacks, String environment) {
+        if (stacks.isEmpty()) {
+            return;
+        }
+        try {
+            DeployLedger ledger = DeployLedger.load();
+            for (CloudFormationStackArtifact stack : stacks) {
+                ledger.record(stack.getStackName(), environment, fingerprint(assembly, stack));
+            }
+            ledger.save();
+        } catch (IOException e) {
+            System.err.println("⚠️  Warning: Could not update deployment ledger: " + e.getMessage());
+        }
+    }
+    
+    /** Marks the stacks as drifted from CloudFormation, so the next option-2 run always deploys. */
+    private static void forgetDeploy(List<CloudFormationStackArtifact> stacks, String environment) {
+        if (stacks.isEmpty()) {
+            return;
+        }
+        try {
+            DeployLedger ledger = DeployLedger.load();
+            for (CloudFormationStackArtifact stack : stacks) {
+                ledger.forget(stack.getStackName(), environment);
+            }
+            ledger.save();
+        } catch (IOException e) {
+            System.err.println("⚠️  Warning: Could not update deployment ledger: " + e.getMessage());
+        }
+    }
+    
+    private static DeployLedger.Fingerprint fingerprint(CloudAssembly assembly, CloudFormationStackArtifact stack) throws IOException {
+        return DeployLedger.Fingerprint.of(
+            Paths.get(stack.getTemplateFullPath()),
+            Paths.get(assembly.getDirectory(), stack.getId() + ".assets.json"));
+    }
+    
+    private static void saveSnapshots(List<CloudFormationStackArtifact> stacks) {
+        if (stacks.isEmpty()) {
+            return;
         }
+        TemplateSnapshots snapshots = new TemplateSnapshots();
+        for (CloudFormationStackArtifact stack : stacks) {
+            try {
+                snapshots.save(stack.getStackName(), Paths.get(stack.getTemplateFullPath()));
+            } catch (IOException e) {
+                System.err.println("⚠️  Warning: Could not save template snapshot: " + e.getMessage());
+            }
+        }
+        System.out.println("💾 Template snapshot saved to " + TemplateSnapshots.DEFAULT_DIR + "/");
     }
     
     private static void saveContextToFile(Map<String, Object> context, String stackName) {
@@ -285,6 +681,16 @@ public class InteractiveDeployer {
         }
     }
     
+    private static void forgetDeploy(String stackName, String environment) {
+        try {
+            DeployLedger ledger = DeployLedger.load();
+            ledger.forget(stackName, environment);
+            ledger.save();
+        } catch (IOException e) {
+            System.err.println("⚠️  Warning: Could not update deployment ledger: " + e.getMessage());
+        }
+    }
+    
     private static void deleteExistingStack(String stackName) {
         try {
             System.out.println("🗑️  Checking if stack '" + stackName + "' exists...");
@@ -422,11 +828,8 @@ public class InteractiveDeployer {
         String topology = extractValue(content, "topology");
         String securityProfile = extractValue(content, "securityProfile");
         
-        System.out.println("🔍 DEBUG: Extracted values from context:");
-        System.out.println("  - stackName: " + stackName);
-        System.out.println("  - runtime: " + runtime);
-        System.out.println("  - topology: " + topology);
-        System.out.println("  - securityProfile: " + securityProfile);
+        LOG.debug(() -> "Extracted values from context: stackName=" + stackName + ", runtime=" + runtime
+            + ", topology=" + topology + ", securityProfile=" + securityProfile);
         
             // Create DeploymentConfig from saved context
             DeploymentConfig config = new DeploymentConfig();
@@ -456,13 +859,34 @@ public class InteractiveDeployer {
         
         // Set other required fields with defaults
         config.environment = "dev";
-        config.deploymentType = "jenkins";
-        config.networkMode = "public-no-nat";
+        String deploymentType = extractValue(content, "deploymentType");
+        config.deploymentType = deploymentType != null ? deploymentType : "jenkins";
+        String fleetTenants = extractValue(content, "fleetTenants");
+        config.fleetTenants = fleetTenants != null ? fleetTenants : "";
+        String networkMode = extractValue(content, "networkMode");
+        config.networkMode = networkMode != null ? networkMode : "public-no-nat";
+        config.enableVpcEndpoints = "true".equalsIgnoreCase(extractValue(content, "enableVpcEndpoints"));
         config.wafEnabled = false;
         config.cloudfrontEnabled = false;
-        config.cpu = 1024;
-        config.memory = 2048;
-        config.authMode = "none";
+        config.cpu = intValue(content, "cpu", 1024);
+        config.memory = intValue(content, "memory", 2048);
+        String jvmOptions = extractValue(content, "jvmOptions");
+        config.jvmOptions = jvmOptions != null ? jvmOptions : "";
+        String workspaceStorage = extractValue(content, "workspaceStorage");
+        config.workspaceStorage = workspaceStorage != null ? workspaceStorage : config.workspaceStorage;
+        config.ephemeralStorageGiB = intValue(content, "ephemeralStorageGiB", config.ephemeralStorageGiB);
+        String authMode = extractValue(content, "authMode");
+        config.authMode = authMode != null ? authMode : "none";
+        String oidcClientSecret = extractValue(content, "oidcClientSecret");
+        config.oidcClientSecret = oidcClientSecret != null ? oidcClientSecret : "";
+        String ssoInstanceArn = extractValue(content, "ssoInstanceArn");
+        config.ssoInstanceArn = ssoInstanceArn != null ? ssoInstanceArn : "";
+        String ssoGroupId = extractValue(content, "ssoGroupId");
+        config.ssoGroupId = ssoGroupId != null ? ssoGroupId : "";
+        String ssoTargetAccountId = extractValue(content, "ssoTargetAccountId");
+        config.ssoTargetAccountId = ssoTargetAccountId != null ? ssoTargetAccountId : "";
+        config.enableMonitoring = boolValue(content, "enableMonitoring", config.enableMonitoring);
+        config.enableEncryption = boolValue(content, "enableEncryption", config.enableEncryption);
         
         // Extract domain configuration from saved context
         config.domain = extractValue(content, "domain");
@@ -485,9 +909,73 @@ public class InteractiveDeployer {
         config.cpuTargetUtilization = cpuTargetStr != null ? Integer.parseInt(cpuTargetStr) : 60;
         config.enableAutoScaling = "true".equalsIgnoreCase(enableAutoScalingStr);
         
+        // Working-hours schedule and predictive scaling
+        config.enableScheduledScaling = "true".equalsIgnoreCase(extractValue(content, "enableScheduledScaling"));
+        String scheduleTimeZone = extractValue(content, "scheduleTimeZone");
+        config.scheduleTimeZone = scheduleTimeZone != null ? scheduleTimeZone : config.scheduleTimeZone;
+        String peakStartCron = extractValue(content, "peakStartCron");
+        config.peakStartCron = peakStartCron != null ? peakStartCron : config.peakStartCron;
+        String peakEndCron = extractValue(content, "peakEndCron");
+        config.peakEndCron = peakEndCron != null ? peakEndCron : config.peakEndCron;
+        config.peakMinCapacity = intValue(content, "peakMinCapacity", config.minInstanceCapacity);
+        config.peakMaxCapacity = intValue(content, "peakMaxCapacity", config.maxInstanceCapacity);
+        config.offPeakMinCapacity = intValue(content, "offPeakMinCapacity", config.offPeakMinCapacity);
+        config.offPeakMaxCapacity = intValue(content, "offPeakMaxCapacity", config.minInstanceCapacity);
+        config.prewarmMinutes = intValue(content, "prewarmMinutes", config.prewarmMinutes);
+        String predictiveScaling = extractValue(content, "predictiveScaling");
+        config.predictiveScaling = predictiveScaling != null ? predictiveScaling : config.predictiveScaling;
+        
+        // Pre-baked AMI and warm pool (EC2)
+        String amiId = extractValue(content, "amiId");
+        config.amiId = amiId != null ? amiId : "";
+        config.warmPoolSize = intValue(content, "warmPoolSize", config.warmPoolSize);
+        String warmPoolState = extractValue(content, "warmPoolState");
+        config.warmPoolState = warmPoolState != null ? warmPoolState : config.warmPoolState;
+        config.healthCheckGracePeriod = intValue(content, "healthCheckGracePeriod", config.healthCheckGracePeriod);
+        config.healthCheckInterval = intValue(content, "healthCheckInterval", config.healthCheckInterval);
+        config.healthCheckTimeout = intValue(content, "healthCheckTimeout", config.healthCheckTimeout);
+        config.healthyThreshold = intValue(content, "healthyThreshold", config.healthyThreshold);
+        config.unhealthyThreshold = intValue(content, "unhealthyThreshold", config.unhealthyThreshold);
+        
+        // Pre-baked controller image (Fargate)
+        config.prebakedControllerImage = "true".equalsIgnoreCase(extractValue(content, "prebakedControllerImage"));
+        config.controllerExecutors = intValue(content, "controllerExecutors", config.controllerExecutors);
+        String artifactStore = extractValue(content, "artifactStore");
+        config.artifactStore = artifactStore != null ? artifactStore : config.artifactStore;
+        config.artifactRetentionDays = intValue(content, "artifactRetentionDays", config.artifactRetentionDays);
+        String tracingExport = extractValue(content, "tracingExport");
+        config.tracingExport = tracingExport != null ? tracingExport : config.tracingExport;
+        config.traceSamplePercent = intValue(content, "traceSamplePercent", config.traceSamplePercent);
+        
+        // Log retention and Fluent Bit routing
+        String logRetentionDays = extractValue(content, "logRetentionDays");
+        config.logRetentionDays = logRetentionDays != null ? logRetentionDays : config.logRetentionDays;
+        String logShipping = extractValue(content, "logShipping");
+        config.logShipping = logShipping != null ? logShipping : config.logShipping;
+        config.logSamplePercent = intValue(content, "logSamplePercent", config.logSamplePercent);
+        String logDropPatterns = extractValue(content, "logDropPatterns");
+        config.logDropPatterns = logDropPatterns != null ? logDropPatterns : "";
+        config.buildLogRetentionDays = intValue(content, "buildLogRetentionDays", config.buildLogRetentionDays);
+        
+        // Performance dashboard and alarm thresholds
+        config.enablePerformanceDashboard = "true".equalsIgnoreCase(extractValue(content, "enablePerformanceDashboard"));
+        config.alarmLatencyP99Ms = intValue(content, "alarmLatencyP99Ms", config.alarmLatencyP99Ms);
+        config.alarm5xxPercent = intValue(content, "alarm5xxPercent", config.alarm5xxPercent);
+        config.alarmCpuPercent = intValue(content, "alarmCpuPercent", config.alarmCpuPercent);
+        config.alarmMemoryPercent = intValue(content, "alarmMemoryPercent", config.alarmMemoryPercent);
+        config.alarmEfsBurstCreditGiB = intValue(content, "alarmEfsBurstCreditGiB", config.alarmEfsBurstCreditGiB);
+        config.alarmQueueLength = intValue(content, "alarmQueueLength", config.alarmQueueLength);
+        String alarmEmail = extractValue(content, "alarmEmail");
+        config.alarmEmail = alarmEmail != null ? alarmEmail : "";
+        
         if (config.runtime == RuntimeType.EC2) {
-            config.instanceType = "t3.micro";
+            String instanceType = extractValue(content, "instanceType");
+            config.instanceType = instanceType != null ? instanceType : "t3.micro";
+            String cpuCreditMode = extractValue(content, "cpuCreditMode");
+            config.cpuCreditMode = cpuCreditMode != null ? cpuCreditMode : "";
         }
+        String cpuArchitecture = extractValue(content, "cpuArchitecture");
+        config.cpuArchitecture = cpuArchitecture != null ? cpuArchitecture : config.cpuArchitecture;
         
         System.out.println("📋 Using saved configuration:");
         System.out.println("Stack Name: " + config.stackName);
@@ -497,6 +985,7 @@ public class InteractiveDeployer {
         System.out.println("Domain: " + (config.domain.isEmpty() ? "none" : config.domain));
         System.out.println("Subdomain: " + (config.subdomain.isEmpty() ? "none" : config.subdomain));
         System.out.println("SSL Enabled: " + config.enableSsl);
+        System.out.println("Auth Mode: " + config.authMode);
         
         // Deploy using the saved configuration
         deployInfrastructure(config, deploymentOption);
@@ -512,6 +1001,16 @@ public class InteractiveDeployer {
         return null;
     }
     
+    private static int intValue(String json, String key, int defaultValue) {
+        String value = extractValue(json, key);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+    
+    private static boolean boolValue(String json, String key, boolean defaultValue) {
+        String value = extractValue(json, key);
+        return value != null ? Boolean.parseBoolean(value) : defaultValue;
+    }
+    
     private static Map<String, Object> buildCfcContext(DeploymentConfig config) {
         Map<String, Object> context = new HashMap<>();
         
@@ -522,6 +1021,10 @@ public class InteractiveDeployer {
         context.put("topology", config.topology.name());
         context.put("securityProfile", config.securityProfile.name());
         context.put("stackName", config.stackName);
+        context.put("deploymentType", config.deploymentType);
+        if ("jenkins-fleet".equals(config.deploymentType)) {
+            context.put("fleetTenants", config.fleetTenants);
+        }
         
         // Domain configuration - always include these fields
         context.put("domain", config.domain);
@@ -530,6 +1033,7 @@ public class InteractiveDeployer {
         
         // Network configuration
         context.put("networkMode", config.networkMode);
+        context.put("enableVpcEndpoints", config.enableVpcEndpoints);
         context.put("wafEnabled", config.wafEnabled);
         context.put("cloudfrontEnabled", config.cloudfrontEnabled);
         
@@ -539,18 +1043,75 @@ public class InteractiveDeployer {
         context.put("maxInstanceCapacity", config.maxInstanceCapacity);
         context.put("cpuTargetUtilization", config.cpuTargetUtilization);
         context.put("enableAutoScaling", config.enableAutoScaling);
+        context.put("enableScheduledScaling", config.enableScheduledScaling);
+        if (config.enableScheduledScaling) {
+            context.put("scheduleTimeZone", config.scheduleTimeZone);
+            context.put("peakStartCron", config.peakStartCron);
+            context.put("peakEndCron", config.peakEndCron);
+            context.put("peakMinCapacity", config.peakMinCapacity);
+            context.put("peakMaxCapacity", config.peakMaxCapacity);
+            context.put("offPeakMinCapacity", config.offPeakMinCapacity);
+            context.put("offPeakMaxCapacity", config.offPeakMaxCapacity);
+        }
+        if (config.enableScheduledScaling || !"off".equals(config.predictiveScaling)) {
+            context.put("prewarmMinutes", config.prewarmMinutes);
+        }
         
         if (config.runtime == RuntimeType.EC2) {
             context.put("instanceType", config.instanceType);
+            if (InstanceCatalog.isBurstable(config.instanceType)) {
+                context.put("cpuCreditMode", config.cpuCreditMode);
+            }
+            context.put("amiId", config.amiId);
+            context.put("warmPoolSize", config.warmPoolSize);
+            context.put("warmPoolState", config.warmPoolState);
+            context.put("predictiveScaling", config.predictiveScaling);
         }
+        context.put("cpuArchitecture", config.cpuArchitecture);
         context.put("cpu", config.cpu);
         context.put("memory", config.memory);
+        context.put("jvmOptions", config.jvmOptions);
+        context.put("workspaceStorage", config.workspaceStorage);
+        if (config.runtime == RuntimeType.FARGATE) {
+            context.put("ephemeralStorageGiB", config.ephemeralStorageGiB);
+        }
         context.put("authMode", config.authMode);
+        if ("jenkins-oidc".equals(config.authMode)) {
+            context.put("oidcClientSecret", config.oidcClientSecret);
+        }
+        if (config.runtime == RuntimeType.FARGATE) {
+            context.put("prebakedControllerImage", config.prebakedControllerImage);
+            context.put("controllerExecutors", config.controllerExecutors);
+            context.put("artifactStore", config.artifactStore);
+            if ("s3".equals(config.artifactStore)) {
+                context.put("artifactRetentionDays", config.artifactRetentionDays);
+            }
+            context.put("tracingExport", config.tracingExport);
+            if (!"off".equals(config.tracingExport)) {
+                context.put("traceSamplePercent", config.traceSamplePercent);
+            }
+        }
         
         // Advanced configuration
         context.put("enableMonitoring", config.enableMonitoring);
         context.put("enableEncryption", config.enableEncryption);
         context.put("logRetentionDays", config.logRetentionDays);
+        context.put("logShipping", config.logShipping);
+        if ("firelens".equals(config.logShipping)) {
+            context.put("logSamplePercent", config.logSamplePercent);
+            context.put("logDropPatterns", config.logDropPatterns);
+            context.put("buildLogRetentionDays", config.buildLogRetentionDays);
+        }
+        context.put("enablePerformanceDashboard", config.enablePerformanceDashboard);
+        if (config.enablePerformanceDashboard) {
+            context.put("alarmLatencyP99Ms", config.alarmLatencyP99Ms);
+            context.put("alarm5xxPercent", config.alarm5xxPercent);
+            context.put("alarmCpuPercent", config.alarmCpuPercent);
+            context.put("alarmMemoryPercent", config.alarmMemoryPercent);
+            context.put("alarmEfsBurstCreditGiB", config.alarmEfsBurstCreditGiB);
+            context.put("alarmQueueLength", config.alarmQueueLength);
+            context.put("alarmEmail", config.alarmEmail);
+        }
         context.put("region", config.region);
         
         // Health check configuration
@@ -569,187 +1130,13 @@ public class InteractiveDeployer {
         return context;
     }
     
-    // Utility methods for user input
-    private static String promptRequired(String prompt, String defaultValue) {
-        System.out.print(prompt + " [" + defaultValue + "]: ");
-        
-        if (!hasConsole()) {
-            System.err.println("⚠️  Warning: No interactive console available. Using default value: " + defaultValue);
-            return defaultValue;
-        }
-        
-        try {
-            String input = scanner.nextLine().trim();
-            return input.isEmpty() ? defaultValue : input;
-        } catch (Exception e) {
-            System.err.println("⚠️  Error reading input, using default: " + defaultValue);
-            return defaultValue;
-        }
-    }
-    
-    private static String promptOptional(String prompt, String defaultValue) {
-        System.out.print(prompt + " [" + defaultValue + "] (optional): ");
-        
-        if (!hasConsole()) {
-            System.err.println("⚠️  Warning: No interactive console available. Using default value: " + defaultValue);
-            return defaultValue;
-        }
-        
-        try {
-            String input = scanner.nextLine().trim();
-            return input.isEmpty() ? defaultValue : input;
-        } catch (Exception e) {
-            System.err.println("⚠️  Error reading input, using default: " + defaultValue);
-            return defaultValue;
-        }
-    }
-    
-    private static String promptChoice(String prompt, String[] choices, String defaultValue) {
-        System.out.println(prompt + ":");
-        for (int i = 0; i < choices.length; i++) {
-            System.out.println("  " + (i + 1) + ". " + choices[i] + 
-                (choices[i].equals(defaultValue) ? " (default)" : ""));
-        }
-        System.out.print("Choose [" + defaultValue + "]: ");
-        
-        if (!hasConsole()) {
-            System.err.println("⚠️  Warning: No interactive console available. Using default value: " + defaultValue);
-            return defaultValue;
-        }
-        
-        try {
-            String input = scanner.nextLine().trim();
-            if (input.isEmpty()) {
-                return defaultValue;
-            }
-            
-            try {
-                int choice = Integer.parseInt(input);
-                if (choice >= 1 && choice <= choices.length) {
-                    return choices[choice - 1];
-                }
-            } catch (NumberFormatException e) {
-                // Try to match by name
-                for (String choice : choices) {
-                    if (choice.equalsIgnoreCase(input)) {
-                        return choice;
-                    }
-                }
-            }
-            
-            System.out.println("Invalid choice, using default: " + defaultValue);
-            return defaultValue;
-        } catch (Exception e) {
-            System.err.println("⚠️  Error reading input, using default: " + defaultValue);
-            return defaultValue;
-        }
-    }
-    
-    private static boolean promptYesNo(String prompt, boolean defaultValue) {
-        System.out.print(prompt + " [" + (defaultValue ? "Y/n" : "y/N") + "]: ");
-        
-        if (!hasConsole()) {
-            System.err.println("⚠️  Warning: No interactive console available. Using default value: " + defaultValue);
-            return defaultValue;
-        }
-        
-        try {
-            String input = scanner.nextLine().trim().toLowerCase();
-            if (input.isEmpty()) {
-                return defaultValue;
-            }
-            return input.startsWith("y") || input.startsWith("t") || input.equals("1");
-        } catch (Exception e) {
-            System.err.println("⚠️  Error reading input, using default: " + defaultValue);
-            return defaultValue;
-        }
-    }
-    
-    private static int promptInt(String prompt, int defaultValue) {
-        System.out.print(prompt + " [" + defaultValue + "]: ");
-        
-        if (!hasConsole()) {
-            System.err.println("⚠️  Warning: No interactive console available. Using default value: " + defaultValue);
-            return defaultValue;
-        }
-        
-        try {
-            String input = scanner.nextLine().trim();
-            if (input.isEmpty()) {
-                return defaultValue;
-            }
-            
-            try {
-                return Integer.parseInt(input);
-            } catch (NumberFormatException e) {
-                System.out.println("Invalid number, using default: " + defaultValue);
-                return defaultValue;
-            }
-        } catch (Exception e) {
-            System.err.println("⚠️  Error reading input, using default: " + defaultValue);
-            return defaultValue;
-        }
-    }
-    
-    private static int promptIntWithValidation(String prompt, int defaultValue, int min, int max) {
-        while (true) {
-            System.out.print(prompt + " [" + defaultValue + "] (range: " + min + "-" + max + "): ");
-            
-            if (!hasConsole()) {
-                System.err.println("⚠️  Warning: No interactive console available. Using default value: " + defaultValue);
-                return defaultValue;
-            }
-            
-            try {
-                String input = scanner.nextLine().trim();
-                if (input.isEmpty()) return defaultValue;
-                
-                int value = Integer.parseInt(input);
-                if (value < min || value > max) {
-                    System.out.println("❌ Value must be between " + min + " and " + max + ". Please try again.");
-                    continue;
-                }
-                return value;
-            } catch (NumberFormatException e) {
-                System.out.println("❌ Invalid number format. Please enter a valid integer.");
-            } catch (Exception e) {
-                System.err.println("⚠️  Error reading input, using default: " + defaultValue);
-                return defaultValue;
-            }
-        }
-    }
-    
-    private static String promptWithValidation(String prompt, String defaultValue, String[] validOptions) {
-        while (true) {
-            System.out.print(prompt + " [" + defaultValue + "]: ");
-            
-            if (!hasConsole()) {
-                System.err.println("⚠️  Warning: No interactive console available. Using default value: " + defaultValue);
-                return defaultValue;
-            }
-            
-            try {
-                String input = scanner.nextLine().trim();
-                if (input.isEmpty()) return defaultValue;
-                
-                for (String option : validOptions) {
-                    if (option.equalsIgnoreCase(input)) {
-                        return option.toLowerCase();
-                    }
-                }
-                
-                System.out.println("❌ Invalid option. Valid options: " + String.join(", ", validOptions));
-            } catch (Exception e) {
-                System.err.println("⚠️  Error reading input, using default: " + defaultValue);
-                return defaultValue;
-            }
-        }
-    }
-    
     private static void printConfiguration(DeploymentConfig config) {
         System.out.println("Stack Name: " + config.stackName);
         System.out.println("Environment: " + config.environment);
         System.out.println("Deployment Type: " + config.deploymentType);
+        if ("jenkins-fleet".equals(config.deploymentType)) {
+            System.out.println("Fleet Tenants: " + config.fleetTenants);
+        }
         System.out.println("Runtime: " + config.runtime);
         System.out.println("Topology: " + config.topology);
         System.out.println("Security Profile: " + config.securityProfile);
@@ -763,6 +1150,9 @@ public class InteractiveDeployer {
         }
         
         System.out.println("Network Mode: " + config.networkMode);
+        if ("private-with-nat".equals(config.networkMode)) {
+            System.out.println("VPC Endpoints: " + config.enableVpcEndpoints);
+        }
         System.out.println("WAF Enabled: " + config.wafEnabled);
         System.out.println("CloudFront Enabled: " + config.cloudfrontEnabled);
         
@@ -773,13 +1163,39 @@ public class InteractiveDeployer {
         if (config.enableAutoScaling) {
             System.out.println("CPU Target Utilization: " + config.cpuTargetUtilization + "%");
         }
+        if (config.enableScheduledScaling) {
+            System.out.println("Scheduled Scaling: " + config.peakStartCron + " -> " + config.peakEndCron
+                + " (" + config.scheduleTimeZone + ", " + config.prewarmMinutes + " min pre-warm)");
+            System.out.println("  Peak capacity: " + config.peakMinCapacity + "-" + config.peakMaxCapacity
+                + ", off-peak: " + config.offPeakMinCapacity + "-" + config.offPeakMaxCapacity);
+        }
         
         if (config.runtime == RuntimeType.EC2) {
             System.out.println("Instance Type: " + config.instanceType);
+            if (InstanceCatalog.isBurstable(config.instanceType)) {
+                System.out.println("CPU Credit Mode: " + config.cpuCreditMode);
+            }
+            System.out.println("AMI: " + (config.amiId.isEmpty() ? "stock (installed by user data)" : config.amiId));
+            System.out.println("Warm Pool: " + (config.warmPoolSize > 0
+                ? config.warmPoolSize + " " + config.warmPoolState + " instance(s)" : "disabled"));
+            System.out.println("Predictive Scaling: " + config.predictiveScaling);
         }
+        System.out.println("CPU Architecture: " + config.cpuArchitecture);
         System.out.println("CPU: " + config.cpu);
         System.out.println("Memory: " + config.memory + " MB");
-        System.out.println("Auth Mode: " + config.authMode);
+        System.out.println("Workspace Storage: " + config.workspaceStorage
+            + (config.runtime == RuntimeType.FARGATE ? " (" + config.ephemeralStorageGiB + " GiB ephemeral)" : ""));
+        System.out.println("JVM Options: " + (config.jvmOptions.isEmpty() ? "computed profile" : config.jvmOptions));
+        System.out.println("Auth Mode: " + config.authMode
+            + ("jenkins-oidc".equals(config.authMode) ? " (client from " + config.oidcClientSecret + ")" : ""));
+        if (config.runtime == RuntimeType.FARGATE) {
+            System.out.println("Pre-baked Controller Image: " + config.prebakedControllerImage
+                + (config.prebakedControllerImage ? " (" + config.controllerExecutors + " controller executors)" : ""));
+            System.out.println("Artifact Store: " + config.artifactStore
+                + ("s3".equals(config.artifactStore) ? " (" + config.artifactRetentionDays + " days)" : ""));
+            System.out.println("Build Tracing: " + config.tracingExport
+                + (!"off".equals(config.tracingExport) ? " (" + config.traceSamplePercent + "% of builds)" : ""));
+        }
         
         System.out.println("\n🔧 Advanced Configuration:");
         System.out.println("==========================");
@@ -788,6 +1204,21 @@ public class InteractiveDeployer {
         if (config.enableMonitoring) {
             System.out.println("Log Retention: " + config.logRetentionDays + " days");
         }
+        System.out.println("Log Shipping: " + config.logShipping);
+        if ("firelens".equals(config.logShipping)) {
+            System.out.println("Build Logs: S3, kept " + config.buildLogRetentionDays + " days");
+            System.out.println("Controller Log Sampling: " + config.logSamplePercent + "% of INFO lines"
+                + (config.logDropPatterns.isEmpty() ? "" : ", dropping " + config.logDropPatterns));
+        }
+        if (config.enableMonitoring) {
+            System.out.println("Performance Dashboard: " + config.enablePerformanceDashboard);
+            if (config.enablePerformanceDashboard) {
+                System.out.println("Alarm Thresholds: p99 " + config.alarmLatencyP99Ms + " ms, 5xx " + config.alarm5xxPercent
+                    + "%, CPU " + config.alarmCpuPercent + "%, memory " + config.alarmMemoryPercent
+                    + "%, EFS credits " + config.alarmEfsBurstCreditGiB + " GiB, queue " + config.alarmQueueLength);
+                System.out.println("Alarm Email: " + (config.alarmEmail.isEmpty() ? "none" : config.alarmEmail));
+            }
+        }
         
         System.out.println("\n🏥 Health Check Configuration:");
         System.out.println("==============================");
@@ -801,230 +1232,4 @@ public class InteractiveDeployer {
         System.out.println("=====================");
         System.out.println("Region: " + config.region);
     }
-    
-    // Configuration data class
-    private static class DeploymentConfig {
-        // Basic configuration
-        String stackName;
-        String environment;
-        String deploymentType;
-        
-        // Domain configuration
-        String domain;
-        String subdomain;
-        boolean enableSsl;
-        
-        // Runtime configuration
-        RuntimeType runtime;
-        TopologyType topology;
-        SecurityProfile securityProfile;
-        
-        // Network configuration
-        String networkMode;
-        boolean wafEnabled;
-        boolean cloudfrontEnabled;
-        
-        // Jenkins configuration
-        int minInstanceCapacity = 1;
-        int maxInstanceCapacity = 1;
-        int cpuTargetUtilization = 60;
-        int cpu = 1024;
-        int memory = 2048;
-        String instanceType = "t3.micro";  // EC2 instance type
-        String authMode = "none";
-        String ssoInstanceArn = "";
-        String ssoGroupId = "";
-        String ssoTargetAccountId = "";
-        
-        // Advanced configuration
-        boolean enableMonitoring = true;
-        boolean enableEncryption = true;
-        String logRetentionDays = "7";
-        String region = "us-east-1";
-        String availabilityZone = "us-east-1a";
-        boolean enableAutoScaling = false;
-        int healthCheckGracePeriod = 300;
-        int healthCheckInterval = 30;
-        int healthCheckTimeout = 5;
-        int healthyThreshold = 2;
-        int unhealthyThreshold = 3;
-    }
-    
-    // ============================================================================
-    // DEPLOYMENT STRATEGY PATTERN - Easily expandable deployment types
-    // ============================================================================
-    
-    /**
-     * Interface for deployment strategies. Each deployment type implements this interface
-     * to handle its specific configuration collection and deployment logic.
-     */
-    private interface DeploymentStrategy {
-        void collectConfiguration(DeploymentConfig config);
-        void deploy(SystemContext ctx, Stack stack, DeploymentConfig config);
-        String getDescription();
-    }
-    
-    /**
-     * Jenkins deployment strategy using SystemContext orchestration layer.
-     */
-    static class JenkinsDeploymentStrategy implements DeploymentStrategy {
-        @Override
-        public void collectConfiguration(DeploymentConfig config) {
-            config.runtime = RuntimeType.valueOf(
-                promptChoice("Runtime", new String[]{"FARGATE", "EC2"}, "FARGATE").toUpperCase());
-            
-            // Topology Selection
-            config.topology = TopologyType.valueOf(
-                promptChoice("Topology", new String[]{"JENKINS_SINGLE_NODE", "JENKINS_SERVICE"}, "JENKINS_SERVICE").toUpperCase());
-            
-            // Security Profile Selection
-            config.securityProfile = SecurityProfile.valueOf(
-                promptChoice("Security Profile", new String[]{"DEV", "STAGING", "PRODUCTION"}, "STAGING").toUpperCase());
-            
-            // Instance Capacity Configuration (applies to both EC2 and Fargate)
-            config.minInstanceCapacity = promptIntWithValidation("Minimum Instance Capacity", 1, 1, 10);
-            config.maxInstanceCapacity = promptIntWithValidation("Maximum Instance Capacity", 3, 1, 20);
-            
-            // Auto Scaling Configuration (applies to both runtimes)
-            config.enableAutoScaling = config.maxInstanceCapacity > 1;
-            if (config.enableAutoScaling) {
-                System.out.println("✅ Auto Scaling enabled (max capacity > 1)");
-                config.cpuTargetUtilization = promptIntWithValidation("CPU Target Utilization (%)", 60, 10, 90);
-            } else {
-                config.cpuTargetUtilization = 60; // Default when no auto-scaling
-            }
-            
-            if (config.runtime == RuntimeType.EC2) {
-                // EC2 Instance Type Selection
-                config.instanceType = promptChoice("EC2 Instance Type", 
-                    new String[]{"t3.micro", "t3.small", "t3.medium", "t3.large", "t3.xlarge", "t3.2xlarge"}, "t3.micro");
-            }
-            
-            // Resource Configuration with Validation
-            if (config.runtime == RuntimeType.FARGATE) {
-                config.cpu = promptIntWithValidation("CPU (units)", 1024, 256, 4096);
-                config.memory = promptIntWithValidation("Memory (MB)", 2048, 512, 8192);
-            } else {
-                config.cpu = promptIntWithValidation("CPU (units)", 1024, 256, 4096);
-                config.memory = promptIntWithValidation("Memory (MB)", 2048, 512, 8192);
-            }
-            
-            config.authMode = promptChoice("Authentication Mode", 
-                new String[]{"none", "alb-oidc", "jenkins-oidc"}, "none");
-            
-            // Network Configuration
-            System.out.println("\n🌐 Network Configuration:");
-            System.out.println("==========================");
-            config.networkMode = promptChoice("Network Mode", 
-                new String[]{"public-no-nat", "private-with-nat"}, "public-no-nat");
-            config.wafEnabled = promptYesNo("Enable WAF Protection", false);
-            config.cloudfrontEnabled = promptYesNo("Enable CloudFront CDN", false);
-            
-            if (!config.authMode.equals("none")) {
-                config.ssoInstanceArn = promptRequired("SSO Instance ARN", "");
-                config.ssoGroupId = promptRequired("SSO Group ID", "");
-                config.ssoTargetAccountId = promptRequired("SSO Target Account ID", "");
-            }
-            
-            
-            // Advanced Configuration Section
-            System.out.println("\n🔧 Advanced Configuration:");
-            System.out.println("==========================");
-            
-            config.enableMonitoring = promptYesNo("Enable CloudWatch Monitoring", true);
-            config.enableEncryption = promptYesNo("Enable Encryption at Rest", true);
-            
-            if (config.enableMonitoring) {
-                config.logRetentionDays = promptWithValidation("Log Retention (days)", "7", 
-                    new String[]{"1", "3", "7", "14", "30", "60", "90", "120", "150", "180", "365"});
-            }
-            
-            // Health Check Configuration
-            System.out.println("\n🏥 Health Check Configuration:");
-            System.out.println("==============================");
-            config.healthCheckGracePeriod = promptIntWithValidation("Health Check Grace Period (seconds)", 300, 60, 900);
-            config.healthCheckInterval = promptIntWithValidation("Health Check Interval (seconds)", 30, 5, 300);
-            config.healthCheckTimeout = promptIntWithValidation("Health Check Timeout (seconds)", 5, 2, 60);
-            config.healthyThreshold = promptIntWithValidation("Healthy Threshold Count", 2, 1, 10);
-            config.unhealthyThreshold = promptIntWithValidation("Unhealthy Threshold Count", 3, 1, 10);
-            
-            // Region Configuration
-            config.region = promptChoice("AWS Region", 
-                new String[]{"us-east-1", "us-west-2", "eu-west-1", "ap-southeast-1"}, "us-east-1");
-        }
-        
-        @Override
-        public void deploy(SystemContext ctx, Stack stack, DeploymentConfig config) {
-            System.out.println("🚀 Deploying Jenkins using SystemContext orchestration layer...");
-            
-            // Use SystemContext orchestration layer for Jenkins deployment
-            SystemContext.JenkinsDeployment jenkinsDeployment = ctx.createJenkinsDeployment(stack, "Jenkins");
-            
-            System.out.println("✅ Jenkins deployment created successfully!");
-            System.out.println("   - Infrastructure: VPC, ALB, EFS");
-            System.out.println("   - Runtime: " + config.runtime);
-            System.out.println("   - Topology: " + config.topology);
-            if (config.domain != null && !config.domain.isEmpty()) {
-                System.out.println("   - Domain: " + config.domain);
-                if (config.enableSsl) {
-                    System.out.println("   - SSL: Enabled");
-                }
-            }
-        }
-        
-        @Override
-        public String getDescription() {
-            return "Jenkins CI/CD server with Fargate or EC2 runtime";
-        }
-    }
-    
-    /**
-     * S3 Website deployment strategy (placeholder for future implementation).
-     */
-    private static class S3WebsiteDeploymentStrategy implements DeploymentStrategy {
-        @Override
-        public void collectConfiguration(DeploymentConfig config) {
-            config.runtime = RuntimeType.FARGATE; // S3 websites don't use compute
-            config.topology = TopologyType.S3_WEBSITE;
-            
-            System.out.println("⚠️  S3 Website deployment not yet implemented");
-            System.out.println("   This will support static websites with S3 + CloudFront");
-        }
-        
-        @Override
-        public void deploy(SystemContext ctx, Stack stack, DeploymentConfig config) {
-            System.out.println("🚀 S3 Website deployment not yet implemented");
-            System.out.println("   This will use SystemContext.createS3CloudFrontDeployment()");
-        }
-        
-        @Override
-        public String getDescription() {
-            return "Static website with S3 + CloudFront (Coming Soon)";
-        }
-    }
-    
-    /**
-     * S3 Website + Mailer deployment strategy (placeholder for future implementation).
-     */
-    private static class S3WebsiteMailerDeploymentStrategy implements DeploymentStrategy {
-        @Override
-        public void collectConfiguration(DeploymentConfig config) {
-            config.runtime = RuntimeType.FARGATE; // S3 websites don't use compute
-            config.topology = TopologyType.S3_WEBSITE;
-            
-            System.out.println("⚠️  S3 Website + Mailer deployment not yet implemented");
-            System.out.println("   This will support websites with S3 + CloudFront + SES + Lambda");
-        }
-        
-        @Override
-        public void deploy(SystemContext ctx, Stack stack, DeploymentConfig config) {
-            System.out.println("🚀 S3 Website + Mailer deployment not yet implemented");
-            System.out.println("   This will extend S3CloudFrontDeployment with SES + Lambda");
-        }
-        
-        @Override
-        public String getDescription() {
-            return "Website + Mailer with S3 + CloudFront + SES + Lambda (Coming Soon)";
-        }
-    }
 }
@@ -0,0 +1,211 @@
+package com.cloudforgeci.samples.app;
+
+import java.util.Scanner;
+
+/**
+ * Console prompts shared by the deployer and by {@link DeploymentStrategy} implementations.
+ *
+ * Every prompt prints its default and falls back to it on empty input or read errors, so
+ * non-interactive runs (e.g. {@code cdk synth}) complete with defaults.
+ */
+public final class Prompts {
+
+    private static final Scanner scanner = new Scanner(System.in);
+
+    private Prompts() {
+    }
+
+    /** The single stdin reader; a second Scanner on System.in would steal buffered input. */
+    static Scanner scanner() {
+        return scanner;
+    }
+
+    // Check if we have a proper console for interactive input
+    private static boolean hasConsole() {
+        // Always return true to allow input reading
+        // The error handling in the input methods will catch any issues
+        return true;
+    }
+    
+    public static String promptRequired(String prompt, String defaultValue) {
+        System.out.print(prompt + " [" + defaultValue + "]: ");
+        
+        if (!hasConsole()) {
+            System.err.println("⚠️  Warning: No interactive console available. Using default value: " + defaultValue);
+            return defaultValue;
+        }
+        
+        try {
+            String input = scanner.nextLine().trim();
+            return input.isEmpty() ? defaultValue : input;
+        } catch (Exception e) {
+            System.err.println("⚠️  Error reading input, using default: " + defaultValue);
+            return defaultValue;
+        }
+    }
+    
+    public static String promptOptional(String prompt, String defaultValue) {
+        System.out.print(prompt + " [" + defaultValue + "] (optional): ");
+        
+        if (!hasConsole()) {
+            System.err.println("⚠️  Warning: No interactive console available. Using default value: " + defaultValue);
+            return defaultValue;
+        }
+        
+        try {
+            String input = scanner.nextLine().trim();
+            return input.isEmpty() ? defaultValue : input;
+        } catch (Exception e) {
+            System.err.println("⚠️  Error reading input, using default: " + defaultValue);
+            return defaultValue;
+        }
+    }
+    
+    public static String promptChoice(String prompt, String[] choices, String defaultValue) {
+        return promptChoice(prompt, choices, null, defaultValue);
+    }
+    
+    /** Like {@link #promptChoice(String, String[], String)}, printing a note beside each choice. */
+    public static String promptChoice(String prompt, String[] choices, String[] notes, String defaultValue) {
+        System.out.println(prompt + ":");
+        for (int i = 0; i < choices.length; i++) {
+            System.out.println("  " + (i + 1) + ". " + choices[i] + 
+                (choices[i].equals(defaultValue) ? " (default)" : "") +
+                (notes != null ? "  - " + notes[i] : ""));
+        }
+        System.out.print("Choose [" + defaultValue + "]: ");
+        
+        if (!hasConsole()) {
+            System.err.println("⚠️  Warning: No interactive console available. Using default value: " + defaultValue);
+            return defaultValue;
+        }
+        
+        try {
+            String input = scanner.nextLine().trim();
+            if (input.isEmpty()) {
+                return defaultValue;
+            }
+            
+            try {
+                int choice = Integer.parseInt(input);
+                if (choice >= 1 && choice <= choices.length) {
+                    return choices[choice - 1];
+                }
+            } catch (NumberFormatException e) {
+                // Try to match by name
+                for (String choice : choices) {
+                    if (choice.equalsIgnoreCase(input)) {
+                        return choice;
+                    }
+                }
+            }
+            
+            System.out.println("Invalid choice, using default: " + defaultValue);
+            return defaultValue;
+        } catch (Exception e) {
+            System.err.println("⚠️  Error reading input, using default: " + defaultValue);
+            return defaultValue;
+        }
+    }
+    
+    public static boolean promptYesNo(String prompt, boolean defaultValue) {
+        System.out.print(prompt + " [" + (defaultValue ? "Y/n" : "y/N") + "]: ");
+        
+        if (!hasConsole()) {
+            System.err.println("⚠️  Warning: No interactive console available. Using default value: " + defaultValue);
+            return defaultValue;
+        }
+        
+        try {
+            String input = scanner.nextLine().trim().toLowerCase();
+            if (input.isEmpty()) {
+                return defaultValue;
+            }
+            return input.startsWith("y") || input.startsWith("t") || input.equals("1");
+        } catch (Exception e) {
+            System.err.println("⚠️  Error reading input, using default: " + defaultValue);
+            return defaultValue;
+        }
+    }
+    
+    public static int promptInt(String prompt, int defaultValue) {
+        System.out.print(prompt + " [" + defaultValue + "]: ");
+        
+        if (!hasConsole()) {
+            System.err.println("⚠️  Warning: No interactive console available. Using default value: " + defaultValue);
+            return defaultValue;
+        }
+        
+        try {
+            String input = scanner.nextLine().trim();
+            if (input.isEmpty()) {
+                return defaultValue;
+            }
+            
+            try {
+                return Integer.parseInt(input);
+            } catch (NumberFormatException e) {
+                System.out.println("Invalid number, using default: " + defaultValue);
+                return defaultValue;
+            }
+        } catch (Exception e) {
+            System.err.println("⚠️  Error reading input, using default: " + defaultValue);
+            return defaultValue;
+        }
+    }
+    
+    public static int promptIntWithValidation(String prompt, int defaultValue, int min, int max) {
+        while (true) {
+            System.out.print(prompt + " [" + defaultValue + "] (range: " + min + "-" + max + "): ");
+            
+            if (!hasConsole()) {
+                System.err.println("⚠️  Warning: No interactive console available. Using default value: " + defaultValue);
+                return defaultValue;
+            }
+            
+            try {
+                String input = scanner.nextLine().trim();
+                if (input.isEmpty()) return defaultValue;
+                
+                int value = Integer.parseInt(input);
+                if (value < min || value > max) {
+                    System.out.println("❌ Value must be between " + min + " and " + max + ". Please try again.");
+                    continue;
+                }
+                return value;
+            } catch (NumberFormatException e) {
+                System.out.println("❌ Invalid number format. Please enter a valid integer.");
+            } catch (Exception e) {
+                System.err.println("⚠️  Error reading input, using default: " + defaultValue);
+                return defaultValue;
+            }
+        }
+    }
+    
+    public static String promptWithValidation(String prompt, String defaultValue, String[] validOptions) {
+        while (true) {
+            System.out.print(prompt + " [" + defaultValue + "]: ");
+            
+            if (!hasConsole()) {
+                System.err.println("⚠️  Warning: No interactive console available. Using default value: " + defaultValue);
+                return defaultValue;
+            }
+            
+            try {
+                String input = scanner.nextLine().trim();
+                if (input.isEmpty()) return defaultValue;
+                
+                for (String option : validOptions) {
+                    if (option.equalsIgnoreCase(input)) {
+                        return option.toLowerCase();
+                    }
+                }
+                
+                System.out.println("❌ Invalid option. Valid options: " + String.join(", ", validOptions));
+            } catch (Exception e) {
+                System.err.println("⚠️  Error reading input, using default: " + defaultValue);
+                return defaultValue;
+            }
+        }
+    }
+}
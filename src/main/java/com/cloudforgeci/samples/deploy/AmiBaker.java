@@ -0,0 +1,171 @@
+package com.cloudforgeci.samples.deploy;
+
+import com.cloudforgeci.samples.logging.Log;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bakes the Jenkins controller AMI from a local recipe, Packer-style, using only the AWS CLI.
+ *
+ * The recipe (ami/jenkins-controller.json) names a base image SSM parameter, the build instance
+ * and the provisioning scripts. The scripts run as user data on a temporary instance, which shuts
+ * itself down when they finish; the stopped instance is imaged and terminated. The resulting AMI id
+ * is written to ami/baked-ami.json, where the interactive deployer offers it as the
+ * {@code amiId} default.
+ *
+ * <pre>
+ * java -cp "target/classes:target/dependency/*" com.cloudforgeci.samples.deploy.AmiBaker [recipe] [region]
+ * </pre>
+ */
+public final class AmiBaker {
+    private static final Log LOG = Log.get(AmiBaker.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public static final Path DEFAULT_RECIPE = Paths.get("ami", "jenkins-controller.json");
+    public static final Path OUTPUT = Paths.get("ami", "baked-ami.json");
+
+    static final int MAX_WAIT_ROUNDS = 6;
+
+    private static final DateTimeFormatter STAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+
+    private final CommandRunner aws;
+    private final String region;
+
+    public AmiBaker(CommandRunner aws, String region) {
+        this.aws = aws;
+        this.region = region;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path recipe = args.length > 0 ? Paths.get(args[0]) : DEFAULT_RECIPE;
+        String region = args.length > 1 ? args[1] : System.getenv().getOrDefault("AWS_REGION", "us-east-1");
+        System.out.println("🍞 Baking AMI from " + recipe + " in " + region);
+        String amiId = new AmiBaker(CommandRunner.process(), region).bake(recipe);
+        System.out.println("✅ AMI ready: " + amiId + " (recorded in " + OUTPUT + ")");
+    }
+
+    /** Runs the recipe and returns the new AMI id. The build instance is always terminated. */
+    public String bake(Path recipePath) throws IOException, InterruptedException {
+        JsonNode recipe = MAPPER.readTree(recipePath.toFile());
+        String name = recipe.path("name").asText("cloudforge-jenkins-controller");
+        String baseAmi = aws("ssm", "get-parameter", "--name", recipe.path("baseImageParameter").asText(),
+            "--query", "Parameter.Value", "--output", "text");
+        Path userData = userData(recipePath.toAbsolutePath().getParent(), recipe);
+
+        List<String> runInstances = new ArrayList<>(List.of("ec2", "run-instances",
+            "--image-id", baseAmi,
+            "--instance-type", recipe.path("instanceType").asText("t3.small"),
+            "--user-data", "file://" + userData,
+            "--instance-initiated-shutdown-behavior", "stop",
+            "--block-device-mappings", blockDevice(recipe),
+            "--tag-specifications", tags("instance", name + "-build", recipe),
+            "--query", "Instances[0].InstanceId", "--output", "text"));
+        String subnet = recipe.path("subnetId").asText("");
+        if (!subnet.isEmpty()) {
+            runInstances.addAll(List.of("--subnet-id", subnet));
+        }
+        String instanceId = aws(runInstances.toArray(String[]::new));
+        System.out.println("   Build instance " + instanceId + " from " + baseAmi + ", provisioning...");
+
+        try {
+            // Provisioning ends with a shutdown; a failed script never stops the instance
+            await("provisioning of " + instanceId, "instance-stopped", "--instance-ids", instanceId);
+            String amiId = aws("ec2", "create-image", "--instance-id", instanceId,
+                "--name", name + "-" + STAMP.format(Instant.now()),
+                "--description", recipe.path("description").asText(name),
+                "--tag-specifications", tags("image", name, recipe),
+                "--query", "ImageId", "--output", "text");
+            System.out.println("   Capturing " + amiId + "...");
+            await("image " + amiId, "image-available", "--image-ids", amiId);
+            record(name, amiId, baseAmi);
+            return amiId;
+        } finally {
+            run("ec2", "terminate-instances", "--instance-ids", instanceId);
+            Files.deleteIfExists(userData);
+        }
+    }
+
+    /** Reads the last baked AMI id from ami/baked-ami.json, or an empty string. */
+    public static String lastBakedAmi() {
+        try {
+            return Files.exists(OUTPUT) ? MAPPER.readTree(OUTPUT.toFile()).path("amiId").asText("") : "";
+        } catch (IOException e) {
+            LOG.warn("Ignoring unreadable " + OUTPUT + ": " + e.getMessage());
+            return "";
+        }
+    }
+
+    /** Concatenates the provisioners into one user-data script that powers off at the end. */
+    static Path userData(Path recipeDir, JsonNode recipe) throws IOException {
+        StringBuilder script = new StringBuilder("#!/bin/bash\nset -euxo pipefail\n");
+        for (JsonNode provisioner : recipe.path("provisioners")) {
+            Path file = recipeDir.resolve(provisioner.asText());
+            script.append("\n# --- ").append(file.getFileName()).append(" ---\n")
+                .append("(\n").append(Files.readString(file)).append("\n)\n");
+        }
+        script.append("\nshutdown -h now\n");
+        Path out = Files.createTempFile("ami-user-data", ".sh");
+        Files.writeString(out, script);
+        return out;
+    }
+
+    private static String blockDevice(JsonNode recipe) {
+        return "DeviceName=/dev/xvda,Ebs={VolumeSize=" + recipe.path("rootVolumeGiB").asInt(30)
+            + ",VolumeType=gp3,Encrypted=" + recipe.path("encryptRootVolume").asBoolean(true) + "}";
+    }
+
+    private static String tags(String resourceType, String name, JsonNode recipe) {
+        StringBuilder tags = new StringBuilder("ResourceType=" + resourceType + ",Tags=[{Key=Name,Value=" + name + "}");
+        recipe.path("tags").fields().forEachRemaining(tag ->
+            tags.append(",{Key=").append(tag.getKey()).append(",Value=").append(tag.getValue().asText()).append('}'));
+        return tags.append(']').toString();
+    }
+
+    private void record(String name, String amiId, String baseAmi) throws IOException {
+        ObjectNode baked = MAPPER.createObjectNode()
+            .put("name", name)
+            .put("amiId", amiId)
+            .put("region", region)
+            .put("baseAmi", baseAmi)
+            .put("createdAt", Instant.now().toString());
+        Files.createDirectories(OUTPUT.getParent());
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(OUTPUT.toFile(), baked);
+    }
+
+    /** Repeats an {@code aws ec2 wait} (about 10 minutes per round) up to {@link #MAX_WAIT_ROUNDS} times. */
+    private void await(String what, String waiter, String idFlag, String id) throws IOException, InterruptedException {
+        for (int round = 1; round <= MAX_WAIT_ROUNDS; round++) {
+            if (run("ec2", "wait", waiter, idFlag, id).ok()) {
+                return;
+            }
+            int done = round;
+            LOG.debug(() -> "Still waiting for " + what + " (round " + done + ")");
+        }
+        throw new IOException("Timed out waiting for " + what);
+    }
+
+    private String aws(String... args) throws IOException, InterruptedException {
+        CommandRunner.Result result = run(args);
+        if (!result.ok()) {
+            throw new IOException("aws " + args[0] + " " + args[1] + " failed: " + result.output());
+        }
+        return result.output();
+    }
+
+    private CommandRunner.Result run(String... args) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>(List.of("aws", "--region", region));
+        command.addAll(List.of(args));
+        return aws.run(command);
+    }
+}
@@ -0,0 +1,36 @@
+package com.cloudforgeci.samples.deploy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deploys one stack of an already synthesized assembly with the CDK CLI.
+ *
+ * Uses {@code --app <assemblyDir>} so no stack re-synthesizes the app, and {@code --exclusively}
+ * so the CLI does not walk into dependencies the scheduler is handling itself.
+ */
+public final class CdkDeployExecutor implements DeployExecutor {
+
+    private final String assemblyDir;
+    private final List<String> extraArgs;
+
+    public CdkDeployExecutor(String assemblyDir, List<String> extraArgs) {
+        this.assemblyDir = assemblyDir;
+        this.extraArgs = List.copyOf(extraArgs);
+    }
+
+    @Override
+    public boolean deploy(String stackId) throws Exception {
+        List<String> command = new ArrayList<>(List.of(
+            "cdk", "deploy", stackId,
+            "--app", assemblyDir,
+            "--exclusively",
+            "--require-approval", "never"));
+        command.addAll(extraArgs);
+        Process process = new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(ProcessBuilder.Redirect.INHERIT)
+            .start();
+        return process.waitFor() == 0;
+    }
+}
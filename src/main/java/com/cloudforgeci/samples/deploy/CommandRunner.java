@@ -0,0 +1,33 @@
+package com.cloudforgeci.samples.deploy;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Runs an external CLI command (aws, cdk, docker...) and captures its output.
+ *
+ * Tools that shell out depend on this interface instead of ProcessBuilder, so they can be
+ * exercised with a local stand-in that returns canned output.
+ */
+@FunctionalInterface
+public interface CommandRunner {
+
+    record Result(int exitCode, String output) {
+
+        public boolean ok() {
+            return exitCode == 0;
+        }
+    }
+
+    Result run(List<String> command) throws IOException, InterruptedException;
+
+    /** Runs the command as a local process with stderr merged into the captured output. */
+    static CommandRunner process() {
+        return command -> {
+            Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+            String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+            return new Result(process.waitFor(), output);
+        };
+    }
+}
@@ -0,0 +1,16 @@
+package com.cloudforgeci.samples.deploy;
+
+/**
+ * Deploys a single stack. The scheduler only depends on this interface, so it can be driven by
+ * {@link CdkDeployExecutor} or by an in-memory fake that records calls and simulates failures.
+ */
+@FunctionalInterface
+public interface DeployExecutor {
+
+    /**
+     * Deploys one stack and blocks until it finishes.
+     *
+     * @return true when the stack deployed successfully
+     */
+    boolean deploy(String stackId) throws Exception;
+}
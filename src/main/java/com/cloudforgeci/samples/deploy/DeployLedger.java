@@ -0,0 +1,122 @@
+package com.cloudforgeci.samples.deploy;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Local ledger of what was last deployed successfully, per stack and environment.
+ *
+ * Each entry holds the SHA-256 of the synthesized template plus the asset hashes from the
+ * stack's asset manifest. When a fresh synth produces the same fingerprint, the deploy is a
+ * no-op and can be skipped without creating a changeset. Stored as deployment-ledger.json
+ * next to deployment-context.json.
+ */
+public final class DeployLedger {
+
+    public static final Path DEFAULT_FILE = Paths.get("deployment-ledger.json");
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /** Template hash plus the content hashes of every file and image asset of one synthesized stack. */
+    public record Fingerprint(String templateHash, SortedSet<String> assetHashes) {
+
+        /**
+         * Fingerprints a stack from its template file and, when present, the
+         * {@code <artifactId>.assets.json} manifest written beside it.
+         */
+        public static Fingerprint of(Path template, Path assetManifest) throws IOException {
+            SortedSet<String> assets = new TreeSet<>();
+            if (assetManifest != null && Files.exists(assetManifest)) {
+                JsonNode manifest = MAPPER.readTree(assetManifest.toFile());
+                for (String section : new String[]{"files", "dockerImages"}) {
+                    for (Iterator<String> ids = manifest.path(section).fieldNames(); ids.hasNext(); ) {
+                        String id = ids.next();
+                        // The template itself is listed as a file asset; it is already covered by templateHash
+                        if (manifest.path(section).path(id).path("source").path("path").asText().endsWith(".template.json")) {
+                            continue;
+                        }
+                        // Asset ids are the content hash of the asset source
+                        assets.add(section + "/" + id);
+                    }
+                }
+            }
+            return new Fingerprint(sha256(Files.readAllBytes(template)), assets);
+        }
+    }
+
+    private final Path file;
+    private final ObjectNode entries;
+
+    private DeployLedger(Path file, ObjectNode entries) {
+        this.file = file;
+        this.entries = entries;
+    }
+
+    public static DeployLedger load() throws IOException {
+        return load(DEFAULT_FILE);
+    }
+
+    public static DeployLedger load(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return new DeployLedger(file, MAPPER.createObjectNode());
+        }
+        JsonNode root = MAPPER.readTree(file.toFile());
+        return new DeployLedger(file, root.isObject() ? (ObjectNode) root : MAPPER.createObjectNode());
+    }
+
+    /** True when the last successful deploy of this stack/environment had exactly this fingerprint. */
+    public boolean isUpToDate(String stackName, String environment, Fingerprint fingerprint) {
+        JsonNode entry = entries.get(key(stackName, environment));
+        if (entry == null) {
+            return false;
+        }
+        SortedSet<String> recordedAssets = new TreeSet<>();
+        entry.path("assetHashes").forEach(asset -> recordedAssets.add(asset.asText()));
+        return Objects.equals(entry.path("templateHash").asText(null), fingerprint.templateHash())
+            && recordedAssets.equals(fingerprint.assetHashes());
+    }
+
+    public void record(String stackName, String environment, Fingerprint fingerprint) {
+        ObjectNode entry = entries.putObject(key(stackName, environment));
+        entry.put("templateHash", fingerprint.templateHash());
+        ArrayNode assets = entry.putArray("assetHashes");
+        fingerprint.assetHashes().forEach(assets::add);
+        entry.put("deployedAt", Instant.now().toString());
+    }
+
+    /** Drops the entry, e.g. after the stack was deleted, so the next deploy always runs. */
+    public void forget(String stackName, String environment) {
+        entries.remove(key(stackName, environment));
+    }
+
+    public void save() throws IOException {
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), entries);
+    }
+
+    private static String key(String stackName, String environment) {
+        return stackName + "@" + environment;
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package com.cloudforgeci.samples.deploy;
+
+import com.cloudforgeci.samples.logging.Log;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Timeline of one deploy run: deployer phases (synth, deploy...) plus the start and end of every
+ * CloudFormation resource operation, taken from the stack events.
+ *
+ * Runs are appended, one JSON object per line, to deployment-timeline.jsonl next to the deploy
+ * ledger; earlier lines are never rewritten. {@link TimelineReport} reads the history back.
+ *
+ * <pre>
+ * java -cp "target/classes:target/dependency/*" com.cloudforgeci.samples.deploy.DeployTimeline report [stackName]
+ * java -cp "target/classes:target/dependency/*" com.cloudforgeci.samples.deploy.DeployTimeline ingest stackName events.json
+ * </pre>
+ * {@code ingest} records a run from a saved {@code aws cloudformation describe-stack-events} output.
+ */
+public final class DeployTimeline {
+    private static final Log LOG = Log.get(DeployTimeline.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public static final Path DEFAULT_FILE = Paths.get("deployment-timeline.jsonl");
+
+    private static final String IN_PROGRESS = "_IN_PROGRESS";
+
+    public record Phase(String name, Instant start, Instant end) {
+
+        public Duration duration() {
+            return Duration.between(start, end);
+        }
+    }
+
+    /**
+     * One resource operation: an {@code X_IN_PROGRESS} event to the {@code X_COMPLETE} or
+     * {@code X_FAILED} event of the same operation. {@code cleanup} marks operations started after
+     * the stack entered its cleanup phase, i.e. deletes of replaced or removed resources.
+     */
+    public record ResourceSpan(String stack, String logicalId, String type, Instant start, Instant end, String status,
+                               boolean cleanup) {
+
+        public Duration duration() {
+            return Duration.between(start, end);
+        }
+
+        public boolean failed() {
+            return status.endsWith("FAILED");
+        }
+    }
+
+    public record Run(String runId, String environment, List<String> stacks, Instant start, Instant end, boolean succeeded,
+                      List<Phase> phases, List<ResourceSpan> resources) {
+
+        public Duration duration() {
+            return Duration.between(start, end);
+        }
+    }
+
+    private final String environment;
+    private final Instant started = Instant.now();
+    private final List<String> stacks = new ArrayList<>();
+    private final List<Phase> phases = new ArrayList<>();
+    private final List<ResourceSpan> resources = new ArrayList<>();
+
+    public DeployTimeline(String environment) {
+        this.environment = environment;
+    }
+
+    public Instant started() {
+        return started;
+    }
+
+    /** Records a phase that began at {@code start} and ends now. */
+    public void phase(String name, Instant start) {
+        phases.add(new Phase(name, start, Instant.now()));
+    }
+
+    /** Adds the resource spans of one stack from {@code describe-stack-events} JSON. */
+    public void addEvents(String stackName, String eventsJson) throws IOException {
+        stacks.add(stackName);
+        resources.addAll(parseEvents(stackName, eventsJson, started));
+    }
+
+    /**
+     * Fetches the stack events with the AWS CLI. Failures are logged and leave the run without
+     * resource spans for that stack; a missing timeline must never fail a deploy.
+     */
+    public void fetchEvents(CommandRunner aws, String stackName) {
+        try {
+            CommandRunner.Result result = aws.run(List.of("aws", "cloudformation", "describe-stack-events",
+                "--stack-name", stackName, "--max-items", "1000", "--output", "json"));
+            if (!result.ok()) {
+                LOG.warn("Could not read stack events for " + stackName + ": " + result.output().trim());
+                stacks.add(stackName);
+                return;
+            }
+            addEvents(stackName, result.output());
+        } catch (IOException | InterruptedException e) {
+            LOG.warn("Could not read stack events for " + stackName + ": " + e.getMessage());
+            stacks.add(stackName);
+        }
+    }
+
+    public Run finish(boolean succeeded) {
+        return new Run(UUID.randomUUID().toString(), environment, List.copyOf(stacks), started, Instant.now(), succeeded,
+            List.copyOf(phases), List.copyOf(resources));
+    }
+
+    /**
+     * Pairs the events of each resource into spans, keeping only events at or after {@code since}
+     * (events are returned newest first and include every earlier deploy of the stack). A replaced
+     * resource yields two spans: its update, and the cleanup delete of the old physical resource.
+     * Operations without both ends inside the window are dropped.
+     */
+    public static List<ResourceSpan> parseEvents(String stackName, String eventsJson, Instant since) throws IOException {
+        Map<String, JsonNode> open = new LinkedHashMap<>();
+        List<ResourceSpan> spans = new ArrayList<>();
+        Instant cleanupFrom = null;
+        for (JsonNode event : chronological(eventsJson)) {
+            Instant at = timestamp(event);
+            if (at.isBefore(since)) {
+                continue;
+            }
+            String logicalId = event.path("LogicalResourceId").asText();
+            String status = event.path("ResourceStatus").asText();
+            if (isStack(stackName, event) && status.endsWith("_CLEANUP_IN_PROGRESS")) {
+                cleanupFrom = at;
+            }
+            if (status.endsWith(IN_PROGRESS)) {
+                // A replacement logs several IN_PROGRESS events for one operation; the first one starts it
+                open.putIfAbsent(logicalId + "/" + operation(status), event);
+                continue;
+            }
+            String operation = operation(status);
+            JsonNode started = operation == null ? null : open.remove(logicalId + "/" + operation);
+            if (started != null) {
+                Instant start = timestamp(started);
+                spans.add(new ResourceSpan(stackName, logicalId, event.path("ResourceType").asText(), start, at, status,
+                    cleanupFrom != null && !start.isBefore(cleanupFrom)));
+            }
+        }
+        spans.sort(Comparator.comparing(ResourceSpan::start));
+        return spans;
+    }
+
+    /**
+     * Start of the newest stack operation in the events, so {@code ingest} records one deploy
+     * rather than every deploy the event history still holds. {@link Instant#EPOCH} when none is found.
+     */
+    public static Instant lastOperationStart(String stackName, String eventsJson) throws IOException {
+        Instant last = Instant.EPOCH;
+        for (JsonNode event : chronological(eventsJson)) {
+            String status = event.path("ResourceStatus").asText();
+            if (isStack(stackName, event) && status.endsWith(IN_PROGRESS) && !status.contains("CLEANUP")
+                    && !status.contains("ROLLBACK")) {
+                last = timestamp(event);
+            }
+        }
+        return last;
+    }
+
+    /** CREATE, UPDATE, DELETE, IMPORT...: the status without its phase, or null for other statuses. */
+    static String operation(String status) {
+        for (String phase : List.of(IN_PROGRESS, "_COMPLETE", "_FAILED")) {
+            if (status.endsWith(phase)) {
+                return status.substring(0, status.length() - phase.length());
+            }
+        }
+        return null;
+    }
+
+    /** Events oldest first; events sharing a timestamp keep their logged order. */
+    private static List<JsonNode> chronological(String eventsJson) throws IOException {
+        List<JsonNode> events = new ArrayList<>();
+        MAPPER.readTree(eventsJson).path("StackEvents").forEach(event -> events.add(0, event));
+        events.sort(Comparator.comparing(DeployTimeline::timestamp));
+        return events;
+    }
+
+    private static Instant timestamp(JsonNode event) {
+        return Instant.parse(event.path("Timestamp").asText());
+    }
+
+    private static boolean isStack(String stackName, JsonNode event) {
+        return "AWS::CloudFormation::Stack".equals(event.path("ResourceType").asText())
+            && stackName.equals(event.path("LogicalResourceId").asText());
+    }
+
+    public static void append(Run run) throws IOException {
+        append(DEFAULT_FILE, run);
+    }
+
+    public static void append(Path file, Run run) throws IOException {
+        Files.writeString(file, MAPPER.writeValueAsString(toJson(run)) + "\n", StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    public static List<Run> load() throws IOException {
+        return load(DEFAULT_FILE);
+    }
+
+    /** Reads every recorded run, oldest first. Unreadable lines are skipped. */
+    public static List<Run> load(Path file) throws IOException {
+        List<Run> runs = new ArrayList<>();
+        if (!Files.exists(file)) {
+            return runs;
+        }
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                runs.add(fromJson(MAPPER.readTree(line)));
+            } catch (IOException | RuntimeException e) {
+                LOG.warn("Skipping unreadable timeline entry: " + e.getMessage());
+            }
+        }
+        return runs;
+    }
+
+    public static void main(String[] args) throws IOException {
+        String command = args.length > 0 ? args[0] : "report";
+        switch (command) {
+            case "report" -> TimelineReport.render(load(), args.length > 1 ? args[1] : null).forEach(System.out::println);
+            case "ingest" -> {
+                if (args.length < 3) {
+                    System.err.println("Usage: DeployTimeline ingest <stackName> <describe-stack-events.json> [since]");
+                    System.exit(2);
+                }
+                String events = Files.readString(Paths.get(args[2]));
+                // Without an explicit start, only the newest deploy in the event history is recorded
+                Instant since = args.length > 3 ? Instant.parse(args[3]) : lastOperationStart(args[1], events);
+                List<ResourceSpan> spans = parseEvents(args[1], events, since);
+                if (spans.isEmpty()) {
+                    System.err.println("❌ No events found in " + args[2]);
+                    System.exit(1);
+                }
+                Instant start = spans.stream().map(ResourceSpan::start).min(Comparator.naturalOrder()).orElseThrow();
+                Instant end = spans.stream().map(ResourceSpan::end).max(Comparator.naturalOrder()).orElseThrow();
+                Run run = new Run(UUID.randomUUID().toString(), "imported", List.of(args[1]), start, end,
+                    spans.stream().noneMatch(ResourceSpan::failed), List.of(new Phase("deploy", start, end)), spans);
+                append(run);
+                System.out.println("✅ Recorded " + spans.size() + " resource operations for " + args[1] + " in " + DEFAULT_FILE);
+            }
+            default -> {
+                System.err.println("Usage: DeployTimeline report [stackName] | ingest <stackName> <events.json> [since]");
+                System.exit(2);
+            }
+        }
+    }
+
+    private static ObjectNode toJson(Run run) {
+        ObjectNode json = MAPPER.createObjectNode()
+            .put("runId", run.runId())
+            .put("environment", run.environment())
+            .put("start", run.start().toString())
+            .put("end", run.end().toString())
+            .put("succeeded", run.succeeded());
+        ArrayNode stacks = json.putArray("stacks");
+        run.stacks().forEach(stacks::add);
+        ArrayNode phases = json.putArray("phases");
+        for (Phase phase : run.phases()) {
+            phases.addObject()
+                .put("name", phase.name())
+                .put("start", phase.start().toString())
+                .put("end", phase.end().toString());
+        }
+        ArrayNode resources = json.putArray("resources");
+        for (ResourceSpan span : run.resources()) {
+            ObjectNode resource = resources.addObject()
+                .put("stack", span.stack())
+                .put("logicalId", span.logicalId())
+                .put("type", span.type())
+                .put("start", span.start().toString())
+                .put("end", span.end().toString())
+                .put("status", span.status());
+            if (span.cleanup()) {
+                resource.put("cleanup", true);
+            }
+        }
+        return json;
+    }
+
+    private static Run fromJson(JsonNode json) {
+        List<String> stacks = new ArrayList<>();
+        json.path("stacks").forEach(stack -> stacks.add(stack.asText()));
+        List<Phase> phases = new ArrayList<>();
+        for (JsonNode phase : json.path("phases")) {
+            phases.add(new Phase(phase.path("name").asText(),
+                Instant.parse(phase.path("start").asText()), Instant.parse(phase.path("end").asText())));
+        }
+        List<ResourceSpan> resources = new ArrayList<>();
+        for (JsonNode span : json.path("resources")) {
+            resources.add(new ResourceSpan(span.path("stack").asText(), span.path("logicalId").asText(),
+                span.path("type").asText(), Instant.parse(span.path("start").asText()),
+                Instant.parse(span.path("end").asText()), span.path("status").asText(), span.path("cleanup").asBoolean(false)));
+        }
+        return new Run(json.path("runId").asText(), json.path("environment").asText(), stacks,
+            Instant.parse(json.path("start").asText()), Instant.parse(json.path("end").asText()),
+            json.path("succeeded").asBoolean(), phases, resources);
+    }
+}
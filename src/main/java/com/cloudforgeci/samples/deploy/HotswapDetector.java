@@ -0,0 +1,106 @@
+package com.cloudforgeci.samples.deploy;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Decides offline whether a Fargate change can skip the CloudFormation update.
+ *
+ * A change is hot-swappable when the only differences between the deployed snapshot and the
+ * fresh synth are inside ECS task definitions, limited to task-level Cpu/Memory and per-container
+ * Image, Environment, Cpu and Memory. Such changes are applied by registering a new task definition
+ * revision and updating the ECS service directly; anything else needs a full deploy.
+ */
+public final class HotswapDetector {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final String TASK_DEFINITION = "AWS::ECS::TaskDefinition";
+
+    private static final Set<String> TASK_PROPERTIES = Set.of("ContainerDefinitions", "Cpu", "Memory");
+
+    private static final Set<String> CONTAINER_PROPERTIES = Set.of(
+        "Image", "Environment", "Cpu", "Memory", "MemoryReservation");
+
+    /** Outcome of the check; {@code taskDefinitions} lists the logical IDs that changed. */
+    public record Decision(boolean hotswappable, List<String> taskDefinitions, String reason) {
+
+        static Decision full(String reason) {
+            return new Decision(false, List.of(), reason);
+        }
+    }
+
+    private HotswapDetector() {
+    }
+
+    public static Decision detect(Path snapshot, Path synthesizedTemplate) throws IOException {
+        if (snapshot == null || !Files.exists(snapshot)) {
+            return Decision.full("no deployed snapshot to compare against");
+        }
+        return detect(MAPPER.readTree(snapshot.toFile()), MAPPER.readTree(synthesizedTemplate.toFile()));
+    }
+
+    public static Decision detect(JsonNode deployed, JsonNode synthesized) {
+        for (String section : List.of("Parameters", "Conditions", "Mappings", "Outputs", "Rules")) {
+            if (!deployed.path(section).equals(synthesized.path(section))) {
+                return Decision.full(section + " changed");
+            }
+        }
+
+        TemplateDiff.Result diff = TemplateDiff.compare(deployed, synthesized);
+        if (!diff.hasChanges()) {
+            return Decision.full("no resource changes");
+        }
+
+        List<String> taskDefinitions = new ArrayList<>();
+        for (TemplateDiff.ResourceChange change : diff.changes()) {
+            if (!TASK_DEFINITION.equals(change.type()) || change.action() != TemplateDiff.Action.MODIFY) {
+                return Decision.full(change.action() + " " + change.logicalId() + " (" + change.type() + ")");
+            }
+            for (String property : change.changedProperties()) {
+                if (!TASK_PROPERTIES.contains(property)) {
+                    return Decision.full(change.logicalId() + "." + property + " changed");
+                }
+            }
+            String containerChange = nonSwappableContainerChange(
+                deployed.path("Resources").path(change.logicalId()).path("Properties").path("ContainerDefinitions"),
+                synthesized.path("Resources").path(change.logicalId()).path("Properties").path("ContainerDefinitions"));
+            if (containerChange != null) {
+                return Decision.full(change.logicalId() + " " + containerChange);
+            }
+            taskDefinitions.add(change.logicalId());
+        }
+        return new Decision(true, taskDefinitions, "only task definition image/environment/cpu/memory changed");
+    }
+
+    /** Returns a description of the first container change that cannot be hot-swapped, or null. */
+    private static String nonSwappableContainerChange(JsonNode before, JsonNode after) {
+        if (before.size() != after.size()) {
+            return "container count changed";
+        }
+        for (int i = 0; i < before.size(); i++) {
+            JsonNode prev = before.get(i);
+            JsonNode next = after.get(i);
+            if (!prev.path("Name").equals(next.path("Name"))) {
+                return "container " + i + " renamed";
+            }
+            Set<String> names = new LinkedHashSet<>();
+            prev.fieldNames().forEachRemaining(names::add);
+            next.fieldNames().forEachRemaining(names::add);
+            for (String name : names) {
+                if (!prev.path(name).equals(next.path(name)) && !CONTAINER_PROPERTIES.contains(name)) {
+                    return "container " + next.path("Name").asText() + "." + name + " changed";
+                }
+            }
+        }
+        return null;
+    }
+}
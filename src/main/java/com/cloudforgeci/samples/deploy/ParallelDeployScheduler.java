@@ -0,0 +1,160 @@
+package com.cloudforgeci.samples.deploy;
+
+import com.cloudforgeci.samples.logging.Log;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Deploys the stacks of a {@link StackGraph} concurrently while respecting dependencies.
+ *
+ * Stacks with no pending prerequisites start immediately, up to {@code maxConcurrency} at a time;
+ * each dependent starts as soon as its last prerequisite succeeds. What happens after a failure
+ * is governed by the {@link FailurePolicy}. Stacks are never deployed after a failed prerequisite.
+ */
+public final class ParallelDeployScheduler {
+
+    private static final Log LOG = Log.get(ParallelDeployScheduler.class);
+
+    public enum FailurePolicy {
+        /** Start nothing new after the first failure; stacks already running finish. */
+        FAIL_FAST,
+        /** Skip only the failed stack's transitive dependents; unrelated stacks keep deploying. */
+        ISOLATE
+    }
+
+    public enum Status { SUCCEEDED, FAILED, SKIPPED }
+
+    public record Outcome(String stack, Status status, int attempts, Duration elapsed, String detail) {
+    }
+
+    /** Per-stack outcomes in completion order. */
+    public record Result(Map<String, Outcome> outcomes) {
+
+        public boolean succeeded() {
+            return outcomes.values().stream().allMatch(o -> o.status() == Status.SUCCEEDED);
+        }
+
+        public boolean succeeded(String stack) {
+            Outcome outcome = outcomes.get(stack);
+            return outcome != null && outcome.status() == Status.SUCCEEDED;
+        }
+    }
+
+    private record Attempt(String stack, boolean ok, int attempts, Duration elapsed, String detail) {
+    }
+
+    private final DeployExecutor executor;
+    private final int maxConcurrency;
+    private final FailurePolicy policy;
+    private final int retries;
+
+    public ParallelDeployScheduler(DeployExecutor executor, int maxConcurrency, FailurePolicy policy, int retries) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be at least 1");
+        }
+        this.executor = executor;
+        this.maxConcurrency = maxConcurrency;
+        this.policy = policy;
+        this.retries = Math.max(0, retries);
+    }
+
+    public Result run(StackGraph graph) throws InterruptedException {
+        Map<String, Outcome> outcomes = new LinkedHashMap<>();
+        Map<String, Integer> pending = new HashMap<>();
+        graph.stacks().forEach(stack -> pending.put(stack, graph.dependenciesOf(stack).size()));
+        Deque<String> ready = new ArrayDeque<>();
+        graph.topologicalOrder().stream().filter(stack -> pending.get(stack) == 0).forEach(ready::add);
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(maxConcurrency, Math.max(1, graph.stacks().size())));
+        CompletionService<Attempt> completions = new ExecutorCompletionService<>(pool);
+        int running = 0;
+        boolean halted = false;
+        try {
+            while (running > 0 || (!ready.isEmpty() && !halted)) {
+                while (!halted && running < maxConcurrency && !ready.isEmpty()) {
+                    String stack = ready.poll();
+                    LOG.debug(() -> "Scheduling stack " + stack);
+                    completions.submit(() -> attempt(stack));
+                    running++;
+                }
+
+                Attempt done;
+                try {
+                    done = completions.take().get();
+                } catch (ExecutionException e) {
+                    // attempt() catches everything; only an Error could land here
+                    throw new IllegalStateException("Deploy worker failed", e.getCause());
+                }
+                running--;
+
+                if (done.ok()) {
+                    outcomes.put(done.stack(), new Outcome(done.stack(), Status.SUCCEEDED, done.attempts(), done.elapsed(), null));
+                    for (String dependent : graph.dependentsOf(done.stack())) {
+                        if (pending.merge(dependent, -1, Integer::sum) == 0 && !outcomes.containsKey(dependent)) {
+                            ready.add(dependent);
+                        }
+                    }
+                } else {
+                    outcomes.put(done.stack(), new Outcome(done.stack(), Status.FAILED, done.attempts(), done.elapsed(), done.detail()));
+                    skipDependents(graph, done.stack(), outcomes, ready);
+                    if (policy == FailurePolicy.FAIL_FAST) {
+                        halted = true;
+                    }
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // Anything never started (fail-fast halt) is reported as skipped
+        for (String stack : graph.topologicalOrder()) {
+            outcomes.putIfAbsent(stack, new Outcome(stack, Status.SKIPPED, 0, Duration.ZERO, "not started after earlier failure"));
+        }
+        return new Result(Collections.unmodifiableMap(outcomes));
+    }
+
+    private Attempt attempt(String stack) {
+        long started = System.nanoTime();
+        String detail = null;
+        int attempts = 0;
+        while (attempts <= retries) {
+            attempts++;
+            try {
+                if (executor.deploy(stack)) {
+                    return new Attempt(stack, true, attempts, Duration.ofNanos(System.nanoTime() - started), null);
+                }
+                detail = "deploy returned failure";
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return new Attempt(stack, false, attempts, Duration.ofNanos(System.nanoTime() - started), "interrupted");
+            } catch (Exception e) {
+                detail = e.getMessage();
+            }
+        }
+        return new Attempt(stack, false, attempts, Duration.ofNanos(System.nanoTime() - started), detail);
+    }
+
+    private static void skipDependents(StackGraph graph, String failed, Map<String, Outcome> outcomes, Deque<String> ready) {
+        Deque<String> queue = new ArrayDeque<>(graph.dependentsOf(failed));
+        while (!queue.isEmpty()) {
+            String stack = queue.poll();
+            if (outcomes.containsKey(stack)) {
+                continue;
+            }
+            ready.remove(stack);
+            outcomes.put(stack, new Outcome(stack, Status.SKIPPED, 0, Duration.ZERO, "prerequisite " + failed + " failed"));
+            queue.addAll(graph.dependentsOf(stack));
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.cloudforgeci.samples.deploy;
+
+import com.cloudforgeci.samples.logging.Log;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * Checks run before the deployer touches AWS: CDK and AWS CLI presence, credentials, the CDK
+ * bootstrap stack in the target region, and whether target/classes is older than the sources.
+ *
+ * The checks are independent and run concurrently. Successful results of the CLI and network
+ * checks are cached in target/preflight-cache.json for {@link #DEFAULT_TTL}, keyed by the AWS
+ * profile and region, so repeated runs in a session only re-check the local class files. Commands
+ * go through {@link CommandRunner}; a canned stand-in exercises every check without AWS.
+ */
+public final class Preflight {
+    private static final Log LOG = Log.get(Preflight.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public static final Path CACHE_FILE = Paths.get("target", "preflight-cache.json");
+    public static final Duration DEFAULT_TTL = Duration.ofMinutes(10);
+
+    /** Exit code for stale classes, so deploy-interactive.sh can recompile and retry. */
+    public static final int STALE_CLASSES_EXIT = 3;
+
+    public enum Status { OK, WARN, FAIL }
+
+    public record Check(String name, Status status, String detail, Duration elapsed, boolean cached) {
+
+        public String render() {
+            String icon = switch (status) {
+                case OK -> "✅";
+                case WARN -> "⚠️ ";
+                case FAIL -> "❌";
+            };
+            return icon + " " + name + ": " + detail + (cached ? " (cached)" : " [" + elapsed.toMillis() + " ms]");
+        }
+    }
+
+    public record Report(List<Check> checks) {
+
+        public boolean passed() {
+            return checks.stream().noneMatch(check -> check.status() == Status.FAIL);
+        }
+
+        public Optional<Check> check(String name) {
+            return checks.stream().filter(check -> check.name().equals(name)).findFirst();
+        }
+    }
+
+    private interface Probe {
+        Check run() throws Exception;
+    }
+
+    private final CommandRunner runner;
+    private final Clock clock;
+    private final Duration ttl;
+    private final Path cacheFile;
+    private final Path projectDir;
+    private final String region;
+    private final String profile;
+
+    public Preflight(CommandRunner runner, Clock clock, Duration ttl, Path cacheFile, Path projectDir,
+                     String region, String profile) {
+        this.runner = runner;
+        this.clock = clock;
+        this.ttl = ttl;
+        this.cacheFile = cacheFile;
+        this.projectDir = projectDir;
+        this.region = region;
+        this.profile = profile;
+    }
+
+    /** Local processes, real clock, region and profile from the environment the deployer uses. */
+    public static Preflight forEnvironment() {
+        String region = System.getenv("CDK_DEFAULT_REGION") != null ? System.getenv("CDK_DEFAULT_REGION")
+            : System.getenv().getOrDefault("AWS_REGION", "us-east-1");
+        return new Preflight(CommandRunner.process(), Clock.systemUTC(), DEFAULT_TTL, CACHE_FILE, Paths.get(""),
+            region, System.getenv().getOrDefault("AWS_PROFILE", "default"));
+    }
+
+    /**
+     * True when this process is the CDK app that {@code cdk synth}/{@code cdk deploy} launched from
+     * cdk.json; the CLI sets {@code CDK_OUTDIR} for it. The deployer that started the CLI has already
+     * run the preflight, so the child must not run it again.
+     */
+    public static boolean runningAsCdkApp(Map<String, String> environment) {
+        return environment.containsKey("CDK_OUTDIR");
+    }
+
+    public Report run() throws InterruptedException {
+        ObjectNode cache = loadCache();
+        List<Probe> probes = List.of(
+            () -> cached(cache, "cdk", () -> cli("cdk", List.of("cdk", "--version"), "npm install -g aws-cdk")),
+            () -> cached(cache, "aws", () -> cli("aws", List.of("aws", "--version"), "install the AWS CLI v2")),
+            () -> cached(cache, "credentials", this::credentials),
+            () -> cached(cache, "bootstrap", this::bootstrap),
+            this::compiledClasses);
+
+        ExecutorService pool = Executors.newFixedThreadPool(probes.size());
+        try {
+            List<Future<Check>> futures = new ArrayList<>();
+            for (Probe probe : probes) {
+                futures.add(pool.submit(probe::run));
+            }
+            List<Check> checks = new ArrayList<>();
+            for (Future<Check> future : futures) {
+                try {
+                    checks.add(future.get());
+                } catch (ExecutionException e) {
+                    checks.add(new Check("preflight", Status.FAIL, String.valueOf(e.getCause().getMessage()), Duration.ZERO, false));
+                }
+            }
+            saveCache(cache, checks);
+            return new Report(checks);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private Check cli(String name, List<String> command, String hint) throws InterruptedException {
+        Instant started = clock.instant();
+        try {
+            CommandRunner.Result result = runner.run(command);
+            if (!result.ok()) {
+                return check(name, Status.FAIL, "`" + String.join(" ", command) + "` failed; " + hint, started);
+            }
+            return check(name, Status.OK, result.output().lines().findFirst().orElse("").trim(), started);
+        } catch (IOException e) {
+            return check(name, Status.FAIL, "not found on PATH; " + hint, started);
+        }
+    }
+
+    private Check credentials() throws InterruptedException {
+        Instant started = clock.instant();
+        try {
+            CommandRunner.Result result = runner.run(List.of("aws", "sts", "get-caller-identity", "--output", "json"));
+            if (!result.ok()) {
+                return check("credentials", Status.FAIL, "no valid AWS credentials for profile " + profile + "; run aws configure", started);
+            }
+            JsonNode identity = MAPPER.readTree(result.output());
+            return check("credentials", Status.OK, identity.path("Arn").asText() + " (" + identity.path("Account").asText() + ")", started);
+        } catch (IOException e) {
+            return check("credentials", Status.FAIL, "could not run aws sts get-caller-identity: " + e.getMessage(), started);
+        }
+    }
+
+    /** A missing bootstrap stack only matters for deploys, so it is a warning. */
+    private Check bootstrap() throws InterruptedException {
+        Instant started = clock.instant();
+        try {
+            CommandRunner.Result result = runner.run(List.of("aws", "cloudformation", "describe-stacks",
+                "--stack-name", "CDKToolkit", "--region", region, "--query", "Stacks[0].StackStatus", "--output", "text"));
+            String status = result.output().trim();
+            if (!result.ok()) {
+                return check("bootstrap", Status.WARN, "CDKToolkit not found in " + region + "; run cdk bootstrap before deploying", started);
+            }
+            if (!status.endsWith("_COMPLETE") || status.contains("ROLLBACK") || status.startsWith("DELETE")) {
+                return check("bootstrap", Status.WARN, "CDKToolkit in " + region + " is " + status, started);
+            }
+            return check("bootstrap", Status.OK, "CDKToolkit " + status + " in " + region, started);
+        } catch (IOException e) {
+            return check("bootstrap", Status.WARN, "could not check CDKToolkit: " + e.getMessage(), started);
+        }
+    }
+
+    /** Sources newer than the newest class file mean the deployer is running stale code. Never cached. */
+    Check compiledClasses() throws IOException {
+        Instant started = clock.instant();
+        Path classes = projectDir.resolve("target").resolve("classes");
+        Optional<Instant> newestClass = newest(classes);
+        if (newestClass.isEmpty()) {
+            return check("classes", Status.FAIL, "target/classes is empty; run mvn compile", started);
+        }
+        Optional<Instant> newestSource = newest(projectDir.resolve("src").resolve("main"));
+        if (newestSource.isPresent() && newestSource.get().isAfter(newestClass.get())) {
+            return check("classes", Status.FAIL, "sources changed since the last compile; run mvn compile", started);
+        }
+        return check("classes", Status.OK, "up to date", started);
+    }
+
+    private static Optional<Instant> newest(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return Optional.empty();
+        }
+        try (Stream<Path> files = Files.walk(dir)) {
+            return files.filter(Files::isRegularFile)
+                .map(file -> {
+                    try {
+                        return Files.getLastModifiedTime(file).toInstant();
+                    } catch (IOException e) {
+                        return Instant.EPOCH;
+                    }
+                })
+                .max(Instant::compareTo);
+        }
+    }
+
+    private Check check(String name, Status status, String detail, Instant started) {
+        return new Check(name, status, detail, Duration.between(started, clock.instant()), false);
+    }
+
+    private Check cached(ObjectNode cache, String name, Probe probe) throws Exception {
+        JsonNode entry = cache.path(cacheKey(name));
+        if (entry.isObject()) {
+            Instant checkedAt = Instant.parse(entry.path("checkedAt").asText());
+            if (clock.instant().isBefore(checkedAt.plus(ttl))) {
+                return new Check(name, Status.valueOf(entry.path("status").asText()), entry.path("detail").asText(),
+                    Duration.ZERO, true);
+            }
+        }
+        return probe.run();
+    }
+
+    private String cacheKey(String name) {
+        return name + "@" + profile + "/" + region;
+    }
+
+    private ObjectNode loadCache() {
+        try {
+            if (Files.exists(cacheFile)) {
+                JsonNode root = MAPPER.readTree(cacheFile.toFile());
+                if (root.isObject()) {
+                    return (ObjectNode) root;
+                }
+            }
+        } catch (IOException e) {
+            LOG.warn("Ignoring unreadable preflight cache: " + e.getMessage());
+        }
+        return MAPPER.createObjectNode();
+    }
+
+    /** Only fresh OK results are cached, so a failure is re-checked on the next run. */
+    private void saveCache(ObjectNode cache, List<Check> checks) {
+        for (Check check : checks) {
+            if (check.cached() || check.name().equals("classes")) {
+                continue;
+            }
+            if (check.status() == Status.OK) {
+                cache.putObject(cacheKey(check.name()))
+                    .put("status", check.status().name())
+                    .put("detail", check.detail())
+                    .put("checkedAt", clock.instant().toString());
+            } else {
+                cache.remove(cacheKey(check.name()));
+            }
+        }
+        try {
+            Files.createDirectories(cacheFile.toAbsolutePath().getParent());
+            MAPPER.writerWithDefaultPrettyPrinter().writeValue(cacheFile.toFile(), cache);
+        } catch (IOException e) {
+            LOG.warn("Could not write preflight cache: " + e.getMessage());
+        }
+    }
+}
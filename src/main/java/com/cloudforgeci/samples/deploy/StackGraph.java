@@ -0,0 +1,112 @@
+package com.cloudforgeci.samples.deploy;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Stack dependency graph of a synthesized cloud assembly.
+ *
+ * Built from the assembly's manifest.json: every aws:cloudformation:stack artifact becomes a node
+ * and its dependencies on other stack artifacts become edges (asset manifest and tree artifacts
+ * are ignored). Construction rejects unknown dependencies and cycles.
+ */
+public final class StackGraph {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String STACK_TYPE = "aws:cloudformation:stack";
+
+    private final Map<String, Set<String>> dependencies;
+
+    public StackGraph(Map<String, Set<String>> dependencies) {
+        Map<String, Set<String>> copy = new LinkedHashMap<>();
+        dependencies.forEach((stack, deps) -> copy.put(stack, Collections.unmodifiableSet(new LinkedHashSet<>(deps))));
+        for (Map.Entry<String, Set<String>> entry : copy.entrySet()) {
+            for (String dep : entry.getValue()) {
+                if (!copy.containsKey(dep)) {
+                    throw new IllegalArgumentException("Stack " + entry.getKey() + " depends on unknown stack " + dep);
+                }
+            }
+        }
+        this.dependencies = Collections.unmodifiableMap(copy);
+        topologicalOrder();
+    }
+
+    /** Reads the graph from {@code <assemblyDir>/manifest.json}. */
+    public static StackGraph fromAssembly(Path assemblyDir) throws IOException {
+        JsonNode artifacts = MAPPER.readTree(assemblyDir.resolve("manifest.json").toFile()).path("artifacts");
+        Set<String> stacks = new LinkedHashSet<>();
+        for (Iterator<String> ids = artifacts.fieldNames(); ids.hasNext(); ) {
+            String id = ids.next();
+            if (STACK_TYPE.equals(artifacts.path(id).path("type").asText())) {
+                stacks.add(id);
+            }
+        }
+        Map<String, Set<String>> graph = new LinkedHashMap<>();
+        for (String id : stacks) {
+            Set<String> deps = new LinkedHashSet<>();
+            artifacts.path(id).path("dependencies").forEach(dep -> {
+                if (stacks.contains(dep.asText())) {
+                    deps.add(dep.asText());
+                }
+            });
+            graph.put(id, deps);
+        }
+        return new StackGraph(graph);
+    }
+
+    public Set<String> stacks() {
+        return dependencies.keySet();
+    }
+
+    public Set<String> dependenciesOf(String stack) {
+        return dependencies.getOrDefault(stack, Set.of());
+    }
+
+    /** Stacks that directly depend on {@code stack}. */
+    public Set<String> dependentsOf(String stack) {
+        Set<String> dependents = new LinkedHashSet<>();
+        dependencies.forEach((candidate, deps) -> {
+            if (deps.contains(stack)) {
+                dependents.add(candidate);
+            }
+        });
+        return dependents;
+    }
+
+    /** Kahn's algorithm; throws when the graph has a cycle. */
+    public List<String> topologicalOrder() {
+        Map<String, Integer> remaining = new HashMap<>();
+        dependencies.forEach((stack, deps) -> remaining.put(stack, deps.size()));
+        Deque<String> ready = new ArrayDeque<>();
+        dependencies.keySet().stream().filter(stack -> remaining.get(stack) == 0).forEach(ready::add);
+        List<String> order = new ArrayList<>();
+        while (!ready.isEmpty()) {
+            String stack = ready.poll();
+            order.add(stack);
+            for (String dependent : dependentsOf(stack)) {
+                if (remaining.merge(dependent, -1, Integer::sum) == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+        if (order.size() != dependencies.size()) {
+            throw new IllegalArgumentException("Stack dependency cycle among: " + remaining.entrySet().stream()
+                .filter(e -> e.getValue() > 0).map(Map.Entry::getKey).toList());
+        }
+        return order;
+    }
+}
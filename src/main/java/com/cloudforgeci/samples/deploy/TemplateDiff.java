@@ -0,0 +1,324 @@
+package com.cloudforgeci.samples.deploy;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Offline structural diff between two synthesized CloudFormation templates.
+ *
+ * Compares resources by logical ID and classifies every change by its likely impact
+ * without calling AWS:
+ * - IN_PLACE: properties change but the physical resource survives
+ * - REPLACEMENT: CloudFormation will create a new physical resource
+ * - STATEFUL_RISK: a resource holding data or endpoints (EFS, ALB, buckets...) is
+ *   replaced or removed
+ *
+ * Replacement rules cover the resource types our Jenkins stacks generate; unknown
+ * types are assumed to update in place. Replacements cascade through Ref / Fn::GetAtt /
+ * Fn::Sub into properties that themselves require replacement.
+ */
+public final class TemplateDiff {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /** Marker meaning "any property change requires replacement". */
+    private static final String ALL = "*";
+
+    /** Properties whose update requires replacement, per resource type. */
+    private static final Map<String, Set<String>> REPLACEMENT_PROPERTIES = new HashMap<>();
+
+    /** Resource types whose replacement or removal loses data or a stable endpoint. */
+    private static final Set<String> STATEFUL_TYPES = Set.of(
+        "AWS::EFS::FileSystem",
+        "AWS::ElasticLoadBalancingV2::LoadBalancer",
+        "AWS::S3::Bucket",
+        "AWS::Logs::LogGroup",
+        "AWS::KMS::Key",
+        "AWS::EC2::Volume",
+        "AWS::CertificateManager::Certificate",
+        "AWS::SecretsManager::Secret"
+    );
+
+    private static final Pattern SUB_REFERENCE = Pattern.compile("\\$\\{([A-Za-z0-9]+)(?:\\.[A-Za-z0-9.]+)?}");
+
+    static {
+        replaces("AWS::EC2::VPC", "CidrBlock", "InstanceTenancy", "Ipv4IpamPoolId");
+        replaces("AWS::EC2::Subnet", "AvailabilityZone", "AvailabilityZoneId", "CidrBlock", "VpcId");
+        replaces("AWS::EC2::RouteTable", "VpcId");
+        replaces("AWS::EC2::Route", "RouteTableId", "DestinationCidrBlock", "DestinationIpv6CidrBlock");
+        replaces("AWS::EC2::NatGateway", "SubnetId", "AllocationId", "ConnectivityType", "PrivateIpAddress");
+        replaces("AWS::EC2::EIP", "Domain");
+        replaces("AWS::EC2::SecurityGroup", "GroupDescription", "GroupName", "VpcId");
+        replaces("AWS::EC2::Instance", "AvailabilityZone", "ImageId", "KeyName", "SubnetId",
+            "PrivateIpAddress", "NetworkInterfaces", "PlacementGroupName", "Tenancy");
+        replaces("AWS::EC2::VPCEndpoint", "ServiceName", "VpcId", "VpcEndpointType");
+        replaces("AWS::EFS::FileSystem", "Encrypted", "KmsKeyId", "PerformanceMode", "AvailabilityZoneName");
+        replaces("AWS::EFS::MountTarget", "FileSystemId", "IpAddress", "SubnetId");
+        replaces("AWS::EFS::AccessPoint", ALL);
+        replaces("AWS::ElasticLoadBalancingV2::LoadBalancer", "Name", "Scheme", "Type");
+        replaces("AWS::ElasticLoadBalancingV2::TargetGroup", "Name", "Port", "Protocol",
+            "ProtocolVersion", "TargetType", "VpcId");
+        replaces("AWS::ECS::Cluster", "ClusterName");
+        replaces("AWS::ECS::TaskDefinition", ALL);
+        replaces("AWS::ECS::Service", "Cluster", "LaunchType", "Role", "ServiceName", "SchedulingStrategy");
+        replaces("AWS::AutoScaling::AutoScalingGroup", "AutoScalingGroupName");
+        replaces("AWS::AutoScaling::LaunchConfiguration", ALL);
+        replaces("AWS::IAM::Role", "RoleName", "Path");
+        replaces("AWS::IAM::InstanceProfile", "InstanceProfileName", "Path");
+        replaces("AWS::Logs::LogGroup", "LogGroupName");
+        replaces("AWS::S3::Bucket", "BucketName", "ObjectLockEnabled");
+        replaces("AWS::Route53::RecordSet", "HostedZoneId", "HostedZoneName", "Name");
+        replaces("AWS::CertificateManager::Certificate", "DomainName", "SubjectAlternativeNames",
+            "ValidationMethod", "DomainValidationOptions", "CertificateAuthorityArn", "KeyAlgorithm");
+        replaces("AWS::WAFv2::WebACL", "Name", "Scope");
+        replaces("AWS::Lambda::Function", "FunctionName");
+    }
+
+    private static void replaces(String type, String... properties) {
+        REPLACEMENT_PROPERTIES.put(type, Set.of(properties));
+    }
+
+    public enum Action { ADD, MODIFY, REMOVE }
+
+    /** Ordered from least to most disruptive. */
+    public enum Impact { IN_PLACE, REPLACEMENT, STATEFUL_RISK }
+
+    /** A single resource-level change between two templates. */
+    public record ResourceChange(String logicalId, String type, Action action, Impact impact,
+                                 Set<String> changedProperties, String reason) {
+    }
+
+    /** Result of a template comparison. Changes are sorted most disruptive first. */
+    public record Result(List<ResourceChange> changes) {
+
+        public boolean hasChanges() {
+            return !changes.isEmpty();
+        }
+
+        public Impact maxImpact() {
+            return changes.stream().map(ResourceChange::impact)
+                .max(Comparator.naturalOrder()).orElse(Impact.IN_PLACE);
+        }
+
+        public long count(Impact impact) {
+            return changes.stream().filter(c -> c.impact() == impact).count();
+        }
+
+        /** Human-readable summary in the deployer's console style. */
+        public List<String> render() {
+            List<String> lines = new ArrayList<>();
+            if (changes.isEmpty()) {
+                lines.add("✅ No resource changes");
+                return lines;
+            }
+            for (ResourceChange change : changes) {
+                String icon = switch (change.impact()) {
+                    case IN_PLACE -> "🟢";
+                    case REPLACEMENT -> "🟡";
+                    case STATEFUL_RISK -> "🔴";
+                };
+                StringBuilder line = new StringBuilder()
+                    .append(icon).append(' ')
+                    .append(change.action()).append(' ')
+                    .append(change.logicalId()).append(" (").append(change.type()).append(')')
+                    .append(" → ").append(change.impact());
+                if (!change.changedProperties().isEmpty()) {
+                    line.append(" [").append(String.join(", ", change.changedProperties())).append(']');
+                }
+                if (change.reason() != null) {
+                    line.append(" - ").append(change.reason());
+                }
+                lines.add(line.toString());
+            }
+            lines.add("Summary: " + count(Impact.IN_PLACE) + " in-place, "
+                + count(Impact.REPLACEMENT) + " replacement, "
+                + count(Impact.STATEFUL_RISK) + " stateful risk");
+            return lines;
+        }
+    }
+
+    private TemplateDiff() {
+    }
+
+    public static Result compare(Path baseline, Path candidate) throws IOException {
+        JsonNode before = baseline != null && baseline.toFile().exists()
+            ? MAPPER.readTree(baseline.toFile()) : MissingNode.getInstance();
+        return compare(before, MAPPER.readTree(candidate.toFile()));
+    }
+
+    /**
+     * Compares two parsed templates. A missing baseline (first deploy) reports every
+     * resource as an in-place ADD.
+     */
+    public static Result compare(JsonNode baseline, JsonNode candidate) {
+        JsonNode oldResources = baseline.path("Resources");
+        JsonNode newResources = candidate.path("Resources");
+        Map<String, ResourceChange> changes = new HashMap<>();
+
+        for (Iterator<String> it = newResources.fieldNames(); it.hasNext(); ) {
+            String id = it.next();
+            JsonNode next = newResources.get(id);
+            JsonNode prev = oldResources.get(id);
+            if (prev == null) {
+                changes.put(id, new ResourceChange(id, typeOf(next), Action.ADD, Impact.IN_PLACE, Set.of(), null));
+                continue;
+            }
+            ResourceChange change = classifyModification(id, prev, next);
+            if (change != null) {
+                changes.put(id, change);
+            }
+        }
+
+        for (Iterator<String> it = oldResources.fieldNames(); it.hasNext(); ) {
+            String id = it.next();
+            if (!newResources.has(id)) {
+                String type = typeOf(oldResources.get(id));
+                Impact impact = STATEFUL_TYPES.contains(type) && !isRetained(oldResources.get(id))
+                    ? Impact.STATEFUL_RISK : Impact.REPLACEMENT;
+                changes.put(id, new ResourceChange(id, type, Action.REMOVE, impact, Set.of(), "resource deleted"));
+            }
+        }
+
+        cascadeReplacements(newResources, changes);
+
+        List<ResourceChange> ordered = new ArrayList<>(changes.values());
+        ordered.sort(Comparator.comparing(ResourceChange::impact).reversed()
+            .thenComparing(ResourceChange::logicalId));
+        return new Result(ordered);
+    }
+
+    private static ResourceChange classifyModification(String id, JsonNode prev, JsonNode next) {
+        String type = typeOf(next);
+        if (!type.equals(typeOf(prev))) {
+            return replacement(id, type, Set.of("Type"), "resource type changed");
+        }
+
+        Set<String> changed = new TreeSet<>();
+        JsonNode prevProps = prev.path("Properties");
+        JsonNode nextProps = next.path("Properties");
+        Set<String> names = new LinkedHashSet<>();
+        prevProps.fieldNames().forEachRemaining(names::add);
+        nextProps.fieldNames().forEachRemaining(names::add);
+        for (String name : names) {
+            if (!prevProps.path(name).equals(nextProps.path(name))) {
+                changed.add(name);
+            }
+        }
+        for (String attribute : List.of("DeletionPolicy", "UpdateReplacePolicy", "Condition", "DependsOn")) {
+            if (!prev.path(attribute).equals(next.path(attribute))) {
+                changed.add(attribute);
+            }
+        }
+        if (changed.isEmpty()) {
+            return null;
+        }
+
+        Set<String> triggers = REPLACEMENT_PROPERTIES.getOrDefault(type, Set.of());
+        for (String property : changed) {
+            if (triggers.contains(ALL) || triggers.contains(property)) {
+                return replacement(id, type, changed, property + " requires replacement");
+            }
+        }
+        return new ResourceChange(id, type, Action.MODIFY, Impact.IN_PLACE, changed, null);
+    }
+
+    private static ResourceChange replacement(String id, String type, Set<String> changed, String reason) {
+        Impact impact = STATEFUL_TYPES.contains(type) ? Impact.STATEFUL_RISK : Impact.REPLACEMENT;
+        return new ResourceChange(id, type, Action.MODIFY, impact, changed, reason);
+    }
+
+    /**
+     * A replaced resource gets a new physical ID, so every replacement-triggering property
+     * that references it replaces the referencing resource too. Iterates to a fixpoint.
+     */
+    private static void cascadeReplacements(JsonNode resources, Map<String, ResourceChange> changes) {
+        boolean grew = true;
+        while (grew) {
+            grew = false;
+            for (Iterator<String> it = resources.fieldNames(); it.hasNext(); ) {
+                String id = it.next();
+                ResourceChange existing = changes.get(id);
+                if (existing != null && (existing.action() != Action.MODIFY || existing.impact() != Impact.IN_PLACE)) {
+                    continue;
+                }
+                JsonNode resource = resources.get(id);
+                String type = typeOf(resource);
+                Set<String> triggers = REPLACEMENT_PROPERTIES.getOrDefault(type, Set.of());
+                if (triggers.isEmpty()) {
+                    continue;
+                }
+                for (Iterator<Map.Entry<String, JsonNode>> props = resource.path("Properties").fields(); props.hasNext(); ) {
+                    Map.Entry<String, JsonNode> property = props.next();
+                    if (!triggers.contains(ALL) && !triggers.contains(property.getKey())) {
+                        continue;
+                    }
+                    String replacedRef = firstReplacedReference(property.getValue(), changes);
+                    if (replacedRef != null) {
+                        Set<String> changed = new TreeSet<>(existing != null ? existing.changedProperties() : Set.of());
+                        changed.add(property.getKey());
+                        changes.put(id, replacement(id, type, changed, "references replaced " + replacedRef));
+                        grew = true;
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    private static String firstReplacedReference(JsonNode value, Map<String, ResourceChange> changes) {
+        Set<String> refs = new LinkedHashSet<>();
+        collectReferences(value, refs);
+        for (String ref : refs) {
+            ResourceChange change = changes.get(ref);
+            if (change != null && change.action() == Action.MODIFY && change.impact() != Impact.IN_PLACE) {
+                return ref;
+            }
+        }
+        return null;
+    }
+
+    private static void collectReferences(JsonNode node, Set<String> refs) {
+        if (node.isObject()) {
+            if (node.has("Ref") && node.get("Ref").isTextual()) {
+                refs.add(node.get("Ref").asText());
+            }
+            JsonNode getAtt = node.get("Fn::GetAtt");
+            if (getAtt != null) {
+                refs.add(getAtt.isArray() ? getAtt.path(0).asText() : getAtt.asText().split("\\.")[0]);
+            }
+            JsonNode sub = node.get("Fn::Sub");
+            if (sub != null) {
+                String text = sub.isArray() ? sub.path(0).asText() : sub.asText();
+                Matcher m = SUB_REFERENCE.matcher(text);
+                while (m.find()) {
+                    refs.add(m.group(1));
+                }
+            }
+        }
+        node.elements().forEachRemaining(child -> collectReferences(child, refs));
+    }
+
+    private static boolean isRetained(JsonNode resource) {
+        return "Retain".equals(resource.path("DeletionPolicy").asText())
+            || "Snapshot".equals(resource.path("DeletionPolicy").asText());
+    }
+
+    private static String typeOf(JsonNode resource) {
+        return resource.path("Type").asText("Unknown");
+    }
+}
@@ -0,0 +1,48 @@
+package com.cloudforgeci.samples.deploy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Local store of the last deployed CloudFormation template per stack.
+ *
+ * Snapshots live in deployment-snapshots/ next to deployment-context.json. The directory
+ * can be committed, so a checked-in snapshot acts as the baseline until the next
+ * successful deploy overwrites it.
+ */
+public final class TemplateSnapshots {
+
+    public static final Path DEFAULT_DIR = Paths.get("deployment-snapshots");
+
+    private final Path directory;
+
+    public TemplateSnapshots() {
+        this(DEFAULT_DIR);
+    }
+
+    public TemplateSnapshots(Path directory) {
+        this.directory = directory;
+    }
+
+    public Path snapshotFor(String stackName) {
+        return directory.resolve(stackName + ".template.json");
+    }
+
+    public boolean exists(String stackName) {
+        return Files.exists(snapshotFor(stackName));
+    }
+
+    /** Diffs a freshly synthesized template against the stored snapshot. */
+    public TemplateDiff.Result diff(String stackName, Path synthesizedTemplate) throws IOException {
+        return TemplateDiff.compare(snapshotFor(stackName), synthesizedTemplate);
+    }
+
+    /** Records a template as the deployed baseline for its stack. */
+    public void save(String stackName, Path synthesizedTemplate) throws IOException {
+        Files.createDirectories(directory);
+        Files.copy(synthesizedTemplate, snapshotFor(stackName), StandardCopyOption.REPLACE_EXISTING);
+    }
+}
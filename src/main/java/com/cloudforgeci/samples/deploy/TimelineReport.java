@@ -0,0 +1,161 @@
+package com.cloudforgeci.samples.deploy;
+
+import com.cloudforgeci.samples.deploy.DeployTimeline.ResourceSpan;
+import com.cloudforgeci.samples.deploy.DeployTimeline.Run;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Reads the deploy timeline history: where the latest run spent its time, how that compares to
+ * earlier runs of the same stacks, and which resources got slower.
+ *
+ * CloudFormation events carry no dependency information, so the critical path is reconstructed
+ * from timing alone: starting at the resource that finished last, each step goes back to the
+ * resource that finished most recently before the current one started - the one it most
+ * plausibly waited for. Deletes in the stack's cleanup phase (replaced or removed resources) run
+ * after every other operation has finished, so they are reported on their own line instead.
+ */
+public final class TimelineReport {
+
+    /** A resource regressed when it is this much slower than its median... */
+    static final double REGRESSION_FACTOR = 1.5;
+    /** ...and at least this many seconds slower, so short resources do not flap. */
+    static final long REGRESSION_MIN_SECONDS = 60;
+    /** Events are logged with second precision; allow for that when chaining resources. */
+    static final Duration CHAIN_TOLERANCE = Duration.ofSeconds(2);
+    static final int TOP = 5;
+
+    public record Regression(String logicalId, Duration latest, Duration median) {
+    }
+
+    private TimelineReport() {
+    }
+
+    public static List<String> render(List<Run> history, String stackName) {
+        List<Run> runs = history.stream()
+            .filter(run -> stackName == null || run.stacks().contains(stackName))
+            .toList();
+        List<String> lines = new ArrayList<>();
+        if (runs.isEmpty()) {
+            lines.add("ℹ️  No recorded deploys" + (stackName != null ? " for " + stackName : ""));
+            return lines;
+        }
+        Run latest = runs.get(runs.size() - 1);
+        List<Run> previous = runs.subList(0, runs.size() - 1);
+
+        lines.add("🕒 Latest deploy " + latest.start() + " (" + String.join(", ", latest.stacks()) + "): "
+            + format(latest.duration()) + (latest.succeeded() ? "" : " - FAILED"));
+        latest.phases().forEach(phase -> lines.add("   " + phase.name() + ": " + format(phase.duration())));
+
+        List<ResourceSpan> spans = resources(latest);
+        if (!spans.isEmpty()) {
+            lines.add("🔗 Critical path:");
+            for (ResourceSpan span : criticalPath(spans)) {
+                lines.add("   " + span.logicalId() + " (" + span.type() + ") " + format(span.duration())
+                    + (span.failed() ? " - " + span.status() : ""));
+            }
+            lines.add("🐢 Slowest resources:");
+            spans.stream()
+                .sorted(Comparator.comparing(ResourceSpan::duration).reversed())
+                .limit(TOP)
+                .forEach(span -> lines.add("   " + span.logicalId() + " (" + span.type() + ") " + format(span.duration())));
+        }
+        List<ResourceSpan> cleanup = latest.resources().stream().filter(ResourceSpan::cleanup).toList();
+        if (!cleanup.isEmpty()) {
+            Instant from = cleanup.stream().map(ResourceSpan::start).min(Comparator.naturalOrder()).orElseThrow();
+            Instant to = cleanup.stream().map(ResourceSpan::end).max(Comparator.naturalOrder()).orElseThrow();
+            lines.add("🧹 Cleanup: " + cleanup.size() + " replaced or removed resource(s) deleted in "
+                + format(Duration.between(from, to)));
+        }
+
+        if (!previous.isEmpty()) {
+            List<Duration> totals = previous.stream().filter(Run::succeeded).map(Run::duration).toList();
+            if (!totals.isEmpty()) {
+                lines.add("📈 Trend: median of " + totals.size() + " earlier successful run(s) " + format(median(totals))
+                    + ", latest " + format(latest.duration()));
+            }
+            List<Regression> regressions = regressions(latest, previous);
+            if (regressions.isEmpty()) {
+                lines.add("✅ No resource regressions against earlier runs");
+            } else {
+                lines.add("⚠️  Regressions (≥" + REGRESSION_FACTOR + "x and ≥" + REGRESSION_MIN_SECONDS + "s over median):");
+                regressions.forEach(regression -> lines.add("   " + regression.logicalId() + ": "
+                    + format(regression.latest()) + " vs median " + format(regression.median())));
+            }
+        }
+        return lines;
+    }
+
+    /** Resource operations of a run, without the stack's own span (which covers the whole deploy) or cleanup deletes. */
+    static List<ResourceSpan> resources(Run run) {
+        return run.resources().stream()
+            .filter(span -> !span.cleanup())
+            .filter(span -> !"AWS::CloudFormation::Stack".equals(span.type()) || !span.logicalId().equals(span.stack()))
+            .toList();
+    }
+
+    /** Critical path, first resource first. */
+    public static List<ResourceSpan> criticalPath(List<ResourceSpan> spans) {
+        List<ResourceSpan> path = new ArrayList<>();
+        Optional<ResourceSpan> current = spans.stream().max(Comparator.comparing(ResourceSpan::end));
+        while (current.isPresent()) {
+            ResourceSpan step = current.get();
+            path.add(0, step);
+            Instant cutoff = step.start().plus(CHAIN_TOLERANCE);
+            // Strictly earlier ends, so the walk always terminates
+            current = spans.stream()
+                .filter(span -> !span.end().isAfter(cutoff) && span.end().isBefore(step.end()))
+                .max(Comparator.comparing(ResourceSpan::end));
+        }
+        return path;
+    }
+
+    /** Resources of {@code latest} that are markedly slower than their median over {@code previous}. */
+    public static List<Regression> regressions(Run latest, List<Run> previous) {
+        Map<String, List<Duration>> history = new LinkedHashMap<>();
+        for (Run run : previous) {
+            for (ResourceSpan span : resources(run)) {
+                if (!span.failed()) {
+                    history.computeIfAbsent(key(span), k -> new ArrayList<>()).add(span.duration());
+                }
+            }
+        }
+        List<Regression> regressions = new ArrayList<>();
+        for (ResourceSpan span : resources(latest)) {
+            List<Duration> earlier = history.get(key(span));
+            if (earlier == null) {
+                continue;
+            }
+            Duration median = median(earlier);
+            long latestSeconds = span.duration().toSeconds();
+            if (latestSeconds >= median.toSeconds() * REGRESSION_FACTOR
+                    && latestSeconds - median.toSeconds() >= REGRESSION_MIN_SECONDS) {
+                regressions.add(new Regression(span.logicalId(), span.duration(), median));
+            }
+        }
+        regressions.sort(Comparator.comparing((Regression r) -> r.latest().minus(r.median())).reversed());
+        return regressions;
+    }
+
+    private static String key(ResourceSpan span) {
+        return span.stack() + "/" + span.logicalId();
+    }
+
+    static Duration median(List<Duration> durations) {
+        List<Duration> sorted = durations.stream().sorted().toList();
+        int middle = sorted.size() / 2;
+        return sorted.size() % 2 == 1 ? sorted.get(middle) : sorted.get(middle - 1).plus(sorted.get(middle)).dividedBy(2);
+    }
+
+    static String format(Duration duration) {
+        long seconds = duration.toSeconds();
+        return seconds >= 60 ? seconds / 60 + "m " + String.format("%02d", seconds % 60) + "s" : seconds + "s";
+    }
+}
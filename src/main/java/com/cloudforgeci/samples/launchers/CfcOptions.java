@@ -0,0 +1,74 @@
+package com.cloudforgeci.samples.launchers;
+
+import software.constructs.Construct;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads sample-specific keys from the "cfc" CDK context.
+ *
+ * DeploymentContext only exposes the keys cloudforge-api knows about; the launchers in this
+ * repo add their own. Values arrive as strings when loaded from deployment-context.json and
+ * as typed values when set in-process, so every getter accepts both.
+ */
+public final class CfcOptions {
+
+    private final Map<?, ?> values;
+
+    private CfcOptions(Map<?, ?> values) {
+        this.values = values;
+    }
+
+    public static CfcOptions from(Construct scope) {
+        Object cfc = scope.getNode().tryGetContext("cfc");
+        return new CfcOptions(cfc instanceof Map<?, ?> map ? map : Map.of());
+    }
+
+    public String string(String key, String defaultValue) {
+        Object value = values.get(key);
+        return value == null || value.toString().isBlank() ? defaultValue : value.toString().trim();
+    }
+
+    public int integer(String key, int defaultValue) {
+        Object value = values.get(key);
+        if (value instanceof Number number) {
+            return number.intValue();
+        }
+        try {
+            return value == null ? defaultValue : Integer.parseInt(value.toString().trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    public double decimal(String key, double defaultValue) {
+        Object value = values.get(key);
+        if (value instanceof Number number) {
+            return number.doubleValue();
+        }
+        try {
+            return value == null ? defaultValue : Double.parseDouble(value.toString().trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    public boolean bool(String key, boolean defaultValue) {
+        Object value = values.get(key);
+        if (value instanceof Boolean flag) {
+            return flag;
+        }
+        return value == null ? defaultValue : Boolean.parseBoolean(value.toString().trim());
+    }
+
+    /** Comma-separated list; blank entries are dropped. */
+    public List<String> list(String key) {
+        String value = string(key, "");
+        return Arrays.stream(value.split(","))
+            .map(String::trim)
+            .filter(s -> !s.isEmpty())
+            .toList();
+    }
+}
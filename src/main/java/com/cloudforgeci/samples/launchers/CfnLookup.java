@@ -0,0 +1,47 @@
+package com.cloudforgeci.samples.launchers;
+
+import software.amazon.awscdk.CfnResource;
+import software.amazon.awscdk.Token;
+import software.constructs.Construct;
+import software.constructs.IConstruct;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Finds the CloudFormation resources JenkinsFactory generated inside a stack.
+ *
+ * The factory does not hand back its VPC, ALB, EFS or service objects, so sample features that
+ * decorate a deployment locate them by CloudFormation type and reference them through Ref/GetAtt
+ * tokens. Matching on the type string also works for resources created inside jsii-backed L2s.
+ */
+public final class CfnLookup {
+
+    private CfnLookup() {
+    }
+
+    public static List<CfnResource> ofType(Construct scope, String cfnType) {
+        List<CfnResource> found = new ArrayList<>();
+        for (IConstruct child : scope.getNode().findAll()) {
+            if (child instanceof CfnResource resource && cfnType.equals(resource.getCfnResourceType())) {
+                found.add(resource);
+            }
+        }
+        return found;
+    }
+
+    public static Optional<CfnResource> first(Construct scope, String cfnType) {
+        return ofType(scope, cfnType).stream().findFirst();
+    }
+
+    /** {@code Ref} of the resource as a string token. */
+    public static String ref(CfnResource resource) {
+        return resource.getRef();
+    }
+
+    /** {@code Fn::GetAtt} of the resource as a string token. */
+    public static String att(CfnResource resource, String attribute) {
+        return Token.asString(resource.getAtt(attribute));
+    }
+}
@@ -0,0 +1,149 @@
+package com.cloudforgeci.samples.launchers;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Fluent Bit routing for the Jenkins controller, rendered as classic-mode config text.
+ *
+ * Two streams leave the controller: build console logs, tailed from the builds directories in
+ * JENKINS_HOME, and the controller's own log. Build logs are stripped of console annotations and
+ * shipped to S3 in gzip-compressed batches; controller lines matching the drop patterns are
+ * discarded, the rest are sampled (warnings and errors always kept) and sent to CloudWatch Logs.
+ *
+ * Rendering has no AWS or CDK dependencies, so the output can be checked offline:
+ * <pre>
+ * java -cp "target/classes:target/dependency/*" com.cloudforgeci.samples.launchers.FluentBitConfig
+ * fluent-bit --dry-run -c target/fluent-bit/ec2.conf
+ * </pre>
+ */
+public final class FluentBitConfig {
+
+    public static final Path OUTPUT_DIR = Paths.get("target", "fluent-bit");
+
+    /** Tag prefix for tailed build logs; the file path is appended by the tail input. */
+    static final String BUILD_TAG = "build.*";
+
+    /**
+     * @param controllerMatch tag pattern of the controller stream: the FireLens tag of the Jenkins
+     *                        container on Fargate, the journald input tag on EC2
+     * @param samplePercent   share of controller INFO/FINE lines kept (1-100)
+     * @param dropPatterns    regexes of controller lines to discard
+     * @param standalone      true for a full agent config (EC2); false for the FireLens include
+     */
+    public record Settings(String region, String bucket, String logGroup, String jenkinsHome, String controllerMatch,
+                           int samplePercent, List<String> dropPatterns, boolean standalone) {
+    }
+
+    private FluentBitConfig() {
+    }
+
+    /** Writes sample Fargate and EC2 configs to target/fluent-bit for a dry run. */
+    public static void main(String[] args) throws IOException {
+        List<String> drops = List.of("(Started|Finished) (Periodic background build discarder|Download metadata)");
+        Files.createDirectories(OUTPUT_DIR);
+        Files.writeString(OUTPUT_DIR.resolve("firelens.conf"), render(new Settings("us-east-1", "example-build-logs",
+            "/cloudforge/jenkins/controller", "/var/jenkins_home", "*-firelens-*", 10, drops, false)));
+        Files.writeString(OUTPUT_DIR.resolve("ec2.conf"), render(new Settings("us-east-1", "example-build-logs",
+            "/cloudforge/jenkins/controller", "/var/lib/jenkins", "controller", 10, drops, true)));
+        System.out.println("✅ Fluent Bit configs written to " + OUTPUT_DIR);
+    }
+
+    public static String render(Settings settings) {
+        StringBuilder conf = new StringBuilder("# Generated by CloudForge from DeploymentConfig - do not edit\n");
+        if (settings.standalone()) {
+            // FireLens writes its own [SERVICE] section and forward input; the agent needs both parts
+            conf.append(section("SERVICE",
+                "Flush", "5",
+                "Log_Level", "info",
+                "storage.path", "/var/lib/fluent-bit/buffer",
+                "storage.backlog.mem_limit", "16M"));
+            conf.append(section("INPUT",
+                "Name", "systemd",
+                "Tag", settings.controllerMatch(),
+                "Systemd_Filter", "_SYSTEMD_UNIT=jenkins.service",
+                "Read_From_Tail", "On",
+                "storage.type", "filesystem"));
+            conf.append(section("FILTER",
+                "Name", "modify",
+                "Match", settings.controllerMatch(),
+                "Rename", "MESSAGE log"));
+        }
+
+        String home = settings.jenkinsHome();
+        conf.append(section("INPUT",
+            "Name", "tail",
+            "Tag", BUILD_TAG,
+            // Top-level jobs, folders and multibranch branches
+            "Path", String.join(",",
+                home + "/jobs/*/builds/*/log",
+                home + "/jobs/*/jobs/*/builds/*/log",
+                home + "/jobs/*/jobs/*/branches/*/builds/*/log"),
+            "Path_Key", "file",
+            // JENKINS_HOME is on EFS, where inotify sees no changes: poll instead
+            "Inotify_Watcher", "false",
+            "Refresh_Interval", "10",
+            "Ignore_Older", "1d",
+            "Skip_Long_Lines", "On",
+            "Mem_Buf_Limit", "32MB",
+            "DB", settings.standalone() ? "/var/lib/fluent-bit/builds.db" : "/tmp/builds.db"));
+        conf.append(section("FILTER",
+            "Name", "lua",
+            "Match", BUILD_TAG,
+            "call", "strip_notes",
+            // Console notes are ESC[8mha:<base64>ESC[0m and invisible in the UI
+            "code", "function strip_notes(tag, ts, record) local line = record[\"log\"] or \"\" "
+                + "record[\"log\"] = string.gsub(line, \"\\27%[8mha:[^\\27]*\\27%[0m\", \"\") return 1, ts, record end"));
+
+        for (String pattern : settings.dropPatterns()) {
+            conf.append(section("FILTER",
+                "Name", "grep",
+                "Match", settings.controllerMatch(),
+                "Exclude", "log " + pattern));
+        }
+        if (settings.samplePercent() < 100) {
+            conf.append(section("FILTER",
+                "Name", "lua",
+                "Match", settings.controllerMatch(),
+                "call", "sample",
+                "code", "function sample(tag, ts, record) local line = record[\"log\"] or \"\" "
+                    + "if string.find(line, \"WARNING\") or string.find(line, \"SEVERE\") then return 0, ts, record end "
+                    + "if math.random(100) <= " + settings.samplePercent() + " then return 0, ts, record end "
+                    + "return -1, ts, record end"));
+        }
+
+        conf.append(section("OUTPUT",
+            "Name", "s3",
+            "Match", BUILD_TAG,
+            "region", settings.region(),
+            "bucket", settings.bucket(),
+            // Batch into objects of up to 50 MB or 5 minutes, whichever comes first
+            "total_file_size", "50M",
+            "upload_timeout", "5m",
+            "use_put_object", "On",
+            "compression", "gzip",
+            "s3_key_format", "/build-logs/%Y/%m/%d/$TAG/%H%M%S-$UUID.gz",
+            "s3_key_format_tag_delimiters", ".",
+            "store_dir", settings.standalone() ? "/var/lib/fluent-bit/s3" : "/tmp/fluent-bit/s3"));
+        conf.append(section("OUTPUT",
+            "Name", "cloudwatch_logs",
+            "Match", settings.controllerMatch(),
+            "region", settings.region(),
+            "log_group_name", settings.logGroup(),
+            "log_stream_prefix", "controller-",
+            "log_key", "log",
+            "auto_create_group", "false"));
+        return conf.toString();
+    }
+
+    private static String section(String name, String... keyValues) {
+        StringBuilder section = new StringBuilder("\n[").append(name).append("]\n");
+        for (int i = 0; i < keyValues.length; i += 2) {
+            section.append("    ").append(String.format("%-28s", keyValues[i])).append(' ').append(keyValues[i + 1]).append('\n');
+        }
+        return section.toString();
+    }
+}
@@ -0,0 +1,133 @@
+package com.cloudforgeci.samples.launchers;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * EC2 instance types offered for the Jenkins controller, with their architecture and sustained
+ * CPU behavior.
+ *
+ * Burstable (T-series) types only sustain their baseline share of each vCPU; above it they spend
+ * CPU credits and, in {@code standard} credit mode, are throttled back to the baseline once the
+ * credits run out. Fixed-performance families (c7i, c7g, m7g...) run at 100% indefinitely.
+ */
+public final class InstanceCatalog {
+
+    public enum Architecture { X86_64, ARM64 }
+
+    /**
+     * {@code baselinePercent} is the sustained share of each vCPU; 100 for non-burstable types.
+     * {@code instanceStoreGb} is the local NVMe capacity ("d" types), 0 when EBS-only.
+     */
+    public record InstanceOption(String type, Architecture architecture, int vcpus, int memoryGiB, int baselinePercent,
+                                 int instanceStoreGb) {
+
+        public boolean burstable() {
+            return baselinePercent < 100;
+        }
+
+        /** One-line description of what a long build will get from this type. */
+        public String sustainedCpu() {
+            String shape = vcpus + " vCPU, " + memoryGiB + " GiB, " + (architecture == Architecture.ARM64 ? "Graviton" : "x86")
+                + (instanceStoreGb > 0 ? ", " + instanceStoreGb + " GB NVMe" : "");
+            return burstable()
+                ? shape + " - burstable: sustains " + baselinePercent + "% per vCPU, throttled when credits run out (standard)"
+                : shape + " - fixed performance: sustains 100% of every vCPU";
+        }
+    }
+
+    /** Credit modes for T-series instances. */
+    public static final Map<String, String> CREDIT_MODES = Map.of(
+        "standard", "throttled to baseline once CPU credits are spent (no extra charge)",
+        "unlimited", "keeps full CPU after credits are spent; surplus credits are billed");
+
+    private static final Map<String, InstanceOption> OPTIONS = new LinkedHashMap<>();
+
+    static {
+        add("t3.micro", Architecture.X86_64, 2, 1, 10);
+        add("t3.small", Architecture.X86_64, 2, 2, 20);
+        add("t3.medium", Architecture.X86_64, 2, 4, 20);
+        add("t3.large", Architecture.X86_64, 2, 8, 30);
+        add("t3.xlarge", Architecture.X86_64, 4, 16, 40);
+        add("t3.2xlarge", Architecture.X86_64, 8, 32, 40);
+        add("t4g.medium", Architecture.ARM64, 2, 4, 20);
+        add("t4g.large", Architecture.ARM64, 2, 8, 30);
+        add("t4g.xlarge", Architecture.ARM64, 4, 16, 40);
+        add("c7i.large", Architecture.X86_64, 2, 4, 100);
+        add("c7i.xlarge", Architecture.X86_64, 4, 8, 100);
+        add("c7i.2xlarge", Architecture.X86_64, 8, 16, 100);
+        add("m7i.large", Architecture.X86_64, 2, 8, 100);
+        add("m7i.xlarge", Architecture.X86_64, 4, 16, 100);
+        add("c7g.large", Architecture.ARM64, 2, 4, 100);
+        add("c7g.xlarge", Architecture.ARM64, 4, 8, 100);
+        add("c7g.2xlarge", Architecture.ARM64, 8, 16, 100);
+        add("m7g.large", Architecture.ARM64, 2, 8, 100);
+        add("m7g.xlarge", Architecture.ARM64, 4, 16, 100);
+        add("m7g.2xlarge", Architecture.ARM64, 8, 32, 100);
+        add("c6id.xlarge", Architecture.X86_64, 4, 8, 100, 237);
+        add("m6id.xlarge", Architecture.X86_64, 4, 16, 100, 237);
+        add("c7gd.xlarge", Architecture.ARM64, 4, 8, 100, 237);
+        add("c7gd.2xlarge", Architecture.ARM64, 8, 16, 100, 474);
+        add("m7gd.xlarge", Architecture.ARM64, 4, 16, 100, 237);
+    }
+
+    /** Graviton families carry a "g" after the generation digit: t4g, c7g, m7gd, c6gn... */
+    private static final Pattern GRAVITON = Pattern.compile("^[a-z]+\\d+[a-z]*g[a-z]*\\..+");
+
+    private static final Pattern INSTANCE_STORE = Pattern.compile("^[a-z]+\\d+[a-z]*d[a-z]*\\..+");
+
+    /** Storage-optimized families always have NVMe instance store: i3, i3en, i4i, i4g, im4gn, is4gen... */
+    private static final Pattern STORAGE_OPTIMIZED = Pattern.compile("^i[ms]?\\d+[a-z]*\\..+");
+
+    /** T-series families: t2, t3, t3a, t4g. A bare "t" prefix would also catch trn1. */
+    private static final Pattern BURSTABLE = Pattern.compile("^t\\d+[a-z]*\\..+");
+
+    private InstanceCatalog() {
+    }
+
+    private static void add(String type, Architecture architecture, int vcpus, int memoryGiB, int baselinePercent) {
+        add(type, architecture, vcpus, memoryGiB, baselinePercent, 0);
+    }
+
+    private static void add(String type, Architecture architecture, int vcpus, int memoryGiB, int baselinePercent,
+                            int instanceStoreGb) {
+        OPTIONS.put(type, new InstanceOption(type, architecture, vcpus, memoryGiB, baselinePercent, instanceStoreGb));
+    }
+
+    public static List<InstanceOption> options() {
+        return List.copyOf(OPTIONS.values());
+    }
+
+    public static String[] types() {
+        return OPTIONS.keySet().toArray(String[]::new);
+    }
+
+    /** Architecture of any instance type, including ones not in the catalog. */
+    public static Architecture architectureOf(String instanceType) {
+        InstanceOption known = OPTIONS.get(instanceType);
+        if (known != null) {
+            return known.architecture();
+        }
+        return GRAVITON.matcher(instanceType).matches() ? Architecture.ARM64 : Architecture.X86_64;
+    }
+
+    /**
+     * Types with local NVMe instance storage carry a "d" in the family (c6id, m7gd, c5ad...) or are
+     * storage optimized (i4i, im4gn...).
+     */
+    public static boolean hasInstanceStore(String instanceType) {
+        InstanceOption known = OPTIONS.get(instanceType);
+        if (known != null) {
+            return known.instanceStoreGb() > 0;
+        }
+        return INSTANCE_STORE.matcher(instanceType).matches() || STORAGE_OPTIMIZED.matcher(instanceType).matches();
+    }
+
+    /** Catalog types by their baseline; others by family name. */
+    public static boolean isBurstable(String instanceType) {
+        InstanceOption known = OPTIONS.get(instanceType);
+        return known != null ? known.burstable() : BURSTABLE.matcher(instanceType).matches();
+    }
+}
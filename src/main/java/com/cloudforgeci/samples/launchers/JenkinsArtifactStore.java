@@ -0,0 +1,124 @@
+package com.cloudforgeci.samples.launchers;
+
+import com.cloudforgeci.api.interfaces.IAMProfile;
+import com.cloudforgeci.samples.logging.Log;
+import software.amazon.awscdk.Duration;
+import software.amazon.awscdk.RemovalPolicy;
+import software.amazon.awscdk.Stack;
+import software.amazon.awscdk.services.ecs.ContainerDefinition;
+import software.amazon.awscdk.services.ecs.TaskDefinition;
+import software.amazon.awscdk.services.iam.IRole;
+import software.amazon.awscdk.services.s3.BlockPublicAccess;
+import software.amazon.awscdk.services.s3.Bucket;
+import software.amazon.awscdk.services.s3.BucketEncryption;
+import software.amazon.awscdk.services.s3.LifecycleRule;
+import software.amazon.awscdk.services.s3.StorageClass;
+import software.amazon.awscdk.services.s3.Transition;
+
+import java.util.List;
+
+/**
+ * Archived artifacts and pipeline stashes in S3 instead of JENKINS_HOME, enabled with
+ * {@code artifactStore=s3}.
+ *
+ * Provisions a dedicated bucket and configures the Artifact Manager on S3 plugin through the
+ * pre-baked image's JCasC file, so archive/stash traffic goes to S3 and EFS only holds build
+ * metadata. The plugin does not delete objects by default; deletion is switched on in JAVA_OPTS
+ * (stashes at build end, artifacts with their build) and a lifecycle rule expires whatever is
+ * left after {@code artifactRetentionDays}.
+ */
+public final class JenkinsArtifactStore {
+    private static final Log LOG = Log.get(JenkinsArtifactStore.class);
+
+    /** Key prefix for everything the artifact manager writes. */
+    public static final String PREFIX = "jenkins-artifacts/";
+
+    private static final String PLUGIN_PROPERTY = "-Dio.jenkins.plugins.artifact_manager_jclouds.JCloudsArtifactManager.";
+
+    private JenkinsArtifactStore() {
+    }
+
+    static boolean enabled(CfcOptions options) {
+        return "s3".equals(options.string("artifactStore", "efs"));
+    }
+
+    /** System properties for JAVA_OPTS, or an empty string when artifacts stay on EFS. */
+    public static String systemProperties(CfcOptions options) {
+        return enabled(options)
+            ? PLUGIN_PROPERTY + "deleteArtifacts=true " + PLUGIN_PROPERTY + "deleteStashes=true"
+            : "";
+    }
+
+    /**
+     * JCasC for the artifact manager. Bucket and region are resolved by JCasC from the task
+     * environment, since the bucket name is only known at deploy time.
+     */
+    static String renderCasc() {
+        return "  artifactManager:\n"
+            + "    artifactManagerFactories:\n"
+            + "      - jclouds:\n"
+            + "          provider: \"s3\"\n";
+    }
+
+    static String renderAwsCasc() {
+        return "aws:\n"
+            + "  awsCredentials:\n"
+            + "    region: \"${ARTIFACT_BUCKET_REGION}\"\n"
+            + "  s3:\n"
+            + "    container: \"${ARTIFACT_BUCKET}\"\n"
+            + "    prefix: \"" + PREFIX + "\"\n";
+    }
+
+    /**
+     * Creates the bucket, exposes it to the Jenkins container and grants the task role access.
+     * The grant follows the deployment's IAM profile: {@code EXTENDED} gets the whole bucket,
+     * tighter profiles only the artifact prefix.
+     */
+    public static void applyToFargate(Stack stack, IAMProfile iamProfile) {
+        CfcOptions options = CfcOptions.from(stack);
+        if (!enabled(options)) {
+            return;
+        }
+        if (!options.bool("prebakedControllerImage", false)) {
+            LOG.warn("artifactStore=s3 ignored: the artifact manager is configured through the pre-baked controller image");
+            return;
+        }
+        TaskDefinition taskDefinition = JenkinsControllerImage.findTaskDefinition(stack);
+        Bucket bucket = bucket(stack, options.integer("artifactRetentionDays", 90));
+
+        ContainerDefinition jenkins = taskDefinition.getDefaultContainer();
+        jenkins.addEnvironment("ARTIFACT_BUCKET", bucket.getBucketName());
+        jenkins.addEnvironment("ARTIFACT_BUCKET_REGION", stack.getRegion());
+        grant(bucket, taskDefinition.getTaskRole(), iamProfile);
+        LOG.debug(() -> "Artifacts and stashes offloaded to S3 for " + stack.getStackName() + " (" + iamProfile + ")");
+    }
+
+    static Bucket bucket(Stack stack, int retentionDays) {
+        int days = Math.max(1, retentionDays);
+        LifecycleRule.Builder lifecycle = LifecycleRule.builder()
+            .id("jenkins-artifacts")
+            .prefix(PREFIX)
+            .expiration(Duration.days(days))
+            .abortIncompleteMultipartUploadAfter(Duration.days(1));
+        if (days > 30) {
+            // Standard-IA has a 30-day minimum; old artifacts are rarely downloaded
+            lifecycle.transitions(List.of(Transition.builder()
+                .storageClass(StorageClass.INFREQUENT_ACCESS)
+                .transitionAfter(Duration.days(30))
+                .build()));
+        }
+        return Bucket.Builder.create(stack, "JenkinsArtifactBucket")
+            .encryption(BucketEncryption.S3_MANAGED)
+            .blockPublicAccess(BlockPublicAccess.BLOCK_ALL)
+            .enforceSsl(true)
+            .removalPolicy(RemovalPolicy.RETAIN)
+            .lifecycleRules(List.of(lifecycle.build()))
+            .build();
+    }
+
+    static void grant(Bucket bucket, IRole role, IAMProfile iamProfile) {
+        String keys = iamProfile == IAMProfile.EXTENDED ? "*" : PREFIX + "*";
+        bucket.grantReadWrite(role, keys);
+        bucket.grantDelete(role, keys);
+    }
+}
@@ -0,0 +1,75 @@
+package com.cloudforgeci.samples.launchers;
+
+import com.cloudforgeci.samples.launchers.InstanceCatalog.Architecture;
+import com.cloudforgeci.samples.logging.Log;
+import software.amazon.awscdk.CfnResource;
+import software.amazon.awscdk.Stack;
+import software.amazon.awscdk.services.ec2.AmazonLinux2023ImageSsmParameterProps;
+import software.amazon.awscdk.services.ec2.AmazonLinuxCpuType;
+import software.amazon.awscdk.services.ec2.MachineImage;
+
+import java.util.Map;
+
+/**
+ * CPU architecture and credit settings for the controller compute JenkinsFactory generated.
+ *
+ * EC2: Graviton instance types get the arm64 Amazon Linux 2023 image (unless {@code amiId} names a
+ * pre-baked one), and T-series types get the {@code cpuCreditMode} credit specification.
+ * Fargate: {@code cpuArchitecture=ARM64} sets the task definition's runtime platform.
+ */
+public final class JenkinsComputePlatform {
+    private static final Log LOG = Log.get(JenkinsComputePlatform.class);
+
+    private JenkinsComputePlatform() {
+    }
+
+    public static void applyToEc2(Stack stack) {
+        CfcOptions options = CfcOptions.from(stack);
+        String instanceType = options.string("instanceType", "t3.micro");
+
+        if (InstanceCatalog.architectureOf(instanceType) == Architecture.ARM64) {
+            if (options.string("amiId", "").isEmpty()) {
+                String armImage = MachineImage.latestAmazonLinux2023(AmazonLinux2023ImageSsmParameterProps.builder()
+                        .cpuType(AmazonLinuxCpuType.ARM_64)
+                        .build())
+                    .getImage(stack).getImageId();
+                JenkinsEc2ScaleOut.useImage(stack, armImage);
+            } else {
+                LOG.warn("amiId is set for Graviton type " + instanceType + "; it must be an arm64 image");
+            }
+        }
+
+        String creditMode = options.string("cpuCreditMode", "");
+        if (InstanceCatalog.isBurstable(instanceType) && !creditMode.isEmpty()) {
+            for (CfnResource template : CfnLookup.ofType(stack, "AWS::EC2::LaunchTemplate")) {
+                template.addPropertyOverride("LaunchTemplateData.CreditSpecification.CpuCredits", creditMode);
+            }
+            for (CfnResource instance : CfnLookup.ofType(stack, "AWS::EC2::Instance")) {
+                instance.addPropertyOverride("CreditSpecification.CPUCredits", creditMode);
+            }
+            if (!CfnLookup.ofType(stack, "AWS::AutoScaling::LaunchConfiguration").isEmpty()) {
+                LOG.warn("cpuCreditMode cannot be set on a launch configuration; account default applies");
+            }
+        }
+        LOG.debug(() -> "EC2 platform for " + stack.getStackName() + ": " + instanceType
+            + " (" + InstanceCatalog.architectureOf(instanceType) + "), credits " + (creditMode.isEmpty() ? "default" : creditMode));
+    }
+
+    public static void applyToFargate(Stack stack) {
+        Architecture architecture = architecture(CfcOptions.from(stack));
+        if (architecture == Architecture.X86_64) {
+            return;
+        }
+        for (CfnResource taskDefinition : CfnLookup.ofType(stack, "AWS::ECS::TaskDefinition")) {
+            taskDefinition.addPropertyOverride("RuntimePlatform", Map.of(
+                "CpuArchitecture", architecture.name(),
+                "OperatingSystemFamily", "LINUX"));
+        }
+        LOG.debug(() -> "Fargate tasks in " + stack.getStackName() + " run on " + architecture);
+    }
+
+    /** The {@code cpuArchitecture} context key; X86_64 when absent. */
+    static Architecture architecture(CfcOptions options) {
+        return Architecture.valueOf(options.string("cpuArchitecture", Architecture.X86_64.name()).toUpperCase());
+    }
+}
@@ -0,0 +1,191 @@
+package com.cloudforgeci.samples.launchers;
+
+import com.cloudforgeci.samples.logging.Log;
+import software.amazon.awscdk.Stack;
+import software.amazon.awscdk.services.ecr.assets.DockerImageAsset;
+import software.amazon.awscdk.services.ecr.assets.Platform;
+import software.amazon.awscdk.services.ecs.CfnTaskDefinition;
+import software.amazon.awscdk.services.ecs.ContainerDefinition;
+import software.amazon.awscdk.services.ecs.TaskDefinition;
+import software.amazon.awscdk.services.secretsmanager.ISecret;
+import software.amazon.awscdk.services.secretsmanager.Secret;
+import software.amazon.awscdk.services.secretsmanager.SecretStringGenerator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Pre-baked Jenkins controller image, enabled with the {@code prebakedControllerImage} context key.
+ *
+ * Stages docker/jenkins-controller (Dockerfile + pinned plugins.txt) under target/, writes a
+ * configuration-as-code file generated from the cfc context, and builds it as a CDK image asset.
+ * The Fargate task definition JenkinsFactory generated is then pointed at the asset image.
+ */
+public final class JenkinsControllerImage {
+    private static final Log LOG = Log.get(JenkinsControllerImage.class);
+
+    static final Path SOURCE_DIR = Paths.get("docker", "jenkins-controller");
+    static final Path STAGING_DIR = Paths.get("target", "jenkins-controller-image");
+
+    /** Task environment variable the jenkins-oidc realm reads, by JSON key of the oidcClientSecret secret. */
+    static final Map<String, String> OIDC_CLIENT_KEYS = new TreeMap<>(Map.of(
+        "OIDC_CLIENT_ID", "clientId",
+        "OIDC_CLIENT_SECRET", "clientSecret",
+        "OIDC_WELL_KNOWN_URL", "wellKnownUrl"));
+
+    private JenkinsControllerImage() {
+    }
+
+    /** Builds the image asset and swaps it into the Jenkins task definition when enabled. */
+    public static void applyIfEnabled(Stack stack) {
+        CfcOptions options = CfcOptions.from(stack);
+        if (!options.bool("prebakedControllerImage", false)) {
+            return;
+        }
+        Path context = stage(renderCasc(options));
+        DockerImageAsset image = DockerImageAsset.Builder.create(stack, "JenkinsControllerImage")
+            .directory(context.toAbsolutePath().toString())
+            // Build for the task's platform; the Jenkins base image is multi-arch
+            .platform(JenkinsComputePlatform.architecture(options) == InstanceCatalog.Architecture.ARM64
+                ? Platform.LINUX_ARM64 : Platform.LINUX_AMD64)
+            .build();
+
+        TaskDefinition taskDefinition = findTaskDefinition(stack);
+        // The Jenkins container is the task's first (default) container
+        CfnTaskDefinition cfn = (CfnTaskDefinition) taskDefinition.getNode().getDefaultChild();
+        cfn.addPropertyOverride("ContainerDefinitions.0.Image", image.getImageUri());
+        image.getRepository().grantPull(taskDefinition.obtainExecutionRole());
+
+        String authMode = options.string("authMode", "none");
+        if ("none".equals(authMode)) {
+            // Local security realm: the admin password is generated once and injected as a task secret
+            Secret adminPassword = Secret.Builder.create(stack, "JenkinsAdminPassword")
+                .description("Initial Jenkins admin password for " + stack.getStackName())
+                .generateSecretString(SecretStringGenerator.builder().excludePunctuation(true).passwordLength(24).build())
+                .build();
+            taskDefinition.getDefaultContainer().addSecret("JENKINS_ADMIN_PASSWORD",
+                software.amazon.awscdk.services.ecs.Secret.fromSecretsManager(adminPassword));
+        } else if ("jenkins-oidc".equals(authMode)) {
+            addOidcClient(stack, options, taskDefinition.getDefaultContainer());
+        }
+        LOG.debug(() -> "Controller image staged from " + context + " for " + stack.getStackName());
+    }
+
+    /**
+     * Generates the JCasC file: executors on the controller, Jenkins URL from the domain settings,
+     * a security realm matching {@code authMode}, and the S3 artifact manager and OpenTelemetry export when
+     * enabled. Secrets stay as ${VAR} placeholders that Jenkins resolves from the task environment at startup.
+     */
+    public static String renderCasc(CfcOptions options) {
+        StringBuilder yaml = new StringBuilder()
+            .append("# Generated by CloudForge from DeploymentConfig - do not edit\n")
+            .append("jenkins:\n")
+            .append("  systemMessage: \"Jenkins managed by CloudForge\"\n")
+            .append("  numExecutors: ").append(options.integer("controllerExecutors", 0)).append('\n')
+            .append("  mode: EXCLUSIVE\n");
+
+        switch (options.string("authMode", "none")) {
+            case "alb-oidc" -> yaml
+                // The ALB authenticates users and forwards their identity in a header
+                .append("  securityRealm:\n")
+                .append("    reverseProxy:\n")
+                .append("      forwardedUser: \"X-Amzn-Oidc-Identity\"\n")
+                .append("      headerGroups: \"X-Forwarded-Groups\"\n")
+                .append("      headerGroupsDelimiter: \",\"\n")
+                .append("  authorizationStrategy: loggedInUsersCanDoAnything\n");
+            case "jenkins-oidc" -> yaml
+                .append("  securityRealm:\n")
+                .append("    oic:\n")
+                .append("      clientId: \"${OIDC_CLIENT_ID}\"\n")
+                .append("      clientSecret: \"${OIDC_CLIENT_SECRET}\"\n")
+                // oic-auth 4.x reads the discovery URL from serverConfiguration, not the realm root
+                .append("      serverConfiguration:\n")
+                .append("        wellKnown:\n")
+                .append("          wellKnownOpenIDConfigurationUrl: \"${OIDC_WELL_KNOWN_URL}\"\n")
+                .append("      userNameField: \"email\"\n")
+                .append("  authorizationStrategy: loggedInUsersCanDoAnything\n");
+            default -> yaml
+                .append("  securityRealm:\n")
+                .append("    local:\n")
+                .append("      allowsSignup: false\n")
+                .append("      users:\n")
+                .append("        - id: \"admin\"\n")
+                .append("          password: \"${JENKINS_ADMIN_PASSWORD}\"\n")
+                .append("  authorizationStrategy: loggedInUsersCanDoAnything\n");
+        }
+
+        String url = jenkinsUrl(options);
+        boolean artifactStore = JenkinsArtifactStore.enabled(options);
+        boolean tracing = JenkinsTracing.enabled(options);
+        if (url != null || artifactStore || tracing) {
+            yaml.append("unclassified:\n");
+        }
+        if (url != null) {
+            yaml.append("  location:\n")
+                .append("    url: \"").append(url).append("\"\n");
+        }
+        if (tracing) {
+            yaml.append(JenkinsTracing.renderCasc());
+        }
+        if (artifactStore) {
+            yaml.append(JenkinsArtifactStore.renderCasc()).append(JenkinsArtifactStore.renderAwsCasc());
+        }
+        return yaml.toString();
+    }
+
+    /** Injects the OIDC client the JCasC realm references, one JSON key per variable. */
+    private static void addOidcClient(Stack stack, CfcOptions options, ContainerDefinition jenkins) {
+        String secretName = options.string("oidcClientSecret", "");
+        if (secretName.isEmpty()) {
+            throw new IllegalStateException("authMode jenkins-oidc needs oidcClientSecret for " + stack.getStackName());
+        }
+        ISecret client = Secret.fromSecretNameV2(stack, "JenkinsOidcClient", secretName);
+        for (var variable : OIDC_CLIENT_KEYS.entrySet()) {
+            jenkins.addSecret(variable.getKey(), software.amazon.awscdk.services.ecs.Secret.fromSecretsManager(client, variable.getValue()));
+        }
+    }
+
+    static String jenkinsUrl(CfcOptions options) {
+        String fqdn = options.string("fqdn", "");
+        if (fqdn.isEmpty()) {
+            String domain = options.string("domain", "");
+            if (domain.isEmpty()) {
+                // ALB DNS name is only known after deploy; Jenkins falls back to the request URL
+                return null;
+            }
+            String subdomain = options.string("subdomain", "");
+            fqdn = subdomain.isEmpty() ? domain : subdomain + "." + domain;
+        }
+        return (options.bool("enableSsl", false) ? "https://" : "http://") + fqdn + "/";
+    }
+
+    /** Copies the image sources to target/ and writes the generated JCasC file beside them. */
+    static Path stage(String casc) {
+        try {
+            Files.createDirectories(STAGING_DIR.resolve("casc"));
+            for (String file : List.of("Dockerfile", "plugins.txt")) {
+                Files.copy(SOURCE_DIR.resolve(file), STAGING_DIR.resolve(file), StandardCopyOption.REPLACE_EXISTING);
+            }
+            Files.writeString(STAGING_DIR.resolve("casc").resolve("jenkins.yaml"), casc);
+            return STAGING_DIR;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not stage controller image build context", e);
+        }
+    }
+
+    static TaskDefinition findTaskDefinition(Stack stack) {
+        return stack.getNode().findAll().stream()
+            .filter(TaskDefinition.class::isInstance)
+            .map(TaskDefinition.class::cast)
+            .findFirst()
+            .orElseThrow(() -> new IllegalStateException(
+                "Expected a Fargate task definition in " + stack.getStackName()));
+    }
+}
@@ -0,0 +1,247 @@
+package com.cloudforgeci.samples.launchers;
+
+import com.cloudforgeci.samples.logging.Log;
+import software.amazon.awscdk.CfnResource;
+import software.amazon.awscdk.Fn;
+import software.amazon.awscdk.Stack;
+import software.amazon.awscdk.services.autoscaling.AutoScalingGroup;
+import software.amazon.awscdk.services.autoscaling.CfnLaunchConfiguration;
+import software.amazon.awscdk.services.autoscaling.CfnLifecycleHook;
+import software.amazon.awscdk.services.autoscaling.CfnWarmPool;
+import software.amazon.awscdk.services.ec2.CfnLaunchTemplate;
+import software.amazon.awscdk.services.iam.PolicyStatement;
+import software.constructs.IConstruct;
+
+import java.util.List;
+
+/**
+ * Faster EC2 scale-out for the Auto Scaling Group JenkinsFactory generates.
+ *
+ * {@code amiId} swaps the stock AMI for one baked with ami/jenkins-controller.json (see
+ * {@link com.cloudforgeci.samples.deploy.AmiBaker}), so the user-data install steps find everything
+ * already in place. {@code warmPoolSize} keeps that many initialized instances stopped (or
+ * hibernated) next to the group; scale-out then starts an existing instance instead of launching
+ * and installing a new one.
+ *
+ * The warm pool's launch hook is completed by the instance itself once it is set up
+ * ({@link #completeWarmupHook}), so the heartbeat timeout is only a fallback. JENKINS_HOME is on
+ * the shared EFS, so jenkins.service does not start while the instance's target lifecycle state is
+ * {@code Warmed:*}: a pool instance is provisioned, releases the hook and is stopped (or
+ * hibernated) without ever running a second controller. The completion runs as a boot-time unit
+ * because an instance leaving a stopped warm pool boots again without re-running user data; a
+ * hibernated instance resumes instead, so the unit waits for it to be put in service and starts
+ * Jenkins itself.
+ */
+public final class JenkinsEc2ScaleOut {
+    private static final Log LOG = Log.get(JenkinsEc2ScaleOut.class);
+
+    /** How long a new warm-pool instance may run user data before it is stopped. */
+    static final int STOCK_AMI_WARMUP_SECONDS = 600;
+    static final int PREBAKED_AMI_WARMUP_SECONDS = 120;
+
+    static final String WARMUP_HOOK_ID = "JenkinsWarmupHook";
+    static final String WARMUP_HOOK_NAME = "jenkins-warmup";
+
+    private JenkinsEc2ScaleOut() {
+    }
+
+    /** Applies the pre-baked AMI and warm pool settings from the cfc context, when present. */
+    public static void applyIfEnabled(Stack stack) {
+        CfcOptions options = CfcOptions.from(stack);
+        String amiId = options.string("amiId", "");
+        int warmPoolSize = options.integer("warmPoolSize", 0);
+
+        if (!amiId.isEmpty()) {
+            useImage(stack, amiId);
+        }
+        if (warmPoolSize > 0) {
+            CfnLookup.first(stack, "AWS::AutoScaling::AutoScalingGroup").ifPresentOrElse(
+                asg -> addWarmPool(stack, asg, options, warmPoolSize, !amiId.isEmpty()),
+                () -> LOG.warn("warmPoolSize ignored: " + stack.getStackName() + " has no Auto Scaling Group (single-node topology)"));
+        }
+    }
+
+    /** Points every launch template, launch configuration or instance in the stack at the AMI. */
+    static void useImage(Stack stack, String amiId) {
+        int patched = 0;
+        for (CfnResource template : CfnLookup.ofType(stack, "AWS::EC2::LaunchTemplate")) {
+            template.addPropertyOverride("LaunchTemplateData.ImageId", amiId);
+            patched++;
+        }
+        for (String type : List.of("AWS::AutoScaling::LaunchConfiguration", "AWS::EC2::Instance")) {
+            for (CfnResource resource : CfnLookup.ofType(stack, type)) {
+                resource.addPropertyOverride("ImageId", amiId);
+                patched++;
+            }
+        }
+        if (patched == 0) {
+            throw new IllegalStateException("amiId is set but " + stack.getStackName() + " has no EC2 launch resources");
+        }
+        int count = patched;
+        LOG.debug(() -> "Using AMI " + amiId + " for " + count + " launch resource(s) in " + stack.getStackName());
+    }
+
+    private static void addWarmPool(Stack stack, CfnResource asg, CfcOptions options, int size, boolean prebaked) {
+        String state = options.string("warmPoolState", "stopped");
+        if ("hibernated".equals(state) && !enableHibernation(stack, prebaked)) {
+            state = "stopped";
+        }
+
+        // Pool size is the prepared capacity beyond the minimum group size
+        int minCapacity = options.integer("minInstanceCapacity", 1);
+        CfnWarmPool.Builder.create(stack, "JenkinsWarmPool")
+            .autoScalingGroupName(CfnLookup.ref(asg))
+            .minSize(size)
+            .maxGroupPreparedCapacity(minCapacity + size)
+            .poolState("hibernated".equals(state) ? "Hibernated" : "Stopped")
+            .instanceReusePolicy(CfnWarmPool.InstanceReusePolicyProperty.builder().reuseOnScaleIn(true).build())
+            .build();
+
+        // Keeps a warming instance running until user data has finished before it is stopped.
+        // Instances launched straight into the group pass through the same hook.
+        CfnLifecycleHook.Builder.create(stack, WARMUP_HOOK_ID)
+            .autoScalingGroupName(CfnLookup.ref(asg))
+            .lifecycleHookName(WARMUP_HOOK_NAME)
+            .lifecycleTransition("autoscaling:EC2_INSTANCE_LAUNCHING")
+            .heartbeatTimeout(prebaked ? PREBAKED_AMI_WARMUP_SECONDS : STOCK_AMI_WARMUP_SECONDS)
+            .defaultResult("CONTINUE")
+            .build();
+
+        String poolState = state;
+        LOG.debug(() -> "Warm pool of " + size + " " + poolState + " instance(s) for " + stack.getStackName());
+    }
+
+    /**
+     * Appends the launch hook completion to the Auto Scaling Group's user data and puts the
+     * warm-pool condition on jenkins.service in front of it. Call it after every other user-data
+     * step, so the hook is only released once the instance is set up and no later step is lost.
+     */
+    public static void completeWarmupHook(Stack stack) {
+        if (stack.getNode().tryFindChild(WARMUP_HOOK_ID) == null) {
+            return;
+        }
+        for (IConstruct child : stack.getNode().findAll()) {
+            if (child instanceof AutoScalingGroup asg) {
+                asg.addUserData(completionCommands());
+                holdJenkinsWhileWarmed(asg);
+                // The group's name cannot be referenced from its own launch data, so the instance
+                // looks it up; generated group names start with the stack name
+                asg.addToRolePolicy(PolicyStatement.Builder.create()
+                    .actions(List.of("autoscaling:CompleteLifecycleAction"))
+                    .resources(List.of("arn:" + stack.getPartition() + ":autoscaling:" + stack.getRegion() + ":"
+                        + stack.getAccount() + ":autoScalingGroup:*:autoScalingGroupName/" + stack.getStackName() + "-*"))
+                    .build());
+                asg.addToRolePolicy(PolicyStatement.Builder.create()
+                    .actions(List.of("autoscaling:DescribeAutoScalingInstances"))
+                    .resources(List.of("*"))
+                    .build());
+                return;
+            }
+        }
+        LOG.warn("No EC2 Auto Scaling Group in " + stack.getStackName() + "; " + WARMUP_HOOK_NAME
+            + " is released by its heartbeat timeout");
+    }
+
+    /**
+     * Inserts {@link #warmedConditionCommands} right after the shebang of the group's user data.
+     * The factory's install steps start Jenkins before any launcher appends to the script, so the
+     * condition has to come first; the rendered script replaces the launch data's user data.
+     */
+    private static void holdJenkinsWhileWarmed(AutoScalingGroup asg) {
+        String script = asg.getUserData().render();
+        int body = script.indexOf('\n') + 1;
+        String held = script.substring(0, body) + String.join("\n", warmedConditionCommands()) + "\n" + script.substring(body);
+        int patched = 0;
+        for (IConstruct child : asg.getNode().findAll()) {
+            if (child instanceof CfnLaunchTemplate template) {
+                template.addPropertyOverride("LaunchTemplateData.UserData", Fn.base64(held));
+                patched++;
+            } else if (child instanceof CfnLaunchConfiguration configuration) {
+                configuration.addPropertyOverride("UserData", Fn.base64(held));
+                patched++;
+            }
+        }
+        if (patched == 0) {
+            LOG.warn("No launch data under " + asg.getNode().getPath() + "; warm-pool instances will start Jenkins");
+        }
+    }
+
+    /**
+     * Skips jenkins.service while the instance is headed for the warm pool. The condition is
+     * checked on every start, so the same unit starts normally once the instance is in service.
+     */
+    static String[] warmedConditionCommands() {
+        return new String[]{
+            "cat > /usr/local/sbin/jenkins-in-service <<'EOF'\n"
+                + "#!/bin/bash\n"
+                + "TOKEN=$(curl -sf -X PUT http://169.254.169.254/latest/api/token -H 'X-aws-ec2-metadata-token-ttl-seconds: 60')\n"
+                + "STATE=$(curl -sf -H \"X-aws-ec2-metadata-token: $TOKEN\""
+                + " http://169.254.169.254/latest/meta-data/autoscaling/target-lifecycle-state)\n"
+                // Outside a group the state is missing and Jenkins starts as usual
+                + "[[ \"$STATE\" != Warmed:* ]]\n"
+                + "EOF",
+            "chmod 755 /usr/local/sbin/jenkins-in-service",
+            "mkdir -p /etc/systemd/system/jenkins.service.d",
+            "cat > /etc/systemd/system/jenkins.service.d/warm-pool.conf <<'EOF'\n"
+                + "[Service]\nExecCondition=/usr/local/sbin/jenkins-in-service\nEOF",
+            "systemctl daemon-reload"
+        };
+    }
+
+    /**
+     * Installs and starts a unit that completes {@value #WARMUP_HOOK_NAME} on every boot. In the
+     * warm pool it releases the hook with Jenkins held back, then waits until the instance is put
+     * in service, which only a hibernated instance lives to see; a stopped one boots again.
+     */
+    static String[] completionCommands() {
+        return new String[]{
+            "cat > /usr/local/sbin/jenkins-warmup-complete <<'EOF'\n"
+                + "#!/bin/bash\n"
+                // A fresh token per call: a hibernated instance may resume days later
+                + "imds() {\n"
+                + "  local token\n"
+                + "  token=$(curl -sf -X PUT http://169.254.169.254/latest/api/token -H 'X-aws-ec2-metadata-token-ttl-seconds: 60')\n"
+                + "  curl -sf -H \"X-aws-ec2-metadata-token: $token\" \"http://169.254.169.254/latest/meta-data/$1\"\n"
+                + "}\n"
+                + "INSTANCE_ID=$(imds instance-id)\n"
+                + "REGION=$(imds placement/region)\n"
+                + "ASG=$(aws autoscaling describe-auto-scaling-instances --region \"$REGION\" --instance-ids \"$INSTANCE_ID\""
+                + " --query 'AutoScalingInstances[0].AutoScalingGroupName' --output text)\n"
+                // Fails harmlessly on a reboot with no pending lifecycle action
+                + "complete() {\n"
+                + "  aws autoscaling complete-lifecycle-action --region \"$REGION\" --auto-scaling-group-name \"$ASG\""
+                + " --lifecycle-hook-name " + WARMUP_HOOK_NAME + " --instance-id \"$INSTANCE_ID\" --lifecycle-action-result CONTINUE || true\n"
+                + "}\n"
+                + "if [[ \"$(imds autoscaling/target-lifecycle-state)\" == Warmed:* ]]; then\n"
+                + "  complete\n"
+                + "  until [[ \"$(imds autoscaling/target-lifecycle-state)\" == InService ]]; do sleep 5; done\n"
+                + "  systemctl start jenkins\n"
+                + "fi\n"
+                + "complete\n"
+                + "EOF",
+            "chmod 755 /usr/local/sbin/jenkins-warmup-complete",
+            // Type=simple: in the warm pool the script outlives user data, which must not wait for it
+            "cat > /etc/systemd/system/jenkins-warmup-complete.service <<'EOF'\n"
+                + "[Unit]\nDescription=Complete the Auto Scaling launch hook\nAfter=jenkins.service network-online.target\n"
+                + "Wants=network-online.target\n\n"
+                + "[Service]\nType=simple\nExecStart=/usr/local/sbin/jenkins-warmup-complete\n\n"
+                + "[Install]\nWantedBy=multi-user.target\nEOF",
+            "systemctl daemon-reload",
+            "systemctl enable --now jenkins-warmup-complete.service"
+        };
+    }
+
+    /**
+     * Hibernation needs an encrypted root volume, which only the baked AMI guarantees, and the
+     * option switched on in the launch template.
+     */
+    private static boolean enableHibernation(Stack stack, boolean prebaked) {
+        List<CfnResource> templates = CfnLookup.ofType(stack, "AWS::EC2::LaunchTemplate");
+        if (!prebaked || templates.isEmpty()) {
+            LOG.warn("warmPoolState=hibernated needs a pre-baked (encrypted) AMI and a launch template; using stopped");
+            return false;
+        }
+        templates.forEach(template -> template.addPropertyOverride("LaunchTemplateData.HibernationOptions.Configured", true));
+        return true;
+    }
+}
@@ -26,6 +26,33 @@ public class JenkinsEc2Stack extends Stack {
             // Use JenkinsFactory to create EC2 Jenkins deployment
             JenkinsFactory.JenkinsSystem jenkinsSystem = JenkinsFactory.createEc2(this, id, cfc);
             
+            // Graviton image and T-series credit mode for the selected instance type
+            JenkinsComputePlatform.applyToEc2(this);
+            
+            // Pre-baked AMI and ASG warm pool for faster scale-out
+            JenkinsEc2ScaleOut.applyIfEnabled(this);
+            
+            // Optional working-hours schedule and predictive scaling for the ASG
+            JenkinsScheduledScaling.applyToEc2(this);
+            
+            // Workspace disk (root volume or NVMe instance store), prepared before Jenkins starts
+            JenkinsWorkspaceStorage.applyToEc2(this);
+            
+            // Optional Fluent Bit agent: build logs to S3, sampled controller logs to CloudWatch
+            JenkinsLogRouting.applyToEc2(this);
+            
+            // Heap, GC and processor flags sized to the instance
+            JenkinsJvmTuning.applyToEc2(this);
+            
+            // Last user-data step: release the warm pool's launch hook
+            JenkinsEc2ScaleOut.completeWarmupHook(this);
+            
+            // Optional VPC endpoints for private-with-nat networks
+            JenkinsVpcEndpoints.applyIfEnabled(this);
+            
+            // Optional performance dashboard and alarms wired to the generated resources
+            JenkinsMonitoring.attachIfEnabled(this);
+            
         } catch (Exception e) {
             e.printStackTrace();
             throw e;
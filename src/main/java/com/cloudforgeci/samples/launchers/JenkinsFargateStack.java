@@ -4,11 +4,14 @@ import com.cloudforgeci.api.core.DeploymentContext;
 import com.cloudforgeci.api.compute.JenkinsFactory;
 import com.cloudforgeci.api.interfaces.SecurityProfile;
 import com.cloudforgeci.api.interfaces.IAMProfile;
+import com.cloudforgeci.samples.logging.Log;
 import software.amazon.awscdk.Stack;
 import software.amazon.awscdk.StackProps;
 import software.constructs.Construct;
 
 public class JenkinsFargateStack extends Stack {
+    private static final Log LOG = Log.get(JenkinsFargateStack.class);
+    
     public JenkinsFargateStack(final Construct scope, final String id) { 
         this(scope, id, null, SecurityProfile.DEV, IAMProfile.EXTENDED); 
     }
@@ -20,16 +23,46 @@ public class JenkinsFargateStack extends Stack {
     public JenkinsFargateStack(final Construct scope, final String id, final StackProps props, 
                               final SecurityProfile security, final IAMProfile iamProfile) {
         super(scope, id, props);
-        System.out.println("JenkinsFargateStack constructor called with id: " + id);
+        LOG.debug(() -> "JenkinsFargateStack constructor called with id: " + id);
         var cfc = DeploymentContext.from(scope);
-        System.out.println("JenkinsFargateStack: Domain: " + cfc.domain() + ", Subdomain: " + cfc.subdomain());
+        LOG.debug(() -> "JenkinsFargateStack: Domain: " + cfc.domain() + ", Subdomain: " + cfc.subdomain());
         
         try {
-            System.out.println("JenkinsFargateStack: Creating Jenkins deployment using JenkinsFactory");
+            LOG.debug(() -> "JenkinsFargateStack: Creating Jenkins deployment using JenkinsFactory");
             
             // Use JenkinsFactory to create Fargate Jenkins deployment
             JenkinsFactory.JenkinsSystem jenkinsSystem = JenkinsFactory.createFargate(this, id, cfc);
             
+            // x86_64 or ARM64 (Graviton) task platform
+            JenkinsComputePlatform.applyToFargate(this);
+            
+            // Optional pre-baked controller image with pinned plugins and generated JCasC
+            JenkinsControllerImage.applyIfEnabled(this);
+            
+            // Optional S3 bucket for archived artifacts and stashes, granted per IAM profile
+            JenkinsArtifactStore.applyToFargate(this, iamProfile);
+            
+            // Optional working-hours schedule for the service's desired count
+            JenkinsScheduledScaling.applyToFargate(this);
+            
+            // Optional OpenTelemetry collector sidecar: build and stage traces to X-Ray or CloudWatch
+            JenkinsTracing.applyToFargate(this);
+            
+            // Ephemeral storage size and optional local workspace mount
+            JenkinsWorkspaceStorage.applyToFargate(this);
+            
+            // Optional FireLens sidecar: build logs to S3, sampled controller logs to CloudWatch
+            JenkinsLogRouting.applyToFargate(this);
+            
+            // Heap, GC and processor flags sized to the task
+            JenkinsJvmTuning.applyToFargate(this);
+            
+            // Optional VPC endpoints for private-with-nat networks
+            JenkinsVpcEndpoints.applyIfEnabled(this);
+            
+            // Optional performance dashboard and alarms wired to the generated resources
+            JenkinsMonitoring.attachIfEnabled(this);
+            
         } catch (Exception e) {
             e.printStackTrace();
             throw e;
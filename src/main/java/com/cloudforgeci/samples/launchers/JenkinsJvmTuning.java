@@ -0,0 +1,177 @@
+package com.cloudforgeci.samples.launchers;
+
+import com.cloudforgeci.samples.logging.Log;
+import software.amazon.awscdk.Stack;
+import software.amazon.awscdk.services.autoscaling.AutoScalingGroup;
+import software.amazon.awscdk.services.ec2.Instance;
+import software.amazon.awscdk.services.ecs.ContainerDefinition;
+import software.constructs.IConstruct;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Container-aware JVM flags for the Jenkins controller, derived from the configured size.
+ *
+ * The heap is a fixed share of the memory the controller owns (larger shares on larger sizes,
+ * where off-heap overhead is a smaller fraction), ZGC replaces G1 once the heap is big enough for
+ * G1 pauses to hurt, metaspace is capped for plugin-heavy class loading, and
+ * {@code ActiveProcessorCount} matches the vCPUs actually paid for. The result goes into
+ * {@code JAVA_OPTS}; a non-empty {@code jvmOptions} context key replaces it verbatim.
+ * {@code -Djava.awt.headless=true} is always kept: on EC2 the drop-in replaces the packaged
+ * unit's JAVA_OPTS, which is where the flag normally comes from.
+ */
+public final class JenkinsJvmTuning {
+    private static final Log LOG = Log.get(JenkinsJvmTuning.class);
+
+    public enum Gc { G1, ZGC }
+
+    /** Heap at or above this size uses generational ZGC. */
+    static final int ZGC_MIN_HEAP_MIB = 6144;
+
+    static final String HEADLESS = "-Djava.awt.headless=true";
+
+    /**
+     * Quotes and backslashes would end or escape the systemd {@code Environment=} value, and the
+     * Jenkins start scripts expand {@code $} and backticks; none of them belong in JVM flags.
+     */
+    private static final Pattern UNSAFE = Pattern.compile("[\"'\\\\`$\\r\\n]");
+
+    public record Profile(int activeProcessors, int memoryMiB, int heapPercent, Gc gc, int maxMetaspaceMiB) {
+
+        public int heapMiB() {
+            return memoryMiB * heapPercent / 100;
+        }
+
+        public String javaOpts() {
+            List<String> flags = new ArrayList<>(List.of(
+                "-XX:ActiveProcessorCount=" + activeProcessors,
+                // Same initial and max share: no heap resizing after startup
+                "-XX:InitialRAMPercentage=" + heapPercent + ".0",
+                "-XX:MaxRAMPercentage=" + heapPercent + ".0",
+                "-XX:MaxMetaspaceSize=" + maxMetaspaceMiB + "m"));
+            if (gc == Gc.ZGC) {
+                flags.addAll(List.of("-XX:+UseZGC", "-XX:+ZGenerational"));
+            } else {
+                flags.addAll(List.of("-XX:+UseG1GC", "-XX:+UseStringDeduplication", "-XX:+ParallelRefProcEnabled"));
+            }
+            // Let the orchestrator replace a controller that ran out of memory instead of limping on
+            flags.add("-XX:+ExitOnOutOfMemoryError");
+            return String.join(" ", flags);
+        }
+
+        public String summary() {
+            return gc + ", heap " + heapPercent + "% (~" + heapMiB() + " MiB), metaspace " + maxMetaspaceMiB
+                + " MiB, " + activeProcessors + " processor(s)";
+        }
+    }
+
+    private JenkinsJvmTuning() {
+    }
+
+    /** Profile for a controller with {@code cpuUnits} (1024 per vCPU) and {@code memoryMiB}. */
+    public static Profile profileFor(int cpuUnits, int memoryMiB) {
+        int processors = Math.max(1, (cpuUnits + 1023) / 1024);
+        int heapPercent = memoryMiB <= 2048 ? 50 : memoryMiB <= 4096 ? 60 : memoryMiB <= 8192 ? 70 : 75;
+        int metaspace = memoryMiB <= 2048 ? 256 : 512;
+        Gc gc = memoryMiB * heapPercent / 100 >= ZGC_MIN_HEAP_MIB && processors >= 2 ? Gc.ZGC : Gc.G1;
+        return new Profile(processors, memoryMiB, heapPercent, gc, metaspace);
+    }
+
+    /** EC2 controllers own the whole instance, so catalog types are sized from the instance shape. */
+    public static Profile profileForInstance(String instanceType, int cpuUnits, int memoryMiB) {
+        return InstanceCatalog.options().stream()
+            .filter(option -> option.type().equals(instanceType))
+            .findFirst()
+            .map(option -> profileFor(option.vcpus() * 1024, option.memoryGiB() * 1024))
+            .orElseGet(() -> profileFor(cpuUnits, memoryMiB));
+    }
+
+    /**
+     * JAVA_OPTS from the context: the {@code jvmOptions} override, or the computed profile, plus the
+     * workspace location and artifact manager properties when those features are enabled.
+     */
+    public static String javaOpts(CfcOptions options, boolean ec2) {
+        String javaOpts = options.string("jvmOptions", "");
+        String unsafe = unsafeCharacter(javaOpts);
+        if (unsafe != null) {
+            throw new IllegalArgumentException("jvmOptions must not contain " + unsafe);
+        }
+        if (javaOpts.isEmpty()) {
+            int cpu = options.integer("cpu", 1024);
+            int memory = options.integer("memory", 2048);
+            Profile profile = ec2
+                ? profileForInstance(options.string("instanceType", "t3.micro"), cpu, memory)
+                : profileFor(cpu, memory);
+            javaOpts = profile.javaOpts();
+        }
+        if (!javaOpts.contains("-Djava.awt.headless=")) {
+            javaOpts = HEADLESS + " " + javaOpts;
+        }
+        for (String property : List.of(JenkinsWorkspaceStorage.workspacesDirProperty(options),
+                JenkinsArtifactStore.systemProperties(options))) {
+            if (!property.isEmpty()) {
+                javaOpts += " " + property;
+            }
+        }
+        return javaOpts;
+    }
+
+    /** The first character that may not appear in {@code jvmOptions}, or null when there is none. */
+    public static String unsafeCharacter(String jvmOptions) {
+        Matcher matcher = UNSAFE.matcher(jvmOptions);
+        if (!matcher.find()) {
+            return null;
+        }
+        String found = matcher.group();
+        return "\n".equals(found) || "\r".equals(found) ? "a line break" : found;
+    }
+
+    /** Sets JAVA_OPTS on the Jenkins container (the task's default container). */
+    public static void applyToContainer(ContainerDefinition container, CfcOptions options) {
+        String javaOpts = javaOpts(options, false);
+        container.addEnvironment("JAVA_OPTS", javaOpts);
+        LOG.debug(() -> "Controller JAVA_OPTS: " + javaOpts);
+    }
+
+    public static void applyToFargate(Stack stack) {
+        applyToContainer(JenkinsControllerImage.findTaskDefinition(stack).getDefaultContainer(), CfcOptions.from(stack));
+    }
+
+    /**
+     * Appends a systemd drop-in to the instance user data. It runs after the factory's install
+     * steps, so Jenkins is restarted once to pick the flags up.
+     */
+    public static void applyToEc2(Stack stack) {
+        String javaOpts = javaOpts(CfcOptions.from(stack), true);
+        String[] commands = dropInCommands(javaOpts);
+        int patched = 0;
+        for (IConstruct child : stack.getNode().findAll()) {
+            if (child instanceof AutoScalingGroup asg) {
+                asg.addUserData(commands);
+                patched++;
+            } else if (child instanceof Instance instance) {
+                instance.addUserData(commands);
+                patched++;
+            }
+        }
+        if (patched == 0) {
+            LOG.warn("No EC2 Auto Scaling Group or instance in " + stack.getStackName() + "; JVM flags not applied");
+            return;
+        }
+        LOG.debug(() -> "Controller JAVA_OPTS: " + javaOpts);
+    }
+
+    /** The quoted heredoc keeps the shell out of the flags; systemd only expands % specifiers. */
+    static String[] dropInCommands(String javaOpts) {
+        return new String[]{
+            "mkdir -p /etc/systemd/system/jenkins.service.d",
+            "cat > /etc/systemd/system/jenkins.service.d/jvm.conf <<'EOF'\n"
+                + "[Service]\nEnvironment=\"JAVA_OPTS=" + javaOpts.replace("%", "%%") + "\"\nEOF",
+            "systemctl daemon-reload",
+            "systemctl try-restart jenkins"
+        };
+    }
+}
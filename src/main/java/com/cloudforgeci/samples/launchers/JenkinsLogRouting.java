@@ -0,0 +1,224 @@
+package com.cloudforgeci.samples.launchers;
+
+import com.cloudforgeci.samples.logging.Log;
+import software.amazon.awscdk.Duration;
+import software.amazon.awscdk.RemovalPolicy;
+import software.amazon.awscdk.Stack;
+import software.amazon.awscdk.services.autoscaling.AutoScalingGroup;
+import software.amazon.awscdk.services.ec2.Instance;
+import software.amazon.awscdk.services.ecs.AwsLogDriverProps;
+import software.amazon.awscdk.services.ecs.CfnTaskDefinition;
+import software.amazon.awscdk.services.ecs.ContainerDefinition;
+import software.amazon.awscdk.services.ecs.ContainerDependency;
+import software.amazon.awscdk.services.ecs.ContainerDependencyCondition;
+import software.amazon.awscdk.services.ecs.ContainerImage;
+import software.amazon.awscdk.services.ecs.FirelensConfig;
+import software.amazon.awscdk.services.ecs.FirelensConfigFileType;
+import software.amazon.awscdk.services.ecs.FirelensLogRouter;
+import software.amazon.awscdk.services.ecs.FirelensLogRouterDefinitionOptions;
+import software.amazon.awscdk.services.ecs.FirelensLogRouterType;
+import software.amazon.awscdk.services.ecs.FirelensOptions;
+import software.amazon.awscdk.services.ecs.LogDrivers;
+import software.amazon.awscdk.services.ecs.MountPoint;
+import software.amazon.awscdk.services.ecs.TaskDefinition;
+import software.amazon.awscdk.services.iam.IRole;
+import software.amazon.awscdk.services.iam.PolicyStatement;
+import software.amazon.awscdk.services.logs.CfnLogGroup;
+import software.amazon.awscdk.services.s3.BlockPublicAccess;
+import software.amazon.awscdk.services.s3.Bucket;
+import software.amazon.awscdk.services.s3.BucketEncryption;
+import software.amazon.awscdk.services.s3.LifecycleRule;
+import software.amazon.awscdk.services.s3.StorageClass;
+import software.amazon.awscdk.services.s3.Transition;
+import software.constructs.IConstruct;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Buffered log shipping through Fluent Bit, enabled with {@code logShipping=firelens}.
+ *
+ * On Fargate a FireLens log router sidecar replaces the awslogs driver of the Jenkins container
+ * and mounts JENKINS_HOME read-only to tail build logs; on EC2 the same pipeline runs as a
+ * Fluent Bit agent reading jenkins.service from journald. Routing is rendered by
+ * {@link FluentBitConfig}: build logs to a dedicated S3 bucket, controller logs to a CloudWatch
+ * log group kept for {@code logRetentionDays}.
+ */
+public final class JenkinsLogRouting {
+    private static final Log LOG = Log.get(JenkinsLogRouting.class);
+
+    static final String ROUTER_IMAGE = "public.ecr.aws/aws-observability/aws-for-fluent-bit:stable";
+    static final String CONFIG_PATH = "/fluent-bit/etc/cloudforge.conf";
+
+    /** Fluent Bit package installed on EC2 controllers from the vendor's signed Amazon Linux 2023 repository. */
+    static final String FLUENT_BIT_VERSION = "3.1.9";
+    static final String FLUENT_BIT_REPO = "https://packages.fluentbit.io/amazonlinux/2023/";
+    static final String FLUENT_BIT_KEY = "https://packages.fluentbit.io/fluentbit.key";
+
+    private JenkinsLogRouting() {
+    }
+
+    static boolean enabled(CfcOptions options) {
+        return "firelens".equals(options.string("logShipping", "awslogs"));
+    }
+
+    public static void applyToFargate(Stack stack) {
+        CfcOptions options = CfcOptions.from(stack);
+        if (!enabled(options)) {
+            return;
+        }
+        TaskDefinition taskDefinition = JenkinsControllerImage.findTaskDefinition(stack);
+        ContainerDefinition jenkins = taskDefinition.getDefaultContainer();
+        Bucket bucket = buildLogBucket(stack, options);
+        CfnLogGroup logGroup = controllerLogGroup(stack, options);
+
+        String jenkinsHome = "/var/jenkins_home";
+        MountPoint home = jenkins.getMountPoints().stream()
+            .filter(mount -> jenkinsHome.equals(mount.getContainerPath()))
+            .findFirst()
+            .orElse(null);
+        String config = FluentBitConfig.render(settings(stack, options, bucket, logGroup, jenkinsHome, "*-firelens-*", false));
+
+        // The FireLens-generated config @INCLUDEs CONFIG_PATH, written from the environment before startup
+        FirelensLogRouter router = taskDefinition.addFirelensLogRouter("log-router", FirelensLogRouterDefinitionOptions.builder()
+            .image(ContainerImage.fromRegistry(ROUTER_IMAGE))
+            .firelensConfig(FirelensConfig.builder()
+                .type(FirelensLogRouterType.FLUENTBIT)
+                .options(FirelensOptions.builder()
+                    .configFileType(FirelensConfigFileType.FILE)
+                    .configFileValue(CONFIG_PATH)
+                    .enableEcsLogMetadata(false)
+                    .build())
+                .build())
+            .entryPoint(List.of("sh", "-c"))
+            .command(List.of("printf '%s' \"$CLOUDFORGE_FLB_CONFIG\" > " + CONFIG_PATH + " && exec /entrypoint.sh"))
+            .environment(Map.of("CLOUDFORGE_FLB_CONFIG", config))
+            .essential(true)
+            .memoryReservationMiB(64)
+            .logging(LogDrivers.awsLogs(AwsLogDriverProps.builder().streamPrefix("log-router").build()))
+            .build());
+        if (home != null) {
+            router.addMountPoints(MountPoint.builder()
+                .sourceVolume(home.getSourceVolume())
+                .containerPath(jenkinsHome)
+                .readOnly(true)
+                .build());
+        } else {
+            LOG.warn("No JENKINS_HOME mount on the Jenkins container; build logs will not be shipped");
+        }
+
+        // The Jenkins container is the task's first (default) container; no options: routing comes from the include.
+        // Overrides merge into the factory's awslogs configuration, so its options are deleted explicitly
+        CfnTaskDefinition cfn = (CfnTaskDefinition) taskDefinition.getNode().getDefaultChild();
+        cfn.addPropertyOverride("ContainerDefinitions.0.LogConfiguration", Map.of("LogDriver", "awsfirelens"));
+        cfn.addPropertyDeletionOverride("ContainerDefinitions.0.LogConfiguration.Options");
+        jenkins.addContainerDependencies(ContainerDependency.builder()
+            .container(router)
+            .condition(ContainerDependencyCondition.START)
+            .build());
+
+        grant(taskDefinition.getTaskRole(), bucket, logGroup);
+        LOG.debug(() -> "FireLens log router added to " + stack.getStackName());
+    }
+
+    /** Installs Fluent Bit on the controller instance and points it at the rendered config. */
+    public static void applyToEc2(Stack stack) {
+        CfcOptions options = CfcOptions.from(stack);
+        if (!enabled(options)) {
+            return;
+        }
+        Bucket bucket = buildLogBucket(stack, options);
+        CfnLogGroup logGroup = controllerLogGroup(stack, options);
+        String config = FluentBitConfig.render(settings(stack, options, bucket, logGroup, "/var/lib/jenkins", "controller", true));
+        List<String> steps = new ArrayList<>(installCommands());
+        steps.addAll(List.of(
+            "mkdir -p /var/lib/fluent-bit /etc/fluent-bit",
+            "cat > /etc/fluent-bit/fluent-bit.conf <<'EOF'\n" + config + "EOF",
+            "systemctl enable fluent-bit",
+            "systemctl restart fluent-bit"));
+        String[] commands = steps.toArray(String[]::new);
+        int patched = 0;
+        for (IConstruct child : stack.getNode().findAll()) {
+            if (child instanceof AutoScalingGroup asg) {
+                asg.addUserData(commands);
+                grant(asg.getRole(), bucket, logGroup);
+                patched++;
+            } else if (child instanceof Instance instance) {
+                instance.addUserData(commands);
+                grant(instance.getRole(), bucket, logGroup);
+                patched++;
+            }
+        }
+        if (patched == 0) {
+            LOG.warn("No EC2 Auto Scaling Group or instance in " + stack.getStackName() + "; log agent not installed");
+        }
+    }
+
+    /**
+     * Adds the vendor repository with signed packages and metadata, then installs the pinned
+     * package; dnf verifies both against the vendor key.
+     */
+    static List<String> installCommands() {
+        return List.of(
+            "cat > /etc/yum.repos.d/fluent-bit.repo <<'EOF'\n"
+                + "[fluent-bit]\n"
+                + "name=Fluent Bit\n"
+                + "baseurl=" + FLUENT_BIT_REPO + "\n"
+                + "gpgcheck=1\n"
+                + "repo_gpgcheck=1\n"
+                + "gpgkey=" + FLUENT_BIT_KEY + "\n"
+                + "enabled=1\n"
+                + "EOF",
+            "dnf -y install fluent-bit-" + FLUENT_BIT_VERSION);
+    }
+
+    static FluentBitConfig.Settings settings(Stack stack, CfcOptions options, Bucket bucket, CfnLogGroup logGroup,
+                                             String jenkinsHome, String controllerMatch, boolean standalone) {
+        return new FluentBitConfig.Settings(stack.getRegion(), bucket.getBucketName(), logGroup.getRef(), jenkinsHome,
+            controllerMatch, Math.max(1, Math.min(100, options.integer("logSamplePercent", 100))),
+            options.list("logDropPatterns"), standalone);
+    }
+
+    static Bucket buildLogBucket(Stack stack, CfcOptions options) {
+        int retentionDays = Math.max(1, options.integer("buildLogRetentionDays", 90));
+        LifecycleRule.Builder lifecycle = LifecycleRule.builder()
+            .id("build-logs")
+            .prefix("build-logs/")
+            .expiration(Duration.days(retentionDays))
+            .abortIncompleteMultipartUploadAfter(Duration.days(1));
+        if (retentionDays > 30) {
+            // Standard-IA has a 30-day minimum; older logs are rarely read
+            lifecycle.transitions(List.of(Transition.builder()
+                .storageClass(StorageClass.INFREQUENT_ACCESS)
+                .transitionAfter(Duration.days(30))
+                .build()));
+        }
+        return Bucket.Builder.create(stack, "JenkinsBuildLogBucket")
+            .encryption(BucketEncryption.S3_MANAGED)
+            .blockPublicAccess(BlockPublicAccess.BLOCK_ALL)
+            .enforceSsl(true)
+            .removalPolicy(RemovalPolicy.RETAIN)
+            .lifecycleRules(List.of(lifecycle.build()))
+            .build();
+    }
+
+    /** Plain CfnLogGroup so any {@code logRetentionDays} value passes straight through. */
+    static CfnLogGroup controllerLogGroup(Stack stack, CfcOptions options) {
+        return CfnLogGroup.Builder.create(stack, "JenkinsControllerLogGroup")
+            .retentionInDays(options.integer("logRetentionDays", 7))
+            .build();
+    }
+
+    private static void grant(IRole role, Bucket bucket, CfnLogGroup logGroup) {
+        if (role == null) {
+            return;
+        }
+        bucket.grantPut(role, "build-logs/*");
+        role.addToPrincipalPolicy(PolicyStatement.Builder.create()
+            .actions(List.of("logs:CreateLogStream", "logs:PutLogEvents", "logs:DescribeLogStreams"))
+            // The log group Arn attribute already ends in ":*", covering its streams
+            .resources(List.of(logGroup.getAttrArn()))
+            .build());
+    }
+}
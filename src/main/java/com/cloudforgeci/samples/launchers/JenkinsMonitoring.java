@@ -0,0 +1,211 @@
+package com.cloudforgeci.samples.launchers;
+
+import software.amazon.awscdk.CfnResource;
+import software.amazon.awscdk.Duration;
+import software.amazon.awscdk.Stack;
+import software.amazon.awscdk.services.cloudwatch.Alarm;
+import software.amazon.awscdk.services.cloudwatch.ComparisonOperator;
+import software.amazon.awscdk.services.cloudwatch.Dashboard;
+import software.amazon.awscdk.services.cloudwatch.GraphWidget;
+import software.amazon.awscdk.services.cloudwatch.IMetric;
+import software.amazon.awscdk.services.cloudwatch.IWidget;
+import software.amazon.awscdk.services.cloudwatch.MathExpression;
+import software.amazon.awscdk.services.cloudwatch.Metric;
+import software.amazon.awscdk.services.cloudwatch.TreatMissingData;
+import software.amazon.awscdk.services.cloudwatch.actions.SnsAction;
+import software.amazon.awscdk.services.efs.CfnFileSystem;
+import software.amazon.awscdk.services.sns.Topic;
+import software.amazon.awscdk.services.sns.subscriptions.EmailSubscription;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Performance dashboard and alarms for a Jenkins deployment, enabled with the
+ * {@code enablePerformanceDashboard} context key.
+ *
+ * Wires CloudWatch metrics to the resources JenkinsFactory generated (located with
+ * {@link CfnLookup}): ALB p95/p99 latency and 5xx rate, ECS service or ASG CPU/memory, EFS
+ * throughput and IO limit, and the Jenkins build queue. Alarm thresholds come from the cfc
+ * context (see DeploymentConfig); {@code alarmEmail} subscribes an address to the alarm topic.
+ * The EFS burst credit alarm only exists in bursting throughput mode, the only mode that spends
+ * credits.
+ *
+ * The build queue is only charted and alarmed when {@link JenkinsTracing} added the collector that
+ * publishes it; without it the metric would never exist and the alarm would sit in OK forever.
+ */
+public final class JenkinsMonitoring {
+
+    /** Namespace the OpenTelemetry collector publishes the queue metric to. */
+    public static final String JENKINS_NAMESPACE = OtelCollectorConfig.METRICS_NAMESPACE;
+
+    private static final Duration PERIOD = Duration.minutes(1);
+
+    private final Stack stack;
+    private final CfcOptions options;
+    private final Topic topic;
+
+    private JenkinsMonitoring(Stack stack, CfcOptions options) {
+        this.stack = stack;
+        this.options = options;
+        String email = options.string("alarmEmail", "");
+        if (email.isEmpty()) {
+            this.topic = null;
+        } else {
+            this.topic = Topic.Builder.create(stack, "JenkinsAlarmTopic").build();
+            topic.addSubscription(new EmailSubscription(email));
+        }
+    }
+
+    /** Adds the dashboard and alarms to {@code stack} when enabled in the context. */
+    public static void attachIfEnabled(Stack stack) {
+        CfcOptions options = CfcOptions.from(stack);
+        if (!options.bool("enableMonitoring", true) || !options.bool("enablePerformanceDashboard", false)) {
+            return;
+        }
+        new JenkinsMonitoring(stack, options).attach();
+    }
+
+    private void attach() {
+        Dashboard dashboard = Dashboard.Builder.create(stack, "JenkinsPerformanceDashboard")
+            .dashboardName(stack.getStackName() + "-performance")
+            .build();
+
+        CfnLookup.first(stack, "AWS::ElasticLoadBalancingV2::LoadBalancer").ifPresent(alb ->
+            dashboard.addWidgets(loadBalancerWidgets(alb).toArray(IWidget[]::new)));
+        CfnLookup.first(stack, "AWS::ECS::Service").ifPresent(service ->
+            dashboard.addWidgets(ecsWidgets(service).toArray(IWidget[]::new)));
+        CfnLookup.first(stack, "AWS::AutoScaling::AutoScalingGroup").ifPresent(asg ->
+            dashboard.addWidgets(asgWidgets(asg).toArray(IWidget[]::new)));
+        CfnLookup.first(stack, "AWS::EFS::FileSystem").ifPresent(efs ->
+            dashboard.addWidgets(efsWidgets(efs).toArray(IWidget[]::new)));
+        if (JenkinsTracing.publishesQueueMetric(stack)) {
+            dashboard.addWidgets(queueWidget());
+        }
+    }
+
+    private List<IWidget> loadBalancerWidgets(CfnResource alb) {
+        Map<String, String> dimensions = Map.of("LoadBalancer", CfnLookup.att(alb, "LoadBalancerFullName"));
+        Metric p95 = metric("AWS/ApplicationELB", "TargetResponseTime", dimensions, "p95");
+        Metric p99 = metric("AWS/ApplicationELB", "TargetResponseTime", dimensions, "p99");
+        MathExpression errorRate = MathExpression.Builder.create()
+            .expression("100 * (elb5xx + target5xx) / MAX([requests, 1])")
+            .usingMetrics(Map.of(
+                "elb5xx", metric("AWS/ApplicationELB", "HTTPCode_ELB_5XX_Count", dimensions, "Sum"),
+                "target5xx", metric("AWS/ApplicationELB", "HTTPCode_Target_5XX_Count", dimensions, "Sum"),
+                "requests", metric("AWS/ApplicationELB", "RequestCount", dimensions, "Sum")))
+            .label("5xx rate (%)")
+            .period(PERIOD)
+            .build();
+
+        // TargetResponseTime is reported in seconds
+        alarm("JenkinsP99LatencyAlarm", p99, options.integer("alarmLatencyP99Ms", 2000) / 1000.0,
+            "ALB p99 latency above threshold");
+        alarm("Jenkins5xxRateAlarm", errorRate, options.decimal("alarm5xxPercent", 5),
+            "ALB 5xx rate above threshold");
+
+        return List.of(
+            graph("ALB latency (s)", List.of(p95, p99)),
+            graph("ALB 5xx rate (%)", List.of(errorRate)));
+    }
+
+    private List<IWidget> ecsWidgets(CfnResource service) {
+        Map<String, String> dimensions = Map.of(
+            "ClusterName", clusterName(),
+            "ServiceName", CfnLookup.att(service, "Name"));
+        Metric cpu = metric("AWS/ECS", "CPUUtilization", dimensions, "Average");
+        Metric memory = metric("AWS/ECS", "MemoryUtilization", dimensions, "Average");
+        alarm("JenkinsCpuAlarm", cpu, options.integer("alarmCpuPercent", 85), "Controller CPU above threshold");
+        alarm("JenkinsMemoryAlarm", memory, options.integer("alarmMemoryPercent", 90), "Controller memory above threshold");
+        return List.of(graph("ECS CPU / memory (%)", List.of(cpu, memory)));
+    }
+
+    private List<IWidget> asgWidgets(CfnResource asg) {
+        String asgName = CfnLookup.ref(asg);
+        Metric cpu = metric("AWS/EC2", "CPUUtilization", Map.of("AutoScalingGroupName", asgName), "Average");
+        // Memory is only available when the CloudWatch agent publishes mem_used_percent
+        Metric memory = metric("CWAgent", "mem_used_percent", Map.of("AutoScalingGroupName", asgName), "Average");
+        alarm("JenkinsCpuAlarm", cpu, options.integer("alarmCpuPercent", 85), "Controller CPU above threshold");
+        alarm("JenkinsMemoryAlarm", memory, options.integer("alarmMemoryPercent", 90), "Controller memory above threshold");
+        return List.of(graph("EC2 CPU / memory (%)", List.of(cpu, memory)));
+    }
+
+    private List<IWidget> efsWidgets(CfnResource efs) {
+        Map<String, String> dimensions = Map.of("FileSystemId", CfnLookup.ref(efs));
+        MathExpression throughput = MathExpression.Builder.create()
+            .expression("io / PERIOD(io) / 1048576")
+            .usingMetrics(Map.of("io", metric("AWS/EFS", "TotalIOBytes", dimensions, "Sum")))
+            .label("Throughput (MiB/s)")
+            .period(PERIOD)
+            .build();
+        Metric ioLimit = metric("AWS/EFS", "PercentIOLimit", dimensions, "Maximum");
+        if (!isBursting(efs)) {
+            // Elastic and provisioned file systems never spend burst credits
+            return List.of(
+                graph("EFS throughput (MiB/s)", List.of(throughput)),
+                graph("EFS IO limit (%)", List.of(ioLimit)));
+        }
+
+        Metric burstCredits = metric("AWS/EFS", "BurstCreditBalance", dimensions, "Minimum");
+        alarm("JenkinsEfsBurstCreditAlarm", burstCredits,
+            options.integer("alarmEfsBurstCreditGiB", 100) * 1024.0 * 1024 * 1024,
+            "EFS burst credit balance low", ComparisonOperator.LESS_THAN_THRESHOLD);
+        return List.of(
+            graph("EFS throughput (MiB/s)", List.of(throughput)),
+            graph("EFS burst credits (bytes) / IO limit (%)", List.of(burstCredits, ioLimit)));
+    }
+
+    /** ThroughputMode defaults to bursting when the template leaves it out. */
+    private static boolean isBursting(CfnResource efs) {
+        String mode = efs instanceof CfnFileSystem fileSystem ? fileSystem.getThroughputMode() : null;
+        return mode == null || "bursting".equals(mode);
+    }
+
+    private IWidget queueWidget() {
+        Metric queue = metric(JENKINS_NAMESPACE, OtelCollectorConfig.QUEUE_METRIC, Map.of("StackName", stack.getStackName()), "Maximum");
+        alarm("JenkinsBuildQueueAlarm", queue, options.integer("alarmQueueLength", 10), "Jenkins build queue above threshold");
+        return graph("Jenkins build queue", List.of(queue));
+    }
+
+    /** The service's Cluster property may be an ARN; the cluster's Ref is always its name. */
+    private String clusterName() {
+        return CfnLookup.first(stack, "AWS::ECS::Cluster").map(CfnLookup::ref).orElse("default");
+    }
+
+    private void alarm(String id, IMetric metric, double threshold, String description) {
+        alarm(id, metric, threshold, description, ComparisonOperator.GREATER_THAN_THRESHOLD);
+    }
+
+    private void alarm(String id, IMetric metric, double threshold, String description, ComparisonOperator comparison) {
+        Alarm alarm = Alarm.Builder.create(stack, id)
+            .alarmDescription(description + " (" + stack.getStackName() + ")")
+            .metric(metric)
+            .threshold(threshold)
+            .evaluationPeriods(5)
+            .datapointsToAlarm(3)
+            .comparisonOperator(comparison)
+            .treatMissingData(TreatMissingData.NOT_BREACHING)
+            .build();
+        if (topic != null) {
+            alarm.addAlarmAction(new SnsAction(topic));
+        }
+    }
+
+    private static Metric metric(String namespace, String name, Map<String, String> dimensions, String statistic) {
+        return Metric.Builder.create()
+            .namespace(namespace)
+            .metricName(name)
+            .dimensionsMap(dimensions)
+            .statistic(statistic)
+            .period(PERIOD)
+            .build();
+    }
+
+    private static GraphWidget graph(String title, List<IMetric> metrics) {
+        return GraphWidget.Builder.create()
+            .title(title)
+            .left(metrics)
+            .width(12)
+            .build();
+    }
+}
@@ -0,0 +1,136 @@
+package com.cloudforgeci.samples.launchers;
+
+import com.cloudforgeci.samples.logging.Log;
+import software.amazon.awscdk.CfnResource;
+import software.amazon.awscdk.Fn;
+import software.amazon.awscdk.Stack;
+import software.amazon.awscdk.services.applicationautoscaling.CfnScalableTarget;
+import software.amazon.awscdk.services.autoscaling.CfnScalingPolicy;
+import software.amazon.awscdk.services.autoscaling.CfnScheduledAction;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Time-based capacity for the controller service or Auto Scaling Group, on top of the CPU target
+ * tracking JenkinsFactory configures.
+ *
+ * {@code enableScheduledScaling} adds the {@link ScalingSchedule} actions: scheduled actions on
+ * the EC2 ASG, or scheduled actions on the ECS service's scalable target on Fargate (created when
+ * the factory did not register one). {@code predictiveScaling} adds an EC2 predictive scaling
+ * policy that learns the daily CPU pattern; {@code forecast-only} publishes the forecast for
+ * review, {@code forecast-and-scale} launches capacity {@code prewarmMinutes} ahead of it.
+ */
+public final class JenkinsScheduledScaling {
+    private static final Log LOG = Log.get(JenkinsScheduledScaling.class);
+
+    /** Predictive scaling launches at most one hour ahead of the forecast. */
+    static final int MAX_BUFFER_SECONDS = 3600;
+
+    private JenkinsScheduledScaling() {
+    }
+
+    public static void applyToEc2(Stack stack) {
+        CfcOptions options = CfcOptions.from(stack);
+        boolean scheduled = options.bool("enableScheduledScaling", false);
+        String predictive = options.string("predictiveScaling", "off");
+        if (!scheduled && "off".equals(predictive)) {
+            return;
+        }
+        CfnLookup.first(stack, "AWS::AutoScaling::AutoScalingGroup").ifPresentOrElse(asg -> {
+            if (scheduled) {
+                addAsgSchedule(stack, asg, ScalingSchedule.from(options));
+            }
+            if (!"off".equals(predictive)) {
+                addPredictivePolicy(stack, asg, options, predictive);
+            }
+        }, () -> LOG.warn("Scheduled/predictive scaling ignored: " + stack.getStackName()
+            + " has no Auto Scaling Group (single-node topology)"));
+    }
+
+    public static void applyToFargate(Stack stack) {
+        CfcOptions options = CfcOptions.from(stack);
+        if (!options.bool("enableScheduledScaling", false)) {
+            return;
+        }
+        if (!"off".equals(options.string("predictiveScaling", "off"))) {
+            LOG.warn("predictiveScaling ignored: predictive scaling is only available for EC2 Auto Scaling Groups");
+        }
+        ScalingSchedule schedule = ScalingSchedule.from(options);
+        List<Map<String, Object>> actions = schedule.actions().stream()
+            .map(action -> serviceAction(action, schedule.timeZone()))
+            .toList();
+
+        // The schedule can lower min/max below the target's own bounds, but never raise past them
+        int max = Math.max(schedule.peakMaxCapacity(), options.integer("maxInstanceCapacity", 1));
+        List<CfnResource> targets = CfnLookup.ofType(stack, "AWS::ApplicationAutoScaling::ScalableTarget");
+        if (!targets.isEmpty()) {
+            CfnResource target = targets.get(0);
+            target.addPropertyOverride("MinCapacity", Math.min(schedule.offPeakMinCapacity(), options.integer("minInstanceCapacity", 1)));
+            target.addPropertyOverride("MaxCapacity", max);
+            target.addPropertyOverride("ScheduledActions", actions);
+        } else {
+            CfnResource service = CfnLookup.first(stack, "AWS::ECS::Service").orElseThrow(() ->
+                new IllegalStateException("enableScheduledScaling is set but " + stack.getStackName() + " has no ECS service"));
+            String cluster = CfnLookup.first(stack, "AWS::ECS::Cluster").map(CfnLookup::ref).orElse("default");
+            CfnResource target = CfnScalableTarget.Builder.create(stack, "JenkinsScheduledScalingTarget")
+                .serviceNamespace("ecs")
+                .scalableDimension("ecs:service:DesiredCount")
+                .resourceId(Fn.join("/", List.of("service", cluster, CfnLookup.att(service, "Name"))))
+                .minCapacity(Math.min(schedule.offPeakMinCapacity(), options.integer("minInstanceCapacity", 1)))
+                .maxCapacity(max)
+                .build();
+            target.addPropertyOverride("ScheduledActions", actions);
+        }
+        LOG.debug(() -> "Scheduled scaling for " + stack.getStackName() + ": " + schedule.actions());
+    }
+
+    private static void addAsgSchedule(Stack stack, CfnResource asg, ScalingSchedule schedule) {
+        for (ScalingSchedule.Action action : schedule.actions()) {
+            CfnScheduledAction.Builder.create(stack, "JenkinsSchedule-" + action.name())
+                .autoScalingGroupName(CfnLookup.ref(asg))
+                .recurrence(action.cron())
+                .timeZone(schedule.timeZone())
+                .minSize(action.minCapacity())
+                .maxSize(action.maxCapacity())
+                .build();
+        }
+        if (schedule.scalesToZero()) {
+            LOG.info("Off-peak capacity is 0: " + stack.getStackName() + " has no controller overnight");
+        }
+        LOG.debug(() -> "Scheduled scaling for " + stack.getStackName() + ": " + schedule.actions());
+    }
+
+    private static void addPredictivePolicy(Stack stack, CfnResource asg, CfcOptions options, String mode) {
+        int bufferSeconds = Math.min(MAX_BUFFER_SECONDS, options.integer("prewarmMinutes", 30) * 60);
+        CfnScalingPolicy.Builder.create(stack, "JenkinsPredictiveScaling")
+            .autoScalingGroupName(CfnLookup.ref(asg))
+            .policyType("PredictiveScaling")
+            .predictiveScalingConfiguration(CfnScalingPolicy.PredictiveScalingConfigurationProperty.builder()
+                .mode("forecast-and-scale".equals(mode) ? "ForecastAndScale" : "ForecastOnly")
+                .schedulingBufferTime(bufferSeconds)
+                // The schedule's max stays authoritative
+                .maxCapacityBreachBehavior("HonorMaxCapacity")
+                .metricSpecifications(List.of(CfnScalingPolicy.PredictiveScalingMetricSpecificationProperty.builder()
+                    .targetValue(options.integer("cpuTargetUtilization", 60))
+                    .predefinedMetricPairSpecification(CfnScalingPolicy.PredictiveScalingPredefinedMetricPairProperty.builder()
+                        .predefinedMetricType("ASGCPUUtilization")
+                        .build())
+                    .build()))
+                .build())
+            .build();
+        LOG.debug(() -> "Predictive scaling (" + mode + ", " + bufferSeconds + "s buffer) for " + stack.getStackName());
+    }
+
+    private static Map<String, Object> serviceAction(ScalingSchedule.Action action, String timeZone) {
+        Map<String, Object> scheduled = new LinkedHashMap<>();
+        scheduled.put("ScheduledActionName", "jenkins-" + action.name());
+        scheduled.put("Schedule", ScalingSchedule.applicationAutoScalingCron(action.cron()));
+        scheduled.put("Timezone", timeZone);
+        scheduled.put("ScalableTargetAction", Map.of(
+            "MinCapacity", action.minCapacity(),
+            "MaxCapacity", action.maxCapacity()));
+        return scheduled;
+    }
+}
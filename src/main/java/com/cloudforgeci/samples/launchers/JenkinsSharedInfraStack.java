@@ -0,0 +1,200 @@
+package com.cloudforgeci.samples.launchers;
+
+import software.amazon.awscdk.RemovalPolicy;
+import software.amazon.awscdk.Stack;
+import software.amazon.awscdk.StackProps;
+import software.amazon.awscdk.services.certificatemanager.Certificate;
+import software.amazon.awscdk.services.certificatemanager.CertificateValidation;
+import software.amazon.awscdk.services.ec2.Port;
+import software.amazon.awscdk.services.ec2.SecurityGroup;
+import software.amazon.awscdk.services.ec2.SubnetConfiguration;
+import software.amazon.awscdk.services.ec2.SubnetSelection;
+import software.amazon.awscdk.services.ec2.SubnetType;
+import software.amazon.awscdk.services.ec2.Vpc;
+import software.amazon.awscdk.services.ecs.Cluster;
+import software.amazon.awscdk.services.efs.AccessPoint;
+import software.amazon.awscdk.services.efs.AccessPointOptions;
+import software.amazon.awscdk.services.efs.Acl;
+import software.amazon.awscdk.services.efs.FileSystem;
+import software.amazon.awscdk.services.efs.PerformanceMode;
+import software.amazon.awscdk.services.efs.PosixUser;
+import software.amazon.awscdk.services.efs.ThroughputMode;
+import software.amazon.awscdk.services.elasticloadbalancingv2.ApplicationListener;
+import software.amazon.awscdk.services.elasticloadbalancingv2.ApplicationLoadBalancer;
+import software.amazon.awscdk.services.elasticloadbalancingv2.ApplicationProtocol;
+import software.amazon.awscdk.services.elasticloadbalancingv2.BaseApplicationListenerProps;
+import software.amazon.awscdk.services.elasticloadbalancingv2.FixedResponseOptions;
+import software.amazon.awscdk.services.elasticloadbalancingv2.ListenerAction;
+import software.amazon.awscdk.services.elasticloadbalancingv2.ListenerCertificate;
+import software.amazon.awscdk.services.elasticloadbalancingv2.RedirectOptions;
+import software.amazon.awscdk.services.route53.HostedZone;
+import software.amazon.awscdk.services.route53.HostedZoneProviderProps;
+import software.amazon.awscdk.services.route53.IHostedZone;
+import software.constructs.Construct;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shared half of the Jenkins fleet layout: one VPC, ECS cluster, ALB and EFS file system
+ * used by every team's controller.
+ *
+ * The ALB listener answers unknown hosts with a 404; each {@link JenkinsTenantStack} adds a
+ * host-header rule and target group. Every tenant gets its own EFS access point rooted at
+ * /jenkins/&lt;tenant&gt;, so controllers share the file system but not each other's JENKINS_HOME.
+ */
+public class JenkinsSharedInfraStack extends Stack {
+
+    private final Vpc vpc;
+    private final Cluster cluster;
+    private final ApplicationLoadBalancer loadBalancer;
+    private final ApplicationListener listener;
+    private final FileSystem fileSystem;
+    private final SecurityGroup serviceSecurityGroup;
+    private final Map<String, AccessPoint> accessPoints = new HashMap<>();
+    private final IHostedZone hostedZone;
+    private final boolean privateNetwork;
+
+    public JenkinsSharedInfraStack(final Construct scope, final String id, final StackProps props,
+                                   final List<String> tenants) {
+        super(scope, id, props);
+        CfcOptions options = CfcOptions.from(scope);
+        String domain = options.string("domain", "");
+        boolean enableSsl = options.bool("enableSsl", false) && !domain.isEmpty();
+        this.privateNetwork = "private-with-nat".equals(options.string("networkMode", "public-no-nat"));
+
+        this.vpc = Vpc.Builder.create(this, "Vpc")
+            .maxAzs(2)
+            .natGateways(privateNetwork ? 1 : 0)
+            .subnetConfiguration(privateNetwork
+                ? List.of(
+                    SubnetConfiguration.builder().name("public").subnetType(SubnetType.PUBLIC).cidrMask(24).build(),
+                    SubnetConfiguration.builder().name("private").subnetType(SubnetType.PRIVATE_WITH_EGRESS).cidrMask(22).build())
+                : List.of(
+                    SubnetConfiguration.builder().name("public").subnetType(SubnetType.PUBLIC).cidrMask(22).build()))
+            .build();
+        if (JenkinsVpcEndpoints.enabled(options)) {
+            JenkinsVpcEndpoints.addTo(vpc);
+        }
+
+        this.cluster = Cluster.Builder.create(this, "Cluster")
+            .vpc(vpc)
+            .build();
+
+        SecurityGroup albSecurityGroup = SecurityGroup.Builder.create(this, "AlbSg")
+            .vpc(vpc)
+            .description("Shared Jenkins fleet ALB")
+            .build();
+        this.serviceSecurityGroup = SecurityGroup.Builder.create(this, "ServiceSg")
+            .vpc(vpc)
+            .description("Jenkins fleet controllers")
+            .build();
+        serviceSecurityGroup.addIngressRule(albSecurityGroup, Port.tcp(8080), "ALB to Jenkins");
+
+        this.loadBalancer = ApplicationLoadBalancer.Builder.create(this, "Alb")
+            .vpc(vpc)
+            .internetFacing(true)
+            .securityGroup(albSecurityGroup)
+            .build();
+
+        ListenerAction unknownHost = ListenerAction.fixedResponse(404, FixedResponseOptions.builder()
+            .contentType("text/plain")
+            .messageBody("Unknown Jenkins tenant")
+            .build());
+
+        if (enableSsl) {
+            this.hostedZone = HostedZone.fromLookup(this, "Zone", HostedZoneProviderProps.builder()
+                .domainName(domain)
+                .build());
+            Certificate certificate = Certificate.Builder.create(this, "WildcardCert")
+                .domainName("*." + domain)
+                .validation(CertificateValidation.fromDns(hostedZone))
+                .build();
+            this.listener = loadBalancer.addListener("Https", BaseApplicationListenerProps.builder()
+                .port(443)
+                .protocol(ApplicationProtocol.HTTPS)
+                .certificates(List.of(ListenerCertificate.fromCertificateManager(certificate)))
+                .defaultAction(unknownHost)
+                .build());
+            loadBalancer.addListener("Http", BaseApplicationListenerProps.builder()
+                .port(80)
+                .defaultAction(ListenerAction.redirect(RedirectOptions.builder()
+                    .protocol("HTTPS").port("443").permanent(true).build()))
+                .build());
+        } else {
+            this.hostedZone = domain.isEmpty() ? null : HostedZone.fromLookup(this, "Zone",
+                HostedZoneProviderProps.builder().domainName(domain).build());
+            this.listener = loadBalancer.addListener("Http", BaseApplicationListenerProps.builder()
+                .port(80)
+                .defaultAction(unknownHost)
+                .build());
+        }
+
+        SecurityGroup efsSecurityGroup = SecurityGroup.Builder.create(this, "EfsSg")
+            .vpc(vpc)
+            .description("Jenkins fleet EFS")
+            .build();
+        this.fileSystem = FileSystem.Builder.create(this, "Efs")
+            .vpc(vpc)
+            .vpcSubnets(SubnetSelection.builder()
+                .subnetType(privateNetwork ? SubnetType.PRIVATE_WITH_EGRESS : SubnetType.PUBLIC).build())
+            .securityGroup(efsSecurityGroup)
+            .encrypted(true)
+            .performanceMode(PerformanceMode.GENERAL_PURPOSE)
+            .throughputMode(ThroughputMode.ELASTIC)
+            .removalPolicy(RemovalPolicy.RETAIN)
+            .build();
+        fileSystem.getConnections().allowDefaultPortFrom(serviceSecurityGroup, "Jenkins controllers to EFS");
+
+        for (String tenant : tenants) {
+            accessPoints.put(tenant, fileSystem.addAccessPoint("Ap-" + tenant, AccessPointOptions.builder()
+                .path("/jenkins/" + tenant)
+                // jenkins/jenkins images run as uid/gid 1000
+                .createAcl(Acl.builder().ownerUid("1000").ownerGid("1000").permissions("750").build())
+                .posixUser(PosixUser.builder().uid("1000").gid("1000").build())
+                .build()));
+        }
+    }
+
+    public Vpc getVpc() {
+        return vpc;
+    }
+
+    public Cluster getCluster() {
+        return cluster;
+    }
+
+    public ApplicationLoadBalancer getLoadBalancer() {
+        return loadBalancer;
+    }
+
+    public ApplicationListener getListener() {
+        return listener;
+    }
+
+    public FileSystem getFileSystem() {
+        return fileSystem;
+    }
+
+    public SecurityGroup getServiceSecurityGroup() {
+        return serviceSecurityGroup;
+    }
+
+    public AccessPoint getAccessPoint(String tenant) {
+        AccessPoint accessPoint = accessPoints.get(tenant);
+        if (accessPoint == null) {
+            throw new IllegalArgumentException("No EFS access point for tenant: " + tenant);
+        }
+        return accessPoint;
+    }
+
+    /** Hosted zone for the fleet domain, or null when no domain is configured. */
+    public IHostedZone getHostedZone() {
+        return hostedZone;
+    }
+
+    public boolean isPrivateNetwork() {
+        return privateNetwork;
+    }
+}
@@ -0,0 +1,161 @@
+package com.cloudforgeci.samples.launchers;
+
+import com.cloudforgeci.samples.logging.Log;
+import software.amazon.awscdk.Duration;
+import software.amazon.awscdk.Stack;
+import software.amazon.awscdk.StackProps;
+import software.amazon.awscdk.services.ec2.SubnetSelection;
+import software.amazon.awscdk.services.ec2.SubnetType;
+import software.amazon.awscdk.services.ecs.AuthorizationConfig;
+import software.amazon.awscdk.services.ecs.AwsLogDriverProps;
+import software.amazon.awscdk.services.ecs.ContainerDefinition;
+import software.amazon.awscdk.services.ecs.ContainerDefinitionOptions;
+import software.amazon.awscdk.services.ecs.ContainerImage;
+import software.amazon.awscdk.services.ecs.EfsVolumeConfiguration;
+import software.amazon.awscdk.services.ecs.FargateService;
+import software.amazon.awscdk.services.ecs.FargateTaskDefinition;
+import software.amazon.awscdk.services.ecs.LogDrivers;
+import software.amazon.awscdk.services.ecs.MountPoint;
+import software.amazon.awscdk.services.ecs.PortMapping;
+import software.amazon.awscdk.services.ecs.Volume;
+import software.amazon.awscdk.services.efs.AccessPoint;
+import software.amazon.awscdk.services.elasticloadbalancingv2.ApplicationListenerRule;
+import software.amazon.awscdk.services.elasticloadbalancingv2.ApplicationProtocol;
+import software.amazon.awscdk.services.elasticloadbalancingv2.ApplicationTargetGroup;
+import software.amazon.awscdk.services.elasticloadbalancingv2.HealthCheck;
+import software.amazon.awscdk.services.elasticloadbalancingv2.ListenerAction;
+import software.amazon.awscdk.services.elasticloadbalancingv2.ListenerCondition;
+import software.amazon.awscdk.services.elasticloadbalancingv2.TargetType;
+import software.amazon.awscdk.services.iam.PolicyStatement;
+import software.amazon.awscdk.services.route53.ARecord;
+import software.amazon.awscdk.services.route53.RecordTarget;
+import software.amazon.awscdk.services.route53.targets.LoadBalancerTarget;
+import software.constructs.Construct;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Thin per-team half of the Jenkins fleet layout: one Fargate controller, its target group and
+ * a listener rule on the shared ALB, routed by host with a domain and by path without one
+ * (see {@link TenantRouting}).
+ *
+ * Everything heavy (VPC, NAT, ALB, EFS) comes from {@link JenkinsSharedInfraStack}, so a new
+ * tenant only creates a handful of resources and each tenant redeploys on its own. The task role
+ * may only mount the tenant's own EFS access point, so controllers cannot read each other's
+ * JENKINS_HOME.
+ */
+public class JenkinsTenantStack extends Stack {
+    private static final Log LOG = Log.get(JenkinsTenantStack.class);
+
+    private final FargateService service;
+    private final FargateTaskDefinition taskDefinition;
+
+    public JenkinsTenantStack(final Construct scope, final String id, final StackProps props,
+                              final JenkinsSharedInfraStack shared, final String tenant) {
+        super(scope, id, props);
+        addDependency(shared);
+        CfcOptions options = CfcOptions.from(scope);
+        String host = TenantRouting.host(tenant, options.string("domain", ""));
+        String prefix = host == null ? TenantRouting.pathPrefix(tenant) : "";
+        int rulePriority = TenantRouting.priority(tenant);
+        LOG.debug(() -> "JenkinsTenantStack: tenant " + tenant + " on " + (host != null ? "host " + host : "path " + prefix)
+            + " (priority " + rulePriority + ")");
+
+        AccessPoint accessPoint = shared.getAccessPoint(tenant);
+
+        this.taskDefinition = FargateTaskDefinition.Builder.create(this, "Task")
+            .cpu(options.integer("cpu", 1024))
+            .memoryLimitMiB(options.integer("memory", 2048))
+            .build();
+        taskDefinition.addVolume(Volume.builder()
+            .name("jenkins-home")
+            .efsVolumeConfiguration(EfsVolumeConfiguration.builder()
+                .fileSystemId(shared.getFileSystem().getFileSystemId())
+                .transitEncryption("ENABLED")
+                .authorizationConfig(AuthorizationConfig.builder()
+                    .accessPointId(accessPoint.getAccessPointId())
+                    .iam("ENABLED")
+                    .build())
+                .build())
+            .build());
+        taskDefinition.addToTaskRolePolicy(PolicyStatement.Builder.create()
+            .actions(List.of("elasticfilesystem:ClientMount", "elasticfilesystem:ClientWrite"))
+            .resources(List.of(shared.getFileSystem().getFileSystemArn()))
+            .conditions(Map.of("StringEquals", Map.of("elasticfilesystem:AccessPointArn", accessPoint.getAccessPointArn())))
+            .build());
+
+        ContainerDefinition jenkins = taskDefinition.addContainer("jenkins", ContainerDefinitionOptions.builder()
+            .image(ContainerImage.fromRegistry("jenkins/jenkins:lts-jdk21"))
+            .portMappings(List.of(PortMapping.builder().containerPort(8080).build()))
+            .logging(LogDrivers.awsLogs(AwsLogDriverProps.builder().streamPrefix("jenkins-" + tenant).build()))
+            .build());
+        if (!prefix.isEmpty()) {
+            // Served under /<tenant> so path routing on the ALB reaches the right controller
+            jenkins.addEnvironment("JENKINS_OPTS", "--prefix=" + prefix);
+        }
+        JenkinsJvmTuning.applyToContainer(jenkins, options);
+        jenkins.addMountPoints(MountPoint.builder()
+            .sourceVolume("jenkins-home")
+            .containerPath("/var/jenkins_home")
+            .readOnly(false)
+            .build());
+
+        // A single controller owns JENKINS_HOME: never run two tasks against the same access point
+        this.service = FargateService.Builder.create(this, "Service")
+            .cluster(shared.getCluster())
+            .taskDefinition(taskDefinition)
+            .desiredCount(1)
+            .minHealthyPercent(0)
+            .maxHealthyPercent(100)
+            .securityGroups(List.of(shared.getServiceSecurityGroup()))
+            .vpcSubnets(SubnetSelection.builder()
+                .subnetType(shared.isPrivateNetwork() ? SubnetType.PRIVATE_WITH_EGRESS : SubnetType.PUBLIC)
+                .build())
+            .assignPublicIp(!shared.isPrivateNetwork())
+            .healthCheckGracePeriod(Duration.seconds(options.integer("healthCheckGracePeriod", 300)))
+            .build();
+
+        ApplicationTargetGroup targetGroup = ApplicationTargetGroup.Builder.create(this, "Tg")
+            .vpc(shared.getVpc())
+            .port(8080)
+            .protocol(ApplicationProtocol.HTTP)
+            .targetType(TargetType.IP)
+            .targets(List.of(service))
+            .deregistrationDelay(Duration.seconds(30))
+            .healthCheck(HealthCheck.builder()
+                .path(prefix + "/login")
+                .healthyHttpCodes("200-399")
+                .interval(Duration.seconds(options.integer("healthCheckInterval", 30)))
+                .timeout(Duration.seconds(options.integer("healthCheckTimeout", 5)))
+                .healthyThresholdCount(options.integer("healthyThreshold", 2))
+                .unhealthyThresholdCount(options.integer("unhealthyThreshold", 3))
+                .build())
+            .build();
+
+        ApplicationListenerRule.Builder.create(this, "HostRule")
+            .listener(shared.getListener())
+            .priority(rulePriority)
+            .conditions(List.of(host != null
+                ? ListenerCondition.hostHeaders(List.of(host))
+                : ListenerCondition.pathPatterns(List.of(prefix, prefix + "/*"))))
+            .action(ListenerAction.forward(List.of(targetGroup)))
+            .build();
+
+        if (shared.getHostedZone() != null) {
+            ARecord.Builder.create(this, "Dns")
+                .zone(shared.getHostedZone())
+                .recordName(tenant)
+                .target(RecordTarget.fromAlias(new LoadBalancerTarget(shared.getLoadBalancer())))
+                .build();
+        }
+    }
+
+    public FargateService getService() {
+        return service;
+    }
+
+    public FargateTaskDefinition getTaskDefinition() {
+        return taskDefinition;
+    }
+}
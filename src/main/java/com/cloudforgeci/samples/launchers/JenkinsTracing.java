@@ -0,0 +1,114 @@
+package com.cloudforgeci.samples.launchers;
+
+import com.cloudforgeci.samples.logging.Log;
+import software.amazon.awscdk.Stack;
+import software.amazon.awscdk.services.ecs.AwsLogDriverProps;
+import software.amazon.awscdk.services.ecs.ContainerDefinition;
+import software.amazon.awscdk.services.ecs.ContainerDefinitionOptions;
+import software.amazon.awscdk.services.ecs.ContainerDependency;
+import software.amazon.awscdk.services.ecs.ContainerDependencyCondition;
+import software.amazon.awscdk.services.ecs.ContainerImage;
+import software.amazon.awscdk.services.ecs.LogDrivers;
+import software.amazon.awscdk.services.ecs.TaskDefinition;
+import software.amazon.awscdk.services.iam.PolicyStatement;
+import software.amazon.awscdk.services.logs.CfnLogGroup;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Build and stage traces through an OpenTelemetry Collector sidecar, enabled with
+ * {@code tracingExport=xray} or {@code tracingExport=cloudwatch}.
+ *
+ * The Jenkins OpenTelemetry plugin is configured through the pre-baked image's JCasC file to send
+ * OTLP to the collector on localhost; the collector (ADOT) samples and exports as rendered by
+ * {@link OtelCollectorConfig}. The sidecar is not essential, so a failing collector costs traces,
+ * not the controller. The plugin's queue gauge goes through the same collector to CloudWatch as
+ * {@value OtelCollectorConfig#QUEUE_METRIC}, which {@link JenkinsMonitoring} alarms on.
+ */
+public final class JenkinsTracing {
+    private static final Log LOG = Log.get(JenkinsTracing.class);
+
+    /** Pinned so a task restart never picks up a collector that drops a component the config uses. */
+    static final String COLLECTOR_IMAGE = "public.ecr.aws/aws-observability/aws-otel-collector:v0.40.0";
+    static final String OTLP_ENDPOINT = "http://localhost:4317";
+    static final String COLLECTOR_CONTAINER = "otel-collector";
+
+    /** Steps too small to be worth a span of their own. */
+    static final String IGNORED_STEPS = "dir,echo,isUnix,pwd,properties,readFile,writeFile,fileExists";
+
+    private JenkinsTracing() {
+    }
+
+    static boolean enabled(CfcOptions options) {
+        return !"off".equals(options.string("tracingExport", "off"));
+    }
+
+    /**
+     * JCasC for the OpenTelemetry plugin. Metrics are exported once a minute, matching the alarm
+     * period; logs stay off because build logs already have their own route.
+     */
+    static String renderCasc() {
+        return "  openTelemetry:\n"
+            + "    endpoint: \"" + OTLP_ENDPOINT + "\"\n"
+            + "    serviceName: \"jenkins\"\n"
+            + "    serviceNamespace: \"${OTEL_SERVICE_NAMESPACE}\"\n"
+            + "    ignoredSteps: \"" + IGNORED_STEPS + "\"\n"
+            + "    exportOtelConfigurationAsEnvironmentVariables: false\n"
+            + "    configurationProperties: \"otel.logs.exporter=none\\notel.metric.export.interval=60000\"\n";
+    }
+
+    /** True when {@link #applyToFargate} added the collector, so the queue metric is published. */
+    public static boolean publishesQueueMetric(Stack stack) {
+        return stack.getNode().findAll().stream()
+            .anyMatch(c -> c instanceof ContainerDefinition container && COLLECTOR_CONTAINER.equals(container.getContainerName()));
+    }
+
+    public static void applyToFargate(Stack stack) {
+        CfcOptions options = CfcOptions.from(stack);
+        if (!enabled(options)) {
+            return;
+        }
+        if (!options.bool("prebakedControllerImage", false)) {
+            LOG.warn("tracingExport ignored: the OpenTelemetry plugin is configured through the pre-baked controller image");
+            return;
+        }
+        TaskDefinition taskDefinition = JenkinsControllerImage.findTaskDefinition(stack);
+        CfnLogGroup metricsLogGroup = CfnLogGroup.Builder.create(stack, "JenkinsMetricsLogGroup")
+            .logGroupName("/cloudforge/" + stack.getStackName() + "/metrics")
+            .retentionInDays(options.integer("logRetentionDays", 7))
+            .build();
+        String config = OtelCollectorConfig.render(new OtelCollectorConfig.Settings(options.string("tracingExport", "off"),
+            stack.getRegion(), options.integer("traceSamplePercent", 100), "127.0.0.1", metricsLogGroup.getLogGroupName()));
+
+        // ADOT reads its configuration from AOT_CONFIG_CONTENT, so no config file has to be staged
+        ContainerDefinition collector = taskDefinition.addContainer(COLLECTOR_CONTAINER, ContainerDefinitionOptions.builder()
+            .containerName(COLLECTOR_CONTAINER)
+            .image(ContainerImage.fromRegistry(COLLECTOR_IMAGE))
+            .environment(Map.of("AOT_CONFIG_CONTENT", config, "STACK_NAME", stack.getStackName()))
+            .essential(false)
+            .memoryReservationMiB(128)
+            .logging(LogDrivers.awsLogs(AwsLogDriverProps.builder().streamPrefix("otel-collector").build()))
+            .build());
+
+        ContainerDefinition jenkins = taskDefinition.getDefaultContainer();
+        jenkins.addEnvironment("OTEL_SERVICE_NAMESPACE", stack.getStackName());
+        jenkins.addContainerDependencies(ContainerDependency.builder()
+            .container(collector)
+            .condition(ContainerDependencyCondition.START)
+            .build());
+
+        taskDefinition.addToTaskRolePolicy(PolicyStatement.Builder.create()
+            // PutSpans covers the CloudWatch OTLP endpoint, PutTraceSegments the X-Ray exporter
+            .actions(List.of("xray:PutTraceSegments", "xray:PutTelemetryRecords", "xray:PutSpans", "xray:PutSpansForIndexing"))
+            .resources(List.of("*"))
+            .build());
+        // EMF records become CloudWatch metrics when they land in the log group
+        taskDefinition.addToTaskRolePolicy(PolicyStatement.Builder.create()
+            .actions(List.of("logs:CreateLogStream", "logs:PutLogEvents", "logs:DescribeLogStreams"))
+            .resources(List.of(metricsLogGroup.getAttrArn()))
+            .build());
+        LOG.debug(() -> "OpenTelemetry collector added to " + stack.getStackName() + " ("
+            + options.string("tracingExport", "off") + ", " + options.integer("traceSamplePercent", 100) + "% sampled)");
+    }
+}
@@ -0,0 +1,77 @@
+package com.cloudforgeci.samples.launchers;
+
+import com.cloudforgeci.samples.logging.Log;
+import software.amazon.awscdk.Stack;
+import software.amazon.awscdk.services.ec2.GatewayVpcEndpointAwsService;
+import software.amazon.awscdk.services.ec2.GatewayVpcEndpointOptions;
+import software.amazon.awscdk.services.ec2.InterfaceVpcEndpointAwsService;
+import software.amazon.awscdk.services.ec2.InterfaceVpcEndpointOptions;
+import software.amazon.awscdk.services.ec2.SubnetSelection;
+import software.amazon.awscdk.services.ec2.SubnetType;
+import software.amazon.awscdk.services.ec2.Vpc;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * VPC endpoints that keep Jenkins traffic off the NAT gateway in {@code private-with-nat} mode,
+ * enabled with the {@code enableVpcEndpoints} context key.
+ *
+ * S3 gets a free gateway endpoint on every route table. Image pulls (ECR API + registry), log
+ * writes, STS role assumption and Secrets Manager lookups get interface endpoints with private
+ * DNS in the private subnets, so the SDKs resolve the usual hostnames to them unchanged. EFS
+ * traffic already stays in the VPC through its mount targets.
+ */
+public final class JenkinsVpcEndpoints {
+    private static final Log LOG = Log.get(JenkinsVpcEndpoints.class);
+
+    static final Map<String, InterfaceVpcEndpointAwsService> INTERFACE_SERVICES = new LinkedHashMap<>();
+
+    static {
+        INTERFACE_SERVICES.put("EcrApi", InterfaceVpcEndpointAwsService.ECR);
+        INTERFACE_SERVICES.put("EcrDocker", InterfaceVpcEndpointAwsService.ECR_DOCKER);
+        INTERFACE_SERVICES.put("Logs", InterfaceVpcEndpointAwsService.CLOUDWATCH_LOGS);
+        INTERFACE_SERVICES.put("Sts", InterfaceVpcEndpointAwsService.STS);
+        INTERFACE_SERVICES.put("SecretsManager", InterfaceVpcEndpointAwsService.SECRETS_MANAGER);
+    }
+
+    private JenkinsVpcEndpoints() {
+    }
+
+    /** Adds the endpoints to the VPC JenkinsFactory generated in {@code stack}, when enabled. */
+    public static void applyIfEnabled(Stack stack) {
+        if (!enabled(CfcOptions.from(stack))) {
+            return;
+        }
+        stack.getNode().findAll().stream()
+            .filter(Vpc.class::isInstance)
+            .map(Vpc.class::cast)
+            .findFirst()
+            .ifPresentOrElse(JenkinsVpcEndpoints::addTo,
+                () -> LOG.warn("enableVpcEndpoints ignored: no VPC found in " + stack.getStackName()));
+    }
+
+    static boolean enabled(CfcOptions options) {
+        return options.bool("enableVpcEndpoints", false)
+            && "private-with-nat".equals(options.string("networkMode", "public-no-nat"));
+    }
+
+    public static void addTo(Vpc vpc) {
+        vpc.addGatewayEndpoint("S3Endpoint", GatewayVpcEndpointOptions.builder()
+            .service(GatewayVpcEndpointAwsService.S3)
+            .build());
+
+        // One ENI per AZ in the private subnets; the generated security group admits the VPC CIDR on 443
+        SubnetSelection privateSubnets = SubnetSelection.builder()
+            .subnetType(SubnetType.PRIVATE_WITH_EGRESS)
+            .onePerAz(true)
+            .build();
+        INTERFACE_SERVICES.forEach((name, service) ->
+            vpc.addInterfaceEndpoint(name + "Endpoint", InterfaceVpcEndpointOptions.builder()
+                .service(service)
+                .subnets(privateSubnets)
+                .privateDnsEnabled(true)
+                .build()));
+        LOG.debug(() -> "VPC endpoints: S3 (gateway), " + String.join(", ", INTERFACE_SERVICES.keySet()) + " (interface)");
+    }
+}
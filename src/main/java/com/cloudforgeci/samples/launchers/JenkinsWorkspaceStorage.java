@@ -0,0 +1,164 @@
+package com.cloudforgeci.samples.launchers;
+
+import com.cloudforgeci.samples.logging.Log;
+import software.amazon.awscdk.Stack;
+import software.amazon.awscdk.services.autoscaling.AutoScalingGroup;
+import software.amazon.awscdk.services.ec2.Instance;
+import software.amazon.awscdk.services.ecs.CfnTaskDefinition;
+import software.amazon.awscdk.services.ecs.ContainerDefinition;
+import software.amazon.awscdk.services.ecs.ContainerDefinitionOptions;
+import software.amazon.awscdk.services.ecs.ContainerDependency;
+import software.amazon.awscdk.services.ecs.ContainerDependencyCondition;
+import software.amazon.awscdk.services.ecs.ContainerImage;
+import software.amazon.awscdk.services.ecs.MountPoint;
+import software.amazon.awscdk.services.ecs.TaskDefinition;
+import software.amazon.awscdk.services.ecs.Volume;
+import software.constructs.IConstruct;
+
+import java.util.List;
+
+/**
+ * Where build workspaces live, selected with the {@code workspaceStorage} context key.
+ *
+ * <ul>
+ *   <li>{@code jenkins-home} – the default {@code $JENKINS_HOME/workspace} on EFS</li>
+ *   <li>{@code ephemeral} – a separate mount at {@link #WORKSPACE_DIR} on local disk: the task's
+ *       ephemeral storage on Fargate (sized with {@code ephemeralStorageGiB}, up to 200 GiB), the
+ *       root volume on EC2</li>
+ *   <li>{@code instance-store} – EC2 only: the instance's NVMe instance store (RAID 0 across
+ *       devices), formatted and mounted at {@link #WORKSPACE_DIR} on every boot</li>
+ * </ul>
+ * Workspaces are disposable: they are rebuilt from SCM after a task or instance replacement.
+ */
+public final class JenkinsWorkspaceStorage {
+    private static final Log LOG = Log.get(JenkinsWorkspaceStorage.class);
+
+    public static final String WORKSPACE_DIR = "/var/jenkins_workspace";
+    static final String JENKINS_UID = "1000";
+    static final int DEFAULT_EPHEMERAL_GIB = 20;
+    static final int MAX_EPHEMERAL_GIB = 200;
+
+    private JenkinsWorkspaceStorage() {
+    }
+
+    static String mode(CfcOptions options) {
+        return options.string("workspaceStorage", "jenkins-home");
+    }
+
+    /**
+     * The {@code jenkins.model.Jenkins.workspacesDir} system property for JAVA_OPTS, or an empty
+     * string when workspaces stay in JENKINS_HOME.
+     */
+    public static String workspacesDirProperty(CfcOptions options) {
+        return "jenkins-home".equals(mode(options))
+            ? ""
+            : "-Djenkins.model.Jenkins.workspacesDir=" + WORKSPACE_DIR + "/${ITEM_FULL_NAME}";
+    }
+
+    public static void applyToFargate(Stack stack) {
+        CfcOptions options = CfcOptions.from(stack);
+        TaskDefinition taskDefinition = JenkinsControllerImage.findTaskDefinition(stack);
+
+        int ephemeralGiB = options.integer("ephemeralStorageGiB", DEFAULT_EPHEMERAL_GIB);
+        if (ephemeralGiB > DEFAULT_EPHEMERAL_GIB) {
+            CfnTaskDefinition cfn = (CfnTaskDefinition) taskDefinition.getNode().getDefaultChild();
+            cfn.addPropertyOverride("EphemeralStorage.SizeInGiB", Math.min(ephemeralGiB, MAX_EPHEMERAL_GIB));
+        }
+        if ("ephemeral".equals(mode(options))) {
+            addEphemeralMount(taskDefinition, taskDefinition.getDefaultContainer());
+        }
+        LOG.debug(() -> "Fargate workspaces: " + mode(options) + ", " + ephemeralGiB + " GiB ephemeral storage");
+    }
+
+    /**
+     * Mounts a task-local volume at {@link #WORKSPACE_DIR}. Fargate creates it root-owned, so a
+     * short-lived init container hands it to the jenkins user before the controller starts.
+     */
+    static void addEphemeralMount(TaskDefinition taskDefinition, ContainerDefinition jenkins) {
+        taskDefinition.addVolume(Volume.builder().name("jenkins-workspace").build());
+        MountPoint mount = MountPoint.builder()
+            .sourceVolume("jenkins-workspace")
+            .containerPath(WORKSPACE_DIR)
+            .readOnly(false)
+            .build();
+
+        ContainerDefinition init = taskDefinition.addContainer("workspace-init", ContainerDefinitionOptions.builder()
+            .image(ContainerImage.fromRegistry("public.ecr.aws/docker/library/busybox:stable"))
+            .essential(false)
+            .user("0")
+            .command(List.of("chown", JENKINS_UID + ":" + JENKINS_UID, WORKSPACE_DIR))
+            .memoryReservationMiB(16)
+            .build());
+        init.addMountPoints(mount);
+        jenkins.addMountPoints(mount);
+        jenkins.addContainerDependencies(ContainerDependency.builder()
+            .container(init)
+            .condition(ContainerDependencyCondition.SUCCESS)
+            .build());
+    }
+
+    /**
+     * Installs a boot-time unit that prepares {@link #WORKSPACE_DIR} before jenkins.service. Instance
+     * store is blank after every stop/start (warm pool), so formatting cannot be a one-off user-data step.
+     */
+    public static void applyToEc2(Stack stack) {
+        CfcOptions options = CfcOptions.from(stack);
+        String mode = mode(options);
+        if ("jenkins-home".equals(mode)) {
+            return;
+        }
+        if ("instance-store".equals(mode) && !InstanceCatalog.hasInstanceStore(options.string("instanceType", ""))) {
+            throw new IllegalStateException("workspaceStorage=instance-store needs an instance type with NVMe instance store");
+        }
+        String[] commands = {
+            "cat > /usr/local/sbin/jenkins-workspace-disk <<'EOF'\n" + diskScript(mode) + "EOF",
+            "chmod 755 /usr/local/sbin/jenkins-workspace-disk",
+            "cat > /etc/systemd/system/jenkins-workspace.service <<'EOF'\n"
+                + "[Unit]\nDescription=Prepare Jenkins workspace disk\nBefore=jenkins.service\n\n"
+                + "[Service]\nType=oneshot\nRemainAfterExit=yes\nExecStart=/usr/local/sbin/jenkins-workspace-disk\n\n"
+                + "[Install]\nWantedBy=multi-user.target jenkins.service\nEOF",
+            "systemctl daemon-reload",
+            "systemctl enable --now jenkins-workspace.service"
+        };
+        int patched = 0;
+        for (IConstruct child : stack.getNode().findAll()) {
+            if (child instanceof AutoScalingGroup asg) {
+                asg.addUserData(commands);
+                patched++;
+            } else if (child instanceof Instance instance) {
+                instance.addUserData(commands);
+                patched++;
+            }
+        }
+        if (patched == 0) {
+            LOG.warn("No EC2 Auto Scaling Group or instance in " + stack.getStackName() + "; workspace disk not configured");
+        }
+    }
+
+    /** Shell script run on every boot: assemble and format instance store, or just create the directory. */
+    static String diskScript(String mode) {
+        StringBuilder script = new StringBuilder("#!/bin/bash\nset -euo pipefail\nmkdir -p " + WORKSPACE_DIR + "\n");
+        if ("instance-store".equals(mode)) {
+            script.append("""
+                if ! mountpoint -q %1$s; then
+                  mapfile -t disks < <(ls /dev/disk/by-id/nvme-Amazon_EC2_NVMe_Instance_Storage_* 2>/dev/null | grep -v -- '-part' || true)
+                  if [ "${#disks[@]}" -gt 1 ]; then
+                    mdadm --create /dev/md/workspace --run --level=0 --raid-devices="${#disks[@]}" "${disks[@]}"
+                    device=/dev/md/workspace
+                  elif [ "${#disks[@]}" -eq 1 ]; then
+                    device="${disks[0]}"
+                  else
+                    echo "No NVMe instance store found; using the root volume" >&2
+                    device=""
+                  fi
+                  if [ -n "$device" ]; then
+                    mkfs.xfs -f "$device"
+                    mount -o noatime "$device" %1$s
+                  fi
+                fi
+                """.formatted(WORKSPACE_DIR));
+        }
+        script.append("chown jenkins:jenkins ").append(WORKSPACE_DIR).append('\n');
+        return script.toString();
+    }
+}
@@ -0,0 +1,171 @@
+package com.cloudforgeci.samples.launchers;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * OpenTelemetry Collector pipeline for Jenkins build traces, rendered as collector YAML.
+ *
+ * The Jenkins OpenTelemetry plugin sends one trace per build (stages, steps, SCM checkouts and
+ * agent allocation as child spans) over OTLP to the collector next to the controller. The collector
+ * keeps {@code samplePercent} of the traces, batches them and exports to X-Ray ({@code xray}) or
+ * to the CloudWatch OTLP traces endpoint ({@code cloudwatch}, Transaction Search). Sampling hashes
+ * the trace id, so a build is kept or dropped as a whole.
+ *
+ * A second pipeline keeps only the plugin's buildable-queue gauge and publishes it as
+ * {@value #QUEUE_METRIC} in {@value #METRICS_NAMESPACE}, dimensioned by {@code StackName}, through
+ * CloudWatch embedded metric format; the performance dashboard alarms on it.
+ *
+ * Rendering has no AWS or CDK dependencies. {@code main} writes the deployable configs plus a
+ * {@code local.yaml} stand-in that prints spans instead of exporting them:
+ * <pre>
+ * java -cp "target/classes:target/dependency/*" com.cloudforgeci.samples.launchers.OtelCollectorConfig
+ * docker run --rm -v "$PWD/target/otel:/otel" otel/opentelemetry-collector-contrib validate --config=/otel/xray.yaml
+ * docker run --rm -p 4317:4317 -v "$PWD/target/otel:/otel" otel/opentelemetry-collector-contrib --config=/otel/local.yaml
+ * </pre>
+ */
+public final class OtelCollectorConfig {
+
+    public static final Path OUTPUT_DIR = Paths.get("target", "otel");
+
+    public static final String METRICS_NAMESPACE = "CloudForge/Jenkins";
+    public static final String QUEUE_METRIC = "BuildQueueLength";
+
+    /** Items ready to run and waiting for an executor, as reported by the OpenTelemetry plugin. */
+    static final String PLUGIN_QUEUE_METRIC = "jenkins.queue.buildable";
+
+    /** Span attributes the Jenkins plugin sets that are worth filtering traces on in X-Ray. */
+    static final List<String> INDEXED_ATTRIBUTES = List.of("ci.pipeline.id", "ci.pipeline.run.result");
+
+    /**
+     * @param exporter        {@code xray}, {@code cloudwatch}, or {@code debug} for the local stand-in
+     * @param samplePercent   share of build traces kept (1-100)
+     * @param bindAddress     OTLP listen address: localhost in the task, 0.0.0.0 in a local container
+     * @param metricsLogGroup log group the EMF records for {@value #QUEUE_METRIC} are written to
+     */
+    public record Settings(String exporter, String region, int samplePercent, String bindAddress, String metricsLogGroup) {
+    }
+
+    private OtelCollectorConfig() {
+    }
+
+    /** Writes sample X-Ray, CloudWatch and local stand-in configs to target/otel. */
+    public static void main(String[] args) throws IOException {
+        Files.createDirectories(OUTPUT_DIR);
+        for (String exporter : List.of("xray", "cloudwatch")) {
+            Files.writeString(OUTPUT_DIR.resolve(exporter + ".yaml"),
+                render(new Settings(exporter, "us-east-1", 25, "127.0.0.1", "/cloudforge/jenkins/metrics")));
+        }
+        Files.writeString(OUTPUT_DIR.resolve("local.yaml"),
+            render(new Settings("debug", "us-east-1", 100, "0.0.0.0", "/cloudforge/jenkins/metrics")));
+        System.out.println("✅ Collector configs written to " + OUTPUT_DIR);
+    }
+
+    public static String render(Settings settings) {
+        StringBuilder yaml = new StringBuilder("# Generated by CloudForge from DeploymentConfig - do not edit\n");
+        boolean cloudwatch = "cloudwatch".equals(settings.exporter());
+
+        yaml.append("extensions:\n")
+            .append("  health_check:\n")
+            .append("    endpoint: 0.0.0.0:13133\n");
+        if (cloudwatch) {
+            yaml.append("  sigv4auth:\n")
+                .append("    region: ").append(settings.region()).append('\n')
+                .append("    service: xray\n");
+        }
+
+        yaml.append("receivers:\n")
+            .append("  otlp:\n")
+            .append("    protocols:\n")
+            .append("      grpc:\n")
+            .append("        endpoint: ").append(settings.bindAddress()).append(":4317\n")
+            .append("      http:\n")
+            .append("        endpoint: ").append(settings.bindAddress()).append(":4318\n");
+
+        List<String> processors = new ArrayList<>(List.of("memory_limiter"));
+        yaml.append("processors:\n")
+            // Sized for the collector's memory reservation in the task
+            .append("  memory_limiter:\n")
+            .append("    check_interval: 1s\n")
+            .append("    limit_mib: 100\n")
+            .append("    spike_limit_mib: 20\n");
+        int percent = Math.max(1, Math.min(100, settings.samplePercent()));
+        if (percent < 100) {
+            yaml.append("  probabilistic_sampler:\n")
+                .append("    sampling_percentage: ").append(percent).append('\n');
+            processors.add("probabilistic_sampler");
+        }
+        yaml.append("  batch:\n")
+            .append("    timeout: 10s\n")
+            .append("    send_batch_size: 256\n");
+        processors.add("batch");
+        // STACK_NAME is set on the collector container; the collector expands ${env:...} at load time
+        yaml.append("  filter/queue:\n")
+            .append("    metrics:\n")
+            .append("      include:\n")
+            .append("        match_type: strict\n")
+            .append("        metric_names: [").append(PLUGIN_QUEUE_METRIC).append("]\n")
+            .append("  metricstransform/queue:\n")
+            .append("    transforms:\n")
+            .append("      - include: ").append(PLUGIN_QUEUE_METRIC).append('\n')
+            .append("        action: update\n")
+            .append("        new_name: ").append(QUEUE_METRIC).append('\n')
+            .append("        operations:\n")
+            .append("          - action: add_label\n")
+            .append("            new_label: StackName\n")
+            .append("            new_value: ${env:STACK_NAME}\n");
+
+        String exporter;
+        yaml.append("exporters:\n");
+        switch (settings.exporter()) {
+            case "xray" -> {
+                exporter = "awsxray";
+                yaml.append("  awsxray:\n")
+                    .append("    region: ").append(settings.region()).append('\n')
+                    .append("    indexed_attributes: [").append(String.join(", ", INDEXED_ATTRIBUTES)).append("]\n");
+            }
+            case "cloudwatch" -> {
+                exporter = "otlphttp";
+                yaml.append("  otlphttp:\n")
+                    .append("    traces_endpoint: https://xray.").append(settings.region()).append(".amazonaws.com/v1/traces\n")
+                    .append("    compression: gzip\n")
+                    .append("    auth:\n")
+                    .append("      authenticator: sigv4auth\n");
+            }
+            case "debug" -> {
+                exporter = "debug";
+                yaml.append("  debug:\n")
+                    .append("    verbosity: detailed\n");
+            }
+            default -> throw new IllegalArgumentException("Unknown trace exporter: " + settings.exporter());
+        }
+        boolean local = "debug".equals(exporter);
+        if (!local) {
+            yaml.append("  awsemf:\n")
+                .append("    region: ").append(settings.region()).append('\n')
+                .append("    namespace: ").append(METRICS_NAMESPACE).append('\n')
+                .append("    log_group_name: \"").append(settings.metricsLogGroup()).append("\"\n")
+                .append("    dimension_rollup_option: NoDimensionRollup\n")
+                .append("    metric_declarations:\n")
+                .append("      - dimensions: [[StackName]]\n")
+                .append("        metric_name_selectors: [").append(QUEUE_METRIC).append("]\n");
+        }
+
+        yaml.append("service:\n")
+            .append("  extensions: [health_check").append(cloudwatch ? ", sigv4auth" : "").append("]\n")
+            .append("  pipelines:\n")
+            .append("    traces:\n")
+            .append("      receivers: [otlp]\n")
+            .append("      processors: [").append(String.join(", ", processors)).append("]\n")
+            .append("      exporters: [").append(exporter).append("]\n")
+            .append("    metrics:\n")
+            .append("      receivers: [otlp]\n")
+            .append("      processors: [memory_limiter, filter/queue, metricstransform/queue, batch]\n")
+            .append("      exporters: [").append(local ? "debug" : "awsemf").append("]\n");
+        return yaml.toString();
+    }
+}
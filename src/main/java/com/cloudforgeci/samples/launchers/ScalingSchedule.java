@@ -0,0 +1,150 @@
+package com.cloudforgeci.samples.launchers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Working-hours capacity plan: one scheduled action raises the min/max capacity before the peak,
+ * another lowers it when the peak ends. An off-peak capacity of 0/0 stops the service (or empties
+ * the Auto Scaling Group) overnight.
+ *
+ * Crons use the five-field Unix syntax (minute hour day-of-month month day-of-week) that EC2 Auto
+ * Scaling takes as-is; {@link #applicationAutoScalingCron} converts them for ECS services. The
+ * peak-start action fires {@code prewarmMinutes} early so capacity is in service when the morning
+ * queue forms, rather than after target tracking notices it.
+ *
+ * Planning has no AWS or CDK dependencies, so the generated actions can be checked offline:
+ * <pre>
+ * java -cp "target/classes:target/dependency/*" com.cloudforgeci.samples.launchers.ScalingSchedule "0 8 * * MON-FRI" "0 19 * * MON-FRI" 30
+ * </pre>
+ */
+public record ScalingSchedule(String timeZone, String peakStartCron, String peakEndCron,
+                              int peakMinCapacity, int peakMaxCapacity,
+                              int offPeakMinCapacity, int offPeakMaxCapacity, int prewarmMinutes) {
+
+    /** One scheduled min/max change. {@code cron} is five-field Unix syntax. */
+    public record Action(String name, String cron, int minCapacity, int maxCapacity) {
+    }
+
+    private static final Pattern FIELD = Pattern.compile("[0-9A-Za-z*?,/-]+");
+    private static final Pattern NUMBER = Pattern.compile("\\d+");
+    private static final Pattern DAY_NUMBER = Pattern.compile("\\b[0-7]\\b");
+    private static final Map<String, String> DAY_NAMES = Map.of(
+        "0", "SUN", "1", "MON", "2", "TUE", "3", "WED", "4", "THU", "5", "FRI", "6", "SAT", "7", "SUN");
+
+    /** Builds the plan from the cfc context; capacities default to the deployment's min/max. */
+    public static ScalingSchedule from(CfcOptions options) {
+        int min = options.integer("minInstanceCapacity", 1);
+        int max = options.integer("maxInstanceCapacity", 1);
+        return new ScalingSchedule(
+            options.string("scheduleTimeZone", "UTC"),
+            options.string("peakStartCron", "0 8 * * MON-FRI"),
+            options.string("peakEndCron", "0 19 * * MON-FRI"),
+            options.integer("peakMinCapacity", min),
+            options.integer("peakMaxCapacity", max),
+            options.integer("offPeakMinCapacity", 0),
+            options.integer("offPeakMaxCapacity", min),
+            options.integer("prewarmMinutes", 30));
+    }
+
+    /**
+     * The peak-start and off-peak actions, in that order.
+     *
+     * @throws IllegalArgumentException for malformed crons, inverted capacities, or a pre-warm
+     *                                  offset that cannot be expressed in the start cron
+     */
+    public List<Action> actions() {
+        if (peakMinCapacity > peakMaxCapacity) {
+            throw new IllegalArgumentException("peak min capacity " + peakMinCapacity + " is greater than max " + peakMaxCapacity);
+        }
+        if (offPeakMinCapacity > offPeakMaxCapacity) {
+            throw new IllegalArgumentException("off-peak min capacity " + offPeakMinCapacity + " is greater than max " + offPeakMaxCapacity);
+        }
+        fields(peakEndCron);
+        return List.of(
+            new Action("peak-start", shift(peakStartCron, prewarmMinutes), peakMinCapacity, peakMaxCapacity),
+            new Action("off-peak", peakEndCron, offPeakMinCapacity, offPeakMaxCapacity));
+    }
+
+    /** True when off-peak capacity is 0/0, i.e. nothing runs overnight. */
+    public boolean scalesToZero() {
+        return offPeakMaxCapacity == 0;
+    }
+
+    /**
+     * Moves a cron {@code minutes} earlier. Minute and hour must be single numbers; an offset that
+     * crosses midnight is only allowed when the cron runs every day.
+     */
+    public static String shift(String cron, int minutes) {
+        String[] fields = fields(cron);
+        if (minutes == 0) {
+            return cron.trim();
+        }
+        if (!NUMBER.matcher(fields[0]).matches() || !NUMBER.matcher(fields[1]).matches()) {
+            throw new IllegalArgumentException("'" + cron + "': pre-warm needs a fixed minute and hour");
+        }
+        int start = Integer.parseInt(fields[1]) * 60 + Integer.parseInt(fields[0]) - minutes;
+        if (start < 0) {
+            if (!"*".equals(fields[2]) || !"*".equals(fields[4])) {
+                throw new IllegalArgumentException("'" + cron + "': pre-warming " + minutes
+                    + " minutes crosses midnight; start the peak later or shorten prewarmMinutes");
+            }
+            start += 24 * 60;
+        }
+        fields[0] = String.valueOf(start % 60);
+        fields[1] = String.valueOf(start / 60);
+        return String.join(" ", fields);
+    }
+
+    /**
+     * Application Auto Scaling takes six fields with {@code ?} in one day field and numbers
+     * days of the week from 1 (Sunday); day numbers are written as names so the two numberings
+     * cannot be mixed up. Steps are not allowed in its day-of-week field, so they are rejected
+     * here rather than at deploy time.
+     *
+     * @throws IllegalArgumentException for a malformed cron or a day-of-week step such as {@code *&#47;2}
+     */
+    public static String applicationAutoScalingCron(String cron) {
+        String[] fields = fields(cron);
+        if (fields[4].contains("/")) {
+            throw new IllegalArgumentException("'" + cron + "': ECS scheduled scaling does not support steps in the weekday"
+                + " field; list the days instead (e.g. MON,WED,FRI)");
+        }
+        Matcher days = DAY_NUMBER.matcher(fields[4]);
+        StringBuilder dayOfWeek = new StringBuilder();
+        while (days.find()) {
+            days.appendReplacement(dayOfWeek, DAY_NAMES.get(days.group()));
+        }
+        days.appendTail(dayOfWeek);
+        boolean byWeekday = !"*".equals(fields[4]);
+        return "cron(" + fields[0] + " " + fields[1] + " " + (byWeekday ? "?" : fields[2]) + " " + fields[3] + " "
+            + (byWeekday ? dayOfWeek : "?") + " *)";
+    }
+
+    static String[] fields(String cron) {
+        String[] fields = cron == null ? new String[0] : cron.trim().split("\\s+");
+        if (fields.length != 5) {
+            throw new IllegalArgumentException("'" + cron + "' is not a five-field cron (minute hour day month weekday)");
+        }
+        for (String field : fields) {
+            if (!FIELD.matcher(field).matches()) {
+                throw new IllegalArgumentException("'" + cron + "' has an invalid field '" + field + "'");
+            }
+        }
+        return fields;
+    }
+
+    /** Prints the actions for the given crons and pre-warm offset, as both cron dialects. */
+    public static void main(String[] args) {
+        String start = args.length > 0 ? args[0] : "0 8 * * MON-FRI";
+        String end = args.length > 1 ? args[1] : "0 19 * * MON-FRI";
+        int prewarm = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        ScalingSchedule schedule = new ScalingSchedule("UTC", start, end, 2, 6, 0, 0, prewarm);
+        for (Action action : schedule.actions()) {
+            System.out.println(action.name() + ": " + action.cron() + " | " + applicationAutoScalingCron(action.cron())
+                + " -> min " + action.minCapacity() + ", max " + action.maxCapacity());
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.cloudforgeci.samples.launchers;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * How a fleet tenant is reached on the shared ALB.
+ *
+ * With a domain each tenant gets {@code <tenant>.<domain>}; without one the ALB only has its
+ * generated DNS name, so tenants are told apart by path and Jenkins runs under a
+ * {@code /<tenant>} prefix. Rule priorities are derived from the tenant name rather than its
+ * position in {@code fleetTenants}, so adding or removing a tenant never renumbers the others.
+ */
+public final class TenantRouting {
+
+    /** ALB listener rule priorities run from 1 to 50000. */
+    static final int MAX_PRIORITY = 50_000;
+
+    private TenantRouting() {
+    }
+
+    /** Stable listener rule priority for the tenant; {@link #collision} reports clashes. */
+    public static int priority(String tenant) {
+        CRC32 crc = new CRC32();
+        crc.update(tenant.getBytes(StandardCharsets.UTF_8));
+        return (int) (crc.getValue() % MAX_PRIORITY) + 1;
+    }
+
+    /** First pair of tenants sharing a priority, or null. */
+    public static String collision(List<String> tenants) {
+        for (int i = 0; i < tenants.size(); i++) {
+            for (int j = i + 1; j < tenants.size(); j++) {
+                if (priority(tenants.get(i)) == priority(tenants.get(j))) {
+                    return tenants.get(i) + " and " + tenants.get(j);
+                }
+            }
+        }
+        return null;
+    }
+
+    /** Host header to route on, or null when tenants are routed by path. */
+    public static String host(String tenant, String domain) {
+        return domain == null || domain.isEmpty() ? null : tenant + "." + domain;
+    }
+
+    /** Jenkins URL prefix for path routing: {@code /<tenant>}. */
+    public static String pathPrefix(String tenant) {
+        return "/" + tenant;
+    }
+}
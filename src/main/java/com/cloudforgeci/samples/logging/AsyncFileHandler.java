@@ -0,0 +1,112 @@
+package com.cloudforgeci.samples.logging;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.ErrorManager;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+
+/**
+ * File handler that hands records to a background writer thread.
+ *
+ * Callers only pay for a queue offer; formatting and disk I/O happen on the writer thread in
+ * batches. When the bounded queue is full, records are dropped instead of blocking synth, and
+ * the number of dropped records is written on close.
+ */
+public final class AsyncFileHandler extends Handler {
+
+    private static final int QUEUE_CAPACITY = 8192;
+    private static final int BATCH_SIZE = 256;
+
+    private final BlockingQueue<LogRecord> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final AtomicLong dropped = new AtomicLong();
+    private final BufferedWriter writer;
+    private final Thread worker;
+    private volatile boolean closed;
+
+    public AsyncFileHandler(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        this.worker = new Thread(this::drain, "cfc-log-writer");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    @Override
+    public void publish(LogRecord record) {
+        if (closed || !isLoggable(record)) {
+            return;
+        }
+        if (!queue.offer(record)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    private void drain() {
+        List<LogRecord> batch = new ArrayList<>(BATCH_SIZE);
+        try {
+            while (!closed || !queue.isEmpty()) {
+                LogRecord first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, BATCH_SIZE - 1);
+                write(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(List<LogRecord> batch) {
+        try {
+            for (LogRecord record : batch) {
+                writer.write(getFormatter().format(record));
+            }
+            writer.flush();
+        } catch (IOException e) {
+            reportError("Could not write log records", e, ErrorManager.WRITE_FAILURE);
+        }
+    }
+
+    @Override
+    public void flush() {
+        // The writer thread flushes after every batch
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            worker.join(2000);
+            long lost = dropped.get();
+            if (lost > 0) {
+                writer.write("[log] dropped " + lost + " records (queue full)" + System.lineSeparator());
+            }
+            writer.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            reportError("Could not close log file", e, ErrorManager.CLOSE_FAILURE);
+        }
+    }
+}
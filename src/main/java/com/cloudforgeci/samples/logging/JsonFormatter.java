@@ -0,0 +1,37 @@
+package com.cloudforgeci.samples.logging;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.logging.Formatter;
+import java.util.logging.LogRecord;
+
+/**
+ * Structured formatter writing one JSON object per line, selected with logging.format=json.
+ */
+public final class JsonFormatter extends Formatter {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Override
+    public String format(LogRecord record) {
+        ObjectNode json = MAPPER.createObjectNode();
+        json.put("timestamp", record.getInstant().toString());
+        json.put("level", LoggingConfig.levelName(record.getLevel()));
+        json.put("logger", record.getLoggerName());
+        json.put("message", formatMessage(record));
+        if (record.getThrown() != null) {
+            StringWriter trace = new StringWriter();
+            record.getThrown().printStackTrace(new PrintWriter(trace));
+            json.put("error", trace.toString());
+        }
+        try {
+            return MAPPER.writeValueAsString(json) + System.lineSeparator();
+        } catch (JsonProcessingException e) {
+            return "{\"level\":\"ERROR\",\"message\":\"unserializable log record\"}" + System.lineSeparator();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.cloudforgeci.samples.logging;
+
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Thin leveled logger over java.util.logging.
+ *
+ * Debug and trace take a {@link Supplier} so the message is never built when the level is
+ * disabled: {@code LOG.debug(() -> "context: " + expensive())} costs one level check when off.
+ * Levels and handlers come from application-local.properties via {@link LoggingConfig}.
+ */
+public final class Log {
+
+    static {
+        LoggingConfig.ensureInitialized();
+    }
+
+    private final Logger logger;
+
+    private Log(Logger logger) {
+        this.logger = logger;
+    }
+
+    public static Log get(Class<?> owner) {
+        return new Log(Logger.getLogger(owner.getName()));
+    }
+
+    public boolean isDebugEnabled() {
+        return logger.isLoggable(Level.FINE);
+    }
+
+    public void trace(Supplier<String> message) {
+        log(Level.FINEST, message);
+    }
+
+    public void debug(Supplier<String> message) {
+        log(Level.FINE, message);
+    }
+
+    public void info(String message) {
+        logger.logp(Level.INFO, logger.getName(), null, message);
+    }
+
+    public void warn(String message) {
+        logger.logp(Level.WARNING, logger.getName(), null, message);
+    }
+
+    public void warn(String message, Throwable error) {
+        logger.logp(Level.WARNING, logger.getName(), null, message, error);
+    }
+
+    public void error(String message, Throwable error) {
+        logger.logp(Level.SEVERE, logger.getName(), null, message, error);
+    }
+
+    private void log(Level level, Supplier<String> message) {
+        // Explicit source avoids JUL's stack-walking caller inference
+        if (logger.isLoggable(level)) {
+            logger.logp(level, logger.getName(), null, message);
+        }
+    }
+}
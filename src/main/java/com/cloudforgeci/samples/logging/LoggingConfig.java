@@ -0,0 +1,190 @@
+package com.cloudforgeci.samples.logging;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.logging.ConsoleHandler;
+import java.util.logging.Formatter;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+/**
+ * Configures java.util.logging from application-local.properties.
+ *
+ * Understood keys:
+ * - logging.level.root / logging.level.&lt;logger&gt;: TRACE, DEBUG, INFO, WARN, ERROR or OFF
+ * - logging.pattern.console: console pattern, see {@link PatternFormatter}
+ * - logging.file.name / logging.level.file: async log file and its threshold
+ * - logging.format: text (default) or json
+ * - debug: when false, the console never shows records below INFO
+ *
+ * The file is read from the classpath; -Dcfc.logging.config=&lt;path&gt; points at another file and
+ * -Dcfc.logging.format=json overrides the format.
+ */
+public final class LoggingConfig {
+
+    private static final String RESOURCE = "/application-local.properties";
+    private static final String LEVEL_PREFIX = "logging.level.";
+
+    // java.util.logging holds loggers weakly; keep configured ones alive
+    private static final List<Logger> CONFIGURED = new ArrayList<>();
+
+    // Root handlers attached by apply(); handlers installed by anyone else are left alone
+    private static final List<Handler> INSTALLED = new ArrayList<>();
+
+    private static boolean initialized;
+
+    private LoggingConfig() {
+    }
+
+    public static synchronized void ensureInitialized() {
+        if (initialized) {
+            return;
+        }
+        initialized = true;
+        try {
+            apply(load());
+        } catch (IOException e) {
+            System.err.println("⚠️  Warning: Could not load logging configuration: " + e.getMessage());
+        }
+    }
+
+    static Properties load() throws IOException {
+        Properties properties = new Properties();
+        String override = System.getProperty("cfc.logging.config");
+        if (override != null) {
+            try (Reader reader = Files.newBufferedReader(Paths.get(override), StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+        } else {
+            try (InputStream in = LoggingConfig.class.getResourceAsStream(RESOURCE)) {
+                if (in != null) {
+                    properties.load(in);
+                }
+            }
+        }
+        return properties;
+    }
+
+    static synchronized void apply(Properties properties) throws IOException {
+        Logger root = Logger.getLogger("");
+        detach(root);
+        root.setLevel(parseLevel(properties.getProperty("logging.level.root"), Level.INFO));
+
+        for (String key : properties.stringPropertyNames()) {
+            if (!key.startsWith(LEVEL_PREFIX) || key.equals("logging.level.root") || key.equals("logging.level.file")) {
+                continue;
+            }
+            Logger logger = Logger.getLogger(key.substring(LEVEL_PREFIX.length()));
+            logger.setLevel(parseLevel(properties.getProperty(key), null));
+            CONFIGURED.add(logger);
+        }
+
+        boolean json = "json".equalsIgnoreCase(
+            System.getProperty("cfc.logging.format", properties.getProperty("logging.format", "text")).trim());
+
+        Handler console = new StdoutHandler();
+        console.setFormatter(json ? new JsonFormatter()
+            : new PatternFormatter(properties.getProperty("logging.pattern.console", "[%d] %-5level: %msg%n")));
+        boolean debug = Boolean.parseBoolean(properties.getProperty("debug", "false").trim());
+        console.setLevel(debug ? Level.ALL : Level.INFO);
+        install(root, console);
+
+        String fileName = properties.getProperty("logging.file.name");
+        if (fileName != null && !fileName.isBlank()) {
+            AsyncFileHandler file = new AsyncFileHandler(Path.of(fileName.trim()));
+            file.setFormatter(json ? new JsonFormatter()
+                : new PatternFormatter("[%d{yyyy-MM-dd HH:mm:ss.SSS}] %-5level %logger: %msg%n"));
+            file.setLevel(parseLevel(properties.getProperty("logging.level.file"), Level.ALL));
+            install(root, file);
+            Runtime.getRuntime().addShutdownHook(new Thread(file::close, "cfc-log-close"));
+        }
+    }
+
+    /**
+     * Closes the handlers and logger levels of a previous apply(). The JDK's default stderr
+     * ConsoleHandler goes too, or every record would print twice.
+     */
+    private static void detach(Logger root) {
+        for (Handler handler : INSTALLED) {
+            root.removeHandler(handler);
+            handler.close();
+        }
+        INSTALLED.clear();
+        for (Handler handler : root.getHandlers()) {
+            if (handler.getClass() == ConsoleHandler.class) {
+                root.removeHandler(handler);
+            }
+        }
+        for (Logger logger : CONFIGURED) {
+            logger.setLevel(null);
+        }
+        CONFIGURED.clear();
+    }
+
+    private static void install(Logger root, Handler handler) {
+        root.addHandler(handler);
+        INSTALLED.add(handler);
+    }
+
+    static Level parseLevel(String value, Level fallback) {
+        if (value == null) {
+            return fallback;
+        }
+        return switch (value.trim().toUpperCase(Locale.ROOT)) {
+            case "TRACE" -> Level.FINEST;
+            case "DEBUG" -> Level.FINE;
+            case "INFO" -> Level.INFO;
+            case "WARN" -> Level.WARNING;
+            case "ERROR" -> Level.SEVERE;
+            case "OFF" -> Level.OFF;
+            default -> fallback;
+        };
+    }
+
+    /** Maps java.util.logging levels back to the names used in the properties file. */
+    static String levelName(Level level) {
+        int value = level.intValue();
+        if (value >= Level.SEVERE.intValue()) return "ERROR";
+        if (value >= Level.WARNING.intValue()) return "WARN";
+        if (value >= Level.INFO.intValue()) return "INFO";
+        if (value >= Level.FINE.intValue()) return "DEBUG";
+        return "TRACE";
+    }
+
+    /** Console handler on stdout, so log lines interleave with the deployer's prompts. */
+    private static final class StdoutHandler extends Handler {
+        private final PrintStream out = System.out;
+
+        @Override
+        public void publish(LogRecord record) {
+            if (!isLoggable(record)) {
+                return;
+            }
+            Formatter formatter = getFormatter();
+            out.print(formatter.format(record));
+            out.flush();
+        }
+
+        @Override
+        public void flush() {
+            out.flush();
+        }
+
+        @Override
+        public void close() {
+            flush();
+        }
+    }
+}
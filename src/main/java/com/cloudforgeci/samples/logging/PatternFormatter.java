@@ -0,0 +1,87 @@
+package com.cloudforgeci.samples.logging;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Formatter;
+import java.util.logging.LogRecord;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Formats records with the logback-style pattern from application-local.properties.
+ *
+ * Supports %d{pattern}, %level (with optional width such as %-5level), %logger, %thread,
+ * %msg and %n. The pattern is parsed once; formatting is a walk over pre-built segments.
+ */
+public final class PatternFormatter extends Formatter {
+
+    private static final Pattern TOKEN = Pattern.compile("%(-?\\d+)?(d|level|logger|thread|msg|n)(\\{([^}]*)})?");
+
+    private interface Segment {
+        void append(StringBuilder out, LogRecord record, String message);
+    }
+
+    private final List<Segment> segments = new ArrayList<>();
+
+    public PatternFormatter(String pattern) {
+        Matcher m = TOKEN.matcher(pattern);
+        int last = 0;
+        while (m.find()) {
+            String literal = pattern.substring(last, m.start());
+            if (!literal.isEmpty()) {
+                segments.add((out, record, message) -> out.append(literal));
+            }
+            segments.add(segment(m.group(2), m.group(1), m.group(4)));
+            last = m.end();
+        }
+        String tail = pattern.substring(last);
+        if (!tail.isEmpty()) {
+            segments.add((out, record, message) -> out.append(tail));
+        }
+    }
+
+    private static Segment segment(String name, String width, String option) {
+        return switch (name) {
+            case "d" -> {
+                DateTimeFormatter dates = DateTimeFormatter
+                    .ofPattern(option != null ? option : "yyyy-MM-dd HH:mm:ss")
+                    .withZone(ZoneId.systemDefault());
+                yield (out, record, message) -> out.append(dates.format(record.getInstant()));
+            }
+            case "level" -> (out, record, message) -> pad(out, LoggingConfig.levelName(record.getLevel()), width);
+            case "logger" -> (out, record, message) -> pad(out, record.getLoggerName(), width);
+            // Records may be formatted on the async writer thread, so use the recorded thread id
+            case "thread" -> (out, record, message) -> pad(out, "thread-" + record.getLongThreadID(), width);
+            case "msg" -> (out, record, message) -> out.append(message);
+            default -> (out, record, message) -> out.append(System.lineSeparator());
+        };
+    }
+
+    private static void pad(StringBuilder out, String value, String width) {
+        if (width == null) {
+            out.append(value);
+            return;
+        }
+        int size = Integer.parseInt(width);
+        out.append(size < 0 ? String.format("%-" + (-size) + "s", value) : String.format("%" + size + "s", value));
+    }
+
+    @Override
+    public String format(LogRecord record) {
+        StringBuilder out = new StringBuilder(128);
+        String message = formatMessage(record);
+        for (Segment segment : segments) {
+            segment.append(out, record, message);
+        }
+        if (record.getThrown() != null) {
+            StringWriter trace = new StringWriter();
+            record.getThrown().printStackTrace(new PrintWriter(trace));
+            out.append(trace);
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,283 @@
+package com.cloudforgeci.samples.strategies;
+
+import com.cloudforgeci.api.core.SystemContext;
+import com.cloudforgeci.api.interfaces.RuntimeType;
+import com.cloudforgeci.api.interfaces.SecurityProfile;
+import com.cloudforgeci.api.interfaces.TopologyType;
+import com.cloudforgeci.samples.app.DeploymentConfig;
+import com.cloudforgeci.samples.app.DeploymentStrategy;
+import com.cloudforgeci.samples.app.DeploymentStrategyProvider;
+import com.cloudforgeci.samples.deploy.AmiBaker;
+import com.cloudforgeci.samples.launchers.InstanceCatalog;
+import com.cloudforgeci.samples.launchers.JenkinsJvmTuning;
+
+import software.amazon.awscdk.Stack;
+
+import static com.cloudforgeci.samples.app.Prompts.promptChoice;
+import static com.cloudforgeci.samples.app.Prompts.promptIntWithValidation;
+import static com.cloudforgeci.samples.app.Prompts.promptOptional;
+import static com.cloudforgeci.samples.app.Prompts.promptRequired;
+import static com.cloudforgeci.samples.app.Prompts.promptWithValidation;
+import static com.cloudforgeci.samples.app.Prompts.promptYesNo;
+
+/**
+ * Jenkins deployment strategy using SystemContext orchestration layer.
+ */
+public class JenkinsDeploymentStrategy implements DeploymentStrategy {
+    @Override
+    public void collectConfiguration(DeploymentConfig config) {
+        config.runtime = RuntimeType.valueOf(
+            promptChoice("Runtime", new String[]{"FARGATE", "EC2"}, "FARGATE").toUpperCase());
+        
+        // Topology Selection
+        config.topology = TopologyType.valueOf(
+            promptChoice("Topology", new String[]{"JENKINS_SINGLE_NODE", "JENKINS_SERVICE"}, "JENKINS_SERVICE").toUpperCase());
+        
+        // Security Profile Selection
+        config.securityProfile = SecurityProfile.valueOf(
+            promptChoice("Security Profile", new String[]{"DEV", "STAGING", "PRODUCTION"}, "STAGING").toUpperCase());
+        
+        // Instance Capacity Configuration (applies to both EC2 and Fargate)
+        config.minInstanceCapacity = promptIntWithValidation("Minimum Instance Capacity", 1, 1, 10);
+        config.maxInstanceCapacity = promptIntWithValidation("Maximum Instance Capacity", 3, 1, 20);
+        
+        // Auto Scaling Configuration (applies to both runtimes)
+        config.enableAutoScaling = config.maxInstanceCapacity > 1;
+        if (config.enableAutoScaling) {
+            System.out.println("✅ Auto Scaling enabled (max capacity > 1)");
+            config.cpuTargetUtilization = promptIntWithValidation("CPU Target Utilization (%)", 60, 10, 90);
+        } else {
+            config.cpuTargetUtilization = 60; // Default when no auto-scaling
+        }
+        
+        // Working-hours schedule: capacity ready before the morning queue, less (or none) overnight.
+        // EC2 needs the service topology's Auto Scaling Group.
+        if (config.runtime == RuntimeType.FARGATE || config.topology == TopologyType.JENKINS_SERVICE) {
+            config.enableScheduledScaling = promptYesNo("Enable scheduled (working-hours) scaling", false);
+        }
+        if (config.enableScheduledScaling) {
+            config.scheduleTimeZone = promptOptional("Schedule time zone (IANA, e.g. Europe/Berlin)", config.scheduleTimeZone);
+            config.peakStartCron = promptOptional("Peak start cron (minute hour day month weekday)", config.peakStartCron);
+            config.peakEndCron = promptOptional("Peak end cron", config.peakEndCron);
+            config.prewarmMinutes = promptIntWithValidation("Pre-warm minutes before peak start", 30, 0, 60);
+            config.peakMinCapacity = promptIntWithValidation("Peak minimum capacity",
+                config.minInstanceCapacity, 0, config.maxInstanceCapacity);
+            config.peakMaxCapacity = config.maxInstanceCapacity;
+            config.offPeakMaxCapacity = promptIntWithValidation("Off-peak maximum capacity (0 stops Jenkins overnight)",
+                config.minInstanceCapacity, 0, config.maxInstanceCapacity);
+            config.offPeakMinCapacity = 0;
+        }
+        
+        if (config.runtime == RuntimeType.EC2) {
+            // EC2 Instance Type Selection - burstable T-series or fixed-performance x86/Graviton
+            String[] notes = InstanceCatalog.options().stream()
+                .map(InstanceCatalog.InstanceOption::sustainedCpu)
+                .toArray(String[]::new);
+            config.instanceType = promptChoice("EC2 Instance Type", InstanceCatalog.types(), notes, "t3.micro");
+            config.cpuArchitecture = InstanceCatalog.architectureOf(config.instanceType).name();
+            if (InstanceCatalog.isBurstable(config.instanceType)) {
+                String[] modes = {"standard", "unlimited"};
+                config.cpuCreditMode = promptChoice("CPU Credit Mode", modes,
+                    new String[]{InstanceCatalog.CREDIT_MODES.get("standard"), InstanceCatalog.CREDIT_MODES.get("unlimited")},
+                    "standard");
+            }
+            
+            // Faster scale-out: pre-baked AMI and warm pool
+            String bakedAmi = AmiBaker.lastBakedAmi();
+            System.out.println("ℹ️  Bake an AMI with: java -cp \"target/classes:target/dependency/*\" " + AmiBaker.class.getName());
+            config.amiId = promptOptional("Pre-baked AMI ID (empty for stock AMI)", bakedAmi);
+            if (config.enableAutoScaling) {
+                config.warmPoolSize = promptIntWithValidation("Warm pool size (0 to disable)", 0, 0, config.maxInstanceCapacity);
+                if (config.warmPoolSize > 0) {
+                    config.warmPoolState = promptChoice("Warm pool instance state",
+                        new String[]{"stopped", "hibernated"}, "stopped");
+                }
+                // Like the schedule, the predictive policy needs the service topology's Auto Scaling Group
+                if (config.topology == TopologyType.JENKINS_SERVICE) {
+                    config.predictiveScaling = promptChoice("Predictive scaling",
+                        new String[]{"off", "forecast-only", "forecast-and-scale"},
+                        new String[]{"CPU target tracking only",
+                            "publish a CPU forecast to review before acting on it",
+                            "launch capacity ahead of the forecast daily peak"},
+                        "off");
+                }
+            }
+        }
+        
+        // Resource Configuration with Validation
+        if (config.runtime == RuntimeType.FARGATE) {
+            config.cpuArchitecture = promptChoice("CPU Architecture", new String[]{"X86_64", "ARM64"},
+                new String[]{"Intel/AMD, fixed performance", "Graviton, fixed performance at a lower price per vCPU"},
+                "X86_64");
+            config.cpu = promptIntWithValidation("CPU (units)", 1024, 256, 4096);
+            config.memory = promptIntWithValidation("Memory (MB)", 2048, 512, 8192);
+        } else {
+            config.cpu = promptIntWithValidation("CPU (units)", 1024, 256, 4096);
+            config.memory = promptIntWithValidation("Memory (MB)", 2048, 512, 8192);
+        }
+        
+        // JVM sizing for the controller, computed from the resources above
+        JenkinsJvmTuning.Profile jvm = config.runtime == RuntimeType.EC2
+            ? JenkinsJvmTuning.profileForInstance(config.instanceType, config.cpu, config.memory)
+            : JenkinsJvmTuning.profileFor(config.cpu, config.memory);
+        System.out.println("ℹ️  Controller JVM profile: " + jvm.summary());
+        config.jvmOptions = promptOptional("Custom JAVA_OPTS (empty for the computed profile)", "");
+
+        // Build workspace storage - local disk keeps checkouts and build output off EFS
+        if (config.runtime == RuntimeType.FARGATE) {
+            config.ephemeralStorageGiB = promptIntWithValidation("Task ephemeral storage (GiB)", 20, 20, 200);
+            config.workspaceStorage = promptChoice("Build workspace storage", new String[]{"jenkins-home", "ephemeral"},
+                new String[]{"JENKINS_HOME on EFS, kept across task replacements",
+                    "task ephemeral storage, faster and discarded with the task"},
+                "jenkins-home");
+        } else if (InstanceCatalog.hasInstanceStore(config.instanceType)) {
+            config.workspaceStorage = promptChoice("Build workspace storage",
+                new String[]{"jenkins-home", "ephemeral", "instance-store"},
+                new String[]{"JENKINS_HOME on EFS, kept across instance replacements",
+                    "root EBS volume, discarded with the instance",
+                    "local NVMe instance store, fastest; wiped on every stop/start"},
+                "instance-store");
+        } else {
+            config.workspaceStorage = promptChoice("Build workspace storage", new String[]{"jenkins-home", "ephemeral"},
+                new String[]{"JENKINS_HOME on EFS, kept across instance replacements",
+                    "root EBS volume, discarded with the instance"},
+                "jenkins-home");
+        }
+
+        config.authMode = promptChoice("Authentication Mode", 
+            new String[]{"none", "alb-oidc", "jenkins-oidc"}, "none");
+        if ("jenkins-oidc".equals(config.authMode)) {
+            System.out.println("ℹ️  Jenkins reads the OIDC client from a Secrets Manager secret with clientId, clientSecret and wellKnownUrl keys");
+            config.oidcClientSecret = promptRequired("OIDC client secret name", "");
+        }
+        
+        if (config.runtime == RuntimeType.FARGATE) {
+            System.out.println("ℹ️  A pre-baked image ships pinned plugins and configuration-as-code, so new tasks skip plugin installation");
+            config.prebakedControllerImage = promptYesNo("Build pre-baked controller image (requires Docker)", false);
+            if (config.prebakedControllerImage) {
+                config.controllerExecutors = promptIntWithValidation("Executors on the controller", 0, 0, 16);
+                System.out.println("ℹ️  S3 artifact storage keeps archived artifacts and stashes off EFS");
+                config.artifactStore = promptChoice("Artifact and stash storage", new String[]{"efs", "s3"},
+                    new String[]{"JENKINS_HOME on EFS", "dedicated S3 bucket with lifecycle expiry"}, "efs");
+                if ("s3".equals(config.artifactStore)) {
+                    config.artifactRetentionDays = promptIntWithValidation("Artifact retention in S3 (days)", 90, 1, 3650);
+                }
+                config.tracingExport = promptChoice("Build tracing (OpenTelemetry)", new String[]{"off", "xray", "cloudwatch"},
+                    new String[]{"no traces", "collector sidecar exports build/stage spans to X-Ray",
+                        "collector sidecar exports to CloudWatch (Transaction Search must be enabled)"},
+                    "off");
+                if (!"off".equals(config.tracingExport)) {
+                    config.traceSamplePercent = promptIntWithValidation("Share of builds traced (%)", 100, 1, 100);
+                }
+            }
+        }
+        
+        // Network Configuration
+        System.out.println("\n🌐 Network Configuration:");
+        System.out.println("==========================");
+        config.networkMode = promptChoice("Network Mode", 
+            new String[]{"public-no-nat", "private-with-nat"}, "public-no-nat");
+        if ("private-with-nat".equals(config.networkMode)) {
+            System.out.println("ℹ️  Endpoints keep ECR pulls, S3, logs, STS and Secrets Manager traffic off the NAT gateway (interface endpoints are billed per AZ-hour)");
+            config.enableVpcEndpoints = promptYesNo("Create VPC endpoints", true);
+        }
+        config.wafEnabled = promptYesNo("Enable WAF Protection", false);
+        config.cloudfrontEnabled = promptYesNo("Enable CloudFront CDN", false);
+        
+        if (!config.authMode.equals("none")) {
+            config.ssoInstanceArn = promptRequired("SSO Instance ARN", "");
+            config.ssoGroupId = promptRequired("SSO Group ID", "");
+            config.ssoTargetAccountId = promptRequired("SSO Target Account ID", "");
+        }
+        
+        
+        // Advanced Configuration Section
+        System.out.println("\n🔧 Advanced Configuration:");
+        System.out.println("==========================");
+        
+        config.enableMonitoring = promptYesNo("Enable CloudWatch Monitoring", true);
+        config.enableEncryption = promptYesNo("Enable Encryption at Rest", true);
+        
+        if (config.enableMonitoring) {
+            config.logRetentionDays = promptWithValidation("Log Retention (days)", "7", 
+                new String[]{"1", "3", "7", "14", "30", "60", "90", "120", "150", "180", "365"});
+            
+            System.out.println("ℹ️  Fluent Bit batches and compresses logs: build logs go to S3, controller logs to CloudWatch");
+            config.logShipping = promptChoice("Log shipping", new String[]{"awslogs", "firelens"},
+                new String[]{"awslogs driver, every line to CloudWatch Logs", "Fluent Bit with S3/CloudWatch routing and sampling"},
+                "awslogs");
+            if ("firelens".equals(config.logShipping)) {
+                config.buildLogRetentionDays = promptIntWithValidation("Build log retention in S3 (days)", 90, 1, 3650);
+                config.logSamplePercent = promptIntWithValidation("Controller INFO lines kept (%)", 100, 1, 100);
+                config.logDropPatterns = promptOptional("Controller lines to drop (comma-separated regexes)", config.logDropPatterns);
+            }
+            
+            config.enablePerformanceDashboard = promptYesNo("Generate performance dashboard and alarms", false);
+            if (config.enablePerformanceDashboard) {
+                config.alarmLatencyP99Ms = promptIntWithValidation("Alarm: ALB p99 latency (ms)", 2000, 100, 30000);
+                config.alarm5xxPercent = promptIntWithValidation("Alarm: ALB 5xx rate (%)", 5, 1, 100);
+                config.alarmCpuPercent = promptIntWithValidation("Alarm: CPU utilization (%)", 85, 10, 100);
+                config.alarmMemoryPercent = promptIntWithValidation("Alarm: memory utilization (%)", 90, 10, 100);
+                config.alarmEfsBurstCreditGiB = promptIntWithValidation("Alarm: EFS burst credit balance below (GiB)", 100, 1, 2048);
+                if (config.prebakedControllerImage && !"off".equals(config.tracingExport)) {
+                    config.alarmQueueLength = promptIntWithValidation("Alarm: Jenkins build queue length", 10, 1, 1000);
+                } else {
+                    System.out.println("ℹ️  The build queue alarm needs build tracing: its collector publishes the queue metric");
+                }
+                config.alarmEmail = promptOptional("Alarm notification email", "");
+            }
+        }
+        
+        // Health Check Configuration
+        System.out.println("\n🏥 Health Check Configuration:");
+        System.out.println("==============================");
+        // Warm or pre-baked instances only need to start Jenkins, not install it
+        boolean fastBoot = config.runtime == RuntimeType.EC2 && (!config.amiId.isEmpty() || config.warmPoolSize > 0);
+        config.healthCheckGracePeriod = promptIntWithValidation("Health Check Grace Period (seconds)", fastBoot ? 90 : 300, 30, 900);
+        config.healthCheckInterval = promptIntWithValidation("Health Check Interval (seconds)", 30, 5, 300);
+        config.healthCheckTimeout = promptIntWithValidation("Health Check Timeout (seconds)", 5, 2, 60);
+        config.healthyThreshold = promptIntWithValidation("Healthy Threshold Count", 2, 2, 10);
+        config.unhealthyThreshold = promptIntWithValidation("Unhealthy Threshold Count", 3, 2, 10);
+        
+        // Region Configuration
+        config.region = promptChoice("AWS Region", 
+            new String[]{"us-east-1", "us-west-2", "eu-west-1", "ap-southeast-1"}, "us-east-1");
+    }
+    
+    @Override
+    public void deploy(SystemContext ctx, Stack stack, DeploymentConfig config) {
+        System.out.println("🚀 Deploying Jenkins using SystemContext orchestration layer...");
+        
+        // Use SystemContext orchestration layer for Jenkins deployment
+        SystemContext.JenkinsDeployment jenkinsDeployment = ctx.createJenkinsDeployment(stack, "Jenkins");
+        
+        System.out.println("✅ Jenkins deployment created successfully!");
+        System.out.println("   - Infrastructure: VPC, ALB, EFS");
+        System.out.println("   - Runtime: " + config.runtime);
+        System.out.println("   - Topology: " + config.topology);
+        if (config.domain != null && !config.domain.isEmpty()) {
+            System.out.println("   - Domain: " + config.domain);
+            if (config.enableSsl) {
+                System.out.println("   - SSL: Enabled");
+            }
+        }
+    }
+    
+    /** Registered in META-INF/services; loading it does not load the strategy's class graph. */
+    public static final class Provider implements DeploymentStrategyProvider {
+        @Override
+        public String name() {
+            return "jenkins";
+        }
+        
+        @Override
+        public String description() {
+            return "Jenkins CI/CD server with Fargate or EC2 runtime";
+        }
+        
+        @Override
+        public DeploymentStrategy create() {
+            return new JenkinsDeploymentStrategy();
+        }
+    }
+}
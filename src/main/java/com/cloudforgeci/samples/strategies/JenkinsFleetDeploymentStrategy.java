@@ -0,0 +1,79 @@
+package com.cloudforgeci.samples.strategies;
+
+import com.cloudforgeci.api.core.SystemContext;
+import com.cloudforgeci.api.interfaces.RuntimeType;
+import com.cloudforgeci.api.interfaces.SecurityProfile;
+import com.cloudforgeci.api.interfaces.TopologyType;
+import com.cloudforgeci.samples.app.DeploymentConfig;
+import com.cloudforgeci.samples.app.DeploymentStrategy;
+import com.cloudforgeci.samples.app.DeploymentStrategyProvider;
+import com.cloudforgeci.samples.launchers.TenantRouting;
+
+import software.amazon.awscdk.Stack;
+
+import static com.cloudforgeci.samples.app.Prompts.promptChoice;
+import static com.cloudforgeci.samples.app.Prompts.promptIntWithValidation;
+import static com.cloudforgeci.samples.app.Prompts.promptRequired;
+import static com.cloudforgeci.samples.app.Prompts.promptYesNo;
+
+/**
+ * Jenkins fleet strategy: shared VPC, ALB and EFS with one lightweight controller stack per team.
+ */
+public class JenkinsFleetDeploymentStrategy implements DeploymentStrategy {
+    @Override
+    public void collectConfiguration(DeploymentConfig config) {
+        // Tenant controllers run on Fargate behind the shared ALB
+        config.runtime = RuntimeType.FARGATE;
+        config.topology = TopologyType.JENKINS_SERVICE;
+        config.securityProfile = SecurityProfile.valueOf(
+            promptChoice("Security Profile", new String[]{"DEV", "STAGING", "PRODUCTION"}, "STAGING").toUpperCase());
+        
+        config.fleetTenants = promptRequired("Tenant teams (comma-separated)", "team-a,team-b");
+        String host = TenantRouting.host("<tenant>", config.domain);
+        System.out.println("ℹ️  Each tenant is served at " + (host != null ? host : "<alb-host>" + TenantRouting.pathPrefix("<tenant>")));
+        
+        config.cpu = promptIntWithValidation("CPU per controller (units)", 1024, 256, 4096);
+        config.memory = promptIntWithValidation("Memory per controller (MB)", 2048, 512, 8192);
+        
+        System.out.println("\n🌐 Network Configuration:");
+        System.out.println("==========================");
+        config.networkMode = promptChoice("Network Mode", 
+            new String[]{"public-no-nat", "private-with-nat"}, "public-no-nat");
+        if ("private-with-nat".equals(config.networkMode)) {
+            System.out.println("ℹ️  Endpoints keep ECR pulls, S3, logs, STS and Secrets Manager traffic off the NAT gateway (interface endpoints are billed per AZ-hour)");
+            config.enableVpcEndpoints = promptYesNo("Create VPC endpoints", true);
+        }
+        config.wafEnabled = false;
+        config.cloudfrontEnabled = false;
+        
+        System.out.println("\n🏥 Health Check Configuration:");
+        System.out.println("==============================");
+        config.healthCheckGracePeriod = promptIntWithValidation("Health Check Grace Period (seconds)", 300, 60, 900);
+        
+        config.region = promptChoice("AWS Region", 
+            new String[]{"us-east-1", "us-west-2", "eu-west-1", "ap-southeast-1"}, "us-east-1");
+    }
+    
+    @Override
+    public void deploy(SystemContext ctx, Stack stack, DeploymentConfig config) {
+        System.out.println("🚀 Jenkins fleet stacks are created directly by the deployer (shared + per-tenant)");
+    }
+    
+    /** Registered in META-INF/services; loading it does not load the strategy's class graph. */
+    public static final class Provider implements DeploymentStrategyProvider {
+        @Override
+        public String name() {
+            return "jenkins-fleet";
+        }
+        
+        @Override
+        public String description() {
+            return "Jenkins fleet: shared VPC/ALB/EFS with per-team Fargate controllers";
+        }
+        
+        @Override
+        public DeploymentStrategy create() {
+            return new JenkinsFleetDeploymentStrategy();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.cloudforgeci.samples.strategies;
+
+import com.cloudforgeci.api.core.SystemContext;
+import com.cloudforgeci.api.interfaces.RuntimeType;
+import com.cloudforgeci.api.interfaces.TopologyType;
+import com.cloudforgeci.samples.app.DeploymentConfig;
+import com.cloudforgeci.samples.app.DeploymentStrategy;
+import com.cloudforgeci.samples.app.DeploymentStrategyProvider;
+
+import software.amazon.awscdk.Stack;
+
+/**
+ * S3 Website + Mailer deployment strategy (placeholder for future implementation).
+ */
+public class S3WebsiteMailerDeploymentStrategy implements DeploymentStrategy {
+    @Override
+    public void collectConfiguration(DeploymentConfig config) {
+        config.runtime = RuntimeType.FARGATE; // S3 websites don't use compute
+        config.topology = TopologyType.S3_WEBSITE;
+        
+        System.out.println("⚠️  S3 Website + Mailer deployment not yet implemented");
+        System.out.println("   This will support websites with S3 + CloudFront + SES + Lambda");
+    }
+    
+    @Override
+    public void deploy(SystemContext ctx, Stack stack, DeploymentConfig config) {
+        System.out.println("🚀 S3 Website + Mailer deployment not yet implemented");
+        System.out.println("   This will extend S3CloudFrontDeployment with SES + Lambda");
+    }
+    
+    /** Registered in META-INF/services; loading it does not load the strategy's class graph. */
+    public static final class Provider implements DeploymentStrategyProvider {
+        @Override
+        public String name() {
+            return "s3-website-mailer";
+        }
+        
+        @Override
+        public String description() {
+            return "Website + Mailer with S3 + CloudFront + SES + Lambda (Coming Soon)";
+        }
+        
+        @Override
+        public DeploymentStrategy create() {
+            return new S3WebsiteMailerDeploymentStrategy();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.cloudforgeci.samples.app;
+
+import com.cloudforgeci.api.interfaces.RuntimeType;
+import com.cloudforgeci.api.interfaces.TopologyType;
+import com.cloudforgeci.samples.app.ConfigValidator.Violation;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConfigValidatorTest {
+
+    /** A Fargate JENKINS_SERVICE deployment with the prompts' defaults, which passes every rule. */
+    private static DeploymentConfig fargate() {
+        DeploymentConfig config = new DeploymentConfig();
+        config.runtime = RuntimeType.FARGATE;
+        config.topology = TopologyType.JENKINS_SERVICE;
+        return config;
+    }
+
+    private static List<String> fields(DeploymentConfig config) {
+        return ConfigValidator.validate(config).stream().map(Violation::field).toList();
+    }
+
+    private static DeploymentConfig sized(int cpu, int memory) {
+        DeploymentConfig config = fargate();
+        config.cpu = cpu;
+        config.memory = memory;
+        return config;
+    }
+
+    @Test
+    void defaultsPass() {
+        assertEquals(List.of(), ConfigValidator.validate(fargate()));
+    }
+
+    @Test
+    void fargateRejectsPairsOutsideTheMatrix() {
+        List<Violation> violations = ConfigValidator.validate(sized(256, 8192));
+        assertEquals(1, violations.size(), violations.toString());
+        assertEquals("memory", violations.get(0).field());
+        assertTrue(violations.get(0).message().contains("512, 1024 or 2048 MiB"), violations.toString());
+
+        // 256 cpu skips 1536; the other rows reject values off their step or outside their range
+        assertEquals(List.of("memory"), fields(sized(256, 1536)));
+        assertEquals(List.of("memory"), fields(sized(1024, 1024)));
+        assertEquals(List.of("memory"), fields(sized(1024, 9216)));
+        assertEquals(List.of("memory"), fields(sized(8192, 18432)));
+        assertEquals(List.of("cpu"), fields(sized(3000, 4096)));
+    }
+
+    @Test
+    void fargateAcceptsEveryCpuAtBothEndsOfItsMemoryRange() {
+        for (Map.Entry<Integer, int[]> row : ConfigValidator.FARGATE_MEMORY.entrySet()) {
+            int cpu = row.getKey();
+            int[] range = row.getValue();
+            for (int memory : new int[]{range[0], range[0] + range[2], range[1]}) {
+                assertEquals(List.of(), ConfigValidator.validate(sized(cpu, memory)), cpu + "/" + memory);
+            }
+        }
+        assertEquals(List.of(), ConfigValidator.validate(sized(256, 1024)));
+    }
+
+    @Test
+    void sizeIsNotCheckedOffFargate() {
+        DeploymentConfig config = sized(256, 8192);
+        config.runtime = RuntimeType.EC2;
+
+        assertEquals(List.of(), ConfigValidator.validate(config));
+    }
+
+    @Test
+    void minCapacityMustNotExceedMax() {
+        DeploymentConfig config = fargate();
+        config.minInstanceCapacity = 3;
+        config.maxInstanceCapacity = 2;
+
+        assertEquals(List.of("minInstanceCapacity"), fields(config));
+
+        config.maxInstanceCapacity = 3;
+        assertEquals(List.of(), fields(config));
+    }
+
+    @Test
+    void healthCheckTimeoutMustBeShorterThanTheInterval() {
+        DeploymentConfig config = fargate();
+        config.healthCheckInterval = 10;
+        config.healthCheckTimeout = 10;
+        assertEquals(List.of("healthCheckTimeout"), fields(config));
+
+        config.healthCheckTimeout = 15;
+        assertEquals(List.of("healthCheckTimeout"), fields(config));
+
+        config.healthCheckTimeout = 9;
+        assertEquals(List.of(), fields(config));
+    }
+
+    @Test
+    void ssoFieldsAreRequiredOnceAuthIsOn() {
+        DeploymentConfig config = fargate();
+        config.authMode = "alb-oidc";
+        config.domain = "example.com";
+        config.enableSsl = true;
+
+        assertEquals(List.of("ssoInstanceArn", "ssoGroupId", "ssoTargetAccountId"), fields(config));
+
+        config.ssoInstanceArn = "arn:aws:sso:::instance/ssoins-0123456789abcdef";
+        config.ssoGroupId = "90676b2b3c-1f2e3d4c-5b6a-7980-a1b2-c3d4e5f60718";
+        config.ssoTargetAccountId = "123456789012";
+        assertEquals(List.of(), fields(config));
+
+        config.ssoTargetAccountId = "12345";
+        assertEquals(List.of("ssoTargetAccountId"), fields(config));
+    }
+
+    @Test
+    void everyViolationIsReportedInOnePass() {
+        DeploymentConfig config = sized(256, 8192);
+        config.minInstanceCapacity = 2;
+        config.maxInstanceCapacity = 1;
+        config.healthCheckInterval = 5;
+        config.healthCheckTimeout = 5;
+        config.authMode = "alb-oidc";
+
+        assertEquals(List.of("memory", "minInstanceCapacity", "healthCheckTimeout",
+            "ssoInstanceArn", "ssoGroupId", "ssoTargetAccountId", "authMode"), fields(config));
+    }
+}
@@ -0,0 +1,153 @@
+package com.cloudforgeci.samples.deploy;
+
+import com.cloudforgeci.samples.deploy.DeployLedger.Fingerprint;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeployLedgerTest {
+
+    private static final String STACK = "jenkins-dev";
+
+    @TempDir
+    Path dir;
+
+    private Path ledgerFile;
+    private Path template;
+    private Path manifest;
+
+    @BeforeEach
+    void synth() throws IOException {
+        ledgerFile = dir.resolve("deployment-ledger.json");
+        template = dir.resolve("JenkinsStack.template.json");
+        manifest = dir.resolve("JenkinsStack.assets.json");
+        Files.writeString(template, "{\"Resources\":{\"JenkinsVpc\":{\"Type\":\"AWS::EC2::VPC\"}}}");
+        writeManifest("3f1c0a", "9b7e22");
+    }
+
+    /** cdk.out asset manifest; the template is listed as a file asset of its own. */
+    private void writeManifest(String fileAsset, String imageAsset) throws IOException {
+        Files.writeString(manifest, """
+            {
+              "version": "36.0.0",
+              "files": {
+                "%s": { "source": { "path": "asset.%s", "packaging": "zip" } },
+                "c0ffee": { "source": { "path": "JenkinsStack.template.json", "packaging": "file" } }
+              },
+              "dockerImages": {
+                "%s": { "source": { "directory": "asset.%s" } }
+              }
+            }
+            """.formatted(fileAsset, fileAsset, imageAsset, imageAsset));
+    }
+
+    private Fingerprint fingerprint() throws IOException {
+        return Fingerprint.of(template, manifest);
+    }
+
+    /** Records a successful deploy and reads the ledger back from disk, as the next run does. */
+    private DeployLedger deployed(Fingerprint fingerprint) throws IOException {
+        DeployLedger ledger = DeployLedger.load(ledgerFile);
+        ledger.record(STACK, "dev", fingerprint);
+        ledger.save();
+        return DeployLedger.load(ledgerFile);
+    }
+
+    @Test
+    void fingerprintCoversTemplateAndAssetsButNotTheTemplateAsset() throws IOException {
+        Fingerprint fingerprint = fingerprint();
+
+        assertEquals(Set.of("files/3f1c0a", "dockerImages/9b7e22"), fingerprint.assetHashes());
+        assertEquals(64, fingerprint.templateHash().length());
+        assertEquals(fingerprint, Fingerprint.of(template, manifest));
+        // No manifest next to the template: the template hash alone
+        assertTrue(Fingerprint.of(template, dir.resolve("missing.assets.json")).assetHashes().isEmpty());
+    }
+
+    @Test
+    void identicalSynthIsUpToDate() throws IOException {
+        DeployLedger ledger = deployed(fingerprint());
+
+        assertTrue(ledger.isUpToDate(STACK, "dev", fingerprint()));
+    }
+
+    @Test
+    void templateChangeIsNotUpToDate() throws IOException {
+        DeployLedger ledger = deployed(fingerprint());
+        Files.writeString(template, "{\"Resources\":{\"JenkinsVpc\":{\"Type\":\"AWS::EC2::VPC\",\"Properties\":{}}}}");
+
+        assertFalse(ledger.isUpToDate(STACK, "dev", fingerprint()));
+    }
+
+    @Test
+    void assetChangeWithSameTemplateIsNotUpToDate() throws IOException {
+        // A rebuilt image changes only the image asset hash; the template references it by parameter
+        DeployLedger ledger = deployed(fingerprint());
+        writeManifest("3f1c0a", "d41d8c");
+
+        Fingerprint rebuilt = fingerprint();
+        assertEquals(Fingerprint.of(template, null).templateHash(), rebuilt.templateHash());
+        assertFalse(ledger.isUpToDate(STACK, "dev", rebuilt));
+    }
+
+    @Test
+    void entriesAreKeyedByStackAndEnvironment() throws IOException {
+        DeployLedger ledger = deployed(fingerprint());
+
+        assertFalse(ledger.isUpToDate(STACK, "prod", fingerprint()));
+        assertFalse(ledger.isUpToDate("jenkins-staging", "dev", fingerprint()));
+
+        JsonNode onDisk = new ObjectMapper().readTree(ledgerFile.toFile());
+        List<String> keys = new ArrayList<>();
+        onDisk.fieldNames().forEachRemaining(keys::add);
+        assertEquals(List.of(STACK + "@dev"), keys);
+        assertEquals(fingerprint().templateHash(), onDisk.path(STACK + "@dev").path("templateHash").asText());
+        assertEquals(2, onDisk.path(STACK + "@dev").path("assetHashes").size());
+    }
+
+    @Test
+    void forgottenEntryIsNeverUpToDate() throws IOException {
+        // What the deployer does after a failed deploy or a hot-swap
+        DeployLedger ledger = deployed(fingerprint());
+        ledger.record(STACK, "prod", fingerprint());
+        ledger.forget(STACK, "dev");
+        ledger.save();
+
+        DeployLedger reloaded = DeployLedger.load(ledgerFile);
+        assertFalse(reloaded.isUpToDate(STACK, "dev", fingerprint()));
+        assertTrue(reloaded.isUpToDate(STACK, "prod", fingerprint()));
+    }
+
+    @Test
+    void hotswapThenRevertStillDeploys() throws IOException {
+        // The image was hot-swapped and then reverted in code: the synth matches the last full
+        // deploy again, but the running task definition does not
+        Fingerprint full = fingerprint();
+        DeployLedger ledger = deployed(full);
+        ledger.forget(STACK, "dev");
+        ledger.save();
+
+        assertFalse(DeployLedger.load(ledgerFile).isUpToDate(STACK, "dev", full));
+    }
+
+    @Test
+    void missingOrCorruptLedgerStartsEmpty() throws IOException {
+        assertFalse(DeployLedger.load(ledgerFile).isUpToDate(STACK, "dev", fingerprint()));
+
+        Files.writeString(ledgerFile, "[]");
+        assertFalse(DeployLedger.load(ledgerFile).isUpToDate(STACK, "dev", fingerprint()));
+    }
+}
@@ -0,0 +1,119 @@
+package com.cloudforgeci.samples.deploy;
+
+import com.cloudforgeci.samples.deploy.DeployTimeline.Phase;
+import com.cloudforgeci.samples.deploy.DeployTimeline.ResourceSpan;
+import com.cloudforgeci.samples.deploy.DeployTimeline.Run;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeployTimelineTest {
+
+    private static final String STACK = "jenkins-dev";
+
+    /** describe-stack-events output, newest first, as saved by the AWS CLI. */
+    static String fixture(String name) throws IOException {
+        try (InputStream in = DeployTimelineTest.class.getResourceAsStream("/timeline/" + name)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static List<ResourceSpan> spans(List<ResourceSpan> spans, String logicalId) {
+        return spans.stream().filter(span -> span.logicalId().equals(logicalId)).toList();
+    }
+
+    @Test
+    void eachStartIsPairedWithItsOwnTerminalEvent() throws IOException {
+        List<ResourceSpan> spans = DeployTimeline.parseEvents(STACK, fixture("create-events.json"), Instant.EPOCH);
+
+        ResourceSpan vpc = spans(spans, "JenkinsVpc").get(0);
+        // Two CREATE_IN_PROGRESS events: the first starts the operation
+        assertEquals(Instant.parse("2026-01-10T10:00:05Z"), vpc.start());
+        assertEquals(Instant.parse("2026-01-10T10:00:20Z"), vpc.end());
+        assertEquals("CREATE_COMPLETE", vpc.status());
+
+        ResourceSpan service = spans(spans, "JenkinsService").get(0);
+        assertEquals(Duration.ofSeconds(209), service.duration());
+        assertEquals(1, spans(spans, STACK).size());
+        assertTrue(spans.stream().noneMatch(ResourceSpan::cleanup));
+    }
+
+    @Test
+    void replacementSplitsIntoUpdateAndCleanupDelete() throws IOException {
+        String events = fixture("update-events.json");
+        List<ResourceSpan> spans = DeployTimeline.parseEvents(STACK, events, DeployTimeline.lastOperationStart(STACK, events));
+
+        List<ResourceSpan> taskDef = spans(spans, "JenkinsTaskDef");
+        assertEquals(2, taskDef.size());
+        ResourceSpan update = taskDef.get(0);
+        assertEquals("UPDATE_COMPLETE", update.status());
+        assertEquals(Duration.ofSeconds(2), update.duration());
+        assertFalse(update.cleanup());
+        ResourceSpan delete = taskDef.get(1);
+        assertEquals("DELETE_COMPLETE", delete.status());
+        assertEquals(Instant.parse("2026-01-12T09:08:33Z"), delete.start());
+        assertTrue(delete.cleanup());
+
+        // The stack's own span runs from UPDATE_IN_PROGRESS to UPDATE_COMPLETE, not to the cleanup marker
+        ResourceSpan stack = spans(spans, STACK).get(0);
+        assertEquals("UPDATE_COMPLETE", stack.status());
+        assertEquals(Instant.parse("2026-01-12T09:08:35Z"), stack.end());
+    }
+
+    @Test
+    void latestOperationExcludesEarlierDeploys() throws IOException {
+        String events = fixture("update-events.json");
+
+        assertEquals(Instant.parse("2026-01-12T09:00:00Z"), DeployTimeline.lastOperationStart(STACK, events));
+        List<ResourceSpan> spans = DeployTimeline.parseEvents(STACK, events, DeployTimeline.lastOperationStart(STACK, events));
+        assertTrue(spans(spans, "JenkinsVpc").isEmpty());
+        assertEquals(1, spans(spans, "JenkinsService").size());
+
+        // From the epoch the history holds both deploys
+        List<ResourceSpan> all = DeployTimeline.parseEvents(STACK, events, Instant.EPOCH);
+        assertEquals(2, spans(all, "JenkinsService").size());
+    }
+
+    @Test
+    void lastOperationStartIsEpochWithoutStackEvents() throws IOException {
+        assertEquals(Instant.EPOCH, DeployTimeline.lastOperationStart(STACK, "{\"StackEvents\":[]}"));
+    }
+
+    @Test
+    void operationStripsThePhase() {
+        assertEquals("UPDATE", DeployTimeline.operation("UPDATE_IN_PROGRESS"));
+        assertEquals("UPDATE_ROLLBACK", DeployTimeline.operation("UPDATE_ROLLBACK_COMPLETE"));
+        assertEquals("DELETE", DeployTimeline.operation("DELETE_FAILED"));
+        assertNull(DeployTimeline.operation("DELETE_SKIPPED"));
+    }
+
+    @Test
+    void appendedRunsRoundTrip(@TempDir Path dir) throws IOException {
+        String events = fixture("update-events.json");
+        List<ResourceSpan> spans = DeployTimeline.parseEvents(STACK, events, DeployTimeline.lastOperationStart(STACK, events));
+        Instant start = Instant.parse("2026-01-12T09:00:00Z");
+        Instant end = Instant.parse("2026-01-12T09:08:35Z");
+        Run run = new Run("run-1", "dev", List.of(STACK), start, end, true, List.of(new Phase("deploy", start, end)), spans);
+
+        Path file = dir.resolve("deployment-timeline.jsonl");
+        DeployTimeline.append(file, run);
+        DeployTimeline.append(file, run);
+        List<Run> loaded = DeployTimeline.load(file);
+
+        assertEquals(2, loaded.size());
+        assertEquals(run, loaded.get(1));
+        assertEquals(1, loaded.get(0).resources().stream().filter(ResourceSpan::cleanup).count());
+    }
+}
@@ -0,0 +1,144 @@
+package com.cloudforgeci.samples.deploy;
+
+import com.cloudforgeci.samples.deploy.HotswapDetector.Decision;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HotswapDetectorTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @TempDir
+    Path dir;
+
+    /** Deployed snapshot of a Fargate Jenkins stack. Each test edits a fresh copy as the next synth. */
+    static ObjectNode deployed() throws IOException {
+        try (InputStream in = HotswapDetectorTest.class.getResourceAsStream("/hotswap/jenkins-dev.template.json")) {
+            return (ObjectNode) MAPPER.readTree(in);
+        }
+    }
+
+    private static ObjectNode taskDef(ObjectNode template) {
+        return (ObjectNode) template.path("Resources").path("JenkinsTaskDef").path("Properties");
+    }
+
+    private static ObjectNode jenkins(ObjectNode template) {
+        return (ObjectNode) taskDef(template).path("ContainerDefinitions").path(0);
+    }
+
+    private static Decision detect(ObjectNode synthesized) throws IOException {
+        return HotswapDetector.detect(deployed(), synthesized);
+    }
+
+    @Test
+    void imageChangeIsHotswappable() throws IOException {
+        ObjectNode synthesized = deployed();
+        jenkins(synthesized).put("Image", "jenkins/jenkins:2.479.2-lts-jdk17");
+
+        Decision decision = detect(synthesized);
+
+        assertTrue(decision.hotswappable(), decision.reason());
+        assertEquals(List.of("JenkinsTaskDef"), decision.taskDefinitions());
+    }
+
+    @Test
+    void environmentChangeIsHotswappable() throws IOException {
+        ObjectNode synthesized = deployed();
+        ((ArrayNode) jenkins(synthesized).path("Environment")).addObject()
+            .put("Name", "CASC_JENKINS_CONFIG").put("Value", "/var/jenkins_home/casc.yaml");
+
+        assertTrue(detect(synthesized).hotswappable());
+    }
+
+    @Test
+    void cpuAndMemoryChangesAreHotswappable() throws IOException {
+        ObjectNode synthesized = deployed();
+        taskDef(synthesized).put("Cpu", "2048").put("Memory", "4096");
+        jenkins(synthesized).put("Memory", 3072);
+
+        Decision decision = detect(synthesized);
+
+        assertTrue(decision.hotswappable(), decision.reason());
+        assertEquals(List.of("JenkinsTaskDef"), decision.taskDefinitions());
+    }
+
+    @Test
+    void changeOutsideTaskDefinitionsNeedsFullDeploy() throws IOException {
+        ObjectNode synthesized = deployed();
+        jenkins(synthesized).put("Image", "jenkins/jenkins:2.479.2-lts-jdk17");
+        ((ObjectNode) synthesized.path("Resources").path("JenkinsService").path("Properties")).put("DesiredCount", 2);
+
+        Decision decision = detect(synthesized);
+
+        assertFalse(decision.hotswappable());
+        assertEquals("MODIFY JenkinsService (AWS::ECS::Service)", decision.reason());
+        assertTrue(decision.taskDefinitions().isEmpty());
+    }
+
+    @Test
+    void taskDefinitionPropertyOutsideTaskPropertiesNeedsFullDeploy() throws IOException {
+        ObjectNode synthesized = deployed();
+        ((ObjectNode) taskDef(synthesized).path("Volumes").path(0).path("EFSVolumeConfiguration"))
+            .put("FilesystemId", "fs-9876543210");
+
+        Decision decision = detect(synthesized);
+
+        assertFalse(decision.hotswappable());
+        assertEquals("JenkinsTaskDef.Volumes changed", decision.reason());
+    }
+
+    @Test
+    void containerPropertyOutsideContainerPropertiesNeedsFullDeploy() throws IOException {
+        ObjectNode synthesized = deployed();
+        ((ObjectNode) jenkins(synthesized).path("PortMappings").path(0)).put("ContainerPort", 8081);
+
+        Decision decision = detect(synthesized);
+
+        assertFalse(decision.hotswappable());
+        assertEquals("JenkinsTaskDef container jenkins.PortMappings changed", decision.reason());
+    }
+
+    @Test
+    void newContainerNeedsFullDeploy() throws IOException {
+        ObjectNode synthesized = deployed();
+        ((ArrayNode) taskDef(synthesized).path("ContainerDefinitions")).addObject()
+            .put("Name", "otel-collector")
+            .put("Image", "public.ecr.aws/aws-observability/aws-otel-collector:v0.40.0")
+            .put("Essential", false);
+
+        Decision decision = detect(synthesized);
+
+        assertFalse(decision.hotswappable());
+        assertEquals("JenkinsTaskDef container count changed", decision.reason());
+    }
+
+    @Test
+    void parameterChangeNeedsFullDeploy() throws IOException {
+        ObjectNode synthesized = deployed();
+        jenkins(synthesized).put("Image", "jenkins/jenkins:2.479.2-lts-jdk17");
+        ((ObjectNode) synthesized.path("Parameters")).putObject("ImageTag").put("Type", "String");
+
+        assertEquals("Parameters changed", detect(synthesized).reason());
+    }
+
+    @Test
+    void nothingToSwapWithoutChangesOrSnapshot() throws IOException {
+        assertEquals(new Decision(false, List.of(), "no resource changes"), detect(deployed()));
+
+        Decision decision = HotswapDetector.detect(dir.resolve("missing.template.json"), dir.resolve("synth.template.json"));
+        assertFalse(decision.hotswappable());
+        assertEquals("no deployed snapshot to compare against", decision.reason());
+    }
+}
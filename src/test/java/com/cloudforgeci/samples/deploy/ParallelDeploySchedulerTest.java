@@ -0,0 +1,121 @@
+package com.cloudforgeci.samples.deploy;
+
+import com.cloudforgeci.samples.deploy.ParallelDeployScheduler.FailurePolicy;
+import com.cloudforgeci.samples.deploy.ParallelDeployScheduler.Result;
+import com.cloudforgeci.samples.deploy.ParallelDeployScheduler.Status;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParallelDeploySchedulerTest {
+
+    /** In-memory executor: records start/end events, fails the listed stacks. */
+    private static final class FakeExecutor implements DeployExecutor {
+        final List<String> events = Collections.synchronizedList(new ArrayList<>());
+        final Set<String> failing;
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+
+        FakeExecutor(Set<String> failing) {
+            this.failing = failing;
+        }
+
+        @Override
+        public boolean deploy(String stackId) throws InterruptedException {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            events.add("start:" + stackId);
+            Thread.sleep(20);
+            events.add("end:" + stackId);
+            running.decrementAndGet();
+            return !failing.contains(stackId);
+        }
+
+        boolean started(String stack) {
+            return events.contains("start:" + stack);
+        }
+
+        int index(String event) {
+            return events.indexOf(event);
+        }
+    }
+
+    /** shared <- team-a, shared <- team-b <- team-b-extras; audit stands alone. */
+    private static StackGraph fleet() {
+        Map<String, Set<String>> dependencies = new LinkedHashMap<>();
+        dependencies.put("shared", Set.of());
+        dependencies.put("audit", Set.of());
+        dependencies.put("team-a", Set.of("shared"));
+        dependencies.put("team-b", Set.of("shared"));
+        dependencies.put("team-b-extras", Set.of("team-b"));
+        return new StackGraph(dependencies);
+    }
+
+    @Test
+    void dependentsStartOnlyAfterTheirPrerequisitesFinish() throws InterruptedException {
+        FakeExecutor executor = new FakeExecutor(Set.of());
+        Result result = new ParallelDeployScheduler(executor, 2, FailurePolicy.ISOLATE, 0).run(fleet());
+
+        assertTrue(result.succeeded());
+        assertTrue(executor.index("end:shared") < executor.index("start:team-a"));
+        assertTrue(executor.index("end:shared") < executor.index("start:team-b"));
+        assertTrue(executor.index("end:team-b") < executor.index("start:team-b-extras"));
+        assertTrue(executor.maxRunning.get() <= 2, "concurrency limit exceeded");
+    }
+
+    @Test
+    void independentStacksRunConcurrently() throws InterruptedException {
+        FakeExecutor executor = new FakeExecutor(Set.of());
+        new ParallelDeployScheduler(executor, 4, FailurePolicy.ISOLATE, 0).run(fleet());
+
+        // shared and audit are both ready at the start
+        assertTrue(executor.index("start:audit") < executor.index("end:shared"));
+        assertTrue(executor.index("start:shared") < executor.index("end:audit"));
+    }
+
+    @Test
+    void isolateSkipsOnlyTheFailedStacksDependents() throws InterruptedException {
+        FakeExecutor executor = new FakeExecutor(Set.of("team-b"));
+        Result result = new ParallelDeployScheduler(executor, 1, FailurePolicy.ISOLATE, 0).run(fleet());
+
+        assertFalse(result.succeeded());
+        assertEquals(Status.FAILED, result.outcomes().get("team-b").status());
+        assertEquals(Status.SKIPPED, result.outcomes().get("team-b-extras").status());
+        assertFalse(executor.started("team-b-extras"));
+        assertTrue(result.succeeded("team-a"));
+        assertTrue(result.succeeded("audit"));
+    }
+
+    @Test
+    void failFastStartsNothingAfterTheFirstFailure() throws InterruptedException {
+        FakeExecutor executor = new FakeExecutor(Set.of("shared"));
+        Result result = new ParallelDeployScheduler(executor, 1, FailurePolicy.FAIL_FAST, 0).run(fleet());
+
+        assertEquals(Status.FAILED, result.outcomes().get("shared").status());
+        // audit has no dependency on shared, but fail-fast halts before it is started
+        assertFalse(executor.started("audit"));
+        for (String stack : List.of("audit", "team-a", "team-b", "team-b-extras")) {
+            assertEquals(Status.SKIPPED, result.outcomes().get(stack).status(), stack);
+        }
+    }
+
+    @Test
+    void failedDeploysAreRetried() throws InterruptedException {
+        AtomicInteger calls = new AtomicInteger();
+        DeployExecutor flaky = stack -> calls.incrementAndGet() > 1;
+        Map<String, Set<String>> single = Map.of("shared", Set.of());
+        Result result = new ParallelDeployScheduler(flaky, 1, FailurePolicy.FAIL_FAST, 1).run(new StackGraph(single));
+
+        assertTrue(result.succeeded());
+        assertEquals(2, result.outcomes().get("shared").attempts());
+    }
+}
@@ -0,0 +1,207 @@
+package com.cloudforgeci.samples.deploy;
+
+import com.cloudforgeci.samples.deploy.Preflight.Check;
+import com.cloudforgeci.samples.deploy.Preflight.Report;
+import com.cloudforgeci.samples.deploy.Preflight.Status;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PreflightTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-12T09:00:00Z");
+    private static final String IDENTITY = "{\"Account\":\"123456789012\",\"Arn\":\"arn:aws:iam::123456789012:user/ci\"}";
+
+    /** Canned CLI: answers by the command's first words and counts calls; unknown commands are not on PATH. */
+    private static final class CannedRunner implements CommandRunner {
+        final Map<String, Result> answers = new ConcurrentHashMap<>();
+        final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+
+        CannedRunner answer(String prefix, int exitCode, String output) {
+            answers.put(prefix, new Result(exitCode, output));
+            return this;
+        }
+
+        @Override
+        public Result run(List<String> command) throws IOException {
+            String line = String.join(" ", command);
+            for (Map.Entry<String, Result> answer : answers.entrySet()) {
+                if (line.startsWith(answer.getKey())) {
+                    calls.computeIfAbsent(answer.getKey(), k -> new AtomicInteger()).incrementAndGet();
+                    return answer.getValue();
+                }
+            }
+            throw new IOException("Cannot run program \"" + command.get(0) + "\"");
+        }
+
+        int calls(String prefix) {
+            AtomicInteger count = calls.get(prefix);
+            return count == null ? 0 : count.get();
+        }
+    }
+
+    @TempDir
+    Path project;
+
+    private Path cacheFile;
+
+    @BeforeEach
+    void compiledProject() throws IOException {
+        cacheFile = project.resolve("target").resolve("preflight-cache.json");
+        touch(project.resolve("src/main/java/App.java"), NOW.minusSeconds(600));
+        touch(project.resolve("target/classes/App.class"), NOW.minusSeconds(60));
+    }
+
+    private static void touch(Path file, Instant modified) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, "");
+        Files.setLastModifiedTime(file, FileTime.from(modified));
+    }
+
+    private static CannedRunner healthy() {
+        return new CannedRunner()
+            .answer("cdk --version", 0, "2.170.0 (build 1a2b3c4)")
+            .answer("aws --version", 0, "aws-cli/2.22.0 Python/3.12.6 Linux/6.1")
+            .answer("aws sts get-caller-identity", 0, IDENTITY)
+            .answer("aws cloudformation describe-stacks", 0, "UPDATE_COMPLETE");
+    }
+
+    private Report run(CannedRunner runner, Instant at) throws InterruptedException {
+        return new Preflight(runner, Clock.fixed(at, ZoneOffset.UTC), Duration.ofMinutes(10), cacheFile, project,
+            "us-east-1", "default").run();
+    }
+
+    private static Check check(Report report, String name) {
+        return report.check(name).orElseThrow();
+    }
+
+    @Test
+    void healthyEnvironmentPasses() throws InterruptedException {
+        Report report = run(healthy(), NOW);
+
+        assertTrue(report.passed());
+        assertEquals("arn:aws:iam::123456789012:user/ci (123456789012)", check(report, "credentials").detail());
+        assertEquals("2.170.0 (build 1a2b3c4)", check(report, "cdk").detail());
+        assertEquals(Status.OK, check(report, "classes").status());
+        assertTrue(report.checks().stream().noneMatch(Check::cached));
+    }
+
+    @Test
+    void resultsAreReusedWithinTheTtl() throws InterruptedException {
+        run(healthy(), NOW);
+        CannedRunner second = healthy();
+        Report report = run(second, NOW.plus(Duration.ofMinutes(9)));
+
+        assertTrue(report.passed());
+        assertEquals(0, second.calls.size(), "cached checks must not run commands");
+        assertTrue(check(report, "credentials").cached());
+        assertTrue(check(report, "bootstrap").cached());
+        // The class check reads the local files every time
+        assertFalse(check(report, "classes").cached());
+    }
+
+    @Test
+    void resultsAreRecheckedAfterTheTtl() throws InterruptedException {
+        run(healthy(), NOW);
+        CannedRunner later = healthy();
+        Report report = run(later, NOW.plus(Duration.ofMinutes(10)));
+
+        assertEquals(1, later.calls("aws sts get-caller-identity"));
+        assertEquals(1, later.calls("cdk --version"));
+        assertFalse(check(report, "credentials").cached());
+    }
+
+    @Test
+    void cacheIsKeyedByProfileAndRegion() throws InterruptedException {
+        run(healthy(), NOW);
+        CannedRunner other = healthy();
+        new Preflight(other, Clock.fixed(NOW, ZoneOffset.UTC), Duration.ofMinutes(10), cacheFile, project,
+            "eu-west-1", "default").run();
+
+        assertEquals(1, other.calls("aws cloudformation describe-stacks"));
+    }
+
+    @Test
+    void failuresAreNotCached() throws InterruptedException {
+        CannedRunner expired = healthy().answer("aws sts get-caller-identity", 255, "ExpiredToken");
+        Report report = run(expired, NOW);
+
+        assertFalse(report.passed());
+        assertEquals(Status.FAIL, check(report, "credentials").status());
+
+        CannedRunner renewed = healthy();
+        Report retried = run(renewed, NOW.plusSeconds(30));
+        assertEquals(1, renewed.calls("aws sts get-caller-identity"));
+        assertEquals(Status.OK, check(retried, "credentials").status());
+        assertFalse(check(retried, "credentials").cached());
+        assertTrue(check(retried, "cdk").cached());
+    }
+
+    @Test
+    void missingCliFailsWithAHint() throws InterruptedException {
+        CannedRunner runner = healthy();
+        runner.answers.remove("cdk --version");
+        Report report = run(runner, NOW);
+
+        assertFalse(report.passed());
+        assertEquals("not found on PATH; npm install -g aws-cdk", check(report, "cdk").detail());
+    }
+
+    @Test
+    void missingBootstrapIsOnlyAWarning() throws InterruptedException {
+        CannedRunner runner = healthy().answer("aws cloudformation describe-stacks", 254, "Stack with id CDKToolkit does not exist");
+        Report report = run(runner, NOW);
+
+        assertTrue(report.passed());
+        assertEquals(Status.WARN, check(report, "bootstrap").status());
+
+        // Warnings are not cached either
+        CannedRunner again = healthy();
+        run(again, NOW.plusSeconds(30));
+        assertEquals(1, again.calls("aws cloudformation describe-stacks"));
+    }
+
+    @Test
+    void sourcesNewerThanClassesAreStale() throws InterruptedException, IOException {
+        touch(project.resolve("src/main/java/App.java"), NOW.minusSeconds(5));
+        Report report = run(healthy(), NOW);
+
+        assertFalse(report.passed());
+        Check classes = check(report, "classes");
+        assertEquals(Status.FAIL, classes.status());
+        assertEquals("sources changed since the last compile; run mvn compile", classes.detail());
+        // Only the class check failed: the deployer exits with STALE_CLASSES_EXIT and the script recompiles
+        assertTrue(report.checks().stream().filter(check -> check.status() == Status.FAIL)
+            .allMatch(check -> check.name().equals("classes")));
+    }
+
+    @Test
+    void emptyClassesDirectoryFails() throws InterruptedException, IOException {
+        Files.delete(project.resolve("target/classes/App.class"));
+
+        assertEquals("target/classes is empty; run mvn compile", check(run(healthy(), NOW), "classes").detail());
+    }
+
+    @Test
+    void cdkAppChildProcessIsDetected() {
+        assertTrue(Preflight.runningAsCdkApp(Map.of("CDK_OUTDIR", "cdk.out")));
+        assertFalse(Preflight.runningAsCdkApp(Map.of("AWS_REGION", "us-east-1")));
+    }
+}
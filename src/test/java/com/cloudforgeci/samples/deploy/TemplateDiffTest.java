@@ -0,0 +1,177 @@
+package com.cloudforgeci.samples.deploy;
+
+import com.cloudforgeci.samples.deploy.TemplateDiff.Action;
+import com.cloudforgeci.samples.deploy.TemplateDiff.Impact;
+import com.cloudforgeci.samples.deploy.TemplateDiff.ResourceChange;
+import com.cloudforgeci.samples.deploy.TemplateDiff.Result;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TemplateDiffTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /** Last deployed template of jenkins-dev, as stored in deployment-snapshots/. */
+    private static final String SNAPSHOT = "jenkins-dev.template.json";
+
+    /** The next synth: EFS encryption and the security group description change, two buckets go away. */
+    private static final String SYNTHESIZED = "synthesized.template.json";
+
+    @TempDir
+    Path snapshotDir;
+
+    static Path fixture(String name) {
+        try {
+            return Path.of(TemplateDiffTest.class.getResource("/templatediff/" + name).toURI());
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static ObjectNode template(String name) throws IOException {
+        return (ObjectNode) MAPPER.readTree(fixture(name).toFile());
+    }
+
+    private static ResourceChange change(Result result, String logicalId) {
+        return result.changes().stream().filter(c -> c.logicalId().equals(logicalId)).findFirst().orElse(null);
+    }
+
+    private Result diffAgainstSnapshot() throws IOException {
+        TemplateSnapshots snapshots = new TemplateSnapshots(snapshotDir);
+        snapshots.save("jenkins-dev", fixture(SNAPSHOT));
+        return snapshots.diff("jenkins-dev", fixture(SYNTHESIZED));
+    }
+
+    @Test
+    void propertyOutsideReplacementRulesUpdatesInPlace() throws IOException {
+        Result result = diffAgainstSnapshot();
+
+        ResourceChange logGroup = change(result, "JenkinsLogGroup");
+        assertEquals(Action.MODIFY, logGroup.action());
+        assertEquals(Impact.IN_PLACE, logGroup.impact());
+        assertEquals(Set.of("RetentionInDays"), logGroup.changedProperties());
+        assertNull(logGroup.reason());
+
+        ResourceChange service = change(result, "JenkinsService");
+        assertEquals(Impact.IN_PLACE, service.impact());
+        assertEquals(Set.of("DesiredCount"), service.changedProperties());
+
+        ResourceChange alarm = change(result, "JenkinsQueueAlarm");
+        assertEquals(Action.ADD, alarm.action());
+        assertEquals(Impact.IN_PLACE, alarm.impact());
+        assertNull(change(result, "JenkinsVpc"));
+    }
+
+    @Test
+    void replacementPropertyReplacesTheResource() throws IOException {
+        ResourceChange securityGroup = change(diffAgainstSnapshot(), "JenkinsSecurityGroup");
+
+        assertEquals(Action.MODIFY, securityGroup.action());
+        assertEquals(Impact.REPLACEMENT, securityGroup.impact());
+        assertEquals(Set.of("GroupDescription"), securityGroup.changedProperties());
+        assertEquals("GroupDescription requires replacement", securityGroup.reason());
+    }
+
+    @Test
+    void statefulResourcesAreFlaggedWhenReplacedOrDeleted() throws IOException {
+        Result result = diffAgainstSnapshot();
+
+        ResourceChange fileSystem = change(result, "JenkinsFileSystem");
+        assertEquals(Impact.STATEFUL_RISK, fileSystem.impact());
+        assertEquals("Encrypted requires replacement", fileSystem.reason());
+
+        ResourceChange cache = change(result, "JenkinsCache");
+        assertEquals(Action.REMOVE, cache.action());
+        assertEquals(Impact.STATEFUL_RISK, cache.impact());
+
+        // DeletionPolicy Retain keeps the bucket, so removing it from the stack loses nothing
+        ResourceChange artifacts = change(result, "JenkinsArtifacts");
+        assertEquals(Action.REMOVE, artifacts.action());
+        assertEquals(Impact.REPLACEMENT, artifacts.impact());
+        assertEquals(Impact.STATEFUL_RISK, result.maxImpact());
+    }
+
+    @Test
+    void replacementCascadesThroughRefGetAttAndSub() throws IOException {
+        Result result = diffAgainstSnapshot();
+
+        // Ref in a replacement property
+        ResourceChange mountTarget = change(result, "JenkinsMountTarget");
+        assertEquals(Impact.REPLACEMENT, mountTarget.impact());
+        assertEquals(Set.of("FileSystemId"), mountTarget.changedProperties());
+        assertEquals("references replaced JenkinsFileSystem", mountTarget.reason());
+
+        // Fn::GetAtt into an access point, which any change replaces
+        ResourceChange accessPoint = change(result, "JenkinsAccessPoint");
+        assertEquals(Impact.REPLACEMENT, accessPoint.impact());
+        assertEquals("references replaced JenkinsFileSystem", accessPoint.reason());
+
+        // Fn::Sub one level further down; the in-place log group Ref does not count
+        ResourceChange taskDef = change(result, "JenkinsTaskDef");
+        assertEquals(Impact.REPLACEMENT, taskDef.impact());
+        assertEquals(Set.of("Volumes"), taskDef.changedProperties());
+        assertEquals("references replaced JenkinsAccessPoint", taskDef.reason());
+
+        // TaskDefinition is not a replacement property of a service
+        assertEquals(Impact.IN_PLACE, change(result, "JenkinsService").impact());
+    }
+
+    @Test
+    void cascadeOnlyFollowsReplacementProperties() throws IOException {
+        ObjectNode candidate = template(SNAPSHOT);
+        ((ObjectNode) candidate.path("Resources").path("JenkinsSecurityGroup").path("Properties"))
+            .put("GroupDescription", "Jenkins controller (ALB only)");
+
+        Result result = TemplateDiff.compare(template(SNAPSHOT), candidate);
+
+        // The mount target reaches the group through SecurityGroups, which updates in place
+        assertEquals(List.of("JenkinsSecurityGroup"),
+            result.changes().stream().map(ResourceChange::logicalId).toList());
+    }
+
+    @Test
+    void changesAreOrderedMostDisruptiveFirst() throws IOException {
+        Result result = diffAgainstSnapshot();
+
+        assertEquals(List.of(
+                "JenkinsCache", "JenkinsFileSystem",
+                "JenkinsAccessPoint", "JenkinsArtifacts", "JenkinsMountTarget", "JenkinsSecurityGroup", "JenkinsTaskDef",
+                "JenkinsLogGroup", "JenkinsQueueAlarm", "JenkinsService"),
+            result.changes().stream().map(ResourceChange::logicalId).toList());
+        assertEquals(2, result.count(Impact.STATEFUL_RISK));
+        assertEquals(5, result.count(Impact.REPLACEMENT));
+        assertEquals(3, result.count(Impact.IN_PLACE));
+        List<String> lines = result.render();
+        assertTrue(lines.get(0).startsWith("🔴 REMOVE JenkinsCache (AWS::S3::Bucket) → STATEFUL_RISK"), lines.get(0));
+        assertEquals("Summary: 3 in-place, 5 replacement, 2 stateful risk", lines.get(lines.size() - 1));
+    }
+
+    @Test
+    void missingSnapshotReportsEveryResourceAsAdded() throws IOException {
+        Result result = TemplateDiff.compare(snapshotDir.resolve(SNAPSHOT), fixture(SNAPSHOT));
+
+        assertEquals(10, result.changes().size());
+        assertTrue(result.changes().stream().allMatch(c -> c.action() == Action.ADD && c.impact() == Impact.IN_PLACE));
+    }
+
+    @Test
+    void identicalTemplatesHaveNoChanges() throws IOException {
+        Result result = TemplateDiff.compare(fixture(SNAPSHOT), fixture(SNAPSHOT));
+
+        assertFalse(result.hasChanges());
+        assertEquals(List.of("✅ No resource changes"), result.render());
+    }
+}
@@ -0,0 +1,111 @@
+package com.cloudforgeci.samples.deploy;
+
+import com.cloudforgeci.samples.deploy.DeployTimeline.Phase;
+import com.cloudforgeci.samples.deploy.DeployTimeline.ResourceSpan;
+import com.cloudforgeci.samples.deploy.DeployTimeline.Run;
+import com.cloudforgeci.samples.deploy.TimelineReport.Regression;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimelineReportTest {
+
+    private static final String STACK = "jenkins-dev";
+    private static final Instant T0 = Instant.parse("2026-01-12T09:00:00Z");
+
+    private static ResourceSpan span(String logicalId, long startSeconds, long endSeconds) {
+        return new ResourceSpan(STACK, logicalId, "AWS::Test::Resource", T0.plusSeconds(startSeconds),
+            T0.plusSeconds(endSeconds), "CREATE_COMPLETE", false);
+    }
+
+    private static Run run(String id, long dayOffset, List<ResourceSpan> spans) {
+        List<ResourceSpan> shifted = new ArrayList<>();
+        for (ResourceSpan span : spans) {
+            shifted.add(new ResourceSpan(span.stack(), span.logicalId(), span.type(), span.start().plus(Duration.ofDays(dayOffset)),
+                span.end().plus(Duration.ofDays(dayOffset)), span.status(), span.cleanup()));
+        }
+        Instant start = T0.plus(Duration.ofDays(dayOffset));
+        Instant end = shifted.stream().map(ResourceSpan::end).max(Instant::compareTo).orElse(start);
+        return new Run(id, "dev", List.of(STACK), start, end, true, List.of(new Phase("deploy", start, end)), shifted);
+    }
+
+    private static List<String> ids(List<ResourceSpan> spans) {
+        return spans.stream().map(ResourceSpan::logicalId).toList();
+    }
+
+    @Test
+    void criticalPathFollowsTheLatestFinishedPredecessor() {
+        List<ResourceSpan> spans = List.of(
+            span("Vpc", 5, 20),
+            span("LogGroup", 22, 24),
+            span("FileSystem", 21, 90),
+            span("Service", 91, 300));
+
+        // LogGroup ended long before Service started; FileSystem is what Service waited for
+        assertEquals(List.of("Vpc", "FileSystem", "Service"), ids(TimelineReport.criticalPath(spans)));
+    }
+
+    @Test
+    void criticalPathOfTheFixtureDeploy() throws IOException {
+        List<ResourceSpan> spans = DeployTimeline.parseEvents(STACK, DeployTimelineTest.fixture("create-events.json"), Instant.EPOCH);
+        Run run = new Run("run-1", "dev", List.of(STACK), T0, T0, true, List.of(), spans);
+
+        assertEquals(List.of("JenkinsVpc", "JenkinsFileSystem", "JenkinsService"),
+            ids(TimelineReport.criticalPath(TimelineReport.resources(run))));
+    }
+
+    @Test
+    void cleanupDeletesStayOffTheCriticalPath() throws IOException {
+        String events = DeployTimelineTest.fixture("update-events.json");
+        List<ResourceSpan> spans = DeployTimeline.parseEvents(STACK, events, DeployTimeline.lastOperationStart(STACK, events));
+        Run run = new Run("run-1", "dev", List.of(STACK), T0, T0.plusSeconds(515), true, List.of(), spans);
+
+        List<ResourceSpan> resources = TimelineReport.resources(run);
+        assertTrue(resources.stream().noneMatch(ResourceSpan::cleanup));
+        assertTrue(resources.stream().noneMatch(span -> span.logicalId().equals(STACK)));
+        assertEquals("JenkinsService", TimelineReport.criticalPath(resources).get(1).logicalId());
+
+        List<String> report = TimelineReport.render(List.of(run), STACK);
+        assertTrue(report.contains("🧹 Cleanup: 1 replaced or removed resource(s) deleted in 1s"), String.join("\n", report));
+    }
+
+    @Test
+    void regressionsNeedBothFactorAndMargin() {
+        List<Run> previous = List.of(
+            run("a", 0, List.of(span("Service", 0, 200), span("Alarm", 0, 10))),
+            run("b", 1, List.of(span("Service", 0, 210), span("Alarm", 0, 12))),
+            run("c", 2, List.of(span("Service", 0, 220), span("Alarm", 0, 11))));
+        // Service: 500s vs median 210s; Alarm: 4x slower but only 33s more
+        Run latest = run("d", 3, List.of(span("Service", 0, 500), span("Alarm", 0, 44)));
+
+        List<Regression> regressions = TimelineReport.regressions(latest, previous);
+
+        assertEquals(1, regressions.size());
+        assertEquals("Service", regressions.get(0).logicalId());
+        assertEquals(Duration.ofSeconds(210), regressions.get(0).median());
+        assertEquals(Duration.ofSeconds(500), regressions.get(0).latest());
+    }
+
+    @Test
+    void slowCleanupIsNotARegression() {
+        ResourceSpan cleanup = new ResourceSpan(STACK, "TaskDef", "AWS::ECS::TaskDefinition", T0.plusSeconds(10),
+            T0.plusSeconds(400), "DELETE_COMPLETE", true);
+        List<Run> previous = List.of(run("a", 0, List.of(span("TaskDef", 0, 5))));
+        Run latest = run("b", 1, List.of(span("TaskDef", 0, 5), cleanup));
+
+        assertTrue(TimelineReport.regressions(latest, previous).isEmpty());
+    }
+
+    @Test
+    void medianAveragesTheMiddlePair() {
+        assertEquals(Duration.ofSeconds(15), TimelineReport.median(List.of(
+            Duration.ofSeconds(30), Duration.ofSeconds(10), Duration.ofSeconds(20), Duration.ofSeconds(5))));
+    }
+}
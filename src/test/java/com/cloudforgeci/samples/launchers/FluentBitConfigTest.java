@@ -0,0 +1,120 @@
+package com.cloudforgeci.samples.launchers;
+
+import com.cloudforgeci.samples.launchers.FluentBitConfig.Settings;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FluentBitConfigTest {
+
+    private static final List<String> DROPS = List.of("Started Periodic background build discarder", "Download metadata");
+
+    private static Settings ec2(int samplePercent) {
+        return new Settings("eu-west-1", "ci-build-logs", "/cloudforge/jenkins/controller", "/var/lib/jenkins",
+            "controller", samplePercent, DROPS, true);
+    }
+
+    private static Settings firelens(int samplePercent) {
+        return new Settings("eu-west-1", "ci-build-logs", "/cloudforge/jenkins/controller", "/var/jenkins_home",
+            "jenkins-firelens-*", samplePercent, List.of(), false);
+    }
+
+    /** The config's sections as "[NAME]" followed by their key/value lines, in order. */
+    private static List<String> sections(String conf) {
+        List<String> sections = new ArrayList<>();
+        for (String block : conf.split("\n\\[")) {
+            if (!block.startsWith("#")) {
+                sections.add("[" + block.strip().replaceAll(" +", " "));
+            }
+        }
+        return sections;
+    }
+
+    private static String only(List<String> sections, String... fragments) {
+        List<String> matching = sections.stream()
+            .filter(section -> List.of(fragments).stream().allMatch(section::contains))
+            .toList();
+        assertEquals(1, matching.size(), "sections containing " + List.of(fragments) + ": " + matching);
+        return matching.get(0);
+    }
+
+    @Test
+    void buildLogsAreTailedFromJenkinsHomeAndShippedToS3() {
+        List<String> sections = sections(FluentBitConfig.render(ec2(100)));
+
+        String tail = only(sections, "[INPUT]", "Name tail");
+        assertTrue(tail.contains("Tag " + FluentBitConfig.BUILD_TAG), tail);
+        assertTrue(tail.contains("/var/lib/jenkins/jobs/*/builds/*/log"), tail);
+        assertTrue(tail.contains("/var/lib/jenkins/jobs/*/jobs/*/branches/*/builds/*/log"), tail);
+        assertTrue(tail.contains("Inotify_Watcher false"), tail);
+
+        only(sections, "[FILTER]", "Name lua", "Match " + FluentBitConfig.BUILD_TAG, "call strip_notes");
+        String s3 = only(sections, "[OUTPUT]", "Name s3");
+        assertTrue(s3.contains("Match " + FluentBitConfig.BUILD_TAG), s3);
+        assertTrue(s3.contains("bucket ci-build-logs"), s3);
+        assertTrue(s3.contains("region eu-west-1"), s3);
+        assertTrue(s3.contains("compression gzip"), s3);
+        assertTrue(s3.contains("s3_key_format /build-logs/"), s3);
+    }
+
+    @Test
+    void controllerLogsGoToCloudWatchOnly() {
+        List<String> sections = sections(FluentBitConfig.render(ec2(100)));
+
+        String cloudwatch = only(sections, "[OUTPUT]", "Name cloudwatch_logs");
+        assertTrue(cloudwatch.contains("Match controller"), cloudwatch);
+        assertTrue(cloudwatch.contains("log_group_name /cloudforge/jenkins/controller"), cloudwatch);
+        assertTrue(cloudwatch.contains("auto_create_group false"), cloudwatch);
+        // Build logs never reach CloudWatch, controller logs never reach S3
+        assertFalse(cloudwatch.contains(FluentBitConfig.BUILD_TAG));
+        assertFalse(only(sections, "[OUTPUT]", "Name s3").contains("Match controller"));
+    }
+
+    @Test
+    void dropPatternsBecomeGrepExcludesOnTheControllerStream() {
+        List<String> sections = sections(FluentBitConfig.render(ec2(100)));
+
+        for (String pattern : DROPS) {
+            String grep = only(sections, "[FILTER]", "Name grep", pattern);
+            assertTrue(grep.contains("Match controller"), grep);
+            assertTrue(grep.contains("Exclude log " + pattern), grep);
+        }
+    }
+
+    @Test
+    void samplingKeepsWarningsAndOnlyRunsBelow100Percent() {
+        String sampled = only(sections(FluentBitConfig.render(ec2(10))), "[FILTER]", "call sample");
+        assertTrue(sampled.contains("Match controller"), sampled);
+        assertTrue(sampled.contains("math.random(100) <= 10"), sampled);
+        assertTrue(sampled.contains("WARNING") && sampled.contains("SEVERE"), sampled);
+
+        assertFalse(FluentBitConfig.render(ec2(100)).contains("call sample"));
+    }
+
+    @Test
+    void ec2AgentReadsJenkinsFromJournald() {
+        List<String> sections = sections(FluentBitConfig.render(ec2(100)));
+
+        only(sections, "[SERVICE]", "storage.path /var/lib/fluent-bit/buffer");
+        String journald = only(sections, "[INPUT]", "Name systemd");
+        assertTrue(journald.contains("Tag controller"), journald);
+        assertTrue(journald.contains("_SYSTEMD_UNIT=jenkins.service"), journald);
+    }
+
+    @Test
+    void fireLensIncludeLeavesServiceAndForwardInputToFireLens() {
+        String conf = FluentBitConfig.render(firelens(50));
+        List<String> sections = sections(conf);
+
+        assertFalse(conf.contains("[SERVICE]"));
+        assertFalse(conf.contains("Name systemd"));
+        assertTrue(only(sections, "[INPUT]", "Name tail").contains("DB /tmp/builds.db"));
+        assertTrue(only(sections, "[OUTPUT]", "Name cloudwatch_logs").contains("Match jenkins-firelens-*"));
+        assertTrue(only(sections, "[FILTER]", "call sample").contains("Match jenkins-firelens-*"));
+    }
+}
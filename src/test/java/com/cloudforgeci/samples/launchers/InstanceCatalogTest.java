@@ -0,0 +1,47 @@
+package com.cloudforgeci.samples.launchers;
+
+import com.cloudforgeci.samples.launchers.InstanceCatalog.Architecture;
+import com.cloudforgeci.samples.launchers.InstanceCatalog.InstanceOption;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InstanceCatalogTest {
+
+    @Test
+    void catalogTypesAreBurstableExactlyWhenTheirBaselineIsBelow100() {
+        for (InstanceOption option : InstanceCatalog.options()) {
+            assertEquals(option.baselinePercent() < 100, InstanceCatalog.isBurstable(option.type()), option.type());
+        }
+    }
+
+    @Test
+    void unknownTypesFallBackToTheTSeriesFamilyName() {
+        assertTrue(InstanceCatalog.isBurstable("t3a.small"));
+        assertTrue(InstanceCatalog.isBurstable("t2.micro"));
+        // Trainium starts with "t" but runs at a fixed 100%
+        assertFalse(InstanceCatalog.isBurstable("trn1.2xlarge"));
+        assertFalse(InstanceCatalog.isBurstable("c6i.large"));
+    }
+
+    @Test
+    void instanceStoreCoversDTypesAndStorageOptimizedFamilies() {
+        for (String type : new String[]{"c7gd.xlarge", "c6id.2xlarge", "c5ad.large", "i3.xlarge", "i3en.large",
+                "i4i.xlarge", "i4g.2xlarge", "im4gn.large", "is4gen.medium"}) {
+            assertTrue(InstanceCatalog.hasInstanceStore(type), type);
+        }
+        for (String type : new String[]{"c7g.xlarge", "m7i.large", "t3.medium", "inf2.xlarge"}) {
+            assertFalse(InstanceCatalog.hasInstanceStore(type), type);
+        }
+    }
+
+    @Test
+    void gravitonFamiliesAreArm64() {
+        assertEquals(Architecture.ARM64, InstanceCatalog.architectureOf("t4g.medium"));
+        assertEquals(Architecture.ARM64, InstanceCatalog.architectureOf("c6gn.xlarge"));
+        assertEquals(Architecture.X86_64, InstanceCatalog.architectureOf("c7i.large"));
+        assertEquals(Architecture.X86_64, InstanceCatalog.architectureOf("m6id.2xlarge"));
+    }
+}
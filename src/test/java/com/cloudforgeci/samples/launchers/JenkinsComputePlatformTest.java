@@ -0,0 +1,78 @@
+package com.cloudforgeci.samples.launchers;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awscdk.Stack;
+import software.amazon.awscdk.assertions.Match;
+import software.amazon.awscdk.assertions.Template;
+import software.amazon.awscdk.services.ec2.CfnLaunchTemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JenkinsComputePlatformTest {
+
+    /** A launch template as the factory generates it, on the stock x86 image. */
+    private static Template ec2(String instanceType, String creditMode) {
+        Map<String, Object> cfc = new HashMap<>();
+        cfc.put("instanceType", instanceType);
+        cfc.put("cpuCreditMode", creditMode);
+        Stack stack = TestStacks.withContext(cfc);
+        CfnLaunchTemplate.Builder.create(stack, "JenkinsLaunchTemplate")
+            .launchTemplateData(CfnLaunchTemplate.LaunchTemplateDataProperty.builder()
+                .imageId("ami-0123456789abcdef0")
+                .instanceType(instanceType)
+                .build())
+            .build();
+        JenkinsComputePlatform.applyToEc2(stack);
+        return TestStacks.template(stack);
+    }
+
+    private static Map<String, Object> credits(Object value) {
+        return Map.of("LaunchTemplateData", Match.objectLike(Map.of("CreditSpecification", value)));
+    }
+
+    @Test
+    void burstableTypesGetTheCreditMode() {
+        Template template = ec2("t3.medium", "unlimited");
+
+        template.hasResourceProperties("AWS::EC2::LaunchTemplate", credits(Map.of("CpuCredits", "unlimited")));
+    }
+
+    @Test
+    void fixedPerformanceTypesGetNoCreditSpecification() {
+        for (String type : new String[]{"c7i.large", "m7g.xlarge", "trn1.2xlarge"}) {
+            ec2(type, "unlimited").hasResourceProperties("AWS::EC2::LaunchTemplate", credits(Match.absent()));
+        }
+    }
+
+    @Test
+    void gravitonTypesBootTheArm64Image() {
+        Template template = ec2("c7g.large", "");
+
+        assertTrue(template.findParameters("*").toString().contains("arm64"));
+        template.hasResourceProperties("AWS::EC2::LaunchTemplate", Map.of("LaunchTemplateData",
+            Match.objectLike(Map.of("ImageId", Match.objectLike(Map.of("Ref", Match.anyValue()))))));
+    }
+
+    @Test
+    void x86TypesKeepTheFactoryImage() {
+        Template template = ec2("c7i.large", "");
+
+        assertFalse(template.findParameters("*").toString().contains("arm64"));
+        template.hasResourceProperties("AWS::EC2::LaunchTemplate", Map.of("LaunchTemplateData",
+            Match.objectLike(Map.of("ImageId", "ami-0123456789abcdef0"))));
+    }
+
+    @Test
+    void arm64FargateTasksDeclareTheirRuntimePlatform() {
+        Stack stack = TestStacks.withContext(Map.of("cpuArchitecture", "ARM64"));
+        TestStacks.jenkinsTask(stack);
+        JenkinsComputePlatform.applyToFargate(stack);
+
+        TestStacks.template(stack).hasResourceProperties("AWS::ECS::TaskDefinition", Map.of("RuntimePlatform",
+            Map.of("CpuArchitecture", "ARM64", "OperatingSystemFamily", "LINUX")));
+    }
+}
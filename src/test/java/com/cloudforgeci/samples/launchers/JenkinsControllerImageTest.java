@@ -0,0 +1,116 @@
+package com.cloudforgeci.samples.launchers;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awscdk.Stack;
+import software.amazon.awscdk.assertions.Match;
+import software.amazon.awscdk.assertions.Template;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JenkinsControllerImageTest {
+
+    private static Stack stack(String authMode, String oidcClientSecret) {
+        Map<String, Object> cfc = new HashMap<>();
+        cfc.put("prebakedControllerImage", true);
+        cfc.put("authMode", authMode);
+        cfc.put("oidcClientSecret", oidcClientSecret);
+        Stack stack = TestStacks.withContext(cfc);
+        TestStacks.jenkinsTask(stack);
+        return stack;
+    }
+
+    private static String casc(String authMode) {
+        return JenkinsControllerImage.renderCasc(CfcOptions.from(stack(authMode, "jenkins/oidc-client")));
+    }
+
+    private static Map<String, Object> secret(String name) {
+        return Map.of("Name", name);
+    }
+
+    @Test
+    void everyOidcPlaceholderInTheCascHasAMatchingTaskSecret() {
+        Stack stack = stack("jenkins-oidc", "jenkins/oidc-client");
+        String casc = JenkinsControllerImage.renderCasc(CfcOptions.from(stack));
+        JenkinsControllerImage.applyIfEnabled(stack);
+        Template template = TestStacks.template(stack);
+
+        for (String variable : JenkinsControllerImage.OIDC_CLIENT_KEYS.keySet()) {
+            assertTrue(casc.contains("${" + variable + "}"), variable);
+            template.hasResourceProperties("AWS::ECS::TaskDefinition", Map.of("ContainerDefinitions",
+                Match.arrayWith(List.of(Match.objectLike(Map.of("Secrets",
+                    Match.arrayWith(List.of(Match.objectLike(secret(variable))))))))));
+        }
+        // The client comes from an existing secret; no admin password is generated
+        template.resourceCountIs("AWS::SecretsManager::Secret", 0);
+    }
+
+    @Test
+    void localRealmGetsAGeneratedAdminPassword() {
+        Stack stack = stack("none", "");
+        JenkinsControllerImage.applyIfEnabled(stack);
+        Template template = TestStacks.template(stack);
+
+        template.resourceCountIs("AWS::SecretsManager::Secret", 1);
+        template.hasResourceProperties("AWS::ECS::TaskDefinition", Map.of("ContainerDefinitions",
+            Match.arrayWith(List.of(Match.objectLike(Map.of("Secrets",
+                Match.arrayWith(List.of(Match.objectLike(secret("JENKINS_ADMIN_PASSWORD"))))))))));
+    }
+
+    @Test
+    void noneRendersTheLocalRealmWithTheGeneratedAdmin() {
+        String casc = casc("none");
+
+        assertTrue(casc.contains("""
+              securityRealm:
+                local:
+                  allowsSignup: false
+                  users:
+                    - id: "admin"
+                      password: "${JENKINS_ADMIN_PASSWORD}"
+              authorizationStrategy: loggedInUsersCanDoAnything
+            """), casc);
+        assertFalse(casc.contains("oic:"), casc);
+    }
+
+    @Test
+    void albOidcTrustsTheIdentityHeadersTheAlbForwards() {
+        String casc = casc("alb-oidc");
+
+        assertTrue(casc.contains("""
+              securityRealm:
+                reverseProxy:
+                  forwardedUser: "X-Amzn-Oidc-Identity"
+            """), casc);
+        assertFalse(casc.contains("${JENKINS_ADMIN_PASSWORD}"), casc);
+    }
+
+    @Test
+    void jenkinsOidcNestsTheDiscoveryUrlUnderServerConfiguration() {
+        String casc = casc("jenkins-oidc");
+
+        assertTrue(casc.contains("""
+              securityRealm:
+                oic:
+                  clientId: "${OIDC_CLIENT_ID}"
+                  clientSecret: "${OIDC_CLIENT_SECRET}"
+                  serverConfiguration:
+                    wellKnown:
+                      wellKnownOpenIDConfigurationUrl: "${OIDC_WELL_KNOWN_URL}"
+                  userNameField: "email"
+            """), casc);
+        assertFalse(casc.contains("\n      wellKnownOpenIDConfigurationUrl:"), "not at the realm root:\n" + casc);
+    }
+
+    @Test
+    void jenkinsOidcWithoutAClientSecretIsRejected() {
+        Stack stack = stack("jenkins-oidc", "");
+
+        assertThrows(IllegalStateException.class, () -> JenkinsControllerImage.applyIfEnabled(stack));
+    }
+}
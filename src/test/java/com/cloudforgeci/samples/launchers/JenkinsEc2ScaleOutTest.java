@@ -0,0 +1,110 @@
+package com.cloudforgeci.samples.launchers;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awscdk.Stack;
+import software.amazon.awscdk.assertions.Match;
+import software.amazon.awscdk.assertions.Template;
+import software.amazon.awscdk.services.autoscaling.AutoScalingGroup;
+import software.amazon.awscdk.services.ec2.InstanceClass;
+import software.amazon.awscdk.services.ec2.InstanceSize;
+import software.amazon.awscdk.services.ec2.InstanceType;
+import software.amazon.awscdk.services.ec2.MachineImage;
+import software.amazon.awscdk.services.ec2.Vpc;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JenkinsEc2ScaleOutTest {
+
+    private static final String COMPLETION = "complete-lifecycle-action";
+    private static final String CONDITION = "ExecCondition=/usr/local/sbin/jenkins-in-service";
+
+    /** An ASG as the factory generates it, then the EC2 user-data steps in JenkinsEc2Stack order. */
+    private static Template synth(int warmPoolSize) {
+        Map<String, Object> cfc = new HashMap<>();
+        cfc.put("warmPoolSize", warmPoolSize);
+        Stack stack = TestStacks.withContext(cfc);
+        AutoScalingGroup asg = AutoScalingGroup.Builder.create(stack, "JenkinsAsg")
+            .vpc(Vpc.Builder.create(stack, "Vpc").maxAzs(2).build())
+            .instanceType(InstanceType.of(InstanceClass.T3, InstanceSize.MEDIUM))
+            .machineImage(MachineImage.latestAmazonLinux2023())
+            .build();
+        asg.addUserData("systemctl enable --now jenkins");
+        JenkinsEc2ScaleOut.applyIfEnabled(stack);
+        JenkinsEc2ScaleOut.completeWarmupHook(stack);
+        return TestStacks.template(stack);
+    }
+
+    /** The ASG's user data script, from its launch configuration or launch template. */
+    @SuppressWarnings("unchecked")
+    private static String userData(Template template) {
+        Map<String, Object> properties = template.findResources("AWS::AutoScaling::LaunchConfiguration").values().stream()
+            .findFirst()
+            .map(resource -> (Map<String, Object>) resource.get("Properties"))
+            .orElseGet(() -> template.findResources("AWS::EC2::LaunchTemplate").values().stream()
+                .findFirst()
+                .map(resource -> (Map<String, Object>) ((Map<String, Object>) resource.get("Properties")).get("LaunchTemplateData"))
+                .orElseThrow(() -> new AssertionError("no launch configuration or launch template")));
+        return (String) ((Map<String, Object>) properties.get("UserData")).get("Fn::Base64");
+    }
+
+    @Test
+    void warmPoolHookIsNamedSoTheInstanceCanCompleteIt() {
+        Template template = synth(2);
+
+        template.hasResourceProperties("AWS::AutoScaling::WarmPool", Map.of("MinSize", 2, "PoolState", "Stopped"));
+        template.hasResourceProperties("AWS::AutoScaling::LifecycleHook", Map.of(
+            "LifecycleHookName", JenkinsEc2ScaleOut.WARMUP_HOOK_NAME,
+            "LifecycleTransition", "autoscaling:EC2_INSTANCE_LAUNCHING",
+            "DefaultResult", "CONTINUE",
+            "HeartbeatTimeout", JenkinsEc2ScaleOut.STOCK_AMI_WARMUP_SECONDS));
+    }
+
+    @Test
+    void userDataCompletesTheHookAfterEveryOtherStep() {
+        String script = userData(synth(1));
+
+        assertTrue(script.contains(COMPLETION + " "), script);
+        assertTrue(script.contains("--lifecycle-hook-name " + JenkinsEc2ScaleOut.WARMUP_HOOK_NAME), script);
+        assertTrue(script.contains("--lifecycle-action-result CONTINUE"), script);
+        assertTrue(script.indexOf("systemctl enable --now jenkins\n") < script.indexOf(COMPLETION), script);
+        assertTrue(script.stripTrailing().endsWith("systemctl enable --now jenkins-warmup-complete.service"), script);
+    }
+
+    @Test
+    void warmedInstancesNeverStartJenkins() {
+        String script = userData(synth(1));
+
+        // The condition is in place before the factory's steps start Jenkins
+        assertTrue(script.startsWith("#!/bin/bash\n"), script);
+        assertTrue(script.contains(CONDITION), script);
+        assertTrue(script.indexOf(CONDITION) < script.indexOf("systemctl enable --now jenkins\n"), script);
+        assertTrue(script.contains("meta-data/autoscaling/target-lifecycle-state)\n[[ \"$STATE\" != Warmed:* ]]"), script);
+
+        // In the pool the hook is released with Jenkins held back; Jenkins starts once in service
+        String warmed = script.substring(script.indexOf("== Warmed:* ]]; then"));
+        assertTrue(warmed.indexOf("  complete\n") < warmed.indexOf("== InService ]]"), warmed);
+        assertTrue(warmed.indexOf("== InService ]]") < warmed.indexOf("systemctl start jenkins\n"), warmed);
+    }
+
+    @Test
+    void instanceRoleMayCompleteTheHook() {
+        Template template = synth(1);
+
+        template.hasResourceProperties("AWS::IAM::Policy", Map.of("PolicyDocument", Map.of("Statement",
+            Match.arrayWith(List.of(Match.objectLike(Map.of("Action", "autoscaling:CompleteLifecycleAction")))))));
+    }
+
+    @Test
+    void noHookAndNoCompletionWithoutAWarmPool() {
+        Template template = synth(0);
+
+        template.resourceCountIs("AWS::AutoScaling::LifecycleHook", 0);
+        assertFalse(userData(template).contains(COMPLETION));
+        assertFalse(userData(template).contains(CONDITION));
+    }
+}
@@ -0,0 +1,148 @@
+package com.cloudforgeci.samples.launchers;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awscdk.App;
+import software.amazon.awscdk.Environment;
+import software.amazon.awscdk.StackProps;
+import software.amazon.awscdk.assertions.Match;
+import software.amazon.awscdk.assertions.Template;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class JenkinsFleetStacksTest {
+
+    private static final StackProps PROPS = StackProps.builder()
+        .env(Environment.builder().account("123456789012").region("us-east-1").build())
+        .build();
+
+    /** Cached Route 53 lookup, so HostedZone.fromLookup resolves without calling AWS. */
+    private static final Map<String, Object> ZONE_LOOKUP = Map.of(
+        "hosted-zone:account=123456789012:domainName=example.com:region=us-east-1",
+        Map.of("Id", "/hostedzone/Z0123456789", "Name", "example.com."));
+
+    private JenkinsSharedInfraStack shared;
+    private final Map<String, JenkinsTenantStack> tenants = new LinkedHashMap<>();
+
+    /** The fleet as InteractiveDeployer lays it out: one shared stack plus one stack per tenant. */
+    private void synth(String domain, List<String> names) {
+        Map<String, Object> context = new HashMap<>(ZONE_LOOKUP);
+        context.put("cfc", Map.of("domain", domain));
+        App app = App.Builder.create().context(context).build();
+        shared = new JenkinsSharedInfraStack(app, "jenkins-shared", PROPS, names);
+        tenants.clear();
+        for (String tenant : names) {
+            tenants.put(tenant, new JenkinsTenantStack(app, "jenkins-" + tenant, PROPS, shared, tenant));
+        }
+    }
+
+    private Template tenant(String name) {
+        return Template.fromStack(tenants.get(name));
+    }
+
+    private Object rulePriority(String name) {
+        Map<String, Map<String, Object>> rules = tenant(name).findResources("AWS::ElasticLoadBalancingV2::ListenerRule");
+        assertEquals(1, rules.size());
+        Map<?, ?> properties = (Map<?, ?>) rules.values().iterator().next().get("Properties");
+        return properties.get("Priority");
+    }
+
+    @Test
+    void withoutDomainTenantsAreRoutedByPath() {
+        synth("", List.of("team-a", "team-b"));
+
+        Template teamA = tenant("team-a");
+        teamA.hasResourceProperties("AWS::ElasticLoadBalancingV2::ListenerRule", Map.of(
+            "Conditions", List.of(Map.of(
+                "Field", "path-pattern",
+                "PathPatternConfig", Map.of("Values", List.of("/team-a", "/team-a/*"))))));
+        teamA.hasResourceProperties("AWS::ElasticLoadBalancingV2::TargetGroup", Map.of(
+            "HealthCheckPath", "/team-a/login"));
+        teamA.hasResourceProperties("AWS::ECS::TaskDefinition", Map.of(
+            "ContainerDefinitions", Match.arrayWith(List.of(Match.objectLike(Map.of(
+                "Name", "jenkins",
+                "Environment", Match.arrayWith(List.of(Map.of("Name", "JENKINS_OPTS", "Value", "--prefix=/team-a")))))))));
+        teamA.resourceCountIs("AWS::Route53::RecordSet", 0);
+    }
+
+    @Test
+    void withDomainTenantsAreRoutedByHost() {
+        synth("example.com", List.of("team-a", "team-b"));
+
+        Template teamB = tenant("team-b");
+        teamB.hasResourceProperties("AWS::ElasticLoadBalancingV2::ListenerRule", Map.of(
+            "Conditions", List.of(Map.of(
+                "Field", "host-header",
+                "HostHeaderConfig", Map.of("Values", List.of("team-b.example.com"))))));
+        teamB.hasResourceProperties("AWS::ElasticLoadBalancingV2::TargetGroup", Map.of(
+            "HealthCheckPath", "/login"));
+        teamB.hasResourceProperties("AWS::Route53::RecordSet", Map.of(
+            "Name", "team-b.example.com.",
+            "Type", "A"));
+        // Jenkins is served at the root of its own host
+        teamB.hasResourceProperties("AWS::ECS::TaskDefinition", Map.of(
+            "ContainerDefinitions", Match.arrayWith(List.of(Match.objectLike(Map.of(
+                "Name", "jenkins",
+                "Environment", Match.not(Match.arrayWith(List.of(Match.objectLike(Map.of("Name", "JENKINS_OPTS")))))))))));
+    }
+
+    @Test
+    void rulePriorityDependsOnlyOnTheTenantName() {
+        synth("", List.of("team-a", "team-b"));
+        Object teamB = rulePriority("team-b");
+        assertEquals(TenantRouting.priority("team-b"), ((Number) teamB).intValue());
+        assertNotEquals(rulePriority("team-a"), teamB);
+
+        // Removing a tenant and adding another in front never renumbers team-b
+        synth("", List.of("team-c", "team-b"));
+        assertEquals(teamB, rulePriority("team-b"));
+    }
+
+    @Test
+    void everyTenantGetsItsOwnAccessPointAndMayOnlyMountThatOne() {
+        synth("", List.of("team-a", "team-b"));
+
+        Template sharedTemplate = Template.fromStack(shared);
+        sharedTemplate.resourceCountIs("AWS::EFS::AccessPoint", 2);
+        for (String tenant : List.of("team-a", "team-b")) {
+            sharedTemplate.hasResourceProperties("AWS::EFS::AccessPoint", Map.of(
+                "RootDirectory", Map.of(
+                    "Path", "/jenkins/" + tenant,
+                    "CreationInfo", Map.of("OwnerUid", "1000", "OwnerGid", "1000", "Permissions", "750")),
+                "PosixUser", Map.of("Uid", "1000", "Gid", "1000")));
+        }
+
+        Object teamA = accessPointCondition("team-a");
+        Object teamB = accessPointCondition("team-b");
+        assertNotNull(teamA);
+        assertNotEquals(teamA, teamB);
+        tenant("team-a").hasResourceProperties("AWS::ECS::TaskDefinition", Map.of(
+            "Volumes", List.of(Match.objectLike(Map.of(
+                "Name", "jenkins-home",
+                "EFSVolumeConfiguration", Match.objectLike(Map.of(
+                    "TransitEncryption", "ENABLED",
+                    "AuthorizationConfig", Match.objectLike(Map.of("IAM", "ENABLED")))))))));
+    }
+
+    /** The access point ARN the tenant's task role is restricted to. */
+    private Object accessPointCondition(String name) {
+        Map<String, Map<String, Object>> policies = tenant(name).findResources("AWS::IAM::Policy", Map.of(
+            "Properties", Map.of("PolicyDocument", Map.of("Statement", Match.arrayWith(List.of(Match.objectLike(Map.of(
+                "Action", List.of("elasticfilesystem:ClientMount", "elasticfilesystem:ClientWrite")))))))));
+        assertEquals(1, policies.size());
+        Map<?, ?> document = (Map<?, ?>) ((Map<?, ?>) policies.values().iterator().next().get("Properties")).get("PolicyDocument");
+        for (Object statement : (List<?>) document.get("Statement")) {
+            Map<?, ?> condition = (Map<?, ?>) ((Map<?, ?>) statement).get("Condition");
+            if (condition != null) {
+                return ((Map<?, ?>) condition.get("StringEquals")).get("elasticfilesystem:AccessPointArn");
+            }
+        }
+        return null;
+    }
+}
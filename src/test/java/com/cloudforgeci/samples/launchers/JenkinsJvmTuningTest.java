@@ -0,0 +1,99 @@
+package com.cloudforgeci.samples.launchers;
+
+import com.cloudforgeci.samples.launchers.JenkinsJvmTuning.Gc;
+import com.cloudforgeci.samples.launchers.JenkinsJvmTuning.Profile;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JenkinsJvmTuningTest {
+
+    private static CfcOptions options(Map<String, Object> cfc) {
+        return CfcOptions.from(TestStacks.withContext(cfc));
+    }
+
+    @Test
+    void smallControllersGetHalfTheMemoryAndG1() {
+        Profile profile = JenkinsJvmTuning.profileFor(1024, 2048);
+
+        assertEquals(1, profile.activeProcessors());
+        assertEquals(50, profile.heapPercent());
+        assertEquals(1024, profile.heapMiB());
+        assertEquals(256, profile.maxMetaspaceMiB());
+        assertEquals(Gc.G1, profile.gc());
+    }
+
+    @Test
+    void heapShareGrowsWithMemory() {
+        assertEquals(60, JenkinsJvmTuning.profileFor(1024, 4096).heapPercent());
+        assertEquals(70, JenkinsJvmTuning.profileFor(2048, 8192).heapPercent());
+        assertEquals(75, JenkinsJvmTuning.profileFor(4096, 16384).heapPercent());
+        assertEquals(512, JenkinsJvmTuning.profileFor(1024, 4096).maxMetaspaceMiB());
+    }
+
+    @Test
+    void zgcNeedsASixGibHeapAndTwoProcessors() {
+        // 70% of 8 GiB is just under 6 GiB
+        assertEquals(Gc.G1, JenkinsJvmTuning.profileFor(2048, 8192).gc());
+        assertEquals(Gc.ZGC, JenkinsJvmTuning.profileFor(4096, 16384).gc());
+        assertEquals(Gc.G1, JenkinsJvmTuning.profileFor(1024, 16384).gc());
+    }
+
+    @Test
+    void partialVcpusRoundUp() {
+        assertEquals(1, JenkinsJvmTuning.profileFor(256, 512).activeProcessors());
+        assertEquals(2, JenkinsJvmTuning.profileFor(1536, 3072).activeProcessors());
+    }
+
+    @Test
+    void flagsFollowTheProfile() {
+        String g1 = JenkinsJvmTuning.profileFor(1024, 2048).javaOpts();
+        assertEquals("-XX:ActiveProcessorCount=1 -XX:InitialRAMPercentage=50.0 -XX:MaxRAMPercentage=50.0"
+            + " -XX:MaxMetaspaceSize=256m -XX:+UseG1GC -XX:+UseStringDeduplication -XX:+ParallelRefProcEnabled"
+            + " -XX:+ExitOnOutOfMemoryError", g1);
+
+        String zgc = JenkinsJvmTuning.profileFor(4096, 16384).javaOpts();
+        assertTrue(zgc.contains("-XX:+UseZGC -XX:+ZGenerational"), zgc);
+        assertTrue(zgc.contains("-XX:MaxRAMPercentage=75.0"), zgc);
+    }
+
+    @Test
+    void ec2CatalogTypesAreSizedFromTheInstanceShape() {
+        // c7i.2xlarge: 8 vCPU, 16 GiB, whatever the cpu/memory keys say
+        Profile profile = JenkinsJvmTuning.profileForInstance("c7i.2xlarge", 1024, 2048);
+
+        assertEquals(8, profile.activeProcessors());
+        assertEquals(16384, profile.memoryMiB());
+        assertEquals(Gc.ZGC, profile.gc());
+        assertEquals(1, JenkinsJvmTuning.profileForInstance("m5.custom", 1024, 2048).activeProcessors());
+    }
+
+    @Test
+    void headlessIsKeptForComputedAndOverriddenFlags() {
+        assertTrue(JenkinsJvmTuning.javaOpts(options(Map.of()), true).startsWith(JenkinsJvmTuning.HEADLESS + " "));
+        assertEquals(JenkinsJvmTuning.HEADLESS + " -Xmx3g", JenkinsJvmTuning.javaOpts(options(Map.of("jvmOptions", "-Xmx3g")), true));
+        assertEquals("-Djava.awt.headless=false", JenkinsJvmTuning.javaOpts(options(Map.of("jvmOptions", "-Djava.awt.headless=false")), false));
+    }
+
+    @Test
+    void shellAndSystemdMetacharactersAreRejected() {
+        for (String flags : new String[]{"-Xmx1g' ; reboot ; echo '", "-Dx=\"a\"", "-Dx=$(id)", "-Dx=`id`", "-Dx=a\\b", "-Xmx1g\nExecStartPre=/bin/sh"}) {
+            assertTrue(JenkinsJvmTuning.unsafeCharacter(flags) != null, flags);
+            assertThrows(IllegalArgumentException.class, () -> JenkinsJvmTuning.javaOpts(options(Map.of("jvmOptions", flags)), true), flags);
+        }
+        assertNull(JenkinsJvmTuning.unsafeCharacter("-Xmx3g -Dhudson.model.DirectoryBrowserSupport.CSP= -Dfoo=50%"));
+    }
+
+    @Test
+    void dropInIsWrittenThroughAQuotedHeredoc() {
+        String[] commands = JenkinsJvmTuning.dropInCommands(JenkinsJvmTuning.HEADLESS + " -Dfoo=50%");
+
+        assertTrue(commands[1].startsWith("cat > /etc/systemd/system/jenkins.service.d/jvm.conf <<'EOF'\n"), commands[1]);
+        assertTrue(commands[1].contains("Environment=\"JAVA_OPTS=-Djava.awt.headless=true -Dfoo=50%%\"\nEOF"), commands[1]);
+    }
+}
@@ -0,0 +1,57 @@
+package com.cloudforgeci.samples.launchers;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awscdk.Stack;
+import software.amazon.awscdk.assertions.Template;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JenkinsLogRoutingTest {
+
+    @Test
+    void ec2AgentIsAPinnedPackageFromTheSignedVendorRepository() {
+        List<String> commands = JenkinsLogRouting.installCommands();
+
+        String repo = commands.get(0);
+        assertTrue(repo.startsWith("cat > /etc/yum.repos.d/fluent-bit.repo <<'EOF'\n"), repo);
+        assertTrue(repo.contains("baseurl=https://packages.fluentbit.io/amazonlinux/2023/\n"), repo);
+        assertTrue(repo.contains("gpgcheck=1\n") && repo.contains("repo_gpgcheck=1\n"), repo);
+        assertTrue(repo.contains("gpgkey=https://packages.fluentbit.io/fluentbit.key\n"), repo);
+        assertEquals("dnf -y install fluent-bit-" + JenkinsLogRouting.FLUENT_BIT_VERSION, commands.get(1));
+        assertTrue(JenkinsLogRouting.FLUENT_BIT_VERSION.matches("\\d+\\.\\d+\\.\\d+"));
+        assertFalse(String.join("\n", commands).contains("| sh"));
+    }
+
+    @Test
+    void fargateJenkinsContainerLogsOnlyThroughFirelens() {
+        // The factory's Jenkins container starts out on awslogs with group, region and stream prefix
+        Stack stack = TestStacks.withContext(Map.of("logShipping", "firelens"));
+        TestStacks.jenkinsTask(stack);
+        JenkinsLogRouting.applyToFargate(stack);
+
+        Map<String, Object> containers = containers(TestStacks.template(stack));
+        assertEquals(Map.of("LogDriver", "awsfirelens"), containers.get("jenkins"));
+        // The router itself still logs to CloudWatch
+        assertEquals("awslogs", ((Map<?, ?>) containers.get("log-router")).get("LogDriver"));
+    }
+
+    /** LogConfiguration of every container in the stack's only task definition, by container name. */
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> containers(Template template) {
+        Map<String, Map<String, Object>> tasks = template.findResources("AWS::ECS::TaskDefinition");
+        assertEquals(1, tasks.size());
+        Map<String, Object> properties = (Map<String, Object>) tasks.values().iterator().next().get("Properties");
+        Map<String, Object> logConfigurations = new HashMap<>();
+        for (Object container : (List<Object>) properties.get("ContainerDefinitions")) {
+            Map<String, Object> definition = (Map<String, Object>) container;
+            logConfigurations.put((String) definition.get("Name"), definition.get("LogConfiguration"));
+        }
+        return logConfigurations;
+    }
+}
@@ -0,0 +1,144 @@
+package com.cloudforgeci.samples.launchers;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awscdk.Stack;
+import software.amazon.awscdk.assertions.Match;
+import software.amazon.awscdk.assertions.Template;
+import software.amazon.awscdk.services.efs.CfnFileSystem;
+import software.amazon.awscdk.services.elasticloadbalancingv2.CfnLoadBalancer;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JenkinsMonitoringTest {
+
+    private static Map<String, Object> dashboard() {
+        Map<String, Object> cfc = new HashMap<>();
+        cfc.put("enablePerformanceDashboard", true);
+        cfc.put("alarmLatencyP99Ms", 1500);
+        cfc.put("alarm5xxPercent", 3);
+        cfc.put("alarmCpuPercent", 80);
+        cfc.put("alarmMemoryPercent", 85);
+        cfc.put("alarmEfsBurstCreditGiB", 50);
+        cfc.put("alarmQueueLength", 7);
+        return cfc;
+    }
+
+    /** ALB, ECS service and EFS as the factory generates them, then tracing and monitoring applied. */
+    private static Template synth(Map<String, Object> cfc) {
+        return synth(cfc, null);
+    }
+
+    private static Template synth(Map<String, Object> cfc, String efsThroughputMode) {
+        Stack stack = TestStacks.withContext(cfc);
+        CfnLoadBalancer.Builder.create(stack, "Alb").type("application").build();
+        TestStacks.jenkinsService(stack);
+        if (efsThroughputMode != null) {
+            ((CfnFileSystem) CfnLookup.first(stack, "AWS::EFS::FileSystem").orElseThrow()).setThroughputMode(efsThroughputMode);
+        }
+        JenkinsTracing.applyToFargate(stack);
+        JenkinsMonitoring.attachIfEnabled(stack);
+        return TestStacks.template(stack);
+    }
+
+    private static boolean hasBurstCreditAlarm(Template template) {
+        return !template.findResources("AWS::CloudWatch::Alarm", Map.of("Properties",
+            Map.of("MetricName", "BurstCreditBalance"))).isEmpty();
+    }
+
+    private static boolean hasQueueAlarm(Template template) {
+        return !template.findResources("AWS::CloudWatch::Alarm", Map.of("Properties",
+            Map.of("MetricName", OtelCollectorConfig.QUEUE_METRIC))).isEmpty();
+    }
+
+    @Test
+    void nothingIsAddedUnlessTheDashboardIsEnabled() {
+        Template template = synth(new HashMap<>());
+
+        template.resourceCountIs("AWS::CloudWatch::Dashboard", 0);
+        template.resourceCountIs("AWS::CloudWatch::Alarm", 0);
+    }
+
+    @Test
+    void alarmsWatchTheFactoryResourcesWithTheConfiguredThresholds() {
+        Template template = synth(dashboard());
+
+        template.resourceCountIs("AWS::CloudWatch::Dashboard", 1);
+        template.hasResourceProperties("AWS::CloudWatch::Alarm", Map.of(
+            "Namespace", "AWS/ApplicationELB",
+            "MetricName", "TargetResponseTime",
+            "ExtendedStatistic", "p99",
+            "Threshold", 1.5));
+        template.hasResourceProperties("AWS::CloudWatch::Alarm", Map.of(
+            "ComparisonOperator", "GreaterThanThreshold",
+            "Threshold", 3,
+            "EvaluationPeriods", 5,
+            "DatapointsToAlarm", 3));
+        template.hasResourceProperties("AWS::CloudWatch::Alarm", Map.of(
+            "Namespace", "AWS/ECS",
+            "MetricName", "CPUUtilization",
+            "Threshold", 80));
+        template.hasResourceProperties("AWS::CloudWatch::Alarm", Map.of(
+            "Namespace", "AWS/ECS",
+            "MetricName", "MemoryUtilization",
+            "Threshold", 85));
+        template.hasResourceProperties("AWS::CloudWatch::Alarm", Map.of(
+            "Namespace", "AWS/EFS",
+            "MetricName", "BurstCreditBalance",
+            "ComparisonOperator", "LessThanThreshold",
+            "Threshold", 50 * 1024.0 * 1024 * 1024));
+    }
+
+    @Test
+    void burstCreditAlarmOnlyWatchesBurstingFileSystems() {
+        assertTrue(hasBurstCreditAlarm(synth(dashboard(), "bursting")));
+
+        for (String mode : List.of("elastic", "provisioned")) {
+            Template template = synth(dashboard(), mode);
+            assertFalse(hasBurstCreditAlarm(template), mode + " throughput never spends burst credits");
+            assertEquals(4, template.findResources("AWS::CloudWatch::Alarm").size(), mode);
+        }
+    }
+
+    @Test
+    void queueAlarmIsLeftOutWhenNothingPublishesTheMetric() {
+        Template template = synth(dashboard());
+
+        assertFalse(hasQueueAlarm(template), "queue alarm without a collector would never fire");
+        assertEquals(5, template.findResources("AWS::CloudWatch::Alarm").size());
+    }
+
+    @Test
+    void queueAlarmWatchesTheMetricTheCollectorPublishes() {
+        Map<String, Object> cfc = dashboard();
+        cfc.put("prebakedControllerImage", true);
+        cfc.put("tracingExport", "xray");
+        Template template = synth(cfc);
+
+        template.hasResourceProperties("AWS::CloudWatch::Alarm", Map.of(
+            "Namespace", OtelCollectorConfig.METRICS_NAMESPACE,
+            "MetricName", OtelCollectorConfig.QUEUE_METRIC,
+            "Dimensions", List.of(Map.of("Name", "StackName", "Value", "JenkinsTest")),
+            "Statistic", "Maximum",
+            "Threshold", 7));
+        // The collector writes EMF records for the metric to its own log group
+        template.hasResourceProperties("AWS::ECS::TaskDefinition", Map.of("ContainerDefinitions",
+            Match.arrayWith(List.of(Match.objectLike(Map.of(
+                "Name", JenkinsTracing.COLLECTOR_CONTAINER,
+                "Image", JenkinsTracing.COLLECTOR_IMAGE,
+                "Environment", Match.arrayWith(List.of(
+                    Map.of("Name", "STACK_NAME", "Value", "JenkinsTest")))))))));
+        template.hasResourceProperties("AWS::Logs::LogGroup", Map.of("LogGroupName", "/cloudforge/JenkinsTest/metrics"));
+    }
+
+    @Test
+    void collectorImageIsPinned() {
+        assertFalse(JenkinsTracing.COLLECTOR_IMAGE.endsWith(":latest"), JenkinsTracing.COLLECTOR_IMAGE);
+        assertTrue(JenkinsTracing.COLLECTOR_IMAGE.matches(".+:v\\d+\\.\\d+\\.\\d+"), JenkinsTracing.COLLECTOR_IMAGE);
+    }
+}
@@ -0,0 +1,137 @@
+package com.cloudforgeci.samples.launchers;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awscdk.Stack;
+import software.amazon.awscdk.assertions.Match;
+import software.amazon.awscdk.assertions.Template;
+import software.amazon.awscdk.services.autoscaling.CfnAutoScalingGroup;
+import software.amazon.awscdk.services.ecs.CfnCluster;
+import software.amazon.awscdk.services.ecs.CfnService;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JenkinsScheduledScalingTest {
+
+    private static Map<String, Object> schedule() {
+        Map<String, Object> cfc = new HashMap<>();
+        cfc.put("enableScheduledScaling", true);
+        cfc.put("scheduleTimeZone", "Europe/Berlin");
+        cfc.put("minInstanceCapacity", 1);
+        cfc.put("maxInstanceCapacity", 4);
+        cfc.put("peakMinCapacity", 2);
+        cfc.put("peakMaxCapacity", 4);
+        cfc.put("offPeakMaxCapacity", 0);
+        return cfc;
+    }
+
+    /** The service topology's Auto Scaling Group, then the EC2 scaling launcher. */
+    private static Template synthEc2(Map<String, Object> cfc) {
+        Stack stack = TestStacks.withContext(cfc);
+        CfnAutoScalingGroup.Builder.create(stack, "JenkinsAsg").minSize("1").maxSize("4").build();
+        JenkinsScheduledScaling.applyToEc2(stack);
+        return TestStacks.template(stack);
+    }
+
+    /** The factory's ECS service with its scalable target, or a bare cluster and service without one. */
+    private static Template synthFargate(Map<String, Object> cfc, boolean factoryTarget) {
+        Stack stack = TestStacks.withContext(cfc);
+        if (factoryTarget) {
+            TestStacks.jenkinsService(stack);
+        } else {
+            CfnCluster cluster = CfnCluster.Builder.create(stack, "Cluster").build();
+            CfnService.Builder.create(stack, "Service").cluster(cluster.getRef()).launchType("FARGATE").build();
+        }
+        JenkinsScheduledScaling.applyToFargate(stack);
+        return TestStacks.template(stack);
+    }
+
+    @Test
+    void nothingIsAddedByDefault() {
+        Template ec2 = synthEc2(new HashMap<>());
+        ec2.resourceCountIs("AWS::AutoScaling::ScheduledAction", 0);
+        ec2.resourceCountIs("AWS::AutoScaling::ScalingPolicy", 0);
+
+        synthFargate(new HashMap<>(), false).resourceCountIs("AWS::ApplicationAutoScaling::ScalableTarget", 0);
+    }
+
+    @Test
+    void ec2ScheduleBecomesAsgScheduledActions() {
+        Template template = synthEc2(schedule());
+
+        template.resourceCountIs("AWS::AutoScaling::ScheduledAction", 2);
+        template.hasResourceProperties("AWS::AutoScaling::ScheduledAction", Map.of(
+            "AutoScalingGroupName", Map.of("Ref", Match.stringLikeRegexp("JenkinsAsg")),
+            "Recurrence", "30 7 * * MON-FRI",
+            "TimeZone", "Europe/Berlin",
+            "MinSize", 2,
+            "MaxSize", 4));
+        template.hasResourceProperties("AWS::AutoScaling::ScheduledAction", Map.of(
+            "Recurrence", "0 19 * * MON-FRI",
+            "MinSize", 0,
+            "MaxSize", 0));
+    }
+
+    @Test
+    void predictivePolicyBuffersByPrewarmMinutes() {
+        Map<String, Object> cfc = new HashMap<>();
+        cfc.put("predictiveScaling", "forecast-and-scale");
+        cfc.put("prewarmMinutes", 20);
+        cfc.put("cpuTargetUtilization", 55);
+        Template template = synthEc2(cfc);
+
+        template.resourceCountIs("AWS::AutoScaling::ScheduledAction", 0);
+        template.hasResourceProperties("AWS::AutoScaling::ScalingPolicy", Map.of(
+            "PolicyType", "PredictiveScaling",
+            "PredictiveScalingConfiguration", Map.of(
+                "Mode", "ForecastAndScale",
+                "SchedulingBufferTime", 1200,
+                "MaxCapacityBreachBehavior", "HonorMaxCapacity",
+                "MetricSpecifications", List.of(Match.objectLike(Map.of(
+                    "TargetValue", 55,
+                    "PredefinedMetricPairSpecification", Map.of("PredefinedMetricType", "ASGCPUUtilization")))))));
+    }
+
+    @Test
+    void fargateScheduleIsAddedToTheFactoryScalableTarget() {
+        Template template = synthFargate(schedule(), true);
+
+        template.resourceCountIs("AWS::ApplicationAutoScaling::ScalableTarget", 1);
+        template.hasResourceProperties("AWS::ApplicationAutoScaling::ScalableTarget", Map.of(
+            "MinCapacity", 0,
+            "MaxCapacity", 4,
+            "ScheduledActions", List.of(
+                Map.of("ScheduledActionName", "jenkins-peak-start",
+                    "Schedule", "cron(30 7 ? * MON-FRI *)",
+                    "Timezone", "Europe/Berlin",
+                    "ScalableTargetAction", Map.of("MinCapacity", 2, "MaxCapacity", 4)),
+                Map.of("ScheduledActionName", "jenkins-off-peak",
+                    "Schedule", "cron(0 19 ? * MON-FRI *)",
+                    "Timezone", "Europe/Berlin",
+                    "ScalableTargetAction", Map.of("MinCapacity", 0, "MaxCapacity", 0)))));
+    }
+
+    @Test
+    void fargateWithoutATargetGetsItsOwn() {
+        Template template = synthFargate(schedule(), false);
+
+        template.hasResourceProperties("AWS::ApplicationAutoScaling::ScalableTarget", Map.of(
+            "ServiceNamespace", "ecs",
+            "ScalableDimension", "ecs:service:DesiredCount",
+            "ResourceId", Map.of("Fn::Join", List.of("/", List.of("service",
+                Map.of("Ref", Match.stringLikeRegexp("Cluster")),
+                Map.of("Fn::GetAtt", List.of(Match.stringLikeRegexp("Service"), "Name"))))),
+            "ScheduledActions", Match.arrayWith(List.of(Match.objectLike(Map.of("ScheduledActionName", "jenkins-peak-start"))))));
+    }
+
+    @Test
+    void fargateRejectsWeekdaySteps() {
+        Map<String, Object> cfc = schedule();
+        cfc.put("peakEndCron", "0 19 * * */2");
+
+        assertThrows(IllegalArgumentException.class, () -> synthFargate(cfc, true));
+    }
+}
@@ -0,0 +1,66 @@
+package com.cloudforgeci.samples.launchers;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awscdk.Stack;
+import software.amazon.awscdk.assertions.Match;
+import software.amazon.awscdk.assertions.Template;
+import software.amazon.awscdk.services.ec2.ISubnet;
+import software.amazon.awscdk.services.ec2.InterfaceVpcEndpointAwsService;
+import software.amazon.awscdk.services.ec2.Vpc;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class JenkinsVpcEndpointsTest {
+
+    private Stack stack;
+    private Vpc vpc;
+
+    /** A private-with-nat VPC as the factory generates it: public and private subnets in two AZs. */
+    private Template synth(String networkMode) {
+        stack = TestStacks.withContext(Map.of("enableVpcEndpoints", true, "networkMode", networkMode));
+        vpc = Vpc.Builder.create(stack, "JenkinsVpc").maxAzs(2).natGateways(1).build();
+        JenkinsVpcEndpoints.applyIfEnabled(stack);
+        return TestStacks.template(stack);
+    }
+
+    private List<Object> resolved(List<ISubnet> subnets, boolean routeTables) {
+        return subnets.stream()
+            .map(subnet -> stack.resolve(routeTables ? subnet.getRouteTable().getRouteTableId() : subnet.getSubnetId()))
+            .toList();
+    }
+
+    @Test
+    void s3GatewayEndpointCoversThePrivateRouteTables() {
+        Template template = synth("private-with-nat");
+
+        template.hasResourceProperties("AWS::EC2::VPCEndpoint", Map.of(
+            "VpcEndpointType", "Gateway",
+            "RouteTableIds", Match.arrayWith(resolved(vpc.getPrivateSubnets(), true))));
+    }
+
+    @Test
+    void fivePrivateDnsInterfaceEndpointsInThePrivateSubnets() {
+        Template template = synth("private-with-nat");
+
+        Map<String, Object> interfaceEndpoint = Map.of(
+            "VpcEndpointType", "Interface",
+            "PrivateDnsEnabled", true,
+            "SubnetIds", resolved(vpc.getPrivateSubnets(), false));
+        assertEquals(5, template.findResources("AWS::EC2::VPCEndpoint", Map.of("Properties", interfaceEndpoint)).size());
+        for (InterfaceVpcEndpointAwsService service : JenkinsVpcEndpoints.INTERFACE_SERVICES.values()) {
+            template.hasResourceProperties("AWS::EC2::VPCEndpoint", Map.of(
+                "VpcEndpointType", "Interface",
+                "ServiceName", stack.resolve(service.getName())));
+        }
+    }
+
+    @Test
+    void nothingIsAddedWithoutANatGatewayNetwork() {
+        Template template = synth("public-no-nat");
+
+        template.resourceCountIs("AWS::EC2::VPCEndpoint", 0);
+    }
+}
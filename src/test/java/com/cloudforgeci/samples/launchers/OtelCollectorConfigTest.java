@@ -0,0 +1,176 @@
+package com.cloudforgeci.samples.launchers;
+
+import com.cloudforgeci.samples.launchers.OtelCollectorConfig.Settings;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OtelCollectorConfigTest {
+
+    private static final String LOG_GROUP = "/cloudforge/jenkins-dev/metrics";
+
+    private static String render(String exporter, int samplePercent) {
+        return OtelCollectorConfig.render(new Settings(exporter, "eu-west-1", samplePercent,
+            "debug".equals(exporter) ? "0.0.0.0" : "127.0.0.1", LOG_GROUP));
+    }
+
+    /** The block under a top-level key, e.g. {@code exporters}, up to the next top-level key. */
+    private static String section(String yaml, String key) {
+        int start = yaml.indexOf("\n" + key + ":\n");
+        assertTrue(start >= 0, "no " + key + " section:\n" + yaml);
+        int body = start + key.length() + 3;
+        int end = body;
+        while (end < yaml.length() && (yaml.charAt(end) == ' ' || yaml.charAt(end) == '\n')) {
+            end = yaml.indexOf('\n', end) + 1;
+            if (end == 0) {
+                end = yaml.length();
+            }
+        }
+        return yaml.substring(body, end);
+    }
+
+    /** Components defined directly under a top-level section, in order. */
+    private static List<String> components(String yaml, String key) {
+        List<String> names = new ArrayList<>();
+        for (String line : section(yaml, key).split("\n")) {
+            if (line.startsWith("  ") && !line.startsWith("   ") && line.endsWith(":")) {
+                names.add(line.trim().replace(":", ""));
+            }
+        }
+        return names;
+    }
+
+    /** receivers/processors/exporters of one service pipeline. */
+    private static Map<String, List<String>> pipeline(String yaml, String name) {
+        String service = section(yaml, "service");
+        int at = service.indexOf("    " + name + ":\n");
+        assertTrue(at >= 0, "no " + name + " pipeline:\n" + service);
+        Map<String, List<String>> pipeline = new LinkedHashMap<>();
+        for (String line : service.substring(at).split("\n")) {
+            if (line.startsWith("      ") && line.contains(": [")) {
+                String key = line.trim().substring(0, line.trim().indexOf(':'));
+                String list = line.substring(line.indexOf('[') + 1, line.lastIndexOf(']'));
+                pipeline.put(key, List.of(list.split(", ")));
+            } else if (!pipeline.isEmpty()) {
+                break;
+            }
+        }
+        return pipeline;
+    }
+
+    private static List<String> serviceExtensions(String yaml) {
+        String line = section(yaml, "service").lines().filter(l -> l.startsWith("  extensions:")).findFirst().orElseThrow();
+        return List.of(line.substring(line.indexOf('[') + 1, line.lastIndexOf(']')).split(", "));
+    }
+
+    @Test
+    void xrayTracesAreSampledBatchedAndExported() {
+        String yaml = render("xray", 25);
+
+        assertEquals(Map.of(
+            "receivers", List.of("otlp"),
+            "processors", List.of("memory_limiter", "probabilistic_sampler", "batch"),
+            "exporters", List.of("awsxray")), pipeline(yaml, "traces"));
+        assertTrue(section(yaml, "processors").contains("    sampling_percentage: 25\n"), yaml);
+        String exporters = section(yaml, "exporters");
+        assertTrue(exporters.contains("  awsxray:\n    region: eu-west-1\n"), exporters);
+        assertTrue(exporters.contains("indexed_attributes: [ci.pipeline.id, ci.pipeline.run.result]"), exporters);
+        assertEquals(List.of("health_check"), serviceExtensions(yaml));
+        assertFalse(yaml.contains("sigv4auth"), yaml);
+    }
+
+    @Test
+    void cloudwatchSignsOtlpWithSigv4() {
+        String yaml = render("cloudwatch", 50);
+
+        assertEquals(List.of("otlphttp"), pipeline(yaml, "traces").get("exporters"));
+        assertEquals(List.of("health_check", "sigv4auth"), components(yaml, "extensions"));
+        assertEquals(List.of("health_check", "sigv4auth"), serviceExtensions(yaml));
+        assertTrue(section(yaml, "extensions").contains("  sigv4auth:\n    region: eu-west-1\n    service: xray\n"), yaml);
+        String exporters = section(yaml, "exporters");
+        assertTrue(exporters.contains("traces_endpoint: https://xray.eu-west-1.amazonaws.com/v1/traces\n"), exporters);
+        assertTrue(exporters.contains("    auth:\n      authenticator: sigv4auth\n"), exporters);
+    }
+
+    @Test
+    void samplerIsOnlyAddedBelowOneHundredPercent() {
+        for (String exporter : List.of("xray", "cloudwatch", "debug")) {
+            String yaml = render(exporter, 100);
+            assertEquals(List.of("memory_limiter", "batch"), pipeline(yaml, "traces").get("processors"), exporter);
+            assertFalse(yaml.contains("probabilistic_sampler"), exporter);
+        }
+        // Out-of-range percentages are clamped rather than rendered
+        assertTrue(render("xray", 0).contains("sampling_percentage: 1\n"));
+        assertFalse(render("xray", 150).contains("probabilistic_sampler"));
+    }
+
+    @Test
+    void queueMetricIsPublishedThroughEmf() {
+        for (String exporter : List.of("xray", "cloudwatch")) {
+            String yaml = render(exporter, 25);
+            assertEquals(Map.of(
+                "receivers", List.of("otlp"),
+                "processors", List.of("memory_limiter", "filter/queue", "metricstransform/queue", "batch"),
+                "exporters", List.of("awsemf")), pipeline(yaml, "metrics"), exporter);
+            String awsemf = section(yaml, "exporters").substring(section(yaml, "exporters").indexOf("  awsemf:"));
+            assertTrue(awsemf.contains("namespace: " + OtelCollectorConfig.METRICS_NAMESPACE + "\n"), awsemf);
+            assertTrue(awsemf.contains("log_group_name: \"" + LOG_GROUP + "\"\n"), awsemf);
+            assertTrue(awsemf.contains("metric_name_selectors: [" + OtelCollectorConfig.QUEUE_METRIC + "]"), awsemf);
+        }
+        String processors = section(render("xray", 25), "processors");
+        assertTrue(processors.contains("metric_names: [" + OtelCollectorConfig.PLUGIN_QUEUE_METRIC + "]"), processors);
+        assertTrue(processors.contains("new_name: " + OtelCollectorConfig.QUEUE_METRIC + "\n"), processors);
+    }
+
+    @Test
+    void localStandInPrintsEverythingAndListensOnAllInterfaces() {
+        String yaml = render("debug", 100);
+
+        assertEquals(List.of("debug"), pipeline(yaml, "traces").get("exporters"));
+        assertEquals(List.of("debug"), pipeline(yaml, "metrics").get("exporters"));
+        assertEquals(List.of("debug"), components(yaml, "exporters"));
+        assertTrue(section(yaml, "receivers").contains("endpoint: 0.0.0.0:4317\n"), yaml);
+        assertTrue(section(yaml, "receivers").contains("endpoint: 0.0.0.0:4318\n"), yaml);
+    }
+
+    @Test
+    void everyComponentAPipelineUsesIsDefined() {
+        for (String exporter : List.of("xray", "cloudwatch", "debug")) {
+            String yaml = render(exporter, 25);
+            for (String name : List.of("traces", "metrics")) {
+                Map<String, List<String>> pipeline = pipeline(yaml, name);
+                assertTrue(components(yaml, "receivers").containsAll(pipeline.get("receivers")), exporter + " " + name);
+                assertTrue(components(yaml, "processors").containsAll(pipeline.get("processors")), exporter + " " + name);
+                assertTrue(components(yaml, "exporters").containsAll(pipeline.get("exporters")), exporter + " " + name);
+            }
+            assertTrue(components(yaml, "extensions").containsAll(serviceExtensions(yaml)), exporter);
+        }
+    }
+
+    @Test
+    void unknownExporterIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> render("zipkin", 100));
+    }
+
+    @Test
+    void controllerPluginsArePinned() throws IOException {
+        for (String line : Files.readAllLines(Path.of("docker", "jenkins-controller", "plugins.txt"))) {
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            // The OpenTelemetry plugin's JCasC keys and metric names must match what render() expects
+            assertTrue(line.matches("[a-z0-9-]+:[0-9][A-Za-z0-9._-]*"), "unpinned plugin: " + line);
+        }
+    }
+}
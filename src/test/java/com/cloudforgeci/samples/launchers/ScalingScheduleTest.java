@@ -0,0 +1,88 @@
+package com.cloudforgeci.samples.launchers;
+
+import com.cloudforgeci.samples.launchers.ScalingSchedule.Action;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScalingScheduleTest {
+
+    private static ScalingSchedule schedule(String start, String end, int prewarm) {
+        return new ScalingSchedule("Europe/Berlin", start, end, 2, 6, 0, 1, prewarm);
+    }
+
+    @Test
+    void peakStartFiresPrewarmMinutesEarly() {
+        List<Action> actions = schedule("0 8 * * MON-FRI", "0 19 * * MON-FRI", 30).actions();
+
+        assertEquals(List.of(
+            new Action("peak-start", "30 7 * * MON-FRI", 2, 6),
+            new Action("off-peak", "0 19 * * MON-FRI", 0, 1)), actions);
+    }
+
+    @Test
+    void shiftBorrowsFromTheHour() {
+        assertEquals("50 8 * * 1-5", ScalingSchedule.shift("5 9 * * 1-5", 15));
+        assertEquals("0 8 * * MON-FRI", ScalingSchedule.shift(" 0 8 * * MON-FRI ", 0));
+    }
+
+    @Test
+    void shiftAcrossMidnightOnlyForDailyCrons() {
+        assertEquals("45 23 * * *", ScalingSchedule.shift("15 0 * * *", 30));
+
+        IllegalArgumentException weekdays = assertThrows(IllegalArgumentException.class,
+            () -> ScalingSchedule.shift("15 0 * * MON-FRI", 30));
+        assertTrue(weekdays.getMessage().contains("crosses midnight"), weekdays.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> ScalingSchedule.shift("15 0 1 * *", 30));
+    }
+
+    @Test
+    void shiftNeedsAFixedMinuteAndHour() {
+        assertThrows(IllegalArgumentException.class, () -> ScalingSchedule.shift("*/15 8 * * *", 10));
+        assertThrows(IllegalArgumentException.class, () -> ScalingSchedule.shift("0 8-9 * * *", 10));
+    }
+
+    @Test
+    void malformedCronsAndCapacitiesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> schedule("0 8 * *", "0 19 * * *", 0).actions());
+        assertThrows(IllegalArgumentException.class, () -> schedule("0 8 * * *", "0 19 * * MON;FRI", 0).actions());
+        assertThrows(IllegalArgumentException.class,
+            () -> new ScalingSchedule("UTC", "0 8 * * *", "0 19 * * *", 4, 2, 0, 0, 0).actions());
+        assertThrows(IllegalArgumentException.class,
+            () -> new ScalingSchedule("UTC", "0 8 * * *", "0 19 * * *", 1, 2, 2, 1, 0).actions());
+    }
+
+    @Test
+    void scalesToZeroOnlyWithoutOffPeakCapacity() {
+        assertTrue(new ScalingSchedule("UTC", "0 8 * * *", "0 19 * * *", 1, 2, 0, 0, 0).scalesToZero());
+        assertFalse(schedule("0 8 * * *", "0 19 * * *", 0).scalesToZero());
+    }
+
+    @Test
+    void applicationAutoScalingCronUsesSixFieldsAndDayNames() {
+        assertEquals("cron(30 7 ? * MON-FRI *)", ScalingSchedule.applicationAutoScalingCron("30 7 * * MON-FRI"));
+        assertEquals("cron(0 8 ? * MON-FRI *)", ScalingSchedule.applicationAutoScalingCron("0 8 * * 1-5"));
+        assertEquals("cron(0 8 ? * SUN,SAT *)", ScalingSchedule.applicationAutoScalingCron("0 8 * * 0,6"));
+        assertEquals("cron(0 8 ? * SUN *)", ScalingSchedule.applicationAutoScalingCron("0 8 * * 7"));
+        assertEquals("cron(0 6 1 * ? *)", ScalingSchedule.applicationAutoScalingCron("0 6 1 * *"));
+    }
+
+    @Test
+    void applicationAutoScalingCronLeavesOtherFieldsAlone() {
+        // Numbers in the minute, hour and month fields are not days
+        assertEquals("cron(*/2 1-5 ? 2 MON *)", ScalingSchedule.applicationAutoScalingCron("*/2 1-5 * 2 1"));
+    }
+
+    @Test
+    void applicationAutoScalingCronRejectsWeekdaySteps() {
+        IllegalArgumentException step = assertThrows(IllegalArgumentException.class,
+            () -> ScalingSchedule.applicationAutoScalingCron("0 8 * * */2"));
+        assertTrue(step.getMessage().contains("weekday"), step.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> ScalingSchedule.applicationAutoScalingCron("0 8 * * 1-5/2"));
+    }
+}
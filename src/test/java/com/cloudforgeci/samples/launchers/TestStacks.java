@@ -0,0 +1,96 @@
+package com.cloudforgeci.samples.launchers;
+
+import software.amazon.awscdk.App;
+import software.amazon.awscdk.Fn;
+import software.amazon.awscdk.Stack;
+import software.amazon.awscdk.assertions.Template;
+import software.amazon.awscdk.services.applicationautoscaling.CfnScalableTarget;
+import software.amazon.awscdk.services.ecs.AwsLogDriverProps;
+import software.amazon.awscdk.services.ecs.CfnCluster;
+import software.amazon.awscdk.services.ecs.CfnService;
+import software.amazon.awscdk.services.ecs.ContainerDefinition;
+import software.amazon.awscdk.services.ecs.ContainerDefinitionOptions;
+import software.amazon.awscdk.services.ecs.ContainerImage;
+import software.amazon.awscdk.services.ecs.EfsVolumeConfiguration;
+import software.amazon.awscdk.services.ecs.FargateTaskDefinition;
+import software.amazon.awscdk.services.ecs.LogDrivers;
+import software.amazon.awscdk.services.ecs.MountPoint;
+import software.amazon.awscdk.services.ecs.PortMapping;
+import software.amazon.awscdk.services.ecs.Volume;
+import software.amazon.awscdk.services.efs.CfnFileSystem;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bare stacks standing in for what JenkinsFactory generates, so launchers can be applied to a
+ * handful of resources and the synthesized template asserted.
+ */
+final class TestStacks {
+
+    private TestStacks() {
+    }
+
+    /** Empty stack named {@code JenkinsTest} with {@code cfc} as its context. */
+    static Stack withContext(Map<String, Object> cfc) {
+        App app = App.Builder.create().context(Map.of("cfc", cfc)).build();
+        return Stack.Builder.create(app, "JenkinsTest").build();
+    }
+
+    /**
+     * Fargate task definition whose default container plays the Jenkins controller: awslogs
+     * logging and JENKINS_HOME on an EFS volume, like the factory's.
+     */
+    static FargateTaskDefinition jenkinsTask(Stack stack) {
+        CfnFileSystem efs = CfnFileSystem.Builder.create(stack, "JenkinsEfs")
+            .encrypted(true)
+            .build();
+        FargateTaskDefinition task = FargateTaskDefinition.Builder.create(stack, "JenkinsTask")
+            .cpu(1024)
+            .memoryLimitMiB(2048)
+            .build();
+        task.addVolume(Volume.builder()
+            .name("jenkins-home")
+            .efsVolumeConfiguration(EfsVolumeConfiguration.builder()
+                .fileSystemId(efs.getRef())
+                .transitEncryption("ENABLED")
+                .build())
+            .build());
+        ContainerDefinition jenkins = task.addContainer("jenkins", ContainerDefinitionOptions.builder()
+            .image(ContainerImage.fromRegistry("jenkins/jenkins:lts-jdk17"))
+            .memoryLimitMiB(1536)
+            .portMappings(List.of(PortMapping.builder().containerPort(8080).build()))
+            .logging(LogDrivers.awsLogs(AwsLogDriverProps.builder().streamPrefix("jenkins").build()))
+            .build());
+        jenkins.addMountPoints(MountPoint.builder()
+            .sourceVolume("jenkins-home")
+            .containerPath("/var/jenkins_home")
+            .readOnly(false)
+            .build());
+        return task;
+    }
+
+    /** {@link #jenkinsTask} run by an ECS service, with the scalable target the factory registers for it. */
+    static CfnService jenkinsService(Stack stack) {
+        FargateTaskDefinition task = jenkinsTask(stack);
+        CfnCluster cluster = CfnCluster.Builder.create(stack, "JenkinsCluster").build();
+        CfnService service = CfnService.Builder.create(stack, "JenkinsService")
+            .cluster(cluster.getRef())
+            .taskDefinition(task.getTaskDefinitionArn())
+            .launchType("FARGATE")
+            .desiredCount(1)
+            .build();
+        CfnScalableTarget.Builder.create(stack, "JenkinsServiceTarget")
+            .serviceNamespace("ecs")
+            .scalableDimension("ecs:service:DesiredCount")
+            .resourceId(Fn.join("/", List.of("service", cluster.getRef(), service.getAttrName())))
+            .minCapacity(1)
+            .maxCapacity(1)
+            .build();
+        return service;
+    }
+
+    static Template template(Stack stack) {
+        return Template.fromStack(stack);
+    }
+}
@@ -0,0 +1,101 @@
+package com.cloudforgeci.samples.logging;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LogTest {
+
+    private final AtomicInteger built = new AtomicInteger();
+    private final List<LogRecord> published = new ArrayList<>();
+    private final Log log = Log.get(LogTest.class);
+
+    private final Handler capture = new Handler() {
+        @Override
+        public void publish(LogRecord record) {
+            published.add(record);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    @BeforeEach
+    void captureRoot() {
+        Logger root = Logger.getLogger("");
+        root.removeHandler(capture);
+        root.addHandler(capture);
+    }
+
+    private static void configure(String... keyValues) throws IOException {
+        Properties properties = new Properties();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            properties.setProperty(keyValues[i], keyValues[i + 1]);
+        }
+        LoggingConfig.apply(properties);
+    }
+
+    private String expensive() {
+        built.incrementAndGet();
+        return "context";
+    }
+
+    @Test
+    void disabledLevelNeverCallsTheSupplier() throws IOException {
+        configure("logging.level.root", "INFO");
+
+        log.debug(this::expensive);
+        log.trace(this::expensive);
+
+        assertEquals(0, built.get());
+        assertFalse(log.isDebugEnabled());
+        assertTrue(published.isEmpty());
+    }
+
+    @Test
+    void enabledLevelCallsTheSupplierOnce() throws IOException {
+        configure("logging.level.root", "INFO", "logging.level." + LogTest.class.getName(), "DEBUG");
+
+        log.debug(this::expensive);
+        log.trace(this::expensive);
+
+        assertEquals(1, built.get());
+        assertEquals(1, published.size());
+        assertEquals("context", published.get(0).getMessage());
+        assertEquals(Level.FINE, published.get(0).getLevel());
+    }
+
+    @Test
+    void reapplyingKeepsForeignHandlersAndReplacesItsOwn() throws IOException {
+        configure("logging.level.root", "INFO");
+        int handlers = Logger.getLogger("").getHandlers().length;
+
+        configure("logging.level.root", "WARN", "logging.level." + LogTest.class.getName(), "DEBUG");
+        configure("logging.level.root", "INFO");
+
+        List<Handler> root = Arrays.asList(Logger.getLogger("").getHandlers());
+        assertTrue(root.contains(capture));
+        assertEquals(handlers, root.size());
+        // Per-logger levels from the previous configuration are dropped
+        assertFalse(log.isDebugEnabled());
+    }
+}